@@ -36,8 +36,20 @@ dependencies {
 	testImplementation("org.springframework.boot:spring-boot-starter-test")
 	testImplementation("org.springframework.security:spring-security-test")
 	testImplementation("org.springframework.amqp:spring-rabbit-test")
+	testImplementation("com.github.codemonstur:embedded-redis:1.4.3")
+	testImplementation("com.icegreen:greenmail-junit5:2.1.0")
+	testImplementation("com.squareup.okhttp3:mockwebserver:4.12.0")
+	testRuntimeOnly("com.h2database:h2")
 }
 
 tasks.withType<Test> {
-	useJUnitPlatform()
+	useJUnitPlatform {
+		// Benchmark chạy vòng lặp đo thời gian: chỉ chạy khi gọi với -Pbenchmark
+		if (!project.hasProperty("benchmark")) {
+			excludeTags("benchmark")
+		}
+	}
+	if (project.hasProperty("benchmark")) {
+		systemProperty("benchmark", "true")
+	}
 }
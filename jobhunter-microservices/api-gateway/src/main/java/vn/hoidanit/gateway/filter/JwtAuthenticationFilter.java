@@ -31,12 +31,15 @@ public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAut
     private static final String HEADER_USER_ID = "X-User-Id";
     private static final String HEADER_USER_EMAIL = "X-User-Email";
     private static final String HEADER_USER_ROLES = "X-User-Roles";
+    private static final String HEADER_USER_COMPANY_ID = "X-User-Company-Id";
+    private static final String HEADER_COMPANY_SIGNATURE = "X-Company-Signature";
     private static final String HEADER_GATEWAY_SIGNATURE = "X-Gateway-Signature";
     private static final String HEADER_GATEWAY_TIMESTAMP = "X-Gateway-Timestamp";
 
     private static final String CLAIM_USER = "user";
     private static final String CLAIM_PERMISSION = "permission";
     private static final String USER_ID_KEY = "id";
+    private static final String USER_COMPANY_ID_KEY = "companyId";
 
     @Value("${hoidanit.jwt.base64-secret}")
     private String jwtSecret;
@@ -74,6 +77,7 @@ public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAut
                 String email = claims.getSubject();
                 String userId = extractUserId(claims);
                 String roles = extractRoles(claims);
+                String companyId = extractCompanyId(claims);
 
                 return tokenBlacklistService.isAccessTokenBlacklisted(token)
                         .flatMap(isBlacklisted -> {
@@ -84,7 +88,7 @@ public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAut
                             }
 
                             ServerHttpRequest modifiedRequest = buildAuthenticatedRequest(request, userId, email,
-                                    roles);
+                                    roles, companyId);
                             log.debug("JWT validated for user: {} (roles: {})", email, roles);
 
                             return chain.filter(exchange.mutate().request(modifiedRequest).build());
@@ -118,6 +122,17 @@ public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAut
         return null;
     }
 
+    private String extractCompanyId(Claims claims) {
+        Object userObj = claims.get(CLAIM_USER);
+        if (userObj instanceof Map) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> userMap = (Map<String, Object>) userObj;
+            Object companyIdObj = userMap.get(USER_COMPANY_ID_KEY);
+            return companyIdObj != null ? String.valueOf(companyIdObj) : null;
+        }
+        return null;
+    }
+
     private String extractRoles(Claims claims) {
         Object permissionsObj = claims.get(CLAIM_PERMISSION);
         if (permissionsObj instanceof List) {
@@ -129,22 +144,37 @@ public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAut
     }
 
     private ServerHttpRequest buildAuthenticatedRequest(ServerHttpRequest request, String userId, String email,
-            String roles) {
+            String roles, String companyId) {
         long timestamp = System.currentTimeMillis();
         String signatureData = SignatureUtil.createSignatureData(userId, email, roles, timestamp);
         String signature = SignatureUtil.generateSignature(signatureData, gatewaySignatureSecret);
 
         // Pass through the original Authorization header for downstream JWT validation
         // Also add user headers for backward compatibility and additional context
-        return request.mutate()
+        ServerHttpRequest.Builder builder = request.mutate()
                 .header(HEADER_USER_ID, userId)
                 .header(HEADER_USER_EMAIL, email)
                 .header(HEADER_USER_ROLES, roles)
                 .header(HEADER_GATEWAY_SIGNATURE, signature)
-                .header(HEADER_GATEWAY_TIMESTAMP, String.valueOf(timestamp))
-                // NOTE: Authorization header is automatically passed through by Spring Cloud
-                // Gateway
-                .build();
+                .header(HEADER_GATEWAY_TIMESTAMP, String.valueOf(timestamp));
+        // NOTE: Authorization header is automatically passed through by Spring Cloud
+        // Gateway
+
+        if (companyId != null) {
+            // HR company claim, so services don't have to look the user up in auth-service.
+            // Snapshot from token issue time: a company change is picked up at the next refresh
+            String companySignature = SignatureUtil.generateSignature(
+                    SignatureUtil.createCompanySignatureData(userId, companyId, timestamp), gatewaySignatureSecret);
+            builder.header(HEADER_USER_COMPANY_ID, companyId)
+                    .header(HEADER_COMPANY_SIGNATURE, companySignature);
+        } else {
+            // Never trust a company header sent by the client
+            builder.headers(headers -> {
+                headers.remove(HEADER_USER_COMPANY_ID);
+                headers.remove(HEADER_COMPANY_SIGNATURE);
+            });
+        }
+        return builder.build();
     }
 
     private Mono<Void> onError(ServerWebExchange exchange, String err, HttpStatus httpStatus) {
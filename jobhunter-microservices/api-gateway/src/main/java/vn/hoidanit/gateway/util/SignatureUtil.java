@@ -56,5 +56,16 @@ public class SignatureUtil {
             roles != null ? roles : "",
             timestamp);
     }
+
+    /**
+     * Company claim is signed separately (X-Company-Signature) so services that only verify
+     * the user signature keep working unchanged
+     */
+    public static String createCompanySignatureData(String userId, String companyId, long timestamp) {
+        return String.format("%s:%s:%d",
+            userId != null ? userId : "",
+            companyId,
+            timestamp);
+    }
 }
 
@@ -0,0 +1,119 @@
+package vn.hoidanit.gateway.filter;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import reactor.core.publisher.Mono;
+import vn.hoidanit.gateway.service.TokenBlacklistService;
+import vn.hoidanit.gateway.util.SignatureUtil;
+
+/**
+ * Unit Test cho JwtAuthenticationFilter: header company được ký khi token có claim,
+ * header company do client tự gửi bị xóa khi token không có claim
+ */
+@DisplayName("JwtAuthenticationFilter Unit Tests")
+class JwtAuthenticationFilterTest {
+
+    private static final byte[] JWT_KEY = new byte[64];
+    private static final String SIGNATURE_SECRET = "test-gateway-secret";
+
+    private GatewayFilter filter;
+    private AtomicReference<ServerHttpRequest> forwarded;
+
+    @BeforeEach
+    void setUp() {
+        TokenBlacklistService tokenBlacklistService = mock(TokenBlacklistService.class);
+        when(tokenBlacklistService.isAccessTokenBlacklisted(anyString())).thenReturn(Mono.just(false));
+
+        JwtAuthenticationFilter factory = new JwtAuthenticationFilter(tokenBlacklistService);
+        ReflectionTestUtils.setField(factory, "jwtSecret", Base64.getEncoder().encodeToString(JWT_KEY));
+        ReflectionTestUtils.setField(factory, "gatewaySignatureSecret", SIGNATURE_SECRET);
+        filter = factory.apply(new JwtAuthenticationFilter.Config());
+        forwarded = new AtomicReference<>();
+    }
+
+    @Test
+    @DisplayName("Token có companyId - Gửi X-User-Company-Id kèm chữ ký hợp lệ, bỏ giá trị client tự gửi")
+    void filter_whenTokenHasCompany_shouldForwardSignedCompanyHeader() {
+        MockServerWebExchange exchange = exchange(token(Map.of("id", 7, "companyId", 3)), "99", "forged");
+
+        filter.filter(exchange, ex -> {
+            forwarded.set(ex.getRequest());
+            return Mono.empty();
+        }).block();
+
+        HttpHeaders headers = forwarded.get().getHeaders();
+        assertEquals(List.of("3"), headers.get("X-User-Company-Id"));
+        long timestamp = Long.parseLong(headers.getFirst("X-Gateway-Timestamp"));
+        assertTrue(SignatureUtil.verifySignature(SignatureUtil.createCompanySignatureData("7", "3", timestamp),
+                headers.getFirst("X-Company-Signature"), SIGNATURE_SECRET));
+    }
+
+    @Test
+    @DisplayName("Token không có companyId - Xóa X-User-Company-Id/X-Company-Signature do client tự gửi")
+    void filter_whenTokenHasNoCompany_shouldStripClientCompanyHeaders() {
+        MockServerWebExchange exchange = exchange(token(Map.of("id", 7)), "3", "forged");
+
+        filter.filter(exchange, ex -> {
+            forwarded.set(ex.getRequest());
+            return Mono.empty();
+        }).block();
+
+        HttpHeaders headers = forwarded.get().getHeaders();
+        assertFalse(headers.containsKey("X-User-Company-Id"));
+        assertFalse(headers.containsKey("X-Company-Signature"));
+        assertEquals("7", headers.getFirst("X-User-Id"));
+        assertNotNull(headers.getFirst("X-Gateway-Signature"));
+    }
+
+    @Test
+    @DisplayName("Token không hợp lệ - 401, không chuyển tiếp")
+    void filter_whenTokenInvalid_shouldReturnUnauthorized() {
+        MockServerWebExchange exchange = exchange("not-a-jwt", "3", "forged");
+
+        filter.filter(exchange, ex -> {
+            forwarded.set(ex.getRequest());
+            return Mono.empty();
+        }).block();
+
+        assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+        assertNull(forwarded.get());
+    }
+
+    private static MockServerWebExchange exchange(String token, String companyId, String companySignature) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/jobs")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .header("X-User-Company-Id", companyId)
+                .header("X-Company-Signature", companySignature));
+    }
+
+    private static String token(Map<String, Object> user) {
+        return Jwts.builder()
+                .subject("hr@gmail.com")
+                .claim("user", user)
+                .claim("permission", List.of("ROLE_HR"))
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(JWT_KEY))
+                .compact();
+    }
+}
@@ -31,6 +31,8 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-security")
     implementation("org.springframework.boot:spring-boot-starter-data-redis")
     implementation("org.springframework.boot:spring-boot-starter-cache")
+    implementation("com.github.ben-manes.caffeine:caffeine")
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-smile")
     implementation("org.springframework.boot:spring-boot-starter-actuator")
 
     // Spring Cloud
@@ -79,5 +81,13 @@ dependencyManagement {
 }
 
 tasks.withType<Test> {
-    useJUnitPlatform()
+    useJUnitPlatform {
+        // Benchmarks time loops: run them explicitly with -Pbenchmark
+        if (!project.hasProperty("benchmark")) {
+            excludeTags("benchmark")
+        }
+    }
+    if (project.hasProperty("benchmark")) {
+        systemProperty("benchmark", "true")
+    }
 }
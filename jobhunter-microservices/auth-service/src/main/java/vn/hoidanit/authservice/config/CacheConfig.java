@@ -1,62 +1,40 @@
 package vn.hoidanit.authservice.config;
 
 import java.time.Duration;
+import java.util.Map;
 
-import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
-import com.fasterxml.jackson.annotation.JsonTypeInfo;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import vn.hoidanit.authservice.config.TwoLevelCacheManager.LocalCacheSpec;
+import vn.hoidanit.authservice.domain.Permission;
 
 /**
- * Redis Cache Configuration for Auth Service
+ * Two-level Cache Configuration for Auth Service (Caffeine L1 + Redis L2, see TwoLevelCacheManager)
  *
  * Caching Strategy:
  * - users: Cache user data (TTL: 30 minutes)
  * - users:permissions: Cache user with permissions (TTL: 30 minutes)
  * - roles: Cache role data (TTL: 12 hours)
- * - permissions: Cache permission data (TTL: 12 hours)
- * - permissions:check: Cache permission existence checks (TTL: 12 hours)
+ * - permissions: Cache permission data (TTL: 12 hours, L1: 10 minutes)
+ * - permissions:check: Cache permission existence checks (TTL: 12 hours, L1: 10 minutes)
  */
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
-    /**
-     * Create ObjectMapper with Java 8 date/time support for Redis ONLY
-     * NOT a @Bean to avoid interfering with HTTP JSON parsing
-     */
-    private ObjectMapper createRedisObjectMapper() {
-        ObjectMapper mapper = new ObjectMapper();
-        // Register JavaTimeModule to handle Java 8 date/time types (Instant, LocalDateTime, etc.)
-        mapper.registerModule(new JavaTimeModule());
-
-        // Enable polymorphic type handling for proper deserialization
-        mapper.activateDefaultTyping(
-            BasicPolymorphicTypeValidator.builder()
-                .allowIfBaseType(Object.class)
-                .build(),
-            ObjectMapper.DefaultTyping.NON_FINAL,
-            JsonTypeInfo.As.PROPERTY
-        );
-
-        return mapper;
-    }
-
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
-        // Use custom ObjectMapper with JSR310 support
-        GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer(createRedisObjectMapper());
+    public TwoLevelCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+        // Binary (Smile) values with a versioned header, class names only where the value type is not fixed
+        VersionedCacheSerializer<Object> serializer = VersionedCacheSerializer.polymorphic(1);
 
         RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofMinutes(10)) // Default TTL
@@ -66,7 +44,7 @@ public class CacheConfig {
                         RedisSerializationContext.SerializationPair.fromSerializer(serializer))
                 .disableCachingNullValues();
 
-        return RedisCacheManager.builder(connectionFactory)
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(defaultConfig)
                 // User data accessed frequently, moderate TTL
                 .withCacheConfiguration("users",
@@ -106,7 +84,7 @@ public class CacheConfig {
                                                 .fromSerializer(new StringRedisSerializer()))
                                 .serializeValuesWith(
                                         RedisSerializationContext.SerializationPair
-                                                .fromSerializer(serializer)))
+                                                .fromSerializer(VersionedCacheSerializer.typed(Permission.class, 1))))
                 .withCacheConfiguration("permissions:check",
                         RedisCacheConfiguration.defaultCacheConfig()
                                 .entryTtl(Duration.ofHours(12))
@@ -115,8 +93,27 @@ public class CacheConfig {
                                                 .fromSerializer(new StringRedisSerializer()))
                                 .serializeValuesWith(
                                         RedisSerializationContext.SerializationPair
-                                                .fromSerializer(serializer)))
+                                                .fromSerializer(VersionedCacheSerializer.typed(Boolean.class, 1))))
                 .build();
+
+        // In-process L1 for the hot lookups; user data stays Redis-only.
+        // permissions holds JPA entities that callers may modify -> L1 keeps serialized copies
+        return new TwoLevelCacheManager(redisCacheManager, connectionFactory, Map.of(
+                "permissions", new LocalCacheSpec(1_000, Duration.ofMinutes(10), true),
+                "permissions:check", new LocalCacheSpec(5_000, Duration.ofMinutes(10))));
+    }
+
+    /**
+     * Subscribes the cache manager to the invalidation channel, so evictions made by other instances
+     * also drop the local (L1) entries here
+     */
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+            TwoLevelCacheManager cacheManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheManager, new ChannelTopic(TwoLevelCacheManager.INVALIDATION_CHANNEL));
+        return container;
     }
 }
 
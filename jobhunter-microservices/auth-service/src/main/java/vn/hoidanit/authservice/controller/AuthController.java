@@ -96,6 +96,7 @@ public class AuthController {
             userLogin.setEmail(currentUserDB.getEmail());
             userLogin.setName(currentUserDB.getName());
             userLogin.setRole(currentUserDB.getRole());
+            userLogin.setCompanyId(currentUserDB.getCompanyId());
             userGetAccount.setUser(userLogin);
         }
 
@@ -233,7 +234,8 @@ public class AuthController {
                 user.getId(),
                 user.getEmail(),
                 user.getName(),
-                user.getRole());
+                user.getRole(),
+                user.getCompanyId());
         res.setUser(userLogin);
         return res;
     }
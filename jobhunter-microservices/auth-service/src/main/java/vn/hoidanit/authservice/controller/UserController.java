@@ -1,8 +1,11 @@
 package vn.hoidanit.authservice.controller;
 
+import java.util.List;
+
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import com.turkraft.springfilter.boot.Filter;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -26,6 +29,9 @@ import vn.hoidanit.authservice.util.SecurityUtil;
 @RequiredArgsConstructor
 public class UserController {
 
+    // Upper bound of ids per internal batch call (a page of resumes is far below)
+    private static final int MAX_BATCH_IDS = 500;
+
     private final UserService userService;
 
     @PostMapping
@@ -80,6 +86,21 @@ public class UserController {
         return RestResponse.ok(userDTO, "Fetch user by id successfully (internal)");
     }
 
+    /**
+     * Internal batch lookup for service-to-service communication (one query for a whole page of ids)
+     * Unknown ids are skipped. No RBAC check - relies on Gateway Signature for security
+     */
+    @PostMapping("/internal/batch")
+    public ResponseEntity<RestResponse<List<ResUserDTO>>> getUsersByIdsInternal(@RequestBody List<Long> ids) {
+        if (ids.size() > MAX_BATCH_IDS) {
+            return RestResponse.error(HttpStatus.BAD_REQUEST,
+                    "Tối đa " + MAX_BATCH_IDS + " id cho mỗi lần gọi");
+        }
+
+        List<ResUserDTO> users = this.userService.handleGetUsersByIds(ids);
+        return RestResponse.ok(users, "Fetch users by ids successfully (internal)");
+    }
+
     @GetMapping
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_HR')")
     public ResponseEntity<RestResponse<ResultPaginationDTO>> getAllUser(
@@ -27,6 +27,8 @@ public class ResLoginDTO {
         private String email;
         private String name;
         private Role role;
+        // Company của HR (null với user thường)
+        private Long companyId;
     }
 
     @Getter
@@ -45,5 +47,7 @@ public class ResLoginDTO {
         private long id;
         private String email;
         private String name;
+        // Gateway chuyển claim này xuống service qua header đã ký, service không cần gọi lại auth-service
+        private Long companyId;
     }
 }
\ No newline at end of file
@@ -1,5 +1,8 @@
 package vn.hoidanit.authservice.repository;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -15,5 +18,8 @@ public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificat
 
     @Query("SELECT u FROM User u LEFT JOIN FETCH u.role r LEFT JOIN FETCH r.permissions WHERE u.email = :email")
     User findByEmailWithRoleAndPermissions(@Param("email") String email);
+
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.role WHERE u.id IN :ids")
+    List<User> findByIdInWithRole(@Param("ids") Collection<Long> ids);
 }
 
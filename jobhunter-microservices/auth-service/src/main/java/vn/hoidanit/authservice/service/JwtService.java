@@ -92,6 +92,7 @@ public class JwtService {
         userToken.setId(dto.getUser().getId());
         userToken.setEmail(dto.getUser().getEmail());
         userToken.setName(dto.getUser().getName());
+        userToken.setCompanyId(dto.getUser().getCompanyId());
         return userToken;
     }
 
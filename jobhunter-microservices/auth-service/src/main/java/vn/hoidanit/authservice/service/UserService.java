@@ -1,5 +1,6 @@
 package vn.hoidanit.authservice.service;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -53,6 +54,18 @@ public class UserService {
         return this.userRepository.findById(id).orElse(null);
     }
 
+    /**
+     * Nhiều user trong 1 query (kèm role), user không tồn tại bị bỏ qua
+     */
+    public List<ResUserDTO> handleGetUsersByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return this.userRepository.findByIdInWithRole(ids).stream()
+                .map(this::convertToResUserDTO)
+                .collect(Collectors.toList());
+    }
+
     public ResultPaginationDTO handleGetAllUser(Specification<User> spec, Pageable pageable) {
         Page<User> users = this.userRepository.findAll(spec, pageable);
         ResultPaginationDTO rs = new ResultPaginationDTO();
@@ -0,0 +1,186 @@
+package vn.hoidanit.authservice.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import vn.hoidanit.authservice.config.TwoLevelCacheManager.LocalCacheSpec;
+import vn.hoidanit.authservice.domain.Permission;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("TwoLevelCacheManager Unit Tests")
+class TwoLevelCacheManagerTest {
+
+    private static final String PERMISSIONS = "permissions";
+    private static final String PERMISSIONS_CHECK = "permissions:check";
+    private static final String ROLES = "roles";
+
+    @Mock
+    private RedisCacheManager redisCacheManager;
+
+    @Mock
+    private RedisCache permissionsRedisCache;
+
+    @Mock
+    private RedisCache checkRedisCache;
+
+    @Mock
+    private RedisCache rolesRedisCache;
+
+    @Mock
+    private RedisConnectionFactory connectionFactory;
+
+    @Mock
+    private RedisConnection connection;
+
+    private TwoLevelCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        when(redisCacheManager.getCacheNames()).thenReturn(List.of(PERMISSIONS, PERMISSIONS_CHECK));
+        when(redisCacheManager.getCache(PERMISSIONS)).thenReturn(permissionsRedisCache);
+        when(redisCacheManager.getCache(PERMISSIONS_CHECK)).thenReturn(checkRedisCache);
+        when(redisCacheManager.getCache(ROLES)).thenReturn(rolesRedisCache);
+        when(permissionsRedisCache.getCacheConfiguration()).thenReturn(RedisCacheConfiguration.defaultCacheConfig()
+                .serializeValuesWith(RedisSerializationContext.SerializationPair
+                        .fromSerializer(VersionedCacheSerializer.typed(Permission.class, 1))));
+        when(connectionFactory.getConnection()).thenReturn(connection);
+
+        // Giống CacheConfig: permissions giữ bản serialize trong L1, permissions:check giữ instance
+        cacheManager = new TwoLevelCacheManager(redisCacheManager, connectionFactory, Map.of(
+                PERMISSIONS, new LocalCacheSpec(100, Duration.ofMinutes(1), true),
+                PERMISSIONS_CHECK, new LocalCacheSpec(100, Duration.ofMinutes(1))));
+    }
+
+    @Test
+    @DisplayName("get - L1 store-by-value - Mỗi lần hit trả bản sao mới, sửa entity không làm bẩn cache")
+    void get_whenStoreByValue_shouldReturnDetachedCopies() {
+        when(permissionsRedisCache.get(1L)).thenReturn(new SimpleValueWrapper(permission(1L, "VIEW_JOBS")));
+        Cache cache = cacheManager.getCache(PERMISSIONS);
+
+        Permission first = cache.get(1L, Permission.class);
+        first.setName("MODIFIED");
+        Permission second = cache.get(1L, Permission.class);
+        Permission third = cache.get(1L, Permission.class);
+
+        assertEquals("VIEW_JOBS", second.getName());
+        assertNotSame(second, third);
+        // Lần 2, 3 đọc từ L1
+        verify(permissionsRedisCache, times(1)).get(1L);
+    }
+
+    @Test
+    @DisplayName("put - L1 store-by-value - Lưu snapshot, sửa object sau khi put không ảnh hưởng L1")
+    void put_whenStoreByValue_shouldStoreSnapshot() {
+        Cache cache = cacheManager.getCache(PERMISSIONS);
+        Permission permission = permission(2L, "CREATE_JOB");
+
+        cache.put(2L, permission);
+        permission.setName("MODIFIED");
+
+        Permission cached = cache.get(2L, Permission.class);
+        assertEquals("CREATE_JOB", cached.getName());
+        assertNotSame(permission, cached);
+        verify(permissionsRedisCache).put(2L, permission);
+        verify(permissionsRedisCache, never()).get(2L);
+    }
+
+    @Test
+    @DisplayName("get - L1 store-by-reference - Trả về cùng instance như trước")
+    void get_whenStoreByReference_shouldReturnSameInstance() {
+        when(checkRedisCache.get("JOBS:/api/v1/jobs:GET")).thenReturn(new SimpleValueWrapper(Boolean.TRUE));
+        Cache cache = cacheManager.getCache(PERMISSIONS_CHECK);
+
+        assertEquals(Boolean.TRUE, cache.get("JOBS:/api/v1/jobs:GET", Boolean.class));
+        assertEquals(Boolean.TRUE, cache.get("JOBS:/api/v1/jobs:GET", Boolean.class));
+
+        verify(checkRedisCache, times(1)).get("JOBS:/api/v1/jobs:GET");
+        verify(checkRedisCache, never()).getCacheConfiguration();
+    }
+
+    @Test
+    @DisplayName("bindTo - Cache tạo sau khi bind metrics - Vẫn có metrics")
+    void bindTo_shouldAlsoBindCachesCreatedLater() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cacheManager.bindTo(registry);
+        assertNull(registry.find("cache.hit.ratio").tags("cache", ROLES).gauge());
+
+        when(rolesRedisCache.get(1L)).thenReturn(new SimpleValueWrapper("ADMIN"));
+        cacheManager.getCache(ROLES).get(1L);
+
+        assertNotNull(registry.find("cache.hit.ratio").tags("cache", ROLES).gauge());
+        assertEquals(1, registry.get("cache.level.gets")
+                .tags("cache", ROLES, "level", "l2", "result", "hit").functionCounter().count());
+        // roles không có L1
+        assertNull(registry.find("cache.level.gets").tags("cache", ROLES, "level", "l1").functionCounter());
+    }
+
+    @Test
+    @DisplayName("onMessage - Invalidation từ instance khác - Xóa entry L1 store-by-value")
+    void onMessage_fromOtherInstance_shouldDropLocalEntries() {
+        when(permissionsRedisCache.get(1L)).thenReturn(new SimpleValueWrapper(permission(1L, "VIEW_JOBS")));
+        Cache cache = cacheManager.getCache(PERMISSIONS);
+        cache.get(1L);
+
+        cacheManager.onMessage(message("other-instance\npermissions\n1"), null);
+        cache.get(1L);
+
+        verify(permissionsRedisCache, times(2)).get(1L);
+    }
+
+    @Test
+    @DisplayName("evict - Xóa L2 + L1 và broadcast key cho các instance khác")
+    void evict_shouldEvictBothLevelsAndPublish() {
+        when(permissionsRedisCache.get(1L)).thenReturn(new SimpleValueWrapper(permission(1L, "VIEW_JOBS")));
+        Cache cache = cacheManager.getCache(PERMISSIONS);
+        cache.get(1L);
+
+        cache.evict(1L);
+        cache.get(1L);
+
+        verify(permissionsRedisCache).evict(1L);
+        verify(permissionsRedisCache, times(2)).get(1L);
+        verify(connection).publish(eq(TwoLevelCacheManager.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8)),
+                argThat(body -> new String(body, StandardCharsets.UTF_8).endsWith("\npermissions\n1")));
+    }
+
+    private static Permission permission(long id, String name) {
+        Permission permission = new Permission();
+        permission.setId(id);
+        permission.setName(name);
+        permission.setApiPath("/api/v1/jobs");
+        permission.setMethod("GET");
+        permission.setModule("JOBS");
+        return permission;
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(TwoLevelCacheManager.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,127 @@
+package vn.hoidanit.authservice.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import vn.hoidanit.authservice.domain.Permission;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test + benchmark serializer cache cho Permission: JSON default typing (cũ) so với Smile có header version
+ */
+@DisplayName("VersionedCacheSerializer Unit Tests")
+class VersionedCacheSerializerTest {
+
+    private static final Logger log = LoggerFactory.getLogger(VersionedCacheSerializerTest.class);
+
+    private static final int ITERATIONS = 50_000;
+
+    @Test
+    @DisplayName("typed - Round trip Permission, entry JSON cũ bị bỏ qua")
+    void typed_shouldRoundTripAndDropLegacyEntries() {
+        VersionedCacheSerializer<Permission> serializer = VersionedCacheSerializer.typed(Permission.class, 1);
+
+        Permission permission = serializer.deserialize(serializer.serialize(samplePermission()));
+
+        assertEquals(1L, permission.getId());
+        assertEquals("/api/v1/users", permission.getApiPath());
+        assertEquals(Instant.parse("2024-12-20T08:30:00Z"), permission.getCreatedAt());
+        assertNull(serializer.deserialize(legacySerializer().serialize(samplePermission())));
+    }
+
+    @Test
+    @DisplayName("typed - Round trip kết quả permissions:check (Boolean)")
+    void typed_shouldRoundTripBoolean() {
+        VersionedCacheSerializer<Boolean> serializer = VersionedCacheSerializer.typed(Boolean.class, 1);
+
+        assertEquals(Boolean.TRUE, serializer.deserialize(serializer.serialize(true)));
+    }
+
+    @Test
+    @DisplayName("typed - Payload Permission nhỏ hơn JSON default typing")
+    void typed_shouldBeSmallerThanDefaultTypedJson() {
+        assertTrue(VersionedCacheSerializer.typed(Permission.class, 1).serialize(samplePermission()).length
+                < legacySerializer().serialize(samplePermission()).length, "Permission payload should shrink");
+    }
+
+    @Test
+    @Tag("benchmark")
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @DisplayName("Benchmark - Kích thước payload và thời gian ser/deser của Permission")
+    void benchmark_shouldBeSmallerThanDefaultTypedJson() {
+        double[] legacy = measure(legacySerializer(), samplePermission());
+        double[] smile = measure(VersionedCacheSerializer.typed(Permission.class, 1), samplePermission());
+
+        log.info("Cache serializer benchmark (avg of {})", ITERATIONS);
+        log.info(String.format("Permission json+typing: %5d bytes, ser %7.0f ns, deser %7.0f ns",
+                (int) legacy[0], legacy[1], legacy[2]));
+        log.info(String.format("Permission smile typed: %5d bytes, ser %7.0f ns, deser %7.0f ns",
+                (int) smile[0], smile[1], smile[2]));
+
+        assertTrue(smile[0] < legacy[0], "Permission payload should shrink");
+    }
+
+    /**
+     * @return { payload bytes, serialize ns/op, deserialize ns/op }
+     */
+    @SuppressWarnings("unchecked")
+    private static double[] measure(RedisSerializer<?> serializer, Object value) {
+        RedisSerializer<Object> s = (RedisSerializer<Object>) serializer;
+        byte[] bytes = s.serialize(value);
+        // Warm-up
+        for (int i = 0; i < ITERATIONS; i++) {
+            s.deserialize(s.serialize(value));
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            s.serialize(value);
+        }
+        double serNs = (System.nanoTime() - start) / (double) ITERATIONS;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            s.deserialize(bytes);
+        }
+        double deserNs = (System.nanoTime() - start) / (double) ITERATIONS;
+        return new double[] { bytes.length, serNs, deserNs };
+    }
+
+    /**
+     * Serializer trước đây (CacheConfig.createRedisObjectMapper)
+     */
+    private static GenericJackson2JsonRedisSerializer legacySerializer() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.activateDefaultTyping(
+                BasicPolymorphicTypeValidator.builder().allowIfBaseType(Object.class).build(),
+                ObjectMapper.DefaultTyping.NON_FINAL,
+                JsonTypeInfo.As.PROPERTY);
+        return new GenericJackson2JsonRedisSerializer(mapper);
+    }
+
+    private static Permission samplePermission() {
+        Permission permission = new Permission();
+        permission.setId(1L);
+        permission.setName("CREATE_USER");
+        permission.setApiPath("/api/v1/users");
+        permission.setMethod("POST");
+        permission.setModule("USER");
+        permission.setCreatedAt(Instant.parse("2024-12-20T08:30:00Z"));
+        permission.setCreatedBy("admin@gmail.com");
+        return permission;
+    }
+}
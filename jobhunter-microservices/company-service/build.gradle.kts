@@ -44,6 +44,8 @@ dependencies {
     // Redis & Cache
     implementation("org.springframework.boot:spring-boot-starter-data-redis")
     implementation("org.springframework.boot:spring-boot-starter-cache")
+    implementation("com.github.ben-manes.caffeine:caffeine")
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-smile")
 
     // Lombok
     compileOnly("org.projectlombok:lombok")
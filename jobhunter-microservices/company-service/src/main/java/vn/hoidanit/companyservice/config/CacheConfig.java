@@ -1,59 +1,36 @@
 package vn.hoidanit.companyservice.config;
 
 import java.time.Duration;
+import java.util.Map;
 
-import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
-import com.fasterxml.jackson.annotation.JsonTypeInfo;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import vn.hoidanit.companyservice.config.TwoLevelCacheManager.LocalCacheSpec;
 
 /**
- * Redis Cache Configuration for Company Service
+ * Two-level Cache Configuration for Company Service (Caffeine L1 + Redis L2, see TwoLevelCacheManager)
  *
  * Caching Strategy:
- * - companies: Cache individual company data (TTL: 24 hours)
- * - companies:page: Cache paginated company lists (TTL: 1 hour)
+ * - companies: Cache individual company data (TTL: 24 hours, L1: 10 minutes)
+ * - companies:page: Cache paginated company lists (TTL: 1 hour, L1: 1 minute)
  */
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
-    /**
-     * Create ObjectMapper with Java 8 date/time support for Redis ONLY
-     * NOT a @Bean to avoid interfering with HTTP JSON parsing
-     */
-    private ObjectMapper createRedisObjectMapper() {
-        ObjectMapper mapper = new ObjectMapper();
-        // Register JavaTimeModule to handle Java 8 date/time types (Instant, LocalDateTime, etc.)
-        mapper.registerModule(new JavaTimeModule());
-
-        // Enable polymorphic type handling for proper deserialization
-        mapper.activateDefaultTyping(
-            BasicPolymorphicTypeValidator.builder()
-                .allowIfBaseType(Object.class)
-                .build(),
-            ObjectMapper.DefaultTyping.NON_FINAL,
-            JsonTypeInfo.As.PROPERTY
-        );
-
-        return mapper;
-    }
-
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
-        // Use custom ObjectMapper with JSR310 support
-        GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer(createRedisObjectMapper());
+    public TwoLevelCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+        // Binary (Smile) values with a versioned header, class names only where the value type is not fixed
+        VersionedCacheSerializer<Object> serializer = VersionedCacheSerializer.polymorphic(1);
 
         RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofMinutes(10)) // Default TTL
@@ -63,7 +40,7 @@ public class CacheConfig {
                         RedisSerializationContext.SerializationPair.fromSerializer(serializer))
                 .disableCachingNullValues();
 
-        return RedisCacheManager.builder(connectionFactory)
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(defaultConfig)
                 // Company data changes rarely, cache for 24 hours
                 .withCacheConfiguration("companies",
@@ -86,6 +63,24 @@ public class CacheConfig {
                                         RedisSerializationContext.SerializationPair
                                                 .fromSerializer(serializer)))
                 .build();
+
+        // In-process L1, TTL kept short to bound staleness if an invalidation is missed
+        return new TwoLevelCacheManager(redisCacheManager, connectionFactory, Map.of(
+                "companies", new LocalCacheSpec(2_000, Duration.ofMinutes(10)),
+                "companies:page", new LocalCacheSpec(200, Duration.ofMinutes(1))));
+    }
+
+    /**
+     * Subscribes the cache manager to the invalidation channel, so evictions made by other instances
+     * also drop the local (L1) entries here
+     */
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+            TwoLevelCacheManager cacheManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheManager, new ChannelTopic(TwoLevelCacheManager.INVALIDATION_CHANNEL));
+        return container;
     }
 }
 
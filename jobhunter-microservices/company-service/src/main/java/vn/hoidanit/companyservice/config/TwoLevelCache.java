@@ -0,0 +1,220 @@
+package vn.hoidanit.companyservice.config;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+import org.springframework.data.redis.util.ByteUtils;
+
+/**
+ * Two-level cache: bounded in-process Caffeine cache (L1) in front of Redis (L2).
+ *
+ * - get: L1 -> L2, an L2 hit is copied into L1 (no network round trip / deserialization on the next hit)
+ * - put/evict/clear: write L2, then L1, then broadcast the keys so every other instance drops its L1 entries
+ *
+ * By default L1 keeps the value instances themselves, so cached values must be treated as read-only.
+ * With storeByValue L1 keeps the bytes of the L2 value serializer instead: every hit returns a fresh copy and
+ * a put stores a snapshot, so callers may mutate what they get (costs one deserialization per L1 hit).
+ * L1 keys are String.valueOf(key), the same text RedisCache puts after the "cacheName::" prefix.
+ * Caches without an L1 spec (local == null) behave exactly like the plain RedisCache.
+ */
+public class TwoLevelCache implements Cache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private final SerializationPair<Object> valueSerializer;
+    private final RedisCache remote;
+    private final TwoLevelCacheManager cacheManager;
+
+    private final LevelStats localStats = new LevelStats();
+    private final LevelStats remoteStats = new LevelStats();
+
+    TwoLevelCache(String name, com.github.benmanes.caffeine.cache.Cache<String, Object> local, boolean storeByValue,
+            RedisCache remote, TwoLevelCacheManager cacheManager) {
+        this.name = name;
+        this.local = local;
+        this.valueSerializer = storeByValue ? remote.getCacheConfiguration().getValueSerializationPair() : null;
+        this.remote = remote;
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public String getName() {
+        return this.name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this.remote.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        Object value = getLocal(key);
+        if (value != null) {
+            return new SimpleValueWrapper(value);
+        }
+
+        long start = System.nanoTime();
+        ValueWrapper wrapper = this.remote.get(key);
+        this.remoteStats.record(wrapper != null, start);
+        if (wrapper != null) {
+            putLocal(key, wrapper.get());
+        }
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        // RedisCache loads under a lock and stores the value in L2
+        T value = this.remote.get(key, valueLoader);
+        putLocal(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        this.remote.put(key, value);
+        if (this.local != null) {
+            putLocal(key, value);
+            this.cacheManager.publishEvict(this.name, List.of(String.valueOf(key)));
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        this.remote.evict(key);
+        if (this.local != null) {
+            this.local.invalidate(String.valueOf(key));
+            this.cacheManager.publishEvict(this.name, List.of(String.valueOf(key)));
+        }
+    }
+
+    /**
+     * Evict several keys: one DEL in Redis + one broadcast message.
+     */
+    public void evictAll(Collection<?> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        List<String> localKeys = keys.stream().map(String::valueOf).toList();
+        String prefix = this.remote.getCacheConfiguration().getKeyPrefixFor(this.name);
+        this.cacheManager.getRedisTemplate().delete(localKeys.stream().map(key -> prefix + key).toList());
+        if (this.local != null) {
+            this.local.invalidateAll(localKeys);
+            this.cacheManager.publishEvict(this.name, localKeys);
+        }
+    }
+
+    @Override
+    public void clear() {
+        this.remote.clear();
+        if (this.local != null) {
+            this.local.invalidateAll();
+            this.cacheManager.publishClear(this.name);
+        }
+    }
+
+    /**
+     * L1 lookup only, for callers that read L2 themselves (e.g. a Redis MGET for a whole batch).
+     */
+    public Object getLocal(Object key) {
+        if (this.local == null) {
+            return null;
+        }
+        long start = System.nanoTime();
+        Object value = this.local.getIfPresent(String.valueOf(key));
+        if (value != null && this.valueSerializer != null) {
+            value = this.valueSerializer.read(ByteBuffer.wrap((byte[]) value));
+        }
+        this.localStats.record(value != null, start);
+        return value;
+    }
+
+    /**
+     * Store a value read from / written to L2 by the caller into L1 (no broadcast).
+     */
+    public void putLocal(Object key, Object value) {
+        if (this.local != null && value != null) {
+            this.local.put(String.valueOf(key),
+                    this.valueSerializer != null ? ByteUtils.getBytes(this.valueSerializer.write(value)) : value);
+        }
+    }
+
+    boolean hasLocal() {
+        return this.local != null;
+    }
+
+    void evictLocal(Collection<String> keys) {
+        if (this.local != null) {
+            this.local.invalidateAll(keys);
+        }
+    }
+
+    void clearLocal() {
+        if (this.local != null) {
+            this.local.invalidateAll();
+        }
+    }
+
+    LevelStats getLocalStats() {
+        return this.localStats;
+    }
+
+    LevelStats getRemoteStats() {
+        return this.remoteStats;
+    }
+
+    /**
+     * Hit/miss counters and total lookup time of one cache level.
+     */
+    static class LevelStats {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+
+        void record(boolean hit, long startNanos) {
+            this.totalNanos.add(System.nanoTime() - startNanos);
+            (hit ? this.hits : this.misses).increment();
+        }
+
+        long hits() {
+            return this.hits.sum();
+        }
+
+        long misses() {
+            return this.misses.sum();
+        }
+
+        long lookups() {
+            return hits() + misses();
+        }
+
+        double totalNanos() {
+            return this.totalNanos.sum();
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package vn.hoidanit.companyservice.config;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * CacheManager wrapping every RedisCache into a {@link TwoLevelCache}.
+ *
+ * - Caches listed in localSpecs get a Caffeine L1 bounded by size and TTL (the TTL also caps staleness
+ *   if an invalidation message is lost, e.g. while the pub/sub connection reconnects)
+ * - A spec with storeByValue keeps the L2 serialized bytes in L1 and deserializes a fresh copy on every hit,
+ *   for values callers may mutate (e.g. JPA entities)
+ * - Evictions are broadcast on the Redis channel {@value #INVALIDATION_CHANNEL}; every instance
+ *   (except the sender) drops the keys from its L1
+ * - Metrics per cache and level (l1/l2): cache.level.gets{result=hit|miss}, cache.level.latency,
+ *   plus the overall cache.hit.ratio; caches created after bindTo (first use of a new name) are bound too
+ *
+ * Final: the constructor creates the configured caches eagerly through getCache.
+ */
+@Slf4j
+public final class TwoLevelCacheManager implements CacheManager, MessageListener, MeterBinder {
+
+    public static final String INVALIDATION_CHANNEL = "cache:invalidation";
+
+    private static final String SEPARATOR = "\n";
+
+    private final RedisCacheManager redisCacheManager;
+    private final StringRedisTemplate redisTemplate;
+    private final Map<String, LocalCacheSpec> localSpecs;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final ConcurrentMap<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+    private volatile MeterRegistry meterRegistry;
+
+    /**
+     * Size and TTL of the in-process L1 of one cache; storeByValue keeps serialized copies instead of instances.
+     */
+    public record LocalCacheSpec(long maximumSize, Duration timeToLive, boolean storeByValue) {
+
+        public LocalCacheSpec(long maximumSize, Duration timeToLive) {
+            this(maximumSize, timeToLive, false);
+        }
+    }
+
+    public TwoLevelCacheManager(RedisCacheManager redisCacheManager, RedisConnectionFactory connectionFactory,
+            Map<String, LocalCacheSpec> localSpecs) {
+        this.redisCacheManager = redisCacheManager;
+        this.redisTemplate = new StringRedisTemplate(connectionFactory);
+        this.localSpecs = Map.copyOf(localSpecs);
+
+        // Create the configured caches up front so their metrics are bound at startup
+        this.redisCacheManager.initializeCaches();
+        this.redisCacheManager.getCacheNames().forEach(this::getCache);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return this.caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return this.redisCacheManager.getCacheNames();
+    }
+
+    private TwoLevelCache createCache(String name) {
+        if (!(this.redisCacheManager.getCache(name) instanceof RedisCache redisCache)) {
+            return null;
+        }
+        LocalCacheSpec spec = this.localSpecs.get(name);
+        TwoLevelCache cache = spec == null
+                ? new TwoLevelCache(name, null, false, redisCache, this)
+                : new TwoLevelCache(name, Caffeine.newBuilder()
+                        .maximumSize(spec.maximumSize())
+                        .expireAfterWrite(spec.timeToLive())
+                        .build(), spec.storeByValue(), redisCache, this);
+
+        MeterRegistry registry = this.meterRegistry;
+        if (registry != null) {
+            bindCache(registry, name, cache);
+        }
+        return cache;
+    }
+
+    StringRedisTemplate getRedisTemplate() {
+        return this.redisTemplate;
+    }
+
+    /**
+     * Message: "{instanceId}\n{cacheName}\n{key1}\n{key2}..." (no key = clear the whole cache)
+     */
+    void publishEvict(String cacheName, Collection<String> keys) {
+        publish(this.instanceId + SEPARATOR + cacheName + SEPARATOR + String.join(SEPARATOR, keys));
+    }
+
+    void publishClear(String cacheName) {
+        publish(this.instanceId + SEPARATOR + cacheName);
+    }
+
+    private void publish(String message) {
+        try {
+            this.redisTemplate.convertAndSend(INVALIDATION_CHANNEL, message);
+        } catch (RuntimeException ex) {
+            // Other instances still drop the entry when their L1 TTL expires
+            log.warn("Failed to publish cache invalidation: {}", ex.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        List<String> parts = Arrays.asList(new String(message.getBody(), StandardCharsets.UTF_8).split(SEPARATOR));
+        if (parts.size() < 2 || this.instanceId.equals(parts.get(0))) {
+            return;
+        }
+        TwoLevelCache cache = this.caches.get(parts.get(1));
+        if (cache == null) {
+            return;
+        }
+        if (parts.size() == 2) {
+            cache.clearLocal();
+        } else {
+            cache.evictLocal(parts.subList(2, parts.size()));
+        }
+        log.debug("Dropped L1 entries of cache {} on invalidation from another instance", parts.get(1));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        // Set first: a cache created concurrently is bound by createCache or below (registering twice is a no-op)
+        this.meterRegistry = registry;
+        this.caches.forEach((name, cache) -> bindCache(registry, name, cache));
+    }
+
+    private static void bindCache(MeterRegistry registry, String name, TwoLevelCache cache) {
+        if (cache.hasLocal()) {
+            bindLevel(registry, name, "l1", cache.getLocalStats());
+        }
+        bindLevel(registry, name, "l2", cache.getRemoteStats());
+        Gauge.builder("cache.hit.ratio", cache, TwoLevelCacheManager::hitRatio)
+                .tag("cache", name)
+                .description("Cache hit ratio (L1 or L2) since startup")
+                .register(registry);
+    }
+
+    private static void bindLevel(MeterRegistry registry, String name, String level, TwoLevelCache.LevelStats stats) {
+        FunctionCounter.builder("cache.level.gets", stats, TwoLevelCache.LevelStats::hits)
+                .tags("cache", name, "level", level, "result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.level.gets", stats, TwoLevelCache.LevelStats::misses)
+                .tags("cache", name, "level", level, "result", "miss")
+                .register(registry);
+        FunctionTimer.builder("cache.level.latency", stats, TwoLevelCache.LevelStats::lookups,
+                TwoLevelCache.LevelStats::totalNanos, TimeUnit.NANOSECONDS)
+                .tags("cache", name, "level", level)
+                .register(registry);
+    }
+
+    private static double hitRatio(TwoLevelCache cache) {
+        long hits = cache.getLocalStats().hits() + cache.getRemoteStats().hits();
+        // Every L1 miss is followed by an L2 lookup
+        long lookups = hits + cache.getRemoteStats().misses();
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+}
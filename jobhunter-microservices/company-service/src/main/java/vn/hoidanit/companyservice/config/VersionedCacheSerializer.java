@@ -0,0 +1,114 @@
+package vn.hoidanit.companyservice.config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Binary cache value serializer (Jackson Smile) with a versioned header.
+ *
+ * Layout: [MAGIC][FORMAT_VERSION][schemaVersion][Smile document (with its own 4-byte header)]
+ * - typed(type, v): the cache holds a single value type, the body carries no class names
+ * - polymorphic(v): for values with Object-typed fields (e.g. ResultPaginationDTO.result), class names are
+ *   written by default typing but only once per value (Smile shared string back-references)
+ *
+ * Bump schemaVersion when a cached class changes incompatibly. Entries with another header (old JSON entries,
+ * other format/schema version) or that fail to deserialize are read as null, i.e. a cache miss:
+ * the value is reloaded and overwritten.
+ * A cached null (NullValue) is stored as the header alone.
+ */
+@Slf4j
+public final class VersionedCacheSerializer<T> implements RedisSerializer<T> {
+
+    static final byte MAGIC = (byte) 0xCA;
+    static final byte FORMAT_VERSION = 1;
+    private static final int HEADER_LENGTH = 3;
+
+    private final ObjectWriter writer;
+    private final ObjectReader reader;
+    private final byte schemaVersion;
+
+    private VersionedCacheSerializer(ObjectMapper mapper, Class<?> type, int schemaVersion) {
+        this.writer = mapper.writerFor(type);
+        this.reader = mapper.readerFor(type);
+        this.schemaVersion = (byte) schemaVersion;
+    }
+
+    public static <T> VersionedCacheSerializer<T> typed(Class<T> type, int schemaVersion) {
+        return new VersionedCacheSerializer<>(createSmileMapper(), type, schemaVersion);
+    }
+
+    public static VersionedCacheSerializer<Object> polymorphic(int schemaVersion) {
+        ObjectMapper mapper = createSmileMapper();
+        mapper.activateDefaultTyping(
+                BasicPolymorphicTypeValidator.builder()
+                        .allowIfBaseType(Object.class)
+                        .build(),
+                ObjectMapper.DefaultTyping.NON_FINAL,
+                JsonTypeInfo.As.PROPERTY);
+        return new VersionedCacheSerializer<>(mapper, Object.class, schemaVersion);
+    }
+
+    private static ObjectMapper createSmileMapper() {
+        SmileFactory factory = SmileFactory.builder()
+                // Repeated values (class names, enum names) written once, then back-referenced
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        ObjectMapper mapper = new ObjectMapper(factory);
+        mapper.registerModule(new JavaTimeModule());
+        // Added fields stay readable without a schema bump
+        mapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        return mapper;
+    }
+
+    @Override
+    public byte[] serialize(T value) throws SerializationException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        out.write(MAGIC);
+        out.write(FORMAT_VERSION);
+        out.write(this.schemaVersion);
+        if (value == null || value instanceof NullValue) {
+            return out.toByteArray();
+        }
+        try {
+            this.writer.writeValue(out, value);
+        } catch (IOException ex) {
+            throw new SerializationException("Could not write cache value: " + ex.getMessage(), ex);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length < HEADER_LENGTH || bytes[0] != MAGIC || bytes[1] != FORMAT_VERSION
+                || bytes[2] != this.schemaVersion) {
+            // Not written by this serializer version: treat as a miss
+            return null;
+        }
+        if (bytes.length == HEADER_LENGTH) {
+            return (T) NullValue.INSTANCE;
+        }
+        try {
+            return this.reader.readValue(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH);
+        } catch (IOException ex) {
+            log.warn("Dropping unreadable cache value: {}", ex.getMessage());
+            return null;
+        }
+    }
+}
@@ -15,6 +15,7 @@ import vn.hoidanit.companyservice.dto.ResultPaginationDTO;
 import vn.hoidanit.companyservice.service.CompanyService;
 import vn.hoidanit.companyservice.util.SecurityUtil;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.domain.Pageable;
@@ -28,6 +29,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 @RestController
 @RequestMapping("/api/v1/companies")
@@ -53,6 +55,15 @@ public class CompanyController {
         return RestResponse.ok(result, "Fetch companies successfully");
     }
 
+    /**
+     * Batch lookup cho các service khác (job-service resolve company cho cả trang job trong 1 request)
+     */
+    @GetMapping("/batch")
+    public ResponseEntity<RestResponse<List<Company>>> getCompaniesByIds(@RequestParam("ids") List<Long> ids) {
+        List<Company> companies = companyService.findByIds(ids);
+        return RestResponse.ok(companies, "Fetch companies by ids successfully");
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<RestResponse<Company>> getCompanyById(@PathVariable("id") long id) {
         Optional<Company> company = companyService.findById(id);
@@ -1,6 +1,10 @@
 package vn.hoidanit.companyservice.service;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
@@ -17,12 +21,25 @@ import vn.hoidanit.companyservice.repository.CompanyRepository;
 @Service
 @RequiredArgsConstructor
 public class CompanyService {
+    public static final int MAX_BATCH_SIZE = 200;
+
     private final CompanyRepository companyRepository;
 
     public Optional<Company> findById(long id) {
         return companyRepository.findById(id);
     }
 
+    /**
+     * Lấy nhiều company trong 1 query (WHERE id IN ...), bỏ qua id không tồn tại
+     */
+    public List<Company> findByIds(Collection<Long> ids) {
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        if (distinctIds.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Maximum " + MAX_BATCH_SIZE + " company ids per request");
+        }
+        return companyRepository.findAllById(distinctIds);
+    }
+
     @CacheEvict(value = {"companies", "companies:page"}, allEntries = true)
     public Company createCompany(Company company) {
         return companyRepository.save(company);
@@ -0,0 +1,148 @@
+package vn.hoidanit.companyservice.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import vn.hoidanit.companyservice.config.TwoLevelCacheManager.LocalCacheSpec;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("TwoLevelCacheManager Unit Tests")
+class TwoLevelCacheManagerTest {
+
+    private static final String COMPANIES = "companies";
+    private static final String COMPANIES_PAGE = "companies:page";
+
+    @Mock
+    private RedisCacheManager redisCacheManager;
+
+    @Mock
+    private RedisCache companiesRedisCache;
+
+    @Mock
+    private RedisCache pageRedisCache;
+
+    @Mock
+    private RedisConnectionFactory connectionFactory;
+
+    @Mock
+    private RedisConnection connection;
+
+    private TwoLevelCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        // companies:page chưa được tạo lúc khởi động (tạo lần đầu khi dùng)
+        when(redisCacheManager.getCacheNames()).thenReturn(List.of(COMPANIES));
+        when(redisCacheManager.getCache(COMPANIES)).thenReturn(companiesRedisCache);
+        when(redisCacheManager.getCache(COMPANIES_PAGE)).thenReturn(pageRedisCache);
+        when(connectionFactory.getConnection()).thenReturn(connection);
+
+        cacheManager = new TwoLevelCacheManager(redisCacheManager, connectionFactory, Map.of(
+                COMPANIES, new LocalCacheSpec(100, Duration.ofMinutes(10)),
+                COMPANIES_PAGE, new LocalCacheSpec(10, Duration.ofMinutes(1))));
+    }
+
+    @Test
+    @DisplayName("get - L2 hit được copy vào L1 - Lần sau không gọi Redis")
+    void get_whenRemoteHit_shouldServeNextLookupFromLocal() {
+        when(companiesRedisCache.get(1L)).thenReturn(new SimpleValueWrapper("Company 1"));
+        Cache cache = cacheManager.getCache(COMPANIES);
+
+        assertEquals("Company 1", cache.get(1L).get());
+        assertEquals("Company 1", cache.get(1L, String.class));
+
+        verify(companiesRedisCache, times(1)).get(1L);
+    }
+
+    @Test
+    @DisplayName("bindTo - Cache tạo sau khi bind metrics - Metrics L1/L2 vẫn được đăng ký")
+    void bindTo_shouldAlsoBindCachesCreatedLater() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cacheManager.bindTo(registry);
+        assertNotNull(registry.find("cache.hit.ratio").tags("cache", COMPANIES).gauge());
+        assertNull(registry.find("cache.hit.ratio").tags("cache", COMPANIES_PAGE).gauge());
+
+        when(pageRedisCache.get("0_10")).thenReturn(new SimpleValueWrapper("page"));
+        Cache cache = cacheManager.getCache(COMPANIES_PAGE);
+        cache.get("0_10");
+        cache.get("0_10");
+
+        assertEquals(1, registry.get("cache.level.gets")
+                .tags("cache", COMPANIES_PAGE, "level", "l1", "result", "hit").functionCounter().count());
+        assertEquals(1, registry.get("cache.level.gets")
+                .tags("cache", COMPANIES_PAGE, "level", "l2", "result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.hit.ratio").tags("cache", COMPANIES_PAGE).gauge().value());
+    }
+
+    @Test
+    @DisplayName("clear - Xóa L2 + toàn bộ L1 và broadcast tên cache")
+    void clear_shouldClearBothLevelsAndPublish() {
+        when(companiesRedisCache.get(1L)).thenReturn(new SimpleValueWrapper("Company 1"));
+        Cache cache = cacheManager.getCache(COMPANIES);
+        cache.get(1L);
+
+        cache.clear();
+        cache.get(1L);
+
+        verify(companiesRedisCache).clear();
+        verify(companiesRedisCache, times(2)).get(1L);
+        verify(connection).publish(eq(TwoLevelCacheManager.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8)),
+                argThat(body -> new String(body, StandardCharsets.UTF_8).endsWith("\ncompanies")));
+    }
+
+    @Test
+    @DisplayName("onMessage - Message do chính instance này gửi - Giữ nguyên L1")
+    void onMessage_fromSelf_shouldKeepLocalEntries() {
+        when(companiesRedisCache.get(1L)).thenReturn(new SimpleValueWrapper("Company 1"));
+        Cache cache = cacheManager.getCache(COMPANIES);
+        cache.get(1L);
+        cache.evict(2L);
+
+        byte[] ownMessage = captureLastPublished();
+        cacheManager.onMessage(new DefaultMessage(
+                TwoLevelCacheManager.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8), ownMessage), null);
+        cache.get(1L);
+        verify(companiesRedisCache, times(1)).get(1L);
+
+        // Instance khác xóa key 1 -> đọc lại Redis
+        cacheManager.onMessage(message("other-instance\ncompanies\n1"), null);
+        cache.get(1L);
+        verify(companiesRedisCache, times(2)).get(1L);
+    }
+
+    private byte[] captureLastPublished() {
+        ArgumentCaptor<byte[]> body = ArgumentCaptor.forClass(byte[].class);
+        verify(connection, atLeastOnce()).publish(any(), body.capture());
+        return body.getValue();
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(TwoLevelCacheManager.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,54 @@
+package vn.hoidanit.companyservice.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import vn.hoidanit.companyservice.domain.Company;
+import vn.hoidanit.companyservice.repository.CompanyRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CompanyService Unit Tests")
+class CompanyServiceTest {
+
+    @Mock
+    private CompanyRepository companyRepository;
+
+    @InjectMocks
+    private CompanyService companyService;
+
+    @Test
+    @DisplayName("findByIds - Loại id trùng, 1 query cho cả batch")
+    void findByIds_shouldQueryDistinctIdsOnce() {
+        Company company = new Company();
+        company.setId(1L);
+        when(companyRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(company));
+
+        List<Company> companies = companyService.findByIds(List.of(1L, 2L, 1L));
+
+        assertEquals(List.of(company), companies);
+        verify(companyRepository, times(1)).findAllById(anyIterable());
+    }
+
+    @Test
+    @DisplayName("findByIds - Đúng MAX_BATCH_SIZE id được chấp nhận, hơn thì bị từ chối")
+    void findByIds_shouldEnforceBatchLimit() {
+        List<Long> maxIds = LongStream.rangeClosed(1, CompanyService.MAX_BATCH_SIZE).boxed().toList();
+        List<Long> tooMany = LongStream.rangeClosed(1, CompanyService.MAX_BATCH_SIZE + 1).boxed().toList();
+
+        assertDoesNotThrow(() -> companyService.findByIds(maxIds));
+        assertThrows(IllegalArgumentException.class, () -> companyService.findByIds(tooMany));
+        verify(companyRepository, times(1)).findAllById(anyIterable());
+    }
+}
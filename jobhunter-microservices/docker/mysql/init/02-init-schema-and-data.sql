@@ -317,7 +317,7 @@ CREATE TABLE IF NOT EXISTS jobs (
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     created_by VARCHAR(255),
     updated_by VARCHAR(255),
-    INDEX idx_company_id (company_id),
+    INDEX idx_company_id_id (company_id, id),
     INDEX idx_level (level),
     INDEX idx_active (active),
     INDEX idx_location (location)
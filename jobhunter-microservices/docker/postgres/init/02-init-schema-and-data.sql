@@ -305,9 +305,12 @@ CREATE TABLE IF NOT EXISTS jobs (
     updated_by VARCHAR(255)
 );
 
-CREATE INDEX IF NOT EXISTS idx_jobs_company_id ON jobs(company_id);
+-- (company_id, id): danh sách job của HR (WHERE company_id = ? ORDER BY id) + count theo company
+CREATE INDEX IF NOT EXISTS idx_jobs_company_id_id ON jobs(company_id, id);
 CREATE INDEX IF NOT EXISTS idx_jobs_level ON jobs(level);
 CREATE INDEX IF NOT EXISTS idx_jobs_active ON jobs(active);
+-- (active, end_date): JobExpirationService tìm job hết hạn còn active / job cũ cần lưu trữ theo chunk
+CREATE INDEX IF NOT EXISTS idx_jobs_active_end_date ON jobs(active, end_date);
 CREATE INDEX IF NOT EXISTS idx_jobs_location ON jobs(location);
 
 CREATE TABLE IF NOT EXISTS skills (
@@ -329,6 +332,64 @@ CREATE TABLE IF NOT EXISTS job_skill (
     CONSTRAINT fk_js_skill FOREIGN KEY (skill_id) REFERENCES skills(id) ON DELETE CASCADE
 );
 
+-- Job hết hạn quá thời gian lưu giữ (JobExpirationService chuyển từ jobs sang)
+CREATE TABLE IF NOT EXISTS jobs_archive (
+    id BIGINT PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    location VARCHAR(50),
+    salary DECIMAL(15,2),
+    quantity INT,
+    level VARCHAR(50),
+    description TEXT,
+    start_date DATE,
+    end_date DATE,
+    active BOOLEAN,
+    company_id BIGINT,
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP,
+    created_by VARCHAR(255),
+    updated_by VARCHAR(255),
+    archived_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_jobs_archive_company_id ON jobs_archive(company_id);
+
+-- Bộ đếm hồ sơ ứng tuyển theo job (UPSERT theo batch từ event job-applications)
+CREATE TABLE IF NOT EXISTS job_application_stats (
+    job_id BIGINT PRIMARY KEY,
+    submitted_count BIGINT NOT NULL DEFAULT 0,
+    withdrawn_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Event job-applications đã đếm: Kafka giao lại event thì không đếm lần 2 (xóa sau job-stats.dedupe-retention)
+CREATE TABLE IF NOT EXISTS job_application_events (
+    event_id VARCHAR(64) PRIMARY KEY,
+    received_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_job_application_events_received_at ON job_application_events(received_at);
+
+-- Transactional outbox: event Kafka ghi cùng transaction với jobs/skills, OutboxRelay gửi rồi xóa
+-- (bảng chỉ chứa event chưa gửi, event chờ gửi lại sau lỗi tạm thời + event lỗi vĩnh viễn bị park)
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id BIGSERIAL PRIMARY KEY,
+    aggregate_type VARCHAR(50) NOT NULL,
+    aggregate_id BIGINT NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    topic VARCHAR(255) NOT NULL,
+    message_key VARCHAR(255),
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP,
+    parked_at TIMESTAMP
+);
+-- Relay đọc theo id chỉ trên event chưa park (event park tích lũy không làm chậm lần quét)
+CREATE INDEX IF NOT EXISTS idx_outbox_events_pending ON outbox_events(id) WHERE parked_at IS NULL;
+-- Giữ thứ tự theo key: event sau không được gửi khi event trước cùng message_key còn chờ gửi lại
+CREATE INDEX IF NOT EXISTS idx_outbox_events_pending_key ON outbox_events(message_key, id) WHERE parked_at IS NULL;
+
 -- Insert sample skills
 INSERT INTO skills (name, created_by) VALUES
 ('Java', 'system'),
@@ -397,10 +458,32 @@ ALTER TABLE resumes ADD COLUMN IF NOT EXISTS meeting_link VARCHAR(500);
 ALTER TABLE resumes ADD COLUMN IF NOT EXISTS meeting_location VARCHAR(500);
 ALTER TABLE resumes ADD COLUMN IF NOT EXISTS interview_note TEXT;
 ALTER TABLE resumes ADD COLUMN IF NOT EXISTS interview_result VARCHAR(255);
+ALTER TABLE resumes ADD COLUMN IF NOT EXISTS company_id BIGINT;
 
 CREATE INDEX IF NOT EXISTS idx_resumes_user_id ON resumes(user_id);
 CREATE INDEX IF NOT EXISTS idx_resumes_job_id ON resumes(job_id);
 CREATE INDEX IF NOT EXISTS idx_resumes_status ON resumes(status);
+CREATE INDEX IF NOT EXISTS idx_resumes_company_status_created ON resumes(company_id, status, created_at);
+
+-- Transactional outbox của resume-service (bảng chỉ chứa event chưa gửi, event chờ gửi lại sau lỗi tạm thời
+-- + event lỗi vĩnh viễn bị park)
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id BIGSERIAL PRIMARY KEY,
+    aggregate_type VARCHAR(50) NOT NULL,
+    aggregate_id BIGINT NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    topic VARCHAR(255) NOT NULL,
+    message_key VARCHAR(255),
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP,
+    parked_at TIMESTAMP
+);
+-- Relay đọc theo id chỉ trên event chưa park (event park tích lũy không làm chậm lần quét)
+CREATE INDEX IF NOT EXISTS idx_outbox_events_pending ON outbox_events(id) WHERE parked_at IS NULL;
+-- Giữ thứ tự theo key: event sau không được gửi khi event trước cùng message_key còn chờ gửi lại
+CREATE INDEX IF NOT EXISTS idx_outbox_events_pending_key ON outbox_events(message_key, id) WHERE parked_at IS NULL;
 
 -- ========================================
 -- FILE_DB - File Service (Optional metadata)
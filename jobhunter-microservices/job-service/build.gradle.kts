@@ -40,6 +40,8 @@ dependencies {
     // Redis & Cache
     implementation("org.springframework.boot:spring-boot-starter-data-redis")
     implementation("org.springframework.boot:spring-boot-starter-cache")
+    implementation("com.github.ben-manes.caffeine:caffeine")
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-smile")
 
     // Kafka for event-driven architecture
     implementation("org.springframework.kafka:spring-kafka")
@@ -61,6 +63,7 @@ dependencies {
 
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     testImplementation("org.springframework.security:spring-security-test")
+    testRuntimeOnly("com.h2database:h2")
 }
 
 dependencyManagement {
@@ -70,5 +73,15 @@ dependencyManagement {
 }
 
 tasks.withType<Test> {
-    useJUnitPlatform()
+    useJUnitPlatform {
+        // Benchmarks time loops or insert up to millions of rows: run them explicitly with -Pbenchmark
+        // (-Dbenchmark.jobs=... for the HR job list sizes)
+        if (!project.hasProperty("benchmark")) {
+            excludeTags("benchmark")
+        }
+    }
+    if (project.hasProperty("benchmark")) {
+        systemProperty("benchmark", "true")
+    }
+    System.getProperty("benchmark.jobs")?.let { systemProperty("benchmark.jobs", it) }
 }
\ No newline at end of file
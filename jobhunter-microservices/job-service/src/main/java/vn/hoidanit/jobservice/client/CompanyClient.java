@@ -1,8 +1,12 @@
 package vn.hoidanit.jobservice.client;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import vn.hoidanit.jobservice.dto.CompanyDTO;
 import vn.hoidanit.jobservice.dto.RestResponseWrapper;
@@ -10,6 +14,12 @@ import vn.hoidanit.jobservice.dto.RestResponseWrapper;
 @FeignClient(name = "company-service")
 public interface CompanyClient {
 
+    // company-service rejects larger batches (CompanyService.MAX_BATCH_SIZE)
+    int MAX_BATCH_SIZE = 200;
+
     @GetMapping("/api/v1/companies/{id}")
     RestResponseWrapper<CompanyDTO> getCompanyById(@PathVariable("id") Long id);
+
+    @GetMapping("/api/v1/companies/batch")
+    RestResponseWrapper<List<CompanyDTO>> getCompaniesByIds(@RequestParam("ids") Collection<Long> ids);
 }
\ No newline at end of file
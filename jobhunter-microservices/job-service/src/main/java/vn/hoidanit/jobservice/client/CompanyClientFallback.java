@@ -1,5 +1,8 @@
 package vn.hoidanit.jobservice.client;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.stereotype.Component;
 
 import lombok.extern.slf4j.Slf4j;
@@ -28,5 +31,17 @@ public class CompanyClientFallback implements CompanyClient {
 
         return response;
     }
-}
 
+    @Override
+    public RestResponseWrapper<List<CompanyDTO>> getCompaniesByIds(Collection<Long> ids) {
+        log.error("Fallback triggered for getCompaniesByIds with {} ids", ids.size());
+
+        // No data: the caller builds default company info for every requested id
+        RestResponseWrapper<List<CompanyDTO>> response = new RestResponseWrapper<>();
+        response.setStatusCode(200);
+        response.setMessage("Fallback response");
+        response.setData(List.of());
+
+        return response;
+    }
+}
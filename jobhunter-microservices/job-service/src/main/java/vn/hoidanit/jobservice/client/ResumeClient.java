@@ -0,0 +1,18 @@
+package vn.hoidanit.jobservice.client;
+
+import java.util.List;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import vn.hoidanit.jobservice.dto.JobApplicationCount;
+import vn.hoidanit.jobservice.dto.RestResponseWrapper;
+
+@FeignClient(name = "resume-service")
+public interface ResumeClient {
+
+    @GetMapping("/api/v1/resumes/internal/application-counts")
+    RestResponseWrapper<List<JobApplicationCount>> getApplicationCounts(@RequestParam("afterJobId") long afterJobId,
+            @RequestParam("size") int size);
+}
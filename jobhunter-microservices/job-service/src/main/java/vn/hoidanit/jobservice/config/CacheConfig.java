@@ -1,61 +1,72 @@
 package vn.hoidanit.jobservice.config;
 
 import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 
-import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.CacheKeyPrefix;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
-import com.fasterxml.jackson.annotation.JsonTypeInfo;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import vn.hoidanit.jobservice.config.TwoLevelCacheManager.LocalCacheSpec;
+import vn.hoidanit.jobservice.dto.ResJobDTO;
 
 /**
- * Redis Cache Configuration for Job Service
+ * Two-level Cache Configuration for Job Service (Caffeine L1 + Redis L2, see TwoLevelCacheManager)
  *
  * Caching Strategy:
- * - jobs: Cache individual job data (TTL: 15 minutes)
- * - jobs:details: Cache job details with company info (TTL: 15 minutes)
- * - skills: Cache skill data (TTL: 1 hour)
- * - company-fetch: Cache fetched company info from Company Service (TTL: 1 hour)
+ * - jobs: Cache unfiltered job list pages, keys versioned by a generation counter (TTL: 15 minutes, L1: 1 minute)
+ * - jobs:details: Cache job details with company info (TTL: 15 minutes, L1: 5 minutes)
+ * - company-fetch: Cache fetched company info from Company Service (TTL: 1 hour, L1: 10 minutes)
+ *
+ * Skills are not cached here, they are served by the in-memory SkillDictionary.
  */
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+    public static final String COMPANY_FETCH_CACHE = "company-fetch";
+    public static final Duration COMPANY_FETCH_TTL = Duration.ofHours(1);
+
     /**
-     * Create ObjectMapper with Java 8 date/time support for Redis ONLY
-     * NOT a @Bean to avoid interfering with HTTP JSON parsing
+     * Typed binary serializer shared by the "company-fetch" cache and cacheRedisTemplate (MGET / pipelined SET)
      */
-    private ObjectMapper createRedisObjectMapper() {
-        ObjectMapper mapper = new ObjectMapper();
-        // Register JavaTimeModule to handle Java 8 date/time types (Instant, LocalDateTime, etc.)
-        mapper.registerModule(new JavaTimeModule());
+    private static final VersionedCacheSerializer<ResJobDTO.CompanyInfo> COMPANY_FETCH_SERIALIZER =
+            VersionedCacheSerializer.typed(ResJobDTO.CompanyInfo.class, 1);
 
-        // Enable polymorphic type handling for proper deserialization
-        mapper.activateDefaultTyping(
-            BasicPolymorphicTypeValidator.builder()
-                .allowIfBaseType(Object.class)
-                .build(),
-            ObjectMapper.DefaultTyping.NON_FINAL,
-            JsonTypeInfo.As.PROPERTY
-        );
+    /**
+     * Redis key of a cache entry (same format as RedisCacheManager: "cacheName::key")
+     */
+    public static String cacheKey(String cacheName, Object key) {
+        return CacheKeyPrefix.simple().compute(cacheName) + key;
+    }
 
-        return mapper;
+    /**
+     * RedisTemplate sharing the "company-fetch" value serializer, so entries written by @Cacheable
+     * can be read in bulk (MGET) and bulk writes (pipelined SET) are visible to @Cacheable
+     */
+    @Bean
+    public RedisTemplate<String, Object> cacheRedisTemplate(RedisConnectionFactory connectionFactory) {
+        RedisTemplate<String, Object> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setValueSerializer(COMPANY_FETCH_SERIALIZER);
+        return template;
     }
 
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
-        // Use custom ObjectMapper with JSR310 support
-        GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer(createRedisObjectMapper());
+    public TwoLevelCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+        // Binary (Smile) values with a versioned header, class names only where the value type is not fixed
+        VersionedCacheSerializer<Object> serializer = VersionedCacheSerializer.polymorphic(1);
 
         RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofMinutes(10)) // Default TTL
@@ -65,7 +76,7 @@ public class CacheConfig {
                         RedisSerializationContext.SerializationPair.fromSerializer(serializer))
                 .disableCachingNullValues();
 
-        return RedisCacheManager.builder(connectionFactory)
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(defaultConfig)
                 // Job data changes moderately, cache for 15 minutes
                 .withCacheConfiguration("jobs",
@@ -85,28 +96,38 @@ public class CacheConfig {
                                                 .fromSerializer(new StringRedisSerializer()))
                                 .serializeValuesWith(
                                         RedisSerializationContext.SerializationPair
-                                                .fromSerializer(serializer)))
-                // Skills rarely change, cache for 1 hour
-                .withCacheConfiguration("skills",
-                        RedisCacheConfiguration.defaultCacheConfig()
-                                .entryTtl(Duration.ofHours(1))
-                                .serializeKeysWith(
-                                        RedisSerializationContext.SerializationPair
-                                                .fromSerializer(new StringRedisSerializer()))
-                                .serializeValuesWith(
-                                        RedisSerializationContext.SerializationPair
-                                                .fromSerializer(serializer)))
+                                                .fromSerializer(VersionedCacheSerializer.typed(ResJobDTO.class, 1))))
                 // Company fetch from remote service, cache for 1 hour
-                .withCacheConfiguration("company-fetch",
+                .withCacheConfiguration(COMPANY_FETCH_CACHE,
                         RedisCacheConfiguration.defaultCacheConfig()
-                                .entryTtl(Duration.ofHours(1))
+                                .entryTtl(COMPANY_FETCH_TTL)
                                 .serializeKeysWith(
                                         RedisSerializationContext.SerializationPair
                                                 .fromSerializer(new StringRedisSerializer()))
                                 .serializeValuesWith(
                                         RedisSerializationContext.SerializationPair
-                                                .fromSerializer(serializer)))
+                                                .fromSerializer(COMPANY_FETCH_SERIALIZER)))
                 .build();
+
+        // In-process L1 for the hot caches, TTL kept short to bound staleness if an invalidation is missed
+        return new TwoLevelCacheManager(redisCacheManager, connectionFactory, Map.of(
+                "jobs", new LocalCacheSpec(500, Duration.ofMinutes(1)),
+                "jobs:details", new LocalCacheSpec(2_000, Duration.ofMinutes(5)),
+                COMPANY_FETCH_CACHE, new LocalCacheSpec(5_000, Duration.ofMinutes(10))));
     }
-}
 
+    /**
+     * Subscribes the cache manager to the invalidation and generation channels, so evictions and generation bumps
+     * made by other instances also apply to the local (L1) entries and generations here
+     */
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+            TwoLevelCacheManager cacheManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheManager, List.of(
+                new ChannelTopic(TwoLevelCacheManager.INVALIDATION_CHANNEL),
+                new ChannelTopic(TwoLevelCacheManager.GENERATION_CHANNEL)));
+        return container;
+    }
+}
@@ -0,0 +1,36 @@
+package vn.hoidanit.jobservice.config;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import vn.hoidanit.jobservice.service.JobCacheService;
+
+/**
+ * Key generator for list-style caches: "g{generation}:{method}:{params}".
+ * Bumping the generation (JobCacheService.invalidateList) makes every previous key unreachable.
+ *
+ * Usage: @Cacheable(value = "jobs", keyGenerator = "generationKeyGenerator")
+ */
+@Component("generationKeyGenerator")
+@RequiredArgsConstructor
+public class GenerationKeyGenerator implements KeyGenerator {
+
+    private final JobCacheService jobCacheService;
+
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        Cacheable cacheable = AnnotatedElementUtils.findMergedAnnotation(method, Cacheable.class);
+        String cacheName = cacheable != null && cacheable.cacheNames().length > 0
+                ? cacheable.cacheNames()[0]
+                : method.getName();
+        return "g" + jobCacheService.currentGeneration(cacheName) + ":" + method.getName() + ":"
+                + Arrays.stream(params).map(String::valueOf).collect(Collectors.joining(","));
+    }
+}
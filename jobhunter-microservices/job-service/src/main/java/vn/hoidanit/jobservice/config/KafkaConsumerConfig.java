@@ -10,6 +10,7 @@ import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 import vn.hoidanit.jobservice.dto.ResumeApplicationEvent;
+import vn.hoidanit.jobservice.dto.SkillEvent;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -28,6 +29,8 @@ public class KafkaConsumerConfig {
         configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
         configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
         configProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        // Batch listener: up to 500 events per poll handed over as one list
+        configProps.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 500);
         configProps.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
         configProps.put(JsonDeserializer.VALUE_DEFAULT_TYPE, ResumeApplicationEvent.class.getName());
 
@@ -43,6 +46,34 @@ public class KafkaConsumerConfig {
         ConcurrentKafkaListenerContainerFactory<String, ResumeApplicationEvent> factory =
             new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(resumeEventConsumerFactory());
+        factory.setBatchListener(true);
+        return factory;
+    }
+
+    // ============================================
+    // Skill Event Consumer Configuration (SkillDictionary sync)
+    // ============================================
+
+    @Bean
+    public ConsumerFactory<String, SkillEvent> skillEventConsumerFactory() {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
+
+        return new DefaultKafkaConsumerFactory<>(
+            configProps,
+            new StringDeserializer(),
+            new JsonDeserializer<>(SkillEvent.class, false)
+        );
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, SkillEvent> skillEventKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, SkillEvent> factory =
+            new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(skillEventConsumerFactory());
+        factory.setBatchListener(true);
         return factory;
     }
 }
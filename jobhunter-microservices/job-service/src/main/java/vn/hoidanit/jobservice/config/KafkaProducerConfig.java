@@ -26,6 +26,22 @@ public class KafkaProducerConfig {
     @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
     private String bootstrapServers;
 
+    /**
+     * Idempotent producer for OutboxRelay: acks=all (required by idempotence), retries without duplicates or
+     * reordering within a partition, bounded by delivery.timeout.ms (below the relay send timeout).
+     * linger.ms lets a relay batch leave in few requests.
+     */
+    private static void configureReliableDelivery(Map<String, Object> configProps) {
+        configProps.put(ProducerConfig.ACKS_CONFIG, "all");
+        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        configProps.put(ProducerConfig.RETRIES_CONFIG, Integer.MAX_VALUE);
+        configProps.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+        configProps.put(ProducerConfig.REQUEST_TIMEOUT_MS_CONFIG, 5_000);
+        configProps.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, 15_000);
+        configProps.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, 5_000);
+        configProps.put(ProducerConfig.LINGER_MS_CONFIG, 5);
+    }
+
     @Bean
     public ProducerFactory<String, JobCreatedEvent> jobCreatedProducerFactory() {
         Map<String, Object> configProps = new HashMap<>();
@@ -34,10 +50,7 @@ public class KafkaProducerConfig {
         configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
         configProps.put(JsonSerializer.ADD_TYPE_INFO_HEADERS, false);
 
-        // Performance tuning
-        configProps.put(ProducerConfig.ACKS_CONFIG, "1");
-        configProps.put(ProducerConfig.RETRIES_CONFIG, 3);
-        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        configureReliableDelivery(configProps);
 
         return new DefaultKafkaProducerFactory<>(configProps);
     }
@@ -67,10 +80,7 @@ public class KafkaProducerConfig {
         configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
         configProps.put(JsonSerializer.ADD_TYPE_INFO_HEADERS, false);
 
-        // Performance tuning
-        configProps.put(ProducerConfig.ACKS_CONFIG, "1");
-        configProps.put(ProducerConfig.RETRIES_CONFIG, 3);
-        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        configureReliableDelivery(configProps);
 
         return new DefaultKafkaProducerFactory<>(configProps);
     }
@@ -88,4 +98,3 @@ public class KafkaProducerConfig {
                 .build();
     }
 }
-
@@ -0,0 +1,31 @@
+package vn.hoidanit.jobservice.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Background jobs (OutboxRelay, JobApplicationStatsService flush, JobExpirationService)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    public static final String JOB_STATS_BACKFILL_EXECUTOR = "jobStatsBackfillExecutor";
+
+    /**
+     * One thread for the startup backfill of the application counters (JobApplicationStatsBackfill),
+     * no queue: a second run is rejected while one is in progress. Interrupted when the context closes.
+     */
+    @Bean(JOB_STATS_BACKFILL_EXECUTOR)
+    public ThreadPoolTaskExecutor jobStatsBackfillExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("job-stats-backfill-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+}
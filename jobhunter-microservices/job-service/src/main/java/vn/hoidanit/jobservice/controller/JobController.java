@@ -1,5 +1,6 @@
 package vn.hoidanit.jobservice.controller;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.domain.Pageable;
@@ -13,6 +14,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.turkraft.springfilter.boot.Filter;
@@ -25,8 +27,11 @@ import vn.hoidanit.jobservice.domain.Job;
 import vn.hoidanit.jobservice.domain.response.RestResponse;
 import vn.hoidanit.jobservice.dto.ResCreateJobDTO;
 import vn.hoidanit.jobservice.dto.ResJobDTO;
+import vn.hoidanit.jobservice.dto.ResJobStatsDTO;
 import vn.hoidanit.jobservice.dto.ResUpdateJobDTO;
 import vn.hoidanit.jobservice.dto.ResultPaginationDTO;
+import vn.hoidanit.jobservice.service.JobApplicationStatsBackfill;
+import vn.hoidanit.jobservice.service.JobApplicationStatsService;
 import vn.hoidanit.jobservice.service.JobService;
 import vn.hoidanit.jobservice.util.SecurityUtil;
 
@@ -35,6 +40,11 @@ import vn.hoidanit.jobservice.util.SecurityUtil;
 @RequiredArgsConstructor
 public class JobController {
     private final JobService jobService;
+    private final JobApplicationStatsService jobApplicationStatsService;
+    private final JobApplicationStatsBackfill jobApplicationStatsBackfill;
+
+    // Upper bound of ids per internal batch call (a page of resumes is far below)
+    private static final int MAX_BATCH_IDS = 500;
 
     @PostMapping("/jobs")
     @PreAuthorize("hasAnyAuthority('ROLE_HR', 'ROLE_ADMIN')")
@@ -106,25 +116,52 @@ public class JobController {
 
     @GetMapping("/jobs/{id}")
     public ResponseEntity<RestResponse<ResJobDTO>> getJobById(@PathVariable("id") long id) {
-        Optional<Job> currentJob = this.jobService.fetchJobById(id);
-        if (currentJob.isEmpty()) {
+        // Single load (or cache hit): the company check uses the company id of the DTO
+        ResJobDTO jobDTO = this.jobService.fetchJobByIdWithCompany(id);
+        if (jobDTO == null) {
             return ResponseEntity.notFound().build();
         }
 
         if (SecurityUtil.hasRole("ROLE_HR") && !SecurityUtil.hasRole("ROLE_ADMIN")) {
             Long currentCompanyId = this.jobService.getCurrentUserCompanyId();
-            if (currentCompanyId == null || !this.jobService.isJobInCompany(currentJob.get(), currentCompanyId)) {
+            if (currentCompanyId == null || !this.jobService.isJobInCompany(jobDTO, currentCompanyId)) {
                 return RestResponse.error(HttpStatus.FORBIDDEN,
                         "You don't have permission to view this job");
             }
         }
 
+        return RestResponse.ok(this.jobService.withApplicationCount(jobDTO), "Fetch job by id successfully");
+    }
+
+    /**
+     * Application counters for HR dashboards (no count over the resumes table of resume-service)
+     */
+    @GetMapping("/jobs/{id}/stats")
+    @PreAuthorize("hasAnyAuthority('ROLE_HR', 'ROLE_ADMIN')")
+    public ResponseEntity<RestResponse<ResJobStatsDTO>> getJobStats(@PathVariable("id") long id) {
         ResJobDTO jobDTO = this.jobService.fetchJobByIdWithCompany(id);
         if (jobDTO == null) {
             return ResponseEntity.notFound().build();
         }
 
-        return RestResponse.ok(jobDTO, "Fetch job by id successfully");
+        if (SecurityUtil.hasRole("ROLE_HR") && !SecurityUtil.hasRole("ROLE_ADMIN")) {
+            Long currentCompanyId = this.jobService.getCurrentUserCompanyId();
+            if (currentCompanyId == null || !this.jobService.isJobInCompany(jobDTO, currentCompanyId)) {
+                return RestResponse.error(HttpStatus.FORBIDDEN,
+                        "You don't have permission to view this job");
+            }
+        }
+
+        return RestResponse.ok(this.jobApplicationStatsService.getStats(id), "Fetch job stats successfully");
+    }
+
+    /**
+     * Re-sync every counter from resume_db (initial load runs at startup when the stats table is empty)
+     */
+    @PostMapping("/jobs/stats/backfill")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<RestResponse<Integer>> backfillJobStats() {
+        return RestResponse.ok(this.jobApplicationStatsBackfill.run(), "Backfill job stats successfully");
     }
 
     @GetMapping("/jobs/internal/{id}")
@@ -137,10 +174,25 @@ public class JobController {
         return RestResponse.ok(jobDTO, "Fetch job by id successfully (internal)");
     }
 
+    /**
+     * Internal batch lookup (one call for a whole page of ids), unknown ids are skipped
+     */
+    @PostMapping("/jobs/internal/batch")
+    public ResponseEntity<RestResponse<List<ResJobDTO>>> getJobsByIdsInternal(@RequestBody List<Long> ids) {
+        if (ids.size() > MAX_BATCH_IDS) {
+            return RestResponse.error(HttpStatus.BAD_REQUEST,
+                    "At most " + MAX_BATCH_IDS + " ids per call");
+        }
+
+        return RestResponse.ok(this.jobService.fetchJobsByIdsWithCompany(ids),
+                "Fetch jobs by ids successfully (internal)");
+    }
+
     @GetMapping("/jobs")
     public ResponseEntity<RestResponse<ResultPaginationDTO>> getAllJob(
             @Filter Specification<Job> spec,
-            @PageableDefault(page = 1, size = 10, sort = "id", direction = "desc") Pageable pageable) {
+            @PageableDefault(page = 1, size = 10, sort = "id", direction = "desc") Pageable pageable,
+            @RequestParam(value = "filter", required = false) String filter) {
 
         ResultPaginationDTO result;
         if (SecurityUtil.hasRole("ROLE_HR") && !SecurityUtil.hasRole("ROLE_ADMIN")) {
@@ -150,9 +202,11 @@ public class JobController {
                         "Current HR account is not associated with any company");
             }
             result = this.jobService.fetchAllForCompany(spec, pageable, currentCompanyId);
+        } else if (filter == null || filter.isBlank()) {
+            result = this.jobService.fetchAllUnfiltered(pageable);
         } else {
             result = this.jobService.fetchAll(spec, pageable);
         }
-        return RestResponse.ok(result, "Fetch jobs successfully");
+        return RestResponse.ok(this.jobService.withApplicationCounts(result), "Fetch jobs successfully");
     }
 }
\ No newline at end of file
@@ -14,6 +14,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
@@ -32,7 +33,11 @@ import vn.hoidanit.jobservice.util.constant.LocationEnum;
 @Entity
 @Getter
 @Setter
-@Table(name = "jobs")
+// (company_id, id): danh sách job của HR lọc theo company + sort/phân trang theo id ngay trên index
+// (active, end_date): JobExpirationService tìm job hết hạn / job cũ cần lưu trữ
+@Table(name = "jobs", indexes = {
+        @Index(name = "idx_jobs_company_id_id", columnList = "company_id, id"),
+        @Index(name = "idx_jobs_active_end_date", columnList = "active, end_date") })
 public class Job {
 
     @Id
@@ -0,0 +1,32 @@
+package vn.hoidanit.jobservice.domain;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Bộ đếm hồ sơ ứng tuyển của 1 job, cộng dồn từ event job-applications
+ * (ghi bằng UPSERT theo batch trong JobApplicationStatsService, không qua JPA)
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "job_application_stats")
+public class JobApplicationStats {
+
+    @Id
+    @Column(name = "job_id")
+    private long jobId;
+
+    private long submittedCount;
+
+    private long withdrawnCount;
+
+    private Instant updatedAt;
+}
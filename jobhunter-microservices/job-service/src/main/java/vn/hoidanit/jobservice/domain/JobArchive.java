@@ -0,0 +1,55 @@
+package vn.hoidanit.jobservice.domain;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import lombok.Getter;
+import lombok.Setter;
+import vn.hoidanit.jobservice.util.constant.LevelEnum;
+import vn.hoidanit.jobservice.util.constant.LocationEnum;
+
+/**
+ * Job đã hết hạn quá thời gian lưu giữ, được JobExpirationService chuyển khỏi bảng jobs
+ * (giữ nguyên id, không còn liên kết skill)
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "jobs_archive")
+public class JobArchive {
+
+    @Id
+    private long id;
+
+    private String name;
+
+    @Enumerated(EnumType.STRING)
+    private LocationEnum location;
+
+    private double salary;
+
+    private int quantity;
+
+    @Enumerated(EnumType.STRING)
+    private LevelEnum level;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    private Instant startDate;
+    private Instant endDate;
+    private boolean active;
+    private Long companyId;
+    private Instant createdAt;
+    private Instant updatedAt;
+    private String createdBy;
+    private String updatedBy;
+
+    private Instant archivedAt;
+}
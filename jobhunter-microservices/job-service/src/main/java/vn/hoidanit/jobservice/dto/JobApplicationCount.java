@@ -0,0 +1,7 @@
+package vn.hoidanit.jobservice.dto;
+
+/**
+ * Application counts of a job counted in resume_db (resume-service internal endpoint), used by the stats backfill
+ */
+public record JobApplicationCount(Long jobId, long submittedCount, long withdrawnCount) {
+}
@@ -39,6 +39,17 @@ public class ResJobDTO {
     // Company info for displaying logo
     private CompanyInfo company;
 
+    // Active applications (submitted - withdrawn), set per response on a copy: never stored in the job caches
+    private long applicationCount;
+
+    /**
+     * Shallow copy with an application count (cached instances are shared between requests, never modified)
+     */
+    public ResJobDTO withApplicationCount(long applicationCount) {
+        return new ResJobDTO(id, name, location, salary, quantity, level, description, startDate, endDate, active,
+                createdAt, updatedAt, createdBy, updatedBy, skills, company, applicationCount);
+    }
+
     @Getter
     @Setter
     @NoArgsConstructor
@@ -0,0 +1,25 @@
+package vn.hoidanit.jobservice.dto;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Application counters of a job (GET /jobs/{id}/stats)
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResJobStatsDTO {
+    private long jobId;
+    private long submitted;
+    private long withdrawn;
+    // submitted - withdrawn
+    private long active;
+    // Last flush to the database, null if the job has no application yet
+    private Instant updatedAt;
+}
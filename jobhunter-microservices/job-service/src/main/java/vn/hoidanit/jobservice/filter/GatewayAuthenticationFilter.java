@@ -34,6 +34,8 @@ public class GatewayAuthenticationFilter extends OncePerRequestFilter {
     private static final String HEADER_USER_ID = "X-User-Id";
     private static final String HEADER_USER_EMAIL = "X-User-Email";
     private static final String HEADER_USER_ROLES = "X-User-Roles";
+    private static final String HEADER_USER_COMPANY_ID = "X-User-Company-Id";
+    private static final String HEADER_COMPANY_SIGNATURE = "X-Company-Signature";
     @Value("${gateway.signature.secret}")
     private String gatewaySignatureSecret;
 
@@ -79,6 +81,20 @@ public class GatewayAuthenticationFilter extends OncePerRequestFilter {
                     Map<String, Object> details = new HashMap<>();
                     details.put("userId", userId);
                     details.put("userEmail", userEmail);
+
+                    // HR company claim from the JWT, signed separately by the Gateway
+                    String companyId = request.getHeader(HEADER_USER_COMPANY_ID);
+                    if (companyId != null) {
+                        String companySignatureData = SignatureUtil.createCompanySignatureData(userId, companyId,
+                                timestamp);
+                        if (!SignatureUtil.verifySignature(companySignatureData,
+                                request.getHeader(HEADER_COMPANY_SIGNATURE), gatewaySignatureSecret)) {
+                            log.error("Invalid company signature - request rejected for user: {}", userEmail);
+                            sendUnauthorizedResponse(response, "Invalid company signature");
+                            return;
+                        }
+                        details.put("companyId", companyId);
+                    }
                     authentication.setDetails(details);
 
                     SecurityContextHolder.getContext().setAuthentication(authentication);
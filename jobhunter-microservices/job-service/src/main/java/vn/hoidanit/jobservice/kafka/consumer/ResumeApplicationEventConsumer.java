@@ -5,53 +5,73 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 import vn.hoidanit.jobservice.dto.ResumeApplicationEvent;
-import vn.hoidanit.jobservice.service.JobService;
+import vn.hoidanit.jobservice.service.JobApplicationStatsService;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ResumeApplicationEventConsumer {
 
-    private final JobService jobService;
+    private final JobApplicationStatsService jobApplicationStatsService;
 
+    /**
+     * Batch listener: counters are only incremented in memory here,
+     * JobApplicationStatsService flushes them to the database in one batched UPSERT.
+     * Event ids are checked first in one statement: a redelivered event is not counted twice
+     * (they are written with the counters by the flush).
+     * If that check fails the batch is thrown back to the container and redelivered as a whole.
+     */
     @KafkaListener(
             topics = "job-applications",
             groupId = "job-service-resume-events",
             containerFactory = "resumeEventKafkaListenerContainerFactory"
     )
-    public void consumeResumeApplicationEvent(ResumeApplicationEvent event) {
-        log.info("Received resume application event: type={}, resumeId={}, jobId={}",
-                event.getEventType(), event.getResumeId(), event.getJobId());
-
-        try {
-            switch (event.getEventType()) {
-                case RESUME_SUBMITTED -> handleResumeSubmitted(event);
-                case RESUME_WITHDRAWN -> handleResumeWithdrawn(event);
-                default -> log.debug("Event type {} not handled by job-service", event.getEventType());
+    public void consumeResumeApplicationEvents(List<ResumeApplicationEvent> events) {
+        log.info("Received {} resume application events", events.size());
+
+        Set<String> newEventIds = jobApplicationStatsService.findNew(events.stream()
+                .map(ResumeApplicationEvent::getEventId)
+                .filter(Objects::nonNull)
+                .toList());
+
+        for (ResumeApplicationEvent event : events) {
+            // remove(): an id repeated inside the batch is counted once
+            if (event.getEventId() != null && !newEventIds.remove(event.getEventId())) {
+                log.debug("Skipping already processed resume application event: eventId={}", event.getEventId());
+                continue;
+            }
+            try {
+                switch (event.getEventType()) {
+                    case RESUME_SUBMITTED -> handleResumeSubmitted(event);
+                    case RESUME_WITHDRAWN -> handleResumeWithdrawn(event);
+                    default -> log.debug("Event type {} not handled by job-service", event.getEventType());
+                }
+            } catch (Exception e) {
+                log.error("Failed to process resume application event: eventId={}, error={}",
+                        event.getEventId(), e.getMessage(), e);
             }
-        } catch (Exception e) {
-            log.error("Failed to process resume application event: eventId={}, error={}",
-                    event.getEventId(), e.getMessage(), e);
         }
     }
 
     private void handleResumeSubmitted(ResumeApplicationEvent event) {
-        log.info("Updating application count for jobId={}", event.getJobId());
-
-        // In a real system, you might:
-        // 1. Increment application count in Job entity
-        // 2. Update job statistics
-        // 3. Trigger notifications if quota reached
-        // 4. Update search rankings
-
-        log.info("Job {} received new application from user {}",
-                event.getJobId(), event.getUserEmail());
+        if (event.getJobId() == null) {
+            log.warn("Resume submitted event without jobId: eventId={}", event.getEventId());
+            return;
+        }
+        jobApplicationStatsService.recordSubmitted(event.getJobId(), event.getEventId());
+        log.debug("Job {} received new application from user {}", event.getJobId(), event.getUserEmail());
     }
 
     private void handleResumeWithdrawn(ResumeApplicationEvent event) {
-        log.info("Decrementing application count for jobId={}", event.getJobId());
-
-        log.info("Application withdrawn for job {}", event.getJobId());
+        if (event.getJobId() == null) {
+            log.warn("Resume withdrawn event without jobId: eventId={}", event.getEventId());
+            return;
+        }
+        jobApplicationStatsService.recordWithdrawn(event.getJobId(), event.getEventId());
+        log.debug("Application withdrawn for job {}", event.getJobId());
     }
 }
-
@@ -0,0 +1,37 @@
+package vn.hoidanit.jobservice.kafka.consumer;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+import vn.hoidanit.jobservice.config.KafkaProducerConfig;
+import vn.hoidanit.jobservice.dto.SkillEvent;
+import vn.hoidanit.jobservice.service.SkillDictionary;
+
+import java.util.List;
+
+/**
+ * Keeps the SkillDictionary of every job-service instance in sync.
+ *
+ * Each instance uses its own consumer group (random suffix) so every instance receives every event,
+ * starting from the latest offset: the dictionary is fully loaded from the database on first use anyway.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SkillEventConsumer {
+
+    private final SkillDictionary skillDictionary;
+
+    @KafkaListener(
+            topics = KafkaProducerConfig.SKILL_EVENTS_TOPIC,
+            groupId = "job-service-skill-dictionary-#{T(java.util.UUID).randomUUID()}",
+            containerFactory = "skillEventKafkaListenerContainerFactory",
+            properties = "auto.offset.reset=latest"
+    )
+    public void consumeSkillEvents(List<SkillEvent> events) {
+        // One reload per batch, whatever the number of changes
+        skillDictionary.reload();
+        log.info("Skill dictionary reloaded after {} skill events ({} skills)", events.size(), skillDictionary.size());
+    }
+}
@@ -0,0 +1,326 @@
+package vn.hoidanit.jobservice.kafka.producer;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.apache.kafka.common.errors.RecordTooLargeException;
+import org.apache.kafka.common.errors.SerializationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import vn.hoidanit.jobservice.config.KafkaProducerConfig;
+import vn.hoidanit.jobservice.domain.OutboxEvent;
+import vn.hoidanit.jobservice.dto.JobCreatedEvent;
+import vn.hoidanit.jobservice.dto.ResJobDTO;
+import vn.hoidanit.jobservice.dto.SkillEvent;
+import vn.hoidanit.jobservice.repository.OutboxEventRepository;
+import vn.hoidanit.jobservice.service.CompanyFetchService;
+
+/**
+ * Background relay of the outbox table to Kafka.
+ *
+ * Each batch is locked (SKIP LOCKED, so several instances can relay side by side), job-created events are
+ * enriched with the company names in one batch lookup, the records are sent through the idempotent producers
+ * and the batch waits for the acks. Acked rows are deleted: delivery is at-least-once, consumers must tolerate
+ * duplicates.
+ *
+ * Per-key order: the batch is sent in waves holding at most one row per message key, the next row of a key
+ * is only sent once the previous one is acked. When a row fails, the later rows of its key are left untouched
+ * by this batch, and lockOldest holds them back while the failed row waits for its retry.
+ *
+ * Failures:
+ * - transient (broker down, timeout...): attempts + 1, retried after outbox.relay.retry-backoff doubled per
+ *   attempt (capped at outbox.relay.max-retry-backoff), without limit: an outage only delays the events
+ * - non-retriable (unreadable payload, serialization error, record too large): parked at once, parked_at is
+ *   set and lockOldest skips it. Parked rows are kept for inspection; to replay, reset parked_at to NULL
+ *
+ * Metrics: outbox.lag (age of the oldest pending event), outbox.batch.size,
+ * outbox.events{result=published|failed|parked}
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private static final String UNKNOWN_COMPANY = "Unknown Company";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, JobCreatedEvent> jobCreatedKafkaTemplate;
+    private final KafkaTemplate<String, SkillEvent> skillEventKafkaTemplate;
+    private final CompanyFetchService companyFetchService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration sendTimeout;
+    private final Duration retryBackoff;
+    private final Duration maxRetryBackoff;
+
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final DistributionSummary batchSizeSummary;
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+    private final Counter parkedCounter;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+            KafkaTemplate<String, JobCreatedEvent> jobCreatedKafkaTemplate,
+            KafkaTemplate<String, SkillEvent> skillEventKafkaTemplate,
+            CompanyFetchService companyFetchService,
+            ObjectMapper objectMapper,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${outbox.relay.batch-size:100}") int batchSize,
+            @Value("${outbox.relay.send-timeout:20s}") Duration sendTimeout,
+            @Value("${outbox.relay.retry-backoff:1s}") Duration retryBackoff,
+            @Value("${outbox.relay.max-retry-backoff:5m}") Duration maxRetryBackoff) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.jobCreatedKafkaTemplate = jobCreatedKafkaTemplate;
+        this.skillEventKafkaTemplate = skillEventKafkaTemplate;
+        this.companyFetchService = companyFetchService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.sendTimeout = sendTimeout;
+        this.retryBackoff = retryBackoff;
+        this.maxRetryBackoff = maxRetryBackoff;
+
+        TimeGauge.builder("outbox.lag", lagMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Age of the oldest outbox event not yet sent to Kafka")
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("outbox.batch.size")
+                .description("Events drained from the outbox per relay batch")
+                .baseUnit("events")
+                .register(meterRegistry);
+        this.publishedCounter = Counter.builder("outbox.events").tag("result", "published").register(meterRegistry);
+        this.failedCounter = Counter.builder("outbox.events").tag("result", "failed").register(meterRegistry);
+        this.parkedCounter = Counter.builder("outbox.events").tag("result", "parked").register(meterRegistry);
+    }
+
+    /**
+     * Drain the outbox: full batches are relayed back to back, then wait for the next run
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.interval:500ms}")
+    public void relay() {
+        int published;
+        do {
+            published = relayBatch();
+        } while (published == batchSize);
+    }
+
+    /**
+     * Relay one batch in one transaction (row locks held until the acked rows are deleted)
+     *
+     * @return number of events acked by Kafka
+     */
+    public int relayBatch() {
+        Integer published = transactionTemplate.execute(status -> {
+            List<OutboxEvent> batch = outboxEventRepository.lockOldest(Instant.now(), PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                lagMillis.set(0);
+                return 0;
+            }
+            lagMillis.set(Math.max(0, Duration.between(batch.get(0).getCreatedAt(), Instant.now()).toMillis()));
+            batchSizeSummary.record(batch.size());
+            return send(batch);
+        });
+        return published == null ? 0 : published;
+    }
+
+    private int send(List<OutboxEvent> batch) {
+        List<Object> messages = batch.stream().map(this::readPayload).toList();
+        Map<Long, ResJobDTO.CompanyInfo> companies = fetchCompanies(messages);
+
+        long deadline = System.nanoTime() + sendTimeout.toNanos();
+        Instant now = Instant.now();
+        List<Long> sentIds = new ArrayList<>(batch.size());
+        List<Long> parkedIds = new ArrayList<>();
+        // Retry time -> ids (rows with the same attempts share a retry time)
+        Map<Instant, List<Long>> retries = new TreeMap<>();
+        Set<String> failedKeys = new HashSet<>();
+
+        List<Integer> pending = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            pending.add(i);
+        }
+        while (!pending.isEmpty() && System.nanoTime() < deadline) {
+            // One wave: the first pending row of every key, rows of a key that failed in this batch are held back
+            List<Integer> wave = new ArrayList<>();
+            List<Integer> later = new ArrayList<>();
+            Set<String> waveKeys = new HashSet<>();
+            for (int i : pending) {
+                String key = batch.get(i).getMessageKey();
+                if (key != null && failedKeys.contains(key)) {
+                    continue;
+                }
+                if (key == null || waveKeys.add(key)) {
+                    wave.add(i);
+                } else {
+                    later.add(i);
+                }
+            }
+
+            // Send the whole wave first, the producer groups the records into few requests
+            List<CompletableFuture<?>> futures = new ArrayList<>(wave.size());
+            for (int i : wave) {
+                futures.add(send(batch.get(i), messages.get(i), companies));
+            }
+
+            for (int w = 0; w < wave.size(); w++) {
+                OutboxEvent event = batch.get(wave.get(w));
+                Throwable failure = await(futures.get(w), deadline);
+                if (failure == null) {
+                    sentIds.add(event.getId());
+                    continue;
+                }
+                if (event.getMessageKey() != null) {
+                    failedKeys.add(event.getMessageKey());
+                }
+                if (isRetriable(failure)) {
+                    Instant nextAttemptAt = now.plus(retryDelay(event.getAttempts() + 1));
+                    log.warn("Failed to relay outbox event id={} type={} (attempt {}), retry at {}: {}", event.getId(),
+                            event.getEventType(), event.getAttempts() + 1, nextAttemptAt, failure.getMessage());
+                    retries.computeIfAbsent(nextAttemptAt, at -> new ArrayList<>()).add(event.getId());
+                } else {
+                    log.error("Parking outbox event id={} type={}, it can never be delivered: {}", event.getId(),
+                            event.getEventType(), failure.toString());
+                    parkedIds.add(event.getId());
+                }
+            }
+            pending = later;
+        }
+
+        if (!sentIds.isEmpty()) {
+            outboxEventRepository.deleteByIds(sentIds);
+        }
+        retries.forEach((nextAttemptAt, ids) -> outboxEventRepository.retryLater(ids, nextAttemptAt));
+        if (!parkedIds.isEmpty()) {
+            outboxEventRepository.park(parkedIds, now);
+        }
+        int failed = retries.values().stream().mapToInt(List::size).sum();
+        publishedCounter.increment(sentIds.size());
+        failedCounter.increment(failed);
+        parkedCounter.increment(parkedIds.size());
+        log.debug("Relayed outbox batch: {} published, {} failed, {} parked, {} held back", sentIds.size(), failed,
+                parkedIds.size(), batch.size() - sentIds.size() - failed - parkedIds.size());
+        return sentIds.size();
+    }
+
+    /**
+     * @return null once acked, the failure otherwise (a send not acked by the deadline is a failure)
+     */
+    private static Throwable await(CompletableFuture<?> future, long deadline) {
+        try {
+            future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return e;
+        } catch (ExecutionException e) {
+            return e.getCause() != null ? e.getCause() : e;
+        } catch (TimeoutException e) {
+            return e;
+        }
+    }
+
+    /**
+     * Non-retriable: the same record fails again whatever the broker state
+     */
+    private static boolean isRetriable(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SerializationException || cause instanceof RecordTooLargeException) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * retry-backoff * 2^(attempts - 1), capped at max-retry-backoff
+     */
+    Duration retryDelay(int attempts) {
+        Duration delay = retryBackoff.multipliedBy(1L << Math.min(Math.max(attempts - 1, 0), 20));
+        return delay.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : delay;
+    }
+
+    private CompletableFuture<?> send(OutboxEvent event, Object message,
+            Map<Long, ResJobDTO.CompanyInfo> companies) {
+        try {
+            if (message instanceof JobCreatedEvent jobCreated) {
+                ResJobDTO.CompanyInfo company = jobCreated.getCompanyId() == null ? null
+                        : companies.get(jobCreated.getCompanyId());
+                jobCreated.setCompanyName(company != null && company.getName() != null
+                        ? company.getName() : UNKNOWN_COMPANY);
+                return jobCreatedKafkaTemplate.send(event.getTopic(), event.getMessageKey(), jobCreated);
+            }
+            if (message instanceof SkillEvent skillEvent) {
+                return skillEventKafkaTemplate.send(event.getTopic(), event.getMessageKey(), skillEvent);
+            }
+            // Unknown topic or unreadable payload: non-retriable
+            return CompletableFuture.failedFuture(
+                    new SerializationException("Unreadable outbox event for topic " + event.getTopic()));
+        } catch (RuntimeException e) {
+            // e.g. producer blocked on metadata while the broker is down
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private Object readPayload(OutboxEvent event) {
+        Class<?> type = switch (event.getTopic()) {
+            case KafkaProducerConfig.JOB_CREATED_TOPIC -> JobCreatedEvent.class;
+            case KafkaProducerConfig.SKILL_EVENTS_TOPIC -> SkillEvent.class;
+            default -> null;
+        };
+        if (type == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(event.getPayload(), type);
+        } catch (Exception e) {
+            log.error("Cannot read outbox event id={} type={}", event.getId(), event.getEventType(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Company names of every job-created event of the batch in one lookup (L1/Redis MGET, then one Feign call)
+     */
+    private Map<Long, ResJobDTO.CompanyInfo> fetchCompanies(List<Object> messages) {
+        Set<Long> companyIds = messages.stream()
+                .filter(JobCreatedEvent.class::isInstance)
+                .map(message -> ((JobCreatedEvent) message).getCompanyId())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (companyIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        try {
+            return companyFetchService.fetchCompanies(companyIds);
+        } catch (Exception e) {
+            log.warn("Failed to fetch company names for outbox batch, using default: {}", e.getMessage());
+            return Collections.emptyMap();
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package vn.hoidanit.jobservice.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import vn.hoidanit.jobservice.domain.JobApplicationStats;
+
+@Repository
+public interface JobApplicationStatsRepository extends JpaRepository<JobApplicationStats, Long> {
+}
@@ -1,10 +1,16 @@
 package vn.hoidanit.jobservice.repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import vn.hoidanit.jobservice.domain.Job;
@@ -14,4 +20,40 @@ import vn.hoidanit.jobservice.domain.Skill;
 public interface JobRepository extends JpaRepository<Job, Long>, JpaSpecificationExecutor<Job> {
     Optional<Job> findById(long id);
     List<Job> findBySkillsIn(List<Skill> skills);
+
+    // Internal batch lookup: jobs + skills in one query
+    @Query("SELECT DISTINCT j FROM Job j LEFT JOIN FETCH j.skills WHERE j.id IN :ids")
+    List<Job> findByIdInWithSkills(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT j.id FROM Job j JOIN j.skills s WHERE s.id = :skillId")
+    List<Long> findIdsBySkillId(@Param("skillId") long skillId);
+
+    // ===== JobExpirationService: chunks on the (active, end_date) index =====
+
+    @Query("SELECT j.id FROM Job j WHERE j.active = true AND j.endDate < :now ORDER BY j.id")
+    List<Long> findExpiredActiveIds(@Param("now") Instant now, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Job j SET j.active = false, j.updatedAt = :now, j.updatedBy = 'system' "
+            + "WHERE j.id IN :ids AND j.active = true")
+    int deactivateByIds(@Param("ids") Collection<Long> ids, @Param("now") Instant now);
+
+    @Query("SELECT j.id FROM Job j WHERE j.active = false AND j.endDate < :cutoff ORDER BY j.id")
+    List<Long> findArchivableIds(@Param("cutoff") Instant cutoff, Pageable pageable);
+
+    @Modifying
+    @Query(value = "INSERT INTO jobs_archive (id, name, location, salary, quantity, level, description, start_date, "
+            + "end_date, active, company_id, created_at, updated_at, created_by, updated_by, archived_at) "
+            + "SELECT id, name, location, salary, quantity, level, description, start_date, end_date, active, "
+            + "company_id, created_at, updated_at, created_by, updated_by, :archivedAt FROM jobs WHERE id IN (:ids)",
+            nativeQuery = true)
+    int copyToArchive(@Param("ids") Collection<Long> ids, @Param("archivedAt") Instant archivedAt);
+
+    @Modifying
+    @Query(value = "DELETE FROM job_skill WHERE job_id IN (:ids)", nativeQuery = true)
+    int deleteSkillLinks(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM Job j WHERE j.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package vn.hoidanit.jobservice.repository;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import vn.hoidanit.jobservice.domain.Job;
+
+/**
+ * Specification dùng chung cho Job, ghép với filter của client (@Filter) bằng and()
+ */
+public final class JobSpecifications {
+
+    private JobSpecifications() {
+    }
+
+    /**
+     * WHERE company_id = ? (dùng index (company_id, id))
+     */
+    public static Specification<Job> belongsToCompany(Long companyId) {
+        return (root, query, cb) -> cb.equal(root.get("companyId"), companyId);
+    }
+}
@@ -0,0 +1,54 @@
+package vn.hoidanit.jobservice.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import vn.hoidanit.jobservice.domain.OutboxEvent;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Batch event cũ nhất chưa bị park và đã hết thời gian backoff, khóa dòng bằng FOR UPDATE SKIP LOCKED
+     * (lock timeout -2): nhiều instance chạy relay song song sẽ lấy các batch khác nhau.
+     * Bỏ qua event có event trước cùng message_key đang backoff (giữ thứ tự theo key)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM OutboxEvent e WHERE e.parkedAt IS NULL"
+            + " AND (e.nextAttemptAt IS NULL OR e.nextAttemptAt <= :now)"
+            + " AND NOT EXISTS (SELECT b.id FROM OutboxEvent b WHERE b.messageKey = e.messageKey AND b.id < e.id"
+            + " AND b.parkedAt IS NULL AND b.nextAttemptAt > :now)"
+            + " ORDER BY e.id")
+    List<OutboxEvent> lockOldest(@Param("now") Instant now, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Lỗi tạm thời: tăng attempts, gửi lại sau nextAttemptAt
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1, e.nextAttemptAt = :nextAttemptAt WHERE e.id IN :ids")
+    int retryLater(@Param("ids") Collection<Long> ids, @Param("nextAttemptAt") Instant nextAttemptAt);
+
+    /**
+     * Lỗi vĩnh viễn (gửi lại cũng không thành công): park, relay không lấy lại nữa
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1, e.parkedAt = :now WHERE e.id IN :ids")
+    int park(@Param("ids") Collection<Long> ids, @Param("now") Instant now);
+}
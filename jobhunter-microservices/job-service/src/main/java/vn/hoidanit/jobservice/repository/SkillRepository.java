@@ -4,6 +4,9 @@ import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import vn.hoidanit.jobservice.domain.Skill;
@@ -13,5 +16,13 @@ public interface SkillRepository extends JpaRepository<Skill, Long>, JpaSpecific
     List<Skill> findByIdIn(List<Long> ids);
 
     boolean existsByName(String name);
+
+    @Modifying
+    @Query(value = "DELETE FROM job_skill WHERE skill_id = :skillId", nativeQuery = true)
+    int deleteJobLinks(@Param("skillId") long skillId);
+
+    @Modifying
+    @Query("DELETE FROM Skill s WHERE s.id = :id")
+    int deleteSkillById(@Param("id") long id);
 }
 
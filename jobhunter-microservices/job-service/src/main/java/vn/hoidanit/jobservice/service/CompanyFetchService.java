@@ -1,6 +1,16 @@
 package vn.hoidanit.jobservice.service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.stereotype.Service;
 
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
@@ -8,6 +18,9 @@ import io.github.resilience4j.retry.annotation.Retry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import vn.hoidanit.jobservice.client.CompanyClient;
+import vn.hoidanit.jobservice.config.CacheConfig;
+import vn.hoidanit.jobservice.config.TwoLevelCache;
+import vn.hoidanit.jobservice.config.TwoLevelCacheManager;
 import vn.hoidanit.jobservice.dto.CompanyDTO;
 import vn.hoidanit.jobservice.dto.ResJobDTO;
 
@@ -24,7 +37,11 @@ import vn.hoidanit.jobservice.dto.ResJobDTO;
 @Slf4j
 public class CompanyFetchService {
 
+    private static final String FALLBACK_NAME = "Company information unavailable";
+
     private final CompanyClient companyClient;
+    private final RedisTemplate<String, Object> cacheRedisTemplate;
+    private final TwoLevelCacheManager cacheManager;
 
     /**
      * Fetch company information with Circuit Breaker, Retry, and Cache protection.
@@ -47,17 +64,68 @@ public class CompanyFetchService {
         var companyResponse = companyClient.getCompanyById(companyId);
 
         if (companyResponse != null && companyResponse.getData() != null) {
-            CompanyDTO company = companyResponse.getData();
-            ResJobDTO.CompanyInfo companyInfo = new ResJobDTO.CompanyInfo();
-            companyInfo.setId(company.getId());
-            companyInfo.setName(company.getName());
-            companyInfo.setLogo(company.getLogo());
-            return companyInfo;
+            return toCompanyInfo(companyResponse.getData());
         }
 
         return createFallbackCompanyInfo(companyId);
     }
 
+    /**
+     * Batch version of fetchCompany for a whole page of jobs.
+     *
+     * 1. Local (L1) lookup, then one Redis MGET for the rest (same "company-fetch" entries as fetchCompany)
+     * 2. Feign calls to company-service for the misses, CompanyClient.MAX_BATCH_SIZE ids per call
+     * 3. One pipelined multi-set (with TTL) of the fetched companies back into the cache
+     *
+     * Ids unknown to company-service (or all misses when it is down) get the fallback info, which is not cached.
+     *
+     * @param companyIds The company IDs to fetch
+     * @return companyId -> CompanyInfo for every requested id
+     */
+    @CircuitBreaker(name = "companyService", fallbackMethod = "fetchCompaniesFallback")
+    @Retry(name = "companyService")
+    public Map<Long, ResJobDTO.CompanyInfo> fetchCompanies(Set<Long> companyIds) {
+        Map<Long, ResJobDTO.CompanyInfo> result = readCached(companyIds);
+
+        Set<Long> misses = new LinkedHashSet<>(companyIds);
+        misses.removeAll(result.keySet());
+        if (misses.isEmpty()) {
+            return result;
+        }
+
+        log.debug("Fetching {} companies from company-service ({} cache hits)", misses.size(), result.size());
+        List<Long> missList = new ArrayList<>(misses);
+        Map<Long, ResJobDTO.CompanyInfo> fetched = new HashMap<>();
+        for (int from = 0; from < missList.size(); from += CompanyClient.MAX_BATCH_SIZE) {
+            var companiesResponse = companyClient.getCompaniesByIds(
+                    missList.subList(from, Math.min(from + CompanyClient.MAX_BATCH_SIZE, missList.size())));
+            if (companiesResponse != null && companiesResponse.getData() != null) {
+                for (CompanyDTO company : companiesResponse.getData()) {
+                    fetched.put(company.getId(), toCompanyInfo(company));
+                }
+            }
+        }
+        writeCached(fetched);
+
+        result.putAll(fetched);
+        for (Long companyId : misses) {
+            result.computeIfAbsent(companyId, this::createFallbackCompanyInfo);
+        }
+        return result;
+    }
+
+    /**
+     * Fallback for fetchCompanies: keep whatever is cached, default info for the rest.
+     */
+    public Map<Long, ResJobDTO.CompanyInfo> fetchCompaniesFallback(Set<Long> companyIds, Throwable ex) {
+        log.warn("Circuit breaker fallback triggered for {} companies: {}", companyIds.size(), ex.getMessage());
+        Map<Long, ResJobDTO.CompanyInfo> result = readCached(companyIds);
+        for (Long companyId : companyIds) {
+            result.computeIfAbsent(companyId, this::createFallbackCompanyInfo);
+        }
+        return result;
+    }
+
     /**
      * Fallback method when Circuit Breaker is open or service fails.
      * Returns minimal company information.
@@ -74,9 +142,82 @@ public class CompanyFetchService {
     private ResJobDTO.CompanyInfo createFallbackCompanyInfo(Long companyId) {
         ResJobDTO.CompanyInfo companyInfo = new ResJobDTO.CompanyInfo();
         companyInfo.setId(companyId);
-        companyInfo.setName("Company information unavailable");
+        companyInfo.setName(FALLBACK_NAME);
         companyInfo.setLogo(null);
         return companyInfo;
     }
-}
 
+    private ResJobDTO.CompanyInfo toCompanyInfo(CompanyDTO company) {
+        ResJobDTO.CompanyInfo companyInfo = new ResJobDTO.CompanyInfo();
+        companyInfo.setId(company.getId());
+        companyInfo.setName(company.getName());
+        companyInfo.setLogo(company.getLogo());
+        return companyInfo;
+    }
+
+    /**
+     * Read the cached entries from L1, MGET the rest. A Redis failure is treated as all misses.
+     */
+    private Map<Long, ResJobDTO.CompanyInfo> readCached(Set<Long> companyIds) {
+        Map<Long, ResJobDTO.CompanyInfo> cached = new HashMap<>();
+        TwoLevelCache cache = companyCache();
+        List<Long> ids = new ArrayList<>();
+        for (Long companyId : companyIds) {
+            if (cache.getLocal(companyId) instanceof ResJobDTO.CompanyInfo companyInfo) {
+                cached.put(companyId, companyInfo);
+            } else {
+                ids.add(companyId);
+            }
+        }
+        if (ids.isEmpty()) {
+            return cached;
+        }
+        try {
+            List<Object> values = cacheRedisTemplate.opsForValue().multiGet(ids.stream()
+                    .map(id -> CacheConfig.cacheKey(CacheConfig.COMPANY_FETCH_CACHE, id))
+                    .toList());
+            if (values == null) {
+                return cached;
+            }
+            for (int i = 0; i < ids.size(); i++) {
+                if (values.get(i) instanceof ResJobDTO.CompanyInfo companyInfo) {
+                    cached.put(ids.get(i), companyInfo);
+                    cache.putLocal(ids.get(i), companyInfo);
+                }
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Failed to read company cache: {}", ex.getMessage());
+        }
+        return cached;
+    }
+
+    /**
+     * Write fetched companies back in one pipeline (SET with the cache TTL), and into L1.
+     */
+    private void writeCached(Map<Long, ResJobDTO.CompanyInfo> companies) {
+        if (companies.isEmpty()) {
+            return;
+        }
+        TwoLevelCache cache = companyCache();
+        companies.forEach(cache::putLocal);
+        try {
+            cacheRedisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                    companies.forEach((id, companyInfo) -> ops.opsForValue().set(
+                            CacheConfig.cacheKey(CacheConfig.COMPANY_FETCH_CACHE, id), companyInfo,
+                            CacheConfig.COMPANY_FETCH_TTL));
+                    return null;
+                }
+            });
+        } catch (RuntimeException ex) {
+            log.warn("Failed to write company cache: {}", ex.getMessage());
+        }
+    }
+
+    private TwoLevelCache companyCache() {
+        return (TwoLevelCache) cacheManager.getCache(CacheConfig.COMPANY_FETCH_CACHE);
+    }
+}
@@ -0,0 +1,94 @@
+package vn.hoidanit.jobservice.service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+import vn.hoidanit.jobservice.client.ResumeClient;
+import vn.hoidanit.jobservice.config.SchedulingConfig;
+import vn.hoidanit.jobservice.dto.JobApplicationCount;
+import vn.hoidanit.jobservice.dto.RestResponseWrapper;
+import vn.hoidanit.jobservice.repository.JobApplicationStatsRepository;
+
+/**
+ * Initial application counters, counted from resume_db by resume-service.
+ *
+ * The Kafka events only carry applications made after the consumer was deployed: when job_application_stats is
+ * empty at startup, the counters of every job are loaded once on the backfill executor
+ * (SchedulingConfig.JOB_STATS_BACKFILL_EXECUTOR). Admins can run it again
+ * (POST /api/v1/jobs/stats/backfill) to re-sync after lost events. Job ids are walked in ascending keyset pages,
+ * each page is written with one batched UPSERT overwriting the counters.
+ */
+@Component
+@Slf4j
+public class JobApplicationStatsBackfill {
+
+    private final ResumeClient resumeClient;
+    private final JobApplicationStatsService jobApplicationStatsService;
+    private final JobApplicationStatsRepository jobApplicationStatsRepository;
+    private final TaskExecutor backfillExecutor;
+    private final boolean onStartup;
+    private final int pageSize;
+
+    public JobApplicationStatsBackfill(ResumeClient resumeClient,
+            JobApplicationStatsService jobApplicationStatsService,
+            JobApplicationStatsRepository jobApplicationStatsRepository,
+            @Qualifier(SchedulingConfig.JOB_STATS_BACKFILL_EXECUTOR) TaskExecutor backfillExecutor,
+            @Value("${job-stats.backfill.on-startup:true}") boolean onStartup,
+            @Value("${job-stats.backfill.page-size:500}") int pageSize) {
+        this.resumeClient = resumeClient;
+        this.jobApplicationStatsService = jobApplicationStatsService;
+        this.jobApplicationStatsRepository = jobApplicationStatsRepository;
+        this.backfillExecutor = backfillExecutor;
+        this.onStartup = onStartup;
+        this.pageSize = pageSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!onStartup || jobApplicationStatsRepository.count() > 0) {
+            return;
+        }
+        backfillExecutor.execute(() -> {
+            try {
+                run();
+            } catch (RuntimeException e) {
+                log.error("Job application stats backfill failed, run it again from the admin endpoint", e);
+            }
+        });
+    }
+
+    /**
+     * @return number of jobs whose counters were written
+     */
+    public int run() {
+        long afterJobId = 0;
+        int written = 0;
+        List<JobApplicationCount> page;
+        while (!(page = fetchPage(afterJobId)).isEmpty()) {
+            jobApplicationStatsService.replaceCounts(page);
+            written += page.size();
+            afterJobId = page.get(page.size() - 1).jobId();
+            if (page.size() < pageSize) {
+                break;
+            }
+        }
+        log.info("Job application stats backfill: counters of {} jobs written", written);
+        return written;
+    }
+
+    private List<JobApplicationCount> fetchPage(long afterJobId) {
+        RestResponseWrapper<List<JobApplicationCount>> response =
+                resumeClient.getApplicationCounts(afterJobId, pageSize);
+        if (response == null || response.getData() == null) {
+            throw new IllegalStateException("Resume service returned no application counts after job " + afterJobId);
+        }
+        return response.getData();
+    }
+}
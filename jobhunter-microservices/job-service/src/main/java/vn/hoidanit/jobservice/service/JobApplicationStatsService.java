@@ -0,0 +1,300 @@
+package vn.hoidanit.jobservice.service;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import vn.hoidanit.jobservice.domain.JobApplicationStats;
+import vn.hoidanit.jobservice.dto.JobApplicationCount;
+import vn.hoidanit.jobservice.dto.ResJobStatsDTO;
+import vn.hoidanit.jobservice.repository.JobApplicationStatsRepository;
+
+/**
+ * Application counters per job, fed by ResumeApplicationEventConsumer.
+ *
+ * Events are counted in memory (one pair of LongAdder per job id, no lock on the consumer path) and flushed
+ * every flush-interval as one JDBC batch of UPSERTs adding the deltas. sumThenReset() takes each delta
+ * atomically, so increments racing with a flush are kept for the next one; a failed flush puts its deltas back.
+ * Reads add the deltas not flushed yet.
+ *
+ * Kafka delivers at least once: findNew() drops the event ids already in job_application_events or pending here.
+ * The ids of counted events are written in the same transaction as their deltas, so an event redelivered after
+ * a crash before its flush is counted again rather than skipped; counts whose offsets were already committed
+ * at a crash (at most one interval) are lost. Ids are kept for dedupe-retention (longer than any redelivery),
+ * then purged.
+ * replaceCounts() overwrites the counters with a snapshot of resume_db (JobApplicationStatsBackfill).
+ */
+@Service
+@Slf4j
+public class JobApplicationStatsService {
+
+    // Rows sorted by job_id: instances flushing at the same time lock rows in the same order (no deadlock)
+    static final String UPSERT_SQL = """
+            INSERT INTO job_application_stats (job_id, submitted_count, withdrawn_count, updated_at)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (job_id) DO UPDATE SET
+                submitted_count = job_application_stats.submitted_count + EXCLUDED.submitted_count,
+                withdrawn_count = job_application_stats.withdrawn_count + EXCLUDED.withdrawn_count,
+                updated_at = EXCLUDED.updated_at
+            """;
+
+    static final String REPLACE_SQL = """
+            INSERT INTO job_application_stats (job_id, submitted_count, withdrawn_count, updated_at)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (job_id) DO UPDATE SET
+                submitted_count = EXCLUDED.submitted_count,
+                withdrawn_count = EXCLUDED.withdrawn_count,
+                updated_at = EXCLUDED.updated_at
+            """;
+
+    // One statement per consumer batch, returns the ids already counted
+    static final String FIND_PROCESSED_SQL = "SELECT event_id FROM job_application_events WHERE event_id = ANY(?)";
+
+    // One statement per flush, in the transaction of the deltas
+    static final String MARK_EVENTS_SQL = """
+            INSERT INTO job_application_events (event_id, received_at)
+            SELECT event_id, ? FROM unnest(?) AS event_id
+            ON CONFLICT (event_id) DO NOTHING
+            """;
+
+    static final String PURGE_EVENTS_SQL = "DELETE FROM job_application_events WHERE received_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JobApplicationStatsRepository jobApplicationStatsRepository;
+    private final Duration dedupeRetention;
+
+    // Bounded by the number of jobs receiving applications; entries are kept so no increment hits a removed adder
+    private final Map<Long, PendingCounts> pending = new ConcurrentHashMap<>();
+
+    // Ids of counted events, removed once the flush carrying their deltas has committed
+    private final Set<String> pendingEventIds = ConcurrentHashMap.newKeySet();
+
+    // Shared: recording one event (id + increment); exclusive: a flush taking its snapshot of ids and deltas
+    private final ReadWriteLock snapshotLock = new ReentrantReadWriteLock();
+
+    public JobApplicationStatsService(JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            JobApplicationStatsRepository jobApplicationStatsRepository,
+            @Value("${job-stats.dedupe-retention:7d}") Duration dedupeRetention) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.jobApplicationStatsRepository = jobApplicationStatsRepository;
+        this.dedupeRetention = dedupeRetention;
+    }
+
+    /**
+     * Check the event ids of a consumer batch (nothing is written, ids are marked by the flush of their deltas)
+     *
+     * @return the ids not seen before (the others are redeliveries and must not be counted again)
+     */
+    public Set<String> findNew(Collection<String> eventIds) {
+        String[] ids = eventIds.stream().distinct().filter(id -> !pendingEventIds.contains(id))
+                .toArray(String[]::new);
+        Set<String> result = new HashSet<>(List.of(ids));
+        if (ids.length == 0) {
+            return result;
+        }
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(FIND_PROCESSED_SQL);
+            ps.setArray(1, con.createArrayOf("varchar", ids));
+            return ps;
+        }, (rs, rowNum) -> rs.getString(1)).forEach(result::remove);
+        return result;
+    }
+
+    @Scheduled(fixedDelayString = "${job-stats.dedupe-purge-interval:1h}")
+    public int purgeProcessedEvents() {
+        int purged = jdbcTemplate.update(PURGE_EVENTS_SQL, Timestamp.from(Instant.now().minus(dedupeRetention)));
+        if (purged > 0) {
+            log.debug("Purged {} processed job application event ids", purged);
+        }
+        return purged;
+    }
+
+    /**
+     * @param eventId id of the Kafka event, null for events without one (counted without dedupe)
+     * @return false if the event is already pending (redelivered before its flush), it is not counted again
+     */
+    public boolean recordSubmitted(long jobId, String eventId) {
+        return record(jobId, eventId, true);
+    }
+
+    public boolean recordWithdrawn(long jobId, String eventId) {
+        return record(jobId, eventId, false);
+    }
+
+    private boolean record(long jobId, String eventId, boolean submitted) {
+        Lock lock = snapshotLock.readLock();
+        lock.lock();
+        try {
+            if (eventId != null && !pendingEventIds.add(eventId)) {
+                return false;
+            }
+            PendingCounts counts = pending.computeIfAbsent(jobId, id -> new PendingCounts());
+            (submitted ? counts.submitted : counts.withdrawn).increment();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Write the pending deltas in one batched UPSERT, and the ids of their events, in one transaction
+     *
+     * @return number of jobs flushed
+     */
+    @Scheduled(fixedDelayString = "${job-stats.flush-interval:1000ms}")
+    public int flush() {
+        List<Long> jobIds = new ArrayList<>();
+        List<long[]> deltas = new ArrayList<>();
+        List<String> eventIds;
+        Lock lock = snapshotLock.writeLock();
+        lock.lock();
+        try {
+            pending.keySet().stream().sorted().forEach(jobId -> {
+                PendingCounts counts = pending.get(jobId);
+                long submitted = counts.submitted.sumThenReset();
+                long withdrawn = counts.withdrawn.sumThenReset();
+                if (submitted != 0 || withdrawn != 0) {
+                    jobIds.add(jobId);
+                    deltas.add(new long[] { submitted, withdrawn });
+                }
+            });
+            eventIds = List.copyOf(pendingEventIds);
+        } finally {
+            lock.unlock();
+        }
+        if (jobIds.isEmpty() && eventIds.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> rows = new ArrayList<>(jobIds.size());
+        for (int i = 0; i < jobIds.size(); i++) {
+            rows.add(new Object[] { jobIds.get(i), deltas.get(i)[0], deltas.get(i)[1], now });
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!eventIds.isEmpty()) {
+                    markProcessed(eventIds, now);
+                }
+                if (!rows.isEmpty()) {
+                    jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+                }
+            });
+        } catch (RuntimeException e) {
+            // Put the deltas back, the next flush retries them
+            for (int i = 0; i < jobIds.size(); i++) {
+                PendingCounts counts = pending.get(jobIds.get(i));
+                counts.submitted.add(deltas.get(i)[0]);
+                counts.withdrawn.add(deltas.get(i)[1]);
+            }
+            // The event ids stay pending with them
+            log.warn("Failed to flush application counters of {} jobs, will retry: {}", jobIds.size(),
+                    e.getMessage());
+            return 0;
+        }
+        eventIds.forEach(pendingEventIds::remove);
+        log.debug("Flushed application counters of {} jobs", jobIds.size());
+        return jobIds.size();
+    }
+
+    private void markProcessed(List<String> eventIds, Timestamp now) {
+        String[] ids = eventIds.toArray(String[]::new);
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(MARK_EVENTS_SQL);
+            ps.setTimestamp(1, now);
+            ps.setArray(2, con.createArrayOf("varchar", ids));
+            return ps;
+        });
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Overwrite the counters of the given jobs (snapshot counted in resume_db). Pending deltas are flushed first;
+     * events consumed while the snapshot is taken may be counted twice or not at all, so the result is exact
+     * only when no application is submitted or withdrawn meanwhile.
+     */
+    public void replaceCounts(List<JobApplicationCount> counts) {
+        flush();
+        if (counts.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> rows = counts.stream()
+                .sorted(Comparator.comparing(JobApplicationCount::jobId))
+                .map(count -> new Object[] { count.jobId(), count.submittedCount(), count.withdrawnCount(), now })
+                .toList();
+        jdbcTemplate.batchUpdate(REPLACE_SQL, rows);
+    }
+
+    public ResJobStatsDTO getStats(long jobId) {
+        JobApplicationStats stats = jobApplicationStatsRepository.findById(jobId).orElse(null);
+        long submitted = (stats != null ? stats.getSubmittedCount() : 0) + pendingSubmitted(jobId);
+        long withdrawn = (stats != null ? stats.getWithdrawnCount() : 0) + pendingWithdrawn(jobId);
+        return new ResJobStatsDTO(jobId, submitted, withdrawn, submitted - withdrawn,
+                stats != null ? stats.getUpdatedAt() : null);
+    }
+
+    /**
+     * Active applications (submitted - withdrawn) of several jobs in one query
+     */
+    public Map<Long, Long> getActiveCounts(Collection<Long> jobIds) {
+        Map<Long, Long> result = new HashMap<>();
+        if (jobIds.isEmpty()) {
+            return result;
+        }
+        for (JobApplicationStats stats : jobApplicationStatsRepository.findAllById(jobIds)) {
+            result.put(stats.getJobId(), stats.getSubmittedCount() - stats.getWithdrawnCount());
+        }
+        for (Long jobId : jobIds) {
+            long pendingDelta = pendingSubmitted(jobId) - pendingWithdrawn(jobId);
+            if (pendingDelta != 0) {
+                result.merge(jobId, pendingDelta, Long::sum);
+            }
+        }
+        return result;
+    }
+
+    private long pendingSubmitted(long jobId) {
+        PendingCounts counts = pending.get(jobId);
+        return counts == null ? 0 : counts.submitted.sum();
+    }
+
+    private long pendingWithdrawn(long jobId) {
+        PendingCounts counts = pending.get(jobId);
+        return counts == null ? 0 : counts.withdrawn.sum();
+    }
+
+    private static final class PendingCounts {
+        private final LongAdder submitted = new LongAdder();
+        private final LongAdder withdrawn = new LongAdder();
+    }
+}
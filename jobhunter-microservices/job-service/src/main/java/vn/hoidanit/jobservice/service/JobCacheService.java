@@ -0,0 +1,71 @@
+package vn.hoidanit.jobservice.service;
+
+import java.util.Collection;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import vn.hoidanit.jobservice.config.TwoLevelCache;
+import vn.hoidanit.jobservice.config.TwoLevelCacheManager;
+
+/**
+ * Targeted invalidation for the job-service caches (replaces @CacheEvict(allEntries = true)).
+ *
+ * - Detail cache ("jobs:details"): evict only the affected keys, in one DEL (+ one L1 invalidation broadcast)
+ * - List caches ("jobs"): keys carry a generation number stored in Redis and kept in memory by the cache manager.
+ *   Invalidation is a single INCR + broadcast; entries of older generations are never read again and expire by TTL.
+ *
+ * Inside a transaction, invalidation runs after commit: a read between the eviction and the commit
+ * would otherwise cache the old row again.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class JobCacheService {
+
+    public static final String JOBS_CACHE = "jobs";
+    public static final String JOB_DETAILS_CACHE = "jobs:details";
+
+    private final TwoLevelCacheManager cacheManager;
+
+    /**
+     * Current generation of a list cache (0 until the first invalidation), served from memory.
+     */
+    public long currentGeneration(String cacheName) {
+        return cacheManager.generation(cacheName);
+    }
+
+    /**
+     * Invalidate every entry of a list cache in O(1).
+     */
+    public void invalidateList(String cacheName) {
+        afterCommit(() -> {
+            long generation = cacheManager.nextGeneration(cacheName);
+            log.debug("Cache {} moved to generation {}", cacheName, generation);
+        });
+    }
+
+    public void evictJobDetails(Collection<Long> jobIds) {
+        evict(JOB_DETAILS_CACHE, jobIds);
+    }
+
+    private void evict(String cacheName, Collection<Long> ids) {
+        afterCommit(() -> ((TwoLevelCache) cacheManager.getCache(cacheName)).evictAll(ids));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,135 @@
+package vn.hoidanit.jobservice.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+import vn.hoidanit.jobservice.repository.JobRepository;
+
+/**
+ * Expiration and archival of jobs, so listings, caches and the hot jobs table only hold open jobs.
+ *
+ * - Expire: jobs with a past endDate still active are deactivated, chunk by chunk (one SELECT of ids on the
+ *   (active, end_date) index + one bulk UPDATE per chunk)
+ * - Archive (optional): inactive jobs whose endDate is older than the retention window are copied to
+ *   jobs_archive and deleted from jobs (with their job_skill rows)
+ *
+ * Each chunk runs in its own transaction under a Redis lease: whichever instance holds the lease runs the
+ * chunk, the lease is released after commit so any instance may take the next one. Each chunk invalidates the
+ * affected job-service cache entries after commit.
+ *
+ * No Kafka event is written: other services see the deactivations and archive deletes as row changes on the
+ * Debezium CDC feed of jobs (job_db.public.jobs), like every other job change, e.g. resume-service
+ * JobCdcConsumer drops the jobs from its JobSummaryCache and search-service updates its index.
+ */
+@Service
+@Slf4j
+public class JobExpirationService {
+
+    static final String LEASE_NAME = "job-expiration";
+
+    private final JobRepository jobRepository;
+    private final JobCacheService jobCacheService;
+    private final RedisLease redisLease;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final Duration leaseTtl;
+    private final boolean archiveEnabled;
+    private final Duration retention;
+
+    public JobExpirationService(JobRepository jobRepository,
+            JobCacheService jobCacheService,
+            RedisLease redisLease,
+            TransactionTemplate transactionTemplate,
+            @Value("${job-expiration.chunk-size:500}") int chunkSize,
+            @Value("${job-expiration.lease-ttl:60s}") Duration leaseTtl,
+            @Value("${job-expiration.archive.enabled:false}") boolean archiveEnabled,
+            @Value("${job-expiration.archive.retention:180d}") Duration retention) {
+        this.jobRepository = jobRepository;
+        this.jobCacheService = jobCacheService;
+        this.redisLease = redisLease;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.leaseTtl = leaseTtl;
+        this.archiveEnabled = archiveEnabled;
+        this.retention = retention;
+    }
+
+    @Scheduled(fixedDelayString = "${job-expiration.interval:5m}", initialDelayString = "${job-expiration.initial-delay:1m}")
+    public void run() {
+        int expired = expireJobs();
+        int archived = archiveEnabled ? archiveJobs() : 0;
+        if (expired > 0 || archived > 0) {
+            log.info("Job expiration run: {} jobs deactivated, {} jobs archived", expired, archived);
+        }
+    }
+
+    /**
+     * Deactivate every active job whose endDate is in the past
+     *
+     * @return number of jobs deactivated by this instance
+     */
+    public int expireJobs() {
+        Instant now = Instant.now();
+        return runChunks(() -> jobRepository.findExpiredActiveIds(now, PageRequest.of(0, chunkSize)),
+                ids -> jobRepository.deactivateByIds(ids, now));
+    }
+
+    /**
+     * Move inactive jobs whose endDate is older than the retention window to jobs_archive
+     *
+     * @return number of jobs archived by this instance
+     */
+    public int archiveJobs() {
+        Instant now = Instant.now();
+        Instant cutoff = now.minus(retention);
+        return runChunks(() -> jobRepository.findArchivableIds(cutoff, PageRequest.of(0, chunkSize)), ids -> {
+            jobRepository.copyToArchive(ids, now);
+            jobRepository.deleteSkillLinks(ids);
+            return jobRepository.deleteByIds(ids);
+        });
+    }
+
+    /**
+     * Process chunks until one is not full, each one in its own transaction under the lease
+     */
+    private int runChunks(Supplier<List<Long>> nextChunk, Function<List<Long>, Integer> chunkAction) {
+        int total = 0;
+        while (true) {
+            String token = redisLease.tryAcquire(LEASE_NAME, leaseTtl);
+            if (token == null) {
+                log.debug("Job expiration lease held by another instance, skipping");
+                return total;
+            }
+
+            List<Long> ids;
+            try {
+                ids = transactionTemplate.execute(status -> {
+                    List<Long> chunk = nextChunk.get();
+                    if (!chunk.isEmpty()) {
+                        chunkAction.apply(chunk);
+                        jobCacheService.evictJobDetails(chunk);
+                        jobCacheService.invalidateList(JobCacheService.JOBS_CACHE);
+                    }
+                    return chunk;
+                });
+            } finally {
+                redisLease.release(LEASE_NAME, token);
+            }
+
+            total += ids.size();
+            if (ids.size() < chunkSize) {
+                return total;
+            }
+        }
+    }
+}
@@ -1,18 +1,22 @@
 package vn.hoidanit.jobservice.service;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,9 +27,8 @@ import vn.hoidanit.jobservice.dto.ResJobDTO;
 import vn.hoidanit.jobservice.dto.ResUpdateJobDTO;
 import vn.hoidanit.jobservice.dto.ResultPaginationDTO;
 import vn.hoidanit.jobservice.dto.UserDTO;
-import vn.hoidanit.jobservice.kafka.producer.JobEventProducer;
 import vn.hoidanit.jobservice.repository.JobRepository;
-import vn.hoidanit.jobservice.repository.SkillRepository;
+import vn.hoidanit.jobservice.repository.JobSpecifications;
 import vn.hoidanit.jobservice.util.SecurityUtil;
 
 @Service
@@ -33,18 +36,24 @@ import vn.hoidanit.jobservice.util.SecurityUtil;
 @Slf4j
 public class JobService {
     private final JobRepository jobRepository;
-    private final SkillRepository skillRepository;
     private final CompanyFetchService companyFetchService;
-    private final JobEventProducer jobEventProducer;
+    private final OutboxService outboxService;
+    private final JobApplicationStatsService jobApplicationStatsService;
+    private final SkillDictionary skillDictionary;
     private final UserFetchService userFetchService;
+    private final JobCacheService jobCacheService;
 
-    @CacheEvict(value = { "jobs", "jobs:details" }, allEntries = true)
+    /**
+     * Job + event job-created (outbox) trong cùng transaction, OutboxRelay gửi Kafka sau khi commit
+     */
+    @Transactional
     public ResCreateJobDTO create(Job job) {
         attachSkillsToJob(job);
         Job savedJob = jobRepository.save(job);
+        jobCacheService.invalidateList(JobCacheService.JOBS_CACHE);
 
-        // Publish Kafka event for job alerts
-        jobEventProducer.publishJobCreated(savedJob);
+        // Event for job alerts, relayed to Kafka by OutboxRelay
+        outboxService.appendJobCreated(savedJob);
 
         return mapToCreateDTO(savedJob);
     }
@@ -53,66 +62,104 @@ public class JobService {
         return jobRepository.findById(id);
     }
 
-    @Cacheable(value = "jobs:details", key = "#id")
+    @Cacheable(value = JobCacheService.JOB_DETAILS_CACHE, key = "#id")
     public ResJobDTO fetchJobByIdWithCompany(long id) {
         return jobRepository.findById(id)
                 .map(this::convertToResJobDTO)
                 .orElse(null);
     }
 
-    @CacheEvict(value = { "jobs", "jobs:details" }, allEntries = true)
     public ResUpdateJobDTO update(Job job, Job existingJob) {
         attachSkillsToJob(job);
         updateJobFields(existingJob, job);
         Job savedJob = jobRepository.save(existingJob);
+        evictJob(savedJob.getId());
         return mapToUpdateDTO(savedJob);
     }
 
-    @CacheEvict(value = { "jobs", "jobs:details" }, allEntries = true)
     public void delete(long id) {
         jobRepository.deleteById(id);
+        evictJob(id);
     }
 
-    public ResultPaginationDTO fetchAll(Specification<Job> spec, Pageable pageable) {
-        Page<Job> jobPage = jobRepository.findAll(spec, pageable);
-
-        List<ResJobDTO> jobDTOs = jobPage.getContent().stream()
-                .map(this::convertToResJobDTO)
-                .collect(Collectors.toList());
+    /**
+     * Evict only this job's detail entry + O(1) invalidation of the list cache
+     */
+    private void evictJob(long id) {
+        jobCacheService.evictJobDetails(List.of(id));
+        jobCacheService.invalidateList(JobCacheService.JOBS_CACHE);
+    }
 
-        return buildPaginationResult(jobPage, jobDTOs, pageable);
+    /**
+     * Several jobs with their companies for the internal batch endpoint: one query for the jobs and their
+     * skills, one batch for the companies. Unknown ids are skipped.
+     */
+    public List<ResJobDTO> fetchJobsByIdsWithCompany(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return convertToResJobDTOs(jobRepository.findByIdInWithSkills(ids));
     }
 
-    public ResultPaginationDTO fetchAllForCompany(Specification<Job> spec, Pageable pageable, Long companyId) {
-        List<Job> allJobs = this.jobRepository.findAll(spec);
-        List<Job> scopedJobs = allJobs.stream()
-                .filter(job -> companyId.equals(job.getCompanyId()))
-                .collect(Collectors.toList());
+    /**
+     * Public job list without filter (landing page), cached per page in the current "jobs" generation
+     */
+    @Cacheable(value = JobCacheService.JOBS_CACHE, keyGenerator = "generationKeyGenerator")
+    public ResultPaginationDTO fetchAllUnfiltered(Pageable pageable) {
+        return fetchAll(null, pageable);
+    }
 
-        int pageNumber = pageable.getPageNumber();
-        int pageSize = pageable.getPageSize();
-        int fromIndex = pageNumber * pageSize;
-        int toIndex = Math.min(fromIndex + pageSize, scopedJobs.size());
+    public ResultPaginationDTO fetchAll(Specification<Job> spec, Pageable pageable) {
+        Page<Job> jobPage = jobRepository.findAll(spec, pageable);
+        return buildPaginationResult(jobPage, convertToResJobDTOs(jobPage.getContent()), pageable);
+    }
 
-        List<Job> pagedJobs = fromIndex >= scopedJobs.size()
-                ? List.of()
-                : scopedJobs.subList(fromIndex, toIndex);
+    /**
+     * Danh sách job của 1 company (HR): lọc company, phân trang và count đều chạy trong DB
+     */
+    public ResultPaginationDTO fetchAllForCompany(Specification<Job> spec, Pageable pageable, Long companyId) {
+        Specification<Job> scopedSpec = JobSpecifications.belongsToCompany(companyId).and(spec);
+        Page<Job> jobPage = jobRepository.findAll(scopedSpec, pageable);
+        return buildPaginationResult(jobPage, convertToResJobDTOs(jobPage.getContent()), pageable);
+    }
 
-        List<ResJobDTO> jobDTOs = pagedJobs.stream().map(this::convertToResJobDTO).collect(Collectors.toList());
+    /**
+     * Copy of a job (possibly shared by the "jobs:details" cache) with its current application count
+     */
+    public ResJobDTO withApplicationCount(ResJobDTO job) {
+        return job.withApplicationCount(jobApplicationStatsService.getActiveCounts(List.of(job.getId()))
+                .getOrDefault(job.getId(), 0L));
+    }
 
-        ResultPaginationDTO.Meta meta = new ResultPaginationDTO.Meta();
-        meta.setPage(pageNumber + 1);
-        meta.setPageSize(pageSize);
-        meta.setTotal(scopedJobs.size());
-        meta.setPages(pageSize == 0 ? 0 : (int) Math.ceil((double) scopedJobs.size() / pageSize));
+    /**
+     * Copy of a page of jobs (possibly shared by the "jobs" cache) with their current application counts,
+     * resolved in one query for the page
+     */
+    public ResultPaginationDTO withApplicationCounts(ResultPaginationDTO page) {
+        if (!(page.getResult() instanceof List<?> content) || content.isEmpty()) {
+            return page;
+        }
+        List<ResJobDTO> jobs = content.stream().map(ResJobDTO.class::cast).toList();
+        Map<Long, Long> applicationCounts = jobApplicationStatsService.getActiveCounts(
+                jobs.stream().map(ResJobDTO::getId).toList());
 
         ResultPaginationDTO result = new ResultPaginationDTO();
-        result.setMeta(meta);
-        result.setResult(jobDTOs);
+        result.setMeta(page.getMeta());
+        result.setResult(jobs.stream()
+                .map(job -> job.withApplicationCount(applicationCounts.getOrDefault(job.getId(), 0L)))
+                .toList());
         return result;
     }
 
+    /**
+     * Company của HR: lấy từ claim đã ký trong token, chỉ gọi auth-service khi token không có claim (token cũ)
+     */
     public Long getCurrentUserCompanyId() {
+        Long tokenCompanyId = SecurityUtil.getCurrentUserCompanyId();
+        if (tokenCompanyId != null) {
+            return tokenCompanyId;
+        }
+
         Long currentUserId = SecurityUtil.getCurrentUserId();
         if (currentUserId == null) {
             return null;
@@ -130,16 +177,25 @@ public class JobService {
         return job != null && companyId != null && companyId.equals(job.getCompanyId());
     }
 
+    public boolean isJobInCompany(ResJobDTO job, Long companyId) {
+        return job != null && job.getCompany() != null && companyId != null
+                && companyId.equals(job.getCompany().getId());
+    }
+
+    /**
+     * Keep only existing skills, validated against the in-memory dictionary (no query for known ids).
+     * The detached copies only carry the ids written to job_skill.
+     */
     private void attachSkillsToJob(Job job) {
         if (job.getSkills() == null || job.getSkills().isEmpty()) {
             return;
         }
 
-        List<Long> skillIds = job.getSkills().stream()
+        Set<Long> skillIds = job.getSkills().stream()
                 .map(Skill::getId)
-                .collect(Collectors.toList());
+                .collect(Collectors.toCollection(LinkedHashSet::new));
 
-        List<Skill> validSkills = skillRepository.findByIdIn(skillIds);
+        List<Skill> validSkills = skillDictionary.findAll(skillIds);
         job.setSkills(validSkills);
     }
 
@@ -196,7 +252,39 @@ public class JobService {
         return dto;
     }
 
+    /**
+     * Convert a page of jobs, resolving all their companies in one batch (cache MGET + 1 call for misses)
+     */
+    private List<ResJobDTO> convertToResJobDTOs(List<Job> jobs) {
+        Set<Long> companyIds = jobs.stream()
+                .map(Job::getCompanyId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<Long, ResJobDTO.CompanyInfo> companies = companyIds.isEmpty()
+                ? Map.of()
+                : companyFetchService.fetchCompanies(companyIds);
+        return jobs.stream()
+                .map(job -> {
+                    ResJobDTO dto = toResJobDTO(job);
+                    if (job.getCompanyId() != null) {
+                        dto.setCompany(companies.get(job.getCompanyId()));
+                    }
+                    return dto;
+                })
+                .collect(Collectors.toList());
+    }
+
     private ResJobDTO convertToResJobDTO(Job job) {
+        ResJobDTO dto = toResJobDTO(job);
+
+        if (job.getCompanyId() != null) {
+            ResJobDTO.CompanyInfo companyInfo = companyFetchService.fetchCompany(job.getCompanyId());
+            dto.setCompany(companyInfo);
+        }
+        return dto;
+    }
+
+    private ResJobDTO toResJobDTO(Job job) {
         ResJobDTO dto = new ResJobDTO();
         dto.setId(job.getId());
         dto.setName(job.getName());
@@ -213,12 +301,6 @@ public class JobService {
         dto.setCreatedBy(job.getCreatedBy());
         dto.setUpdatedBy(job.getUpdatedBy());
         dto.setSkills(extractSkillInfos(job)); // Changed to return objects
-
-        if (job.getCompanyId() != null) {
-            ResJobDTO.CompanyInfo companyInfo = companyFetchService.fetchCompany(job.getCompanyId());
-            dto.setCompany(companyInfo);
-        }
-
         return dto;
     }
 
@@ -0,0 +1,94 @@
+package vn.hoidanit.jobservice.service;
+
+import java.time.Instant;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+import vn.hoidanit.jobservice.config.KafkaProducerConfig;
+import vn.hoidanit.jobservice.domain.Job;
+import vn.hoidanit.jobservice.domain.OutboxEvent;
+import vn.hoidanit.jobservice.domain.Skill;
+import vn.hoidanit.jobservice.dto.JobCreatedEvent;
+import vn.hoidanit.jobservice.dto.SkillEvent;
+import vn.hoidanit.jobservice.repository.OutboxEventRepository;
+
+/**
+ * Ghi event Kafka vào bảng outbox trong transaction của thay đổi job/skill (Propagation.MANDATORY):
+ * event được lưu khi và chỉ khi thay đổi được commit, OutboxRelay gửi Kafka sau đó
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    public static final String AGGREGATE_JOB = "JOB";
+    public static final String AGGREGATE_SKILL = "SKILL";
+    public static final String JOB_CREATED = "JOB_CREATED";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Event job-created cho job alerts, companyName để trống: relay bổ sung theo batch
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendJobCreated(Job job) {
+        JobCreatedEvent event = JobCreatedEvent.builder()
+                .jobId(job.getId())
+                .jobName(job.getName())
+                .companyId(job.getCompanyId())
+                .skillIds(job.getSkills() != null ?
+                        job.getSkills().stream().map(Skill::getId).collect(Collectors.toList()) : null)
+                .skills(job.getSkills() != null ?
+                        job.getSkills().stream().map(Skill::getName).collect(Collectors.toList()) : null)
+                .location(job.getLocation() != null ? job.getLocation().name() : null)
+                .salary(job.getSalary())
+                .level(job.getLevel() != null ? job.getLevel().name() : null)
+                .build();
+
+        // companyId làm key để các job của cùng company vào cùng partition
+        append(AGGREGATE_JOB, job.getId(), JOB_CREATED, KafkaProducerConfig.JOB_CREATED_TOPIC,
+                String.valueOf(job.getCompanyId()), event);
+    }
+
+    /**
+     * Event skill-events để các service khác đồng bộ skill (SKILL_CREATED, SKILL_UPDATED, SKILL_DELETED)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendSkillEvent(String eventType, Skill skill) {
+        SkillEvent event = SkillEvent.builder()
+                .eventType(eventType)
+                .skillId(skill.getId())
+                .name(skill.getName())
+                .timestamp(Instant.now())
+                .source("job-service")
+                .build();
+
+        append(AGGREGATE_SKILL, skill.getId(), eventType, KafkaProducerConfig.SKILL_EVENTS_TOPIC,
+                String.valueOf(skill.getId()), event);
+    }
+
+    private void append(String aggregateType, long aggregateId, String eventType, String topic, String key,
+            Object event) {
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setAggregateType(aggregateType);
+        outboxEvent.setAggregateId(aggregateId);
+        outboxEvent.setEventType(eventType);
+        outboxEvent.setTopic(topic);
+        outboxEvent.setMessageKey(key);
+        try {
+            outboxEvent.setPayload(objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            // Không ghi được event -> rollback luôn thay đổi, tránh mất event
+            throw new IllegalStateException("Cannot serialize " + eventType + " event for " + aggregateType
+                    + " " + aggregateId, e);
+        }
+        outboxEventRepository.save(outboxEvent);
+    }
+}
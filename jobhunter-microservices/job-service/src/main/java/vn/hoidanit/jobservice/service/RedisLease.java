@@ -0,0 +1,43 @@
+package vn.hoidanit.jobservice.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Short-lived exclusive lease shared by the job-service instances (SET NX PX, released only by its owner).
+ * The TTL bounds how long a crashed holder blocks the others.
+ */
+@Component
+@RequiredArgsConstructor
+public class RedisLease {
+
+    private static final String KEY_PREFIX = "lease:";
+
+    // Delete only if the lease still belongs to the caller (it may have expired and been taken by another)
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * @return owner token to pass to release, null if another instance holds the lease
+     */
+    public String tryAcquire(String name, Duration ttl) {
+        String token = UUID.randomUUID().toString();
+        Boolean acquired = stringRedisTemplate.opsForValue().setIfAbsent(KEY_PREFIX + name, token, ttl);
+        return Boolean.TRUE.equals(acquired) ? token : null;
+    }
+
+    public void release(String name, String token) {
+        stringRedisTemplate.execute(RELEASE_SCRIPT, List.of(KEY_PREFIX + name), token);
+    }
+}
@@ -0,0 +1,171 @@
+package vn.hoidanit.jobservice.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import vn.hoidanit.jobservice.domain.Skill;
+import vn.hoidanit.jobservice.repository.SkillRepository;
+
+/**
+ * Fully loaded, immutable in-memory copy of the skills table (small, rarely changing reference data).
+ *
+ * A snapshot is a sorted long[] of ids with a parallel array of entries: lookups are a binary search on
+ * primitives, without boxing, locking, DB or Redis. Changes build a new snapshot from the database and swap
+ * the volatile reference, so readers always see a complete, consistent dictionary.
+ *
+ * Reloaded after commit of a local skill change and when another instance publishes skill-events
+ * (SkillEventConsumer). Ids unknown to the snapshot (skill created on another instance a moment ago) are
+ * looked up in the database once, and trigger a reload when found.
+ *
+ * Callers get detached Skill copies, never the shared entries.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SkillDictionary {
+
+    private final SkillRepository skillRepository;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * @return a detached copy of the skill, null if it does not exist
+     */
+    public Skill get(long id) {
+        SkillEntry entry = snapshot().get(id);
+        if (entry != null) {
+            return entry.toSkill();
+        }
+        return skillRepository.findById(id)
+                .map(skill -> {
+                    reload();
+                    return SkillEntry.of(skill).toSkill();
+                })
+                .orElse(null);
+    }
+
+    /**
+     * Existing skills among the ids (unknown ids are dropped), in the order of the ids
+     */
+    public List<Skill> findAll(Collection<Long> ids) {
+        Snapshot current = snapshot();
+        List<Skill> skills = new ArrayList<>(ids.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            SkillEntry entry = id == null ? null : current.get(id);
+            if (entry != null) {
+                skills.add(entry.toSkill());
+            } else if (id != null) {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            List<Skill> found = skillRepository.findByIdIn(missing);
+            if (!found.isEmpty()) {
+                reload();
+                found.stream().map(SkillEntry::of).map(SkillEntry::toSkill).forEach(skills::add);
+            }
+        }
+        return skills;
+    }
+
+    public boolean contains(long id) {
+        return snapshot().get(id) != null;
+    }
+
+    public int size() {
+        return snapshot().ids.length;
+    }
+
+    /**
+     * Load the skills table and swap the snapshot (serialized: a slower, older load never replaces a newer one)
+     */
+    public synchronized void reload() {
+        Snapshot loaded = Snapshot.of(skillRepository.findAll());
+        this.snapshot = loaded;
+        log.debug("Skill dictionary loaded: {} skills", loaded.ids.length);
+    }
+
+    /**
+     * Reload once the current transaction commits (immediately without transaction)
+     */
+    public void reloadAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            reload();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                reload();
+            }
+        });
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = this.snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (this.snapshot == null) {
+                    reload();
+                }
+                current = this.snapshot;
+            }
+        }
+        return current;
+    }
+
+    private static final class Snapshot {
+        private final long[] ids;
+        private final SkillEntry[] entries;
+
+        private Snapshot(long[] ids, SkillEntry[] entries) {
+            this.ids = ids;
+            this.entries = entries;
+        }
+
+        static Snapshot of(List<Skill> skills) {
+            SkillEntry[] entries = skills.stream()
+                    .map(SkillEntry::of)
+                    .sorted(Comparator.comparingLong(SkillEntry::id))
+                    .toArray(SkillEntry[]::new);
+            long[] ids = Arrays.stream(entries).mapToLong(SkillEntry::id).toArray();
+            return new Snapshot(ids, entries);
+        }
+
+        SkillEntry get(long id) {
+            int index = Arrays.binarySearch(ids, id);
+            return index >= 0 ? entries[index] : null;
+        }
+    }
+
+    private record SkillEntry(long id, String name, Instant createdAt, Instant updatedAt, String createdBy,
+            String updatedBy) {
+
+        static SkillEntry of(Skill skill) {
+            return new SkillEntry(skill.getId(), skill.getName(), skill.getCreatedAt(), skill.getUpdatedAt(),
+                    skill.getCreatedBy(), skill.getUpdatedBy());
+        }
+
+        Skill toSkill() {
+            Skill skill = new Skill();
+            skill.setId(id);
+            skill.setName(name);
+            skill.setCreatedAt(createdAt);
+            skill.setUpdatedAt(updatedAt);
+            skill.setCreatedBy(createdBy);
+            skill.setUpdatedBy(updatedBy);
+            return skill;
+        }
+    }
+}
@@ -1,21 +1,18 @@
 package vn.hoidanit.jobservice.service;
 
-import java.time.Instant;
-import java.util.Optional;
+import java.util.List;
 
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import vn.hoidanit.jobservice.domain.Skill;
 import vn.hoidanit.jobservice.dto.ResultPaginationDTO;
-import vn.hoidanit.jobservice.dto.SkillEvent;
+import vn.hoidanit.jobservice.repository.JobRepository;
 import vn.hoidanit.jobservice.repository.SkillRepository;
 
 @Service
@@ -23,24 +20,27 @@ import vn.hoidanit.jobservice.repository.SkillRepository;
 @Slf4j
 public class SkillService {
     private final SkillRepository skillRepository;
-    private final KafkaTemplate<String, SkillEvent> kafkaTemplate;
+    private final OutboxService outboxService;
+    private final JobRepository jobRepository;
+    private final JobCacheService jobCacheService;
+    private final SkillDictionary skillDictionary;
 
     public boolean isNameExist(String name) {
         return this.skillRepository.existsByName(name);
     }
 
-    @Cacheable(value = "skills", key = "#id")
+    /**
+     * Detached copy from the in-memory skill dictionary (no DB/Redis round trip)
+     */
     public Skill fetchSkillById (long id) {
-        Optional<Skill> skillOptional = this.skillRepository.findById(id);
-        if(skillOptional.isPresent()) {
-            return skillOptional.get();
-        }
-        return null;
+        return this.skillDictionary.get(id);
     }
 
-    @CacheEvict(value = {"skills", "jobs", "jobs:details"}, allEntries = true)
+    // A new skill is not linked to any job yet -> nothing to evict
+    @Transactional
     public Skill createSkill (Skill s) {
         Skill savedSkill = this.skillRepository.save(s);
+        this.skillDictionary.reloadAfterCommit();
 
         // Publish event to Kafka for other services to sync
         publishSkillEvent("SKILL_CREATED", savedSkill);
@@ -48,9 +48,11 @@ public class SkillService {
         return savedSkill;
     }
 
-    @CacheEvict(value = {"skills", "jobs", "jobs:details"}, allEntries = true)
+    @Transactional
     public Skill updateSkill(Skill s) {
         Skill updatedSkill = this.skillRepository.save(s);
+        this.skillDictionary.reloadAfterCommit();
+        evictLinkedJobs(this.jobRepository.findIdsBySkillId(updatedSkill.getId()));
 
         // Publish event to Kafka for other services to sync
         publishSkillEvent("SKILL_UPDATED", updatedSkill);
@@ -58,14 +60,21 @@ public class SkillService {
         return updatedSkill;
     }
 
-    @CacheEvict(value = {"skills", "jobs", "jobs:details"}, allEntries = true)
+    /**
+     * Unlink the skill from its jobs with one DELETE on job_skill (no job/collection loading), then delete it
+     */
+    @Transactional
     public void deleteSkill(long id) {
-        Optional<Skill> skillOptional = this.skillRepository.findById(id);
-        Skill currentSkill = skillOptional.get();
+        Skill currentSkill = this.skillDictionary.get(id);
+        if (currentSkill == null) {
+            return;
+        }
+        List<Long> linkedJobIds = this.jobRepository.findIdsBySkillId(id);
         // In microservices, we only remove from jobs in this service
-        currentSkill.getJobs().forEach(job -> job.getSkills().remove(currentSkill));
-
-        this.skillRepository.delete(currentSkill);
+        this.skillRepository.deleteJobLinks(id);
+        this.skillRepository.deleteSkillById(id);
+        this.skillDictionary.reloadAfterCommit();
+        evictLinkedJobs(linkedJobIds);
 
         // Publish event to Kafka for other services to sync
         publishSkillEvent("SKILL_DELETED", currentSkill);
@@ -89,28 +98,23 @@ public class SkillService {
     }
 
     /**
-     * Publish skill event to Kafka for other services to sync
-     * Topic: skill-events
+     * Evict only the details of jobs linked to the skill; job list pages are invalidated by generation (O(1))
      */
-    private void publishSkillEvent(String eventType, Skill skill) {
-        try {
-            SkillEvent event = SkillEvent.builder()
-                .eventType(eventType)
-                .skillId(skill.getId())
-                .name(skill.getName())
-                .timestamp(Instant.now())
-                .source("job-service")
-                .build();
-
-            kafkaTemplate.send("skill-events", String.valueOf(skill.getId()), event);
-
-            log.info("Published {} event for skill: {} (ID: {})",
-                     eventType, skill.getName(), skill.getId());
-        } catch (Exception e) {
-            log.error("Failed to publish skill event: {}", eventType, e);
-            // Don't throw - skill operation should succeed even if event fails
+    private void evictLinkedJobs(List<Long> linkedJobIds) {
+        this.jobCacheService.evictJobDetails(linkedJobIds);
+        if (!linkedJobIds.isEmpty()) {
+            this.jobCacheService.invalidateList(JobCacheService.JOBS_CACHE);
         }
     }
+
+    /**
+     * Publish skill event for other services to sync
+     * Topic: skill-events, written to the outbox in the skill transaction and relayed by OutboxRelay
+     */
+    private void publishSkillEvent(String eventType, Skill skill) {
+        outboxService.appendSkillEvent(eventType, skill);
+        log.info("Queued {} event for skill: {} (ID: {})", eventType, skill.getName(), skill.getId());
+    }
 }
 
 
@@ -88,6 +88,37 @@ public class SecurityUtil {
         return null;
     }
 
+    /**
+     * Get current HR's company ID from the signed Gateway header (JWT claim user.companyId)
+     * 
+     * The claim is a snapshot taken when the access token was issued. auth-service rebuilds it from the
+     * database on every /auth/refresh, so after an HR user is moved to another company the old company
+     * is still returned until the current access token expires (at most
+     * access-token-validity-in-seconds, 15 minutes by default). Company ownership checks therefore lag a
+     * company change by up to one access token lifetime.
+     * 
+     * @return Company ID or null if the token carries no company
+     */
+    public static Long getCurrentUserCompanyId() {
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        Authentication authentication = securityContext.getAuthentication();
+
+        if (authentication != null && authentication.getDetails() instanceof Map<?, ?> details
+                && details.get("companyId") instanceof String s) {
+            try {
+                return Long.parseLong(s);
+            } catch (NumberFormatException ignored) {
+            }
+        }
+
+        if (authentication != null && authentication.getPrincipal() instanceof Jwt jwt
+                && jwt.getClaim("user") instanceof Map<?, ?> user
+                && user.get("companyId") instanceof Number companyId) {
+            return companyId.longValue();
+        }
+        return null;
+    }
+
     /**
      * Check if current user has a specific role/authority
      * 
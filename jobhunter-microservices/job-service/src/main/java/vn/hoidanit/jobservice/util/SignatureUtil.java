@@ -22,6 +22,16 @@ public class SignatureUtil {
             timestamp);
     }
 
+    /**
+     * Company claim of the JWT, signed by the Gateway in X-Company-Signature (same timestamp as the user signature)
+     */
+    public static String createCompanySignatureData(String userId, String companyId, long timestamp) {
+        return String.format("%s:%s:%d",
+            userId != null ? userId : "",
+            companyId,
+            timestamp);
+    }
+
     public static String generateSignature(String data, String secret) {
         try {
             Mac mac = Mac.getInstance(HMAC_SHA256);
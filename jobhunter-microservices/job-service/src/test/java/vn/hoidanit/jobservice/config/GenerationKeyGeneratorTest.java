@@ -0,0 +1,76 @@
+package vn.hoidanit.jobservice.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.lang.reflect.Method;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.annotation.Cacheable;
+
+import vn.hoidanit.jobservice.service.JobCacheService;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GenerationKeyGenerator Unit Tests")
+class GenerationKeyGeneratorTest {
+
+    @Mock
+    private JobCacheService jobCacheService;
+
+    private GenerationKeyGenerator keyGenerator;
+
+    private Method fetchPage;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        keyGenerator = new GenerationKeyGenerator(jobCacheService);
+        fetchPage = CachedLists.class.getDeclaredMethod("fetchPage", int.class, int.class);
+    }
+
+    @Test
+    @DisplayName("generate - Key gồm generation, tên method và tham số")
+    void generate_shouldIncludeGenerationMethodAndParams() {
+        when(jobCacheService.currentGeneration("jobs")).thenReturn(3L);
+
+        assertEquals("g3:fetchPage:0,20", keyGenerator.generate(new CachedLists(), fetchPage, 0, 20));
+    }
+
+    @Test
+    @DisplayName("generate - Sau khi tăng generation - Key mới khác key cũ")
+    void generate_afterGenerationBump_shouldProduceNewKey() {
+        when(jobCacheService.currentGeneration("jobs")).thenReturn(3L, 4L);
+
+        Object before = keyGenerator.generate(new CachedLists(), fetchPage, 0, 20);
+        Object after = keyGenerator.generate(new CachedLists(), fetchPage, 0, 20);
+
+        assertNotEquals(before, after);
+        assertEquals("g4:fetchPage:0,20", after);
+    }
+
+    @Test
+    @DisplayName("generate - Method không có @Cacheable - Dùng tên method làm tên cache")
+    void generate_withoutCacheable_shouldUseMethodName() throws NoSuchMethodException {
+        Method uncached = CachedLists.class.getDeclaredMethod("uncached");
+
+        keyGenerator.generate(new CachedLists(), uncached);
+
+        verify(jobCacheService).currentGeneration("uncached");
+    }
+
+    static class CachedLists {
+
+        @Cacheable(value = "jobs", keyGenerator = "generationKeyGenerator")
+        Object fetchPage(int page, int size) {
+            return null;
+        }
+
+        Object uncached() {
+            return null;
+        }
+    }
+}
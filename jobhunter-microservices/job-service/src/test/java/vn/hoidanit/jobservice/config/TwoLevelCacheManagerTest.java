@@ -0,0 +1,269 @@
+package vn.hoidanit.jobservice.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import vn.hoidanit.jobservice.config.TwoLevelCacheManager.LocalCacheSpec;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("TwoLevelCacheManager Unit Tests")
+class TwoLevelCacheManagerTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TwoLevelCacheManagerTest.class);
+
+    private static final String SKILLS = "skills";
+    private static final String JOBS = "jobs";
+
+    @Mock
+    private RedisCacheManager redisCacheManager;
+
+    @Mock
+    private RedisCache skillsRedisCache;
+
+    @Mock
+    private RedisCache jobsRedisCache;
+
+    @Mock
+    private RedisConnectionFactory connectionFactory;
+
+    @Mock
+    private RedisConnection connection;
+
+    private TwoLevelCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        when(redisCacheManager.getCacheNames()).thenReturn(List.of(SKILLS, JOBS));
+        when(redisCacheManager.getCache(SKILLS)).thenReturn(skillsRedisCache);
+        when(redisCacheManager.getCache(JOBS)).thenReturn(jobsRedisCache);
+        when(connectionFactory.getConnection()).thenReturn(connection);
+
+        // Chỉ "skills" có L1
+        cacheManager = new TwoLevelCacheManager(redisCacheManager, connectionFactory,
+                Map.of(SKILLS, new LocalCacheSpec(100, Duration.ofMinutes(1))));
+    }
+
+    @Test
+    @DisplayName("get - L2 hit được copy vào L1 - Lần sau không gọi Redis")
+    void get_whenRemoteHit_shouldServeNextLookupFromLocal() {
+        when(skillsRedisCache.get(1L)).thenReturn(new SimpleValueWrapper("Java"));
+        Cache cache = cacheManager.getCache(SKILLS);
+
+        assertEquals("Java", cache.get(1L).get());
+        assertEquals("Java", cache.get(1L).get());
+        assertEquals("Java", cache.get(1L, String.class));
+
+        verify(skillsRedisCache, times(1)).get(1L);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cacheManager.bindTo(registry);
+        assertEquals(2, registry.get("cache.level.gets")
+                .tags("cache", SKILLS, "level", "l1", "result", "hit").functionCounter().count());
+        assertEquals(1, registry.get("cache.level.gets")
+                .tags("cache", SKILLS, "level", "l2", "result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.hit.ratio").tags("cache", SKILLS).gauge().value());
+    }
+
+    @Test
+    @DisplayName("get - Cache không có L1 - Luôn đọc Redis")
+    void get_whenNoLocalSpec_shouldAlwaysReadRemote() {
+        when(jobsRedisCache.get("page-1")).thenReturn(new SimpleValueWrapper("page"));
+        Cache cache = cacheManager.getCache(JOBS);
+
+        cache.get("page-1");
+        cache.get("page-1");
+        cache.put("page-2", "page");
+
+        verify(jobsRedisCache, times(2)).get("page-1");
+        verify(jobsRedisCache).put("page-2", "page");
+        // Không có L1 -> không cần broadcast
+        verify(connection, never()).publish(any(), any());
+    }
+
+    @Test
+    @DisplayName("evict - Xóa L2 + L1 và broadcast key cho các instance khác")
+    void evict_shouldEvictBothLevelsAndPublish() {
+        when(skillsRedisCache.get(1L)).thenReturn(new SimpleValueWrapper("Java"));
+        Cache cache = cacheManager.getCache(SKILLS);
+        cache.get(1L);
+
+        cache.evict(1L);
+        cache.get(1L);
+
+        verify(skillsRedisCache).evict(1L);
+        verify(skillsRedisCache, times(2)).get(1L);
+        verify(connection).publish(eq(TwoLevelCacheManager.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8)),
+                argThat(body -> new String(body, StandardCharsets.UTF_8).endsWith("\nskills\n1")));
+    }
+
+    @Test
+    @DisplayName("onMessage - Invalidation từ instance khác - Xóa entry L1")
+    void onMessage_fromOtherInstance_shouldDropLocalEntries() {
+        when(skillsRedisCache.get(1L)).thenReturn(new SimpleValueWrapper("Java"));
+        when(skillsRedisCache.get(2L)).thenReturn(new SimpleValueWrapper("Go"));
+        Cache cache = cacheManager.getCache(SKILLS);
+        cache.get(1L);
+        cache.get(2L);
+
+        cacheManager.onMessage(message("other-instance\nskills\n1"), null);
+        cache.get(1L);
+        cache.get(2L);
+
+        verify(skillsRedisCache, times(2)).get(1L);
+        verify(skillsRedisCache, times(1)).get(2L);
+
+        // Không có key -> clear toàn bộ L1 của cache
+        cacheManager.onMessage(message("other-instance\nskills"), null);
+        cache.get(2L);
+        verify(skillsRedisCache, times(2)).get(2L);
+    }
+
+    @Test
+    @DisplayName("cache.hit.ratio - Tính cả hit L1 và L2 trên tổng số lookup")
+    void hitRatioGauge_shouldCountHitsOfBothLevels() {
+        when(skillsRedisCache.get(1L)).thenReturn(new SimpleValueWrapper("Java"));
+        when(jobsRedisCache.get("page-1")).thenReturn(new SimpleValueWrapper("page"));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cacheManager.bindTo(registry);
+        assertEquals(0.0, registry.get("cache.hit.ratio").tags("cache", SKILLS).gauge().value());
+
+        Cache skills = cacheManager.getCache(SKILLS);
+        skills.get(1L); // L1 miss, L2 hit
+        skills.get(1L); // L1 hit
+        skills.get(2L); // L1 miss, L2 miss
+        skills.get(3L); // L1 miss, L2 miss
+        Cache jobs = cacheManager.getCache(JOBS);
+        jobs.get("page-1"); // L2 hit
+        jobs.get("page-2"); // L2 miss
+
+        assertEquals(0.5, registry.get("cache.hit.ratio").tags("cache", SKILLS).gauge().value());
+        assertEquals(0.5, registry.get("cache.hit.ratio").tags("cache", JOBS).gauge().value());
+        assertEquals(3, registry.get("cache.level.gets")
+                .tags("cache", SKILLS, "level", "l1", "result", "miss").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("generation - Đọc Redis 1 lần, các lần sau lấy từ bộ nhớ")
+    void generation_shouldBeReadFromRedisOnce() {
+        when(connection.get(generationKey(JOBS))).thenReturn("7".getBytes(StandardCharsets.UTF_8));
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(7, cacheManager.generation(JOBS));
+        }
+
+        verify(connection, times(1)).get(generationKey(JOBS));
+    }
+
+    @Test
+    @DisplayName("generation - Chưa có key trong Redis - Trả về 0")
+    void generation_whenMissing_shouldBeZero() {
+        assertEquals(0, cacheManager.generation(JOBS));
+    }
+
+    @Test
+    @DisplayName("nextGeneration - INCR, cập nhật bộ nhớ và broadcast generation mới")
+    void nextGeneration_shouldIncrementUpdateLocalAndPublish() {
+        when(connection.get(generationKey(JOBS))).thenReturn("7".getBytes(StandardCharsets.UTF_8));
+        when(connection.incr(generationKey(JOBS))).thenReturn(8L);
+        assertEquals(7, cacheManager.generation(JOBS));
+
+        assertEquals(8, cacheManager.nextGeneration(JOBS));
+
+        assertEquals(8, cacheManager.generation(JOBS));
+        verify(connection, times(1)).get(generationKey(JOBS));
+        verify(connection).publish(eq(TwoLevelCacheManager.GENERATION_CHANNEL.getBytes(StandardCharsets.UTF_8)),
+                argThat(body -> new String(body, StandardCharsets.UTF_8).endsWith("\njobs\n8")));
+    }
+
+    @Test
+    @DisplayName("onMessage - Generation từ instance khác - Cập nhật bộ nhớ, không lùi generation")
+    void onMessage_generationFromOtherInstance_shouldAdvanceWithoutRedis() {
+        when(connection.get(generationKey(JOBS))).thenReturn("7".getBytes(StandardCharsets.UTF_8));
+        assertEquals(7, cacheManager.generation(JOBS));
+
+        cacheManager.onMessage(generationMessage("other-instance\njobs\n9"), null);
+        assertEquals(9, cacheManager.generation(JOBS));
+
+        // Message cũ tới muộn
+        cacheManager.onMessage(generationMessage("other-instance\njobs\n8"), null);
+        assertEquals(9, cacheManager.generation(JOBS));
+        verify(connection, times(1)).get(generationKey(JOBS));
+    }
+
+    @Test
+    @DisplayName("onMessage - Generation mới - Xóa L1 của cache đó")
+    void onMessage_generation_shouldDropLocalEntries() {
+        when(skillsRedisCache.get(1L)).thenReturn(new SimpleValueWrapper("Java"));
+        Cache cache = cacheManager.getCache(SKILLS);
+        cache.get(1L);
+
+        cacheManager.onMessage(generationMessage("other-instance\nskills\n1"), null);
+        cache.get(1L);
+
+        verify(skillsRedisCache, times(2)).get(1L);
+    }
+
+    @Test
+    @Tag("benchmark")
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @DisplayName("Benchmark - L1 hit chỉ tốn vài micro giây")
+    void benchmark_localHit_shouldTakeMicroseconds() {
+        when(skillsRedisCache.get(1L)).thenReturn(new SimpleValueWrapper("Java"));
+        Cache cache = cacheManager.getCache(SKILLS);
+        cache.get(1L);
+
+        int iterations = 200_000;
+        for (int i = 0; i < iterations; i++) {
+            cache.get(1L);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            cache.get(1L);
+        }
+        double avgMicros = (System.nanoTime() - start) / 1_000.0 / iterations;
+        log.info(String.format("L1 hit: %.3f us/op (avg of %d)", avgMicros, iterations));
+
+        assertTrue(avgMicros < 10, "L1 hit should take microseconds: " + avgMicros + " us");
+    }
+
+    private static byte[] generationKey(String cacheName) {
+        return ("cache-generation:" + cacheName).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static DefaultMessage generationMessage(String body) {
+        return new DefaultMessage(TwoLevelCacheManager.GENERATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(TwoLevelCacheManager.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,187 @@
+package vn.hoidanit.jobservice.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import vn.hoidanit.jobservice.dto.ResJobDTO;
+import vn.hoidanit.jobservice.dto.ResultPaginationDTO;
+import vn.hoidanit.jobservice.util.constant.LevelEnum;
+import vn.hoidanit.jobservice.util.constant.LocationEnum;
+
+/**
+ * Test + benchmark serializer cache: JSON default typing (cũ) so với Smile có header version
+ */
+@DisplayName("VersionedCacheSerializer Unit Tests")
+class VersionedCacheSerializerTest {
+
+    private static final Logger log = LoggerFactory.getLogger(VersionedCacheSerializerTest.class);
+
+    private static final int ITERATIONS = 50_000;
+
+    @Test
+    @DisplayName("typed - Round trip ResJobDTO không ghi tên class")
+    void typed_shouldRoundTripWithoutClassNames() {
+        VersionedCacheSerializer<ResJobDTO> serializer = VersionedCacheSerializer.typed(ResJobDTO.class, 1);
+
+        byte[] bytes = serializer.serialize(sampleJob(1));
+        ResJobDTO job = serializer.deserialize(bytes);
+
+        assertEquals(1, job.getId());
+        assertEquals(LocationEnum.HANOI, job.getLocation());
+        assertEquals(Instant.parse("2025-01-01T00:00:00Z"), job.getStartDate());
+        assertEquals("Skill 2", job.getSkills().get(1).getName());
+        assertEquals("Company 1", job.getCompany().getName());
+        assertFalse(new String(bytes).contains("vn.hoidanit"));
+    }
+
+    @Test
+    @DisplayName("polymorphic - Round trip ResultPaginationDTO giữ đúng kiểu phần tử")
+    void polymorphic_shouldKeepElementTypes() {
+        VersionedCacheSerializer<Object> serializer = VersionedCacheSerializer.polymorphic(1);
+        ResultPaginationDTO page = new ResultPaginationDTO();
+        page.setResult(List.of(sampleJob(1), sampleJob(2)));
+
+        ResultPaginationDTO result = (ResultPaginationDTO) serializer.deserialize(serializer.serialize(page));
+
+        assertInstanceOf(ResJobDTO.class, ((List<?>) result.getResult()).get(1));
+    }
+
+    @Test
+    @DisplayName("deserialize - Entry JSON cũ hoặc khác schema version - Trả về null (cache miss)")
+    void deserialize_whenHeaderDoesNotMatch_shouldReturnNull() {
+        VersionedCacheSerializer<ResJobDTO> serializer = VersionedCacheSerializer.typed(ResJobDTO.class, 2);
+
+        byte[] legacyJson = legacySerializer().serialize(sampleJob(1));
+        byte[] oldSchema = VersionedCacheSerializer.typed(ResJobDTO.class, 1).serialize(sampleJob(1));
+
+        assertNull(serializer.deserialize(legacyJson));
+        assertNull(serializer.deserialize(oldSchema));
+        assertNull(serializer.deserialize(new byte[] { VersionedCacheSerializer.MAGIC,
+                VersionedCacheSerializer.FORMAT_VERSION, 2, 0x7F }));
+    }
+
+    @Test
+    @DisplayName("NullValue - Được lưu bằng header và đọc lại đúng")
+    void nullValue_shouldRoundTrip() {
+        VersionedCacheSerializer<ResJobDTO> serializer = VersionedCacheSerializer.typed(ResJobDTO.class, 1);
+
+        byte[] bytes = serializer.serialize(null);
+
+        assertEquals(3, bytes.length);
+        assertSame(NullValue.INSTANCE, serializer.deserialize(bytes));
+    }
+
+    @Test
+    @DisplayName("typed - Payload ResJobDTO, CompanyInfo nhỏ hơn một nửa JSON default typing")
+    void typed_shouldBeSmallerThanDefaultTypedJson() {
+        ResJobDTO job = sampleJob(1);
+
+        assertTrue(VersionedCacheSerializer.typed(ResJobDTO.class, 1).serialize(job).length
+                < legacySerializer().serialize(job).length / 2, "ResJobDTO payload should shrink");
+        assertTrue(VersionedCacheSerializer.typed(ResJobDTO.CompanyInfo.class, 1).serialize(job.getCompany()).length
+                < legacySerializer().serialize(job.getCompany()).length / 2, "CompanyInfo payload should shrink");
+    }
+
+    @Test
+    @Tag("benchmark")
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @DisplayName("Benchmark - Kích thước payload và thời gian ser/deser của ResJobDTO, CompanyInfo")
+    void benchmark_shouldBeSmallerThanDefaultTypedJson() {
+        ResJobDTO job = sampleJob(1);
+        ResJobDTO.CompanyInfo company = job.getCompany();
+
+        double[] legacyJob = measure(legacySerializer(), job);
+        double[] smileJob = measure(VersionedCacheSerializer.typed(ResJobDTO.class, 1), job);
+        double[] legacyCompany = measure(legacySerializer(), company);
+        double[] smileCompany = measure(VersionedCacheSerializer.typed(ResJobDTO.CompanyInfo.class, 1), company);
+
+        log.info("Cache serializer benchmark (avg of {})", ITERATIONS);
+        print("ResJobDTO   json+typing", legacyJob);
+        print("ResJobDTO   smile typed", smileJob);
+        print("CompanyInfo json+typing", legacyCompany);
+        print("CompanyInfo smile typed", smileCompany);
+
+        assertTrue(smileJob[0] < legacyJob[0] / 2, "ResJobDTO payload should shrink");
+        assertTrue(smileCompany[0] < legacyCompany[0] / 2, "CompanyInfo payload should shrink");
+    }
+
+    /**
+     * @return { payload bytes, serialize ns/op, deserialize ns/op }
+     */
+    @SuppressWarnings("unchecked")
+    private static double[] measure(RedisSerializer<?> serializer, Object value) {
+        RedisSerializer<Object> s = (RedisSerializer<Object>) serializer;
+        byte[] bytes = s.serialize(value);
+        // Warm-up
+        for (int i = 0; i < ITERATIONS; i++) {
+            s.deserialize(s.serialize(value));
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            s.serialize(value);
+        }
+        double serNs = (System.nanoTime() - start) / (double) ITERATIONS;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            s.deserialize(bytes);
+        }
+        double deserNs = (System.nanoTime() - start) / (double) ITERATIONS;
+        return new double[] { bytes.length, serNs, deserNs };
+    }
+
+    private static void print(String label, double[] row) {
+        log.info(String.format("%s: %5d bytes, ser %7.0f ns, deser %7.0f ns", label, (int) row[0], row[1], row[2]));
+    }
+
+    /**
+     * Serializer trước đây (CacheConfig.createRedisObjectMapper)
+     */
+    private static GenericJackson2JsonRedisSerializer legacySerializer() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.activateDefaultTyping(
+                BasicPolymorphicTypeValidator.builder().allowIfBaseType(Object.class).build(),
+                ObjectMapper.DefaultTyping.NON_FINAL,
+                JsonTypeInfo.As.PROPERTY);
+        return new GenericJackson2JsonRedisSerializer(mapper);
+    }
+
+    private static ResJobDTO sampleJob(long id) {
+        ResJobDTO job = new ResJobDTO();
+        job.setId(id);
+        job.setName("Senior Java Developer " + id);
+        job.setLocation(LocationEnum.HANOI);
+        job.setSalary(2500);
+        job.setQuantity(3);
+        job.setLevel(LevelEnum.SENIOR);
+        job.setDescription("Build and operate the job platform microservices");
+        job.setStartDate(Instant.parse("2025-01-01T00:00:00Z"));
+        job.setEndDate(Instant.parse("2025-03-01T00:00:00Z"));
+        job.setActive(true);
+        job.setCreatedAt(Instant.parse("2024-12-20T08:30:00Z"));
+        job.setCreatedBy("hr@gmail.com");
+        job.setSkills(List.of(new ResJobDTO.SkillInfo(1L, "Skill 1"), new ResJobDTO.SkillInfo(2L, "Skill 2"),
+                new ResJobDTO.SkillInfo(3L, "Skill 3")));
+        job.setCompany(new ResJobDTO.CompanyInfo(id, "Company " + id, "company-" + id + ".png"));
+        return job;
+    }
+}
@@ -0,0 +1,126 @@
+package vn.hoidanit.jobservice.filter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import vn.hoidanit.jobservice.util.SecurityUtil;
+import vn.hoidanit.jobservice.util.SignatureUtil;
+
+/**
+ * Unit Test cho GatewayAuthenticationFilter: chữ ký user + chữ ký riêng của company claim
+ */
+@DisplayName("GatewayAuthenticationFilter Unit Tests")
+class GatewayAuthenticationFilterTest {
+
+    private static final String SECRET = "test-gateway-secret";
+    private static final String USER_ID = "7";
+    private static final String EMAIL = "hr@gmail.com";
+    private static final String ROLES = "ROLE_HR";
+
+    private GatewayAuthenticationFilter filter;
+    private MockHttpServletResponse response;
+    private MockFilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        filter = new GatewayAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "gatewaySignatureSecret", SECRET);
+        ReflectionTestUtils.setField(filter, "gatewaySignatureEnabled", true);
+        ReflectionTestUtils.setField(filter, "timestampToleranceSeconds", 60L);
+        response = new MockHttpServletResponse();
+        chain = new MockFilterChain();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Chữ ký company hợp lệ - Cho qua và lưu companyId vào authentication details")
+    void doFilter_whenCompanySignatureValid_shouldAuthenticateWithCompany() throws Exception {
+        long timestamp = System.currentTimeMillis();
+        MockHttpServletRequest request = signedRequest(timestamp);
+        request.addHeader("X-User-Company-Id", "3");
+        request.addHeader("X-Company-Signature", companySignature("3", timestamp));
+
+        filter.doFilter(request, response, chain);
+
+        assertEquals(200, response.getStatus());
+        assertNotNull(chain.getRequest(), "Request phải được chuyển tiếp");
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertEquals(EMAIL, authentication.getName());
+        assertEquals("3", ((Map<?, ?>) authentication.getDetails()).get("companyId"));
+        assertEquals(3L, SecurityUtil.getCurrentUserCompanyId());
+    }
+
+    @Test
+    @DisplayName("X-User-Company-Id bị sửa - 401, không chuyển tiếp request")
+    void doFilter_whenCompanyIdTampered_shouldReturnUnauthorized() throws Exception {
+        long timestamp = System.currentTimeMillis();
+        MockHttpServletRequest request = signedRequest(timestamp);
+        // Chữ ký được tạo cho company 3, client đổi header sang company 4
+        request.addHeader("X-User-Company-Id", "4");
+        request.addHeader("X-Company-Signature", companySignature("3", timestamp));
+
+        filter.doFilter(request, response, chain);
+
+        assertEquals(401, response.getStatus());
+        assertTrue(response.getContentAsString().contains("Invalid company signature"));
+        assertNull(chain.getRequest());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    @DisplayName("Có X-User-Company-Id nhưng thiếu X-Company-Signature - 401")
+    void doFilter_whenCompanySignatureMissing_shouldReturnUnauthorized() throws Exception {
+        MockHttpServletRequest request = signedRequest(System.currentTimeMillis());
+        request.addHeader("X-User-Company-Id", "3");
+
+        filter.doFilter(request, response, chain);
+
+        assertEquals(401, response.getStatus());
+        assertNull(chain.getRequest());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    @DisplayName("Token không có company - Cho qua, không có companyId")
+    void doFilter_whenNoCompanyHeader_shouldAuthenticateWithoutCompany() throws Exception {
+        filter.doFilter(signedRequest(System.currentTimeMillis()), response, chain);
+
+        assertEquals(200, response.getStatus());
+        assertNotNull(chain.getRequest());
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertFalse(((Map<?, ?>) authentication.getDetails()).containsKey("companyId"));
+        assertNull(SecurityUtil.getCurrentUserCompanyId());
+    }
+
+    private static MockHttpServletRequest signedRequest(long timestamp) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/jobs");
+        request.addHeader("X-User-Id", USER_ID);
+        request.addHeader("X-User-Email", EMAIL);
+        request.addHeader("X-User-Roles", ROLES);
+        request.addHeader("X-Gateway-Timestamp", String.valueOf(timestamp));
+        request.addHeader("X-Gateway-Signature", SignatureUtil.generateSignature(
+                SignatureUtil.createSignatureData(USER_ID, EMAIL, ROLES, timestamp), SECRET));
+        return request;
+    }
+
+    private static String companySignature(String companyId, long timestamp) {
+        return SignatureUtil.generateSignature(
+                SignatureUtil.createCompanySignatureData(USER_ID, companyId, timestamp), SECRET);
+    }
+}
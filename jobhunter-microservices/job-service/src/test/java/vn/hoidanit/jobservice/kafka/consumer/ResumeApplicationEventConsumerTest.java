@@ -0,0 +1,69 @@
+package vn.hoidanit.jobservice.kafka.consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import vn.hoidanit.jobservice.dto.ResumeApplicationEvent;
+import vn.hoidanit.jobservice.dto.ResumeApplicationEvent.EventType;
+import vn.hoidanit.jobservice.service.JobApplicationStatsService;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ResumeApplicationEventConsumer Unit Tests")
+class ResumeApplicationEventConsumerTest {
+
+    @Mock
+    private JobApplicationStatsService jobApplicationStatsService;
+
+    @InjectMocks
+    private ResumeApplicationEventConsumer consumer;
+
+    @Test
+    @DisplayName("consume - Event đã xử lý (Kafka giao lại) hoặc lặp trong batch - Chỉ đếm 1 lần")
+    void consume_whenRedelivered_shouldCountEachEventOnce() {
+        when(jobApplicationStatsService.findNew(List.of("e1", "e2", "e3", "e1")))
+                .thenReturn(new HashSet<>(Set.of("e1", "e3")));
+
+        consumer.consumeResumeApplicationEvents(List.of(
+                event("e1", EventType.RESUME_SUBMITTED, 1L),
+                event("e2", EventType.RESUME_SUBMITTED, 1L),
+                event("e3", EventType.RESUME_WITHDRAWN, 2L),
+                event("e1", EventType.RESUME_SUBMITTED, 1L)));
+
+        verify(jobApplicationStatsService, times(1)).recordSubmitted(1L, "e1");
+        verify(jobApplicationStatsService, times(1)).recordWithdrawn(2L, "e3");
+        verify(jobApplicationStatsService, never()).recordSubmitted(1L, "e2");
+    }
+
+    @Test
+    @DisplayName("consume - Không kiểm tra được event id - Ném lỗi để Kafka giao lại cả batch, không đếm gì")
+    void consume_whenDedupeFails_shouldRethrowWithoutCounting() {
+        when(jobApplicationStatsService.findNew(anyCollection()))
+                .thenThrow(new DataAccessResourceFailureException("db down"));
+
+        assertThrows(DataAccessResourceFailureException.class, () -> consumer.consumeResumeApplicationEvents(
+                List.of(event("e1", EventType.RESUME_SUBMITTED, 1L))));
+
+        verify(jobApplicationStatsService, never()).recordSubmitted(anyLong(), any());
+    }
+
+    private static ResumeApplicationEvent event(String eventId, EventType eventType, Long jobId) {
+        return ResumeApplicationEvent.builder()
+                .eventId(eventId)
+                .eventType(eventType)
+                .jobId(jobId)
+                .build();
+    }
+}
@@ -0,0 +1,333 @@
+package vn.hoidanit.jobservice.kafka.producer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.errors.RecordTooLargeException;
+import org.apache.kafka.common.errors.SerializationException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import vn.hoidanit.jobservice.client.CompanyClient;
+import vn.hoidanit.jobservice.client.UserClient;
+import vn.hoidanit.jobservice.config.KafkaProducerConfig;
+import vn.hoidanit.jobservice.domain.Job;
+import vn.hoidanit.jobservice.domain.OutboxEvent;
+import vn.hoidanit.jobservice.domain.Skill;
+import vn.hoidanit.jobservice.dto.JobCreatedEvent;
+import vn.hoidanit.jobservice.dto.ResJobDTO;
+import vn.hoidanit.jobservice.dto.SkillEvent;
+import vn.hoidanit.jobservice.repository.OutboxEventRepository;
+import vn.hoidanit.jobservice.service.CompanyFetchService;
+import vn.hoidanit.jobservice.service.OutboxService;
+
+/**
+ * Test outbox + relay trên H2: event chỉ được ghi khi transaction commit, relay gửi theo batch rồi xóa dòng,
+ * lỗi tạm thời gửi lại sau backoff, lỗi vĩnh viễn bị park
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "outbox.relay.retry-backoff=1h",
+        "outbox.relay.max-retry-backoff=4h"
+})
+@Import({ OutboxService.class, OutboxRelay.class, JacksonAutoConfiguration.class, OutboxRelayTest.MetricsConfig.class })
+// Mỗi thao tác chạy transaction riêng như trong ứng dụng (không bọc trong transaction của test)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("OutboxRelay Tests")
+class OutboxRelayTest {
+
+    private static final Duration BACKOFF = Duration.ofHours(1);
+    private static final Duration MAX_BACKOFF = Duration.ofHours(4);
+
+    @TestConfiguration
+    static class MetricsConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockBean
+    private KafkaTemplate<String, JobCreatedEvent> jobCreatedKafkaTemplate;
+
+    @MockBean
+    private KafkaTemplate<String, SkillEvent> skillEventKafkaTemplate;
+
+    @MockBean
+    private CompanyFetchService companyFetchService;
+
+    @MockBean
+    private CompanyClient companyClient;
+
+    @MockBean
+    private UserClient userClient;
+
+    // Context (và MeterRegistry) dùng chung giữa các test: so sánh metrics với giá trị đầu test
+    private final Map<String, Double> eventsBefore = new HashMap<>();
+    private double batchSizeBefore;
+
+    @BeforeEach
+    void setUp() {
+        outboxEventRepository.deleteAll();
+        for (String result : List.of("published", "failed", "parked")) {
+            eventsBefore.put(result, meterRegistry.get("outbox.events").tag("result", result).counter().count());
+        }
+        batchSizeBefore = meterRegistry.get("outbox.batch.size").summary().totalAmount();
+        when(jobCreatedKafkaTemplate.send(anyString(), anyString(), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(skillEventKafkaTemplate.send(anyString(), anyString(), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    @Test
+    @DisplayName("append - Chỉ ghi outbox khi transaction commit, bắt buộc có transaction")
+    void append_shouldFollowCallerTransaction() {
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxService.appendSkillEvent("SKILL_CREATED", skill(1L, "Java"));
+            status.setRollbackOnly();
+        });
+        assertEquals(0, outboxEventRepository.count());
+
+        assertThrows(IllegalTransactionStateException.class,
+                () -> outboxService.appendSkillEvent("SKILL_CREATED", skill(1L, "Java")));
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    @Test
+    @DisplayName("relayBatch - Bổ sung tên company bằng 1 lần fetch, gửi cả batch rồi xóa outbox")
+    void relayBatch_shouldEnrichSendAndDelete() {
+        when(companyFetchService.fetchCompanies(Set.of(1L, 2L)))
+                .thenReturn(Map.of(1L, new ResJobDTO.CompanyInfo(1L, "Company 1", "logo.png")));
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxService.appendJobCreated(job(10L, 1L));
+            outboxService.appendJobCreated(job(11L, 2L));
+            outboxService.appendJobCreated(job(12L, 1L));
+            outboxService.appendSkillEvent("SKILL_UPDATED", skill(5L, "Go"));
+        });
+
+        assertEquals(4, outboxRelay.relayBatch());
+
+        verify(companyFetchService, times(1)).fetchCompanies(Set.of(1L, 2L));
+        ArgumentCaptor<JobCreatedEvent> events = ArgumentCaptor.forClass(JobCreatedEvent.class);
+        verify(jobCreatedKafkaTemplate, times(3))
+                .send(eq(KafkaProducerConfig.JOB_CREATED_TOPIC), anyString(), events.capture());
+        assertEquals(List.of(10L, 11L, 12L), events.getAllValues().stream().map(JobCreatedEvent::getJobId).toList());
+        assertEquals(List.of("Company 1", "Unknown Company", "Company 1"),
+                events.getAllValues().stream().map(JobCreatedEvent::getCompanyName).toList());
+        assertEquals(List.of("Java"), events.getValue().getSkills());
+        verify(skillEventKafkaTemplate).send(eq(KafkaProducerConfig.SKILL_EVENTS_TOPIC), eq("5"),
+                argThat(event -> "SKILL_UPDATED".equals(event.getEventType()) && "Go".equals(event.getName())));
+
+        assertEquals(0, outboxEventRepository.count());
+        assertEquals(4, meterRegistry.get("outbox.batch.size").summary().totalAmount() - batchSizeBefore);
+        assertEquals(4, events("published"));
+    }
+
+    @Test
+    @DisplayName("relayBatch - Kafka lỗi tạm thời - Giữ event lại, tăng attempts, gửi lại sau backoff")
+    void relayBatch_whenSendFails_shouldRetryAfterBackoff() {
+        when(skillEventKafkaTemplate.send(anyString(), anyString(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new TimeoutException("broker down")));
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxService.appendSkillEvent("SKILL_CREATED", skill(1L, "Java"));
+            outboxService.appendSkillEvent("SKILL_CREATED", skill(2L, "Go"));
+        });
+
+        Instant before = Instant.now();
+        assertEquals(0, outboxRelay.relayBatch());
+
+        List<OutboxEvent> pending = outboxEventRepository.findAll();
+        assertEquals(2, pending.size());
+        assertTrue(pending.stream().allMatch(event -> event.getAttempts() == 1 && event.getParkedAt() == null));
+        assertTrue(pending.stream().allMatch(event -> !event.getNextAttemptAt().isBefore(before.plus(BACKOFF))));
+        assertEquals(2, events("failed"));
+
+        // Chưa hết backoff - Không gửi lại
+        when(skillEventKafkaTemplate.send(anyString(), anyString(), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        assertEquals(0, outboxRelay.relayBatch());
+        verify(skillEventKafkaTemplate, times(2)).send(anyString(), anyString(), any());
+
+        makeDue();
+        outboxRelay.relay();
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    @Test
+    @DisplayName("relayBatch - Kafka down lâu (nhiều lần lỗi) - Không bao giờ park, backoff tăng gấp đôi tới mức trần")
+    void relayBatch_whenOutageIsLong_shouldNeverPark() {
+        when(skillEventKafkaTemplate.send(anyString(), anyString(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new TimeoutException("broker down")));
+        transactionTemplate.executeWithoutResult(
+                status -> outboxService.appendSkillEvent("SKILL_CREATED", skill(1L, "Java")));
+
+        for (int attempt = 1; attempt <= 15; attempt++) {
+            makeDue();
+            assertEquals(0, outboxRelay.relayBatch());
+        }
+
+        OutboxEvent pending = outboxEventRepository.findAll().get(0);
+        assertEquals(15, pending.getAttempts());
+        assertNull(pending.getParkedAt());
+        assertEquals(0, events("parked"));
+        assertEquals(BACKOFF, outboxRelay.retryDelay(1));
+        assertEquals(BACKOFF.multipliedBy(2), outboxRelay.retryDelay(2));
+        assertEquals(MAX_BACKOFF, outboxRelay.retryDelay(3));
+        assertEquals(MAX_BACKOFF, outboxRelay.retryDelay(15));
+    }
+
+    @Test
+    @DisplayName("relayBatch - Record quá lớn - Park ngay lần đầu, event sau vẫn được gửi")
+    void relayBatch_whenRecordTooLarge_shouldParkAtOnce() {
+        when(skillEventKafkaTemplate.send(anyString(), eq("1"), any())).thenReturn(CompletableFuture.failedFuture(
+                new KafkaException("send failed", new RecordTooLargeException("record too large"))));
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxService.appendSkillEvent("SKILL_CREATED", skill(1L, "Java"));
+            outboxService.appendSkillEvent("SKILL_CREATED", skill(2L, "Go"));
+        });
+
+        assertEquals(1, outboxRelay.relayBatch());
+
+        OutboxEvent parked = outboxEventRepository.findAll().get(0);
+        assertEquals(1, parked.getAttempts());
+        assertNotNull(parked.getParkedAt());
+        assertEquals(1, events("parked"));
+        assertEquals(0, events("failed"));
+
+        // Event bị park không còn được lấy lại
+        makeDue();
+        assertEquals(0, outboxRelay.relayBatch());
+        verify(skillEventKafkaTemplate, times(1)).send(anyString(), eq("1"), any());
+    }
+
+    @Test
+    @DisplayName("relayBatch - Lỗi serialize khi gửi hoặc payload không đọc được - Park, không gửi lại")
+    void relayBatch_whenPayloadCannotBeSerialized_shouldPark() {
+        when(skillEventKafkaTemplate.send(anyString(), eq("1"), any()))
+                .thenThrow(new SerializationException("cannot serialize"));
+        transactionTemplate.executeWithoutResult(
+                status -> outboxService.appendSkillEvent("SKILL_CREATED", skill(1L, "Java")));
+        OutboxEvent unreadable = new OutboxEvent();
+        unreadable.setAggregateType("SKILL");
+        unreadable.setAggregateId(2L);
+        unreadable.setEventType("SKILL_CREATED");
+        unreadable.setTopic(KafkaProducerConfig.SKILL_EVENTS_TOPIC);
+        unreadable.setMessageKey("2");
+        unreadable.setPayload("{not json");
+        outboxEventRepository.save(unreadable);
+
+        assertEquals(0, outboxRelay.relayBatch());
+
+        List<OutboxEvent> parked = outboxEventRepository.findAll();
+        assertEquals(2, parked.size());
+        assertTrue(parked.stream().allMatch(event -> event.getParkedAt() != null));
+        assertEquals(2, events("parked"));
+        verify(skillEventKafkaTemplate, never()).send(anyString(), eq("2"), any());
+    }
+
+    @Test
+    @DisplayName("relayBatch - Event lỗi - Event sau cùng key không được gửi trước, gửi đúng thứ tự khi hết backoff")
+    void relayBatch_whenEventFails_shouldHoldBackLaterEventsOfSameKey() {
+        when(skillEventKafkaTemplate.send(anyString(), eq("1"), any()))
+                .thenReturn(CompletableFuture.failedFuture(new TimeoutException("broker down")))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxService.appendSkillEvent("SKILL_CREATED", skill(1L, "Java"));
+            outboxService.appendSkillEvent("SKILL_UPDATED", skill(1L, "Java 21"));
+            outboxService.appendSkillEvent("SKILL_CREATED", skill(2L, "Go"));
+        });
+
+        // Key 2 không bị ảnh hưởng, SKILL_UPDATED của key 1 giữ nguyên (không tính là lần lỗi)
+        assertEquals(1, outboxRelay.relayBatch());
+        verify(skillEventKafkaTemplate, times(1)).send(anyString(), eq("1"), any());
+        Map<String, Integer> attempts = outboxEventRepository.findAll().stream()
+                .collect(Collectors.toMap(OutboxEvent::getEventType, OutboxEvent::getAttempts));
+        assertEquals(Map.of("SKILL_CREATED", 1, "SKILL_UPDATED", 0), attempts);
+
+        // Event đầu đang backoff - Event sau cùng key cũng không được lấy
+        assertEquals(0, outboxRelay.relayBatch());
+
+        makeDue();
+        assertEquals(2, outboxRelay.relayBatch());
+        ArgumentCaptor<SkillEvent> sent = ArgumentCaptor.forClass(SkillEvent.class);
+        verify(skillEventKafkaTemplate, times(3)).send(anyString(), eq("1"), sent.capture());
+        assertEquals(List.of("SKILL_CREATED", "SKILL_CREATED", "SKILL_UPDATED"),
+                sent.getAllValues().stream().map(SkillEvent::getEventType).toList());
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    /**
+     * Giả lập hết thời gian backoff của mọi event đang chờ
+     */
+    private void makeDue() {
+        transactionTemplate.executeWithoutResult(status -> outboxEventRepository.findAll().forEach(
+                event -> event.setNextAttemptAt(event.getNextAttemptAt() == null ? null : Instant.now().minusSeconds(1))));
+    }
+
+    private double events(String result) {
+        return meterRegistry.get("outbox.events").tag("result", result).counter().count() - eventsBefore.get(result);
+    }
+
+    private static Job job(long id, long companyId) {
+        Job job = new Job();
+        job.setId(id);
+        job.setName("Job " + id);
+        job.setCompanyId(companyId);
+        job.setSalary(1000);
+        job.setSkills(List.of(skill(1L, "Java")));
+        return job;
+    }
+
+    private static Skill skill(long id, String name) {
+        Skill skill = new Skill();
+        skill.setId(id);
+        skill.setName(name);
+        return skill;
+    }
+}
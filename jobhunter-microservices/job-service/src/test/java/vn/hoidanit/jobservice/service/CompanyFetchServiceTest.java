@@ -0,0 +1,145 @@
+package vn.hoidanit.jobservice.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ValueOperations;
+
+import vn.hoidanit.jobservice.client.CompanyClient;
+import vn.hoidanit.jobservice.config.CacheConfig;
+import vn.hoidanit.jobservice.config.TwoLevelCache;
+import vn.hoidanit.jobservice.config.TwoLevelCacheManager;
+import vn.hoidanit.jobservice.dto.CompanyDTO;
+import vn.hoidanit.jobservice.dto.ResJobDTO;
+import vn.hoidanit.jobservice.dto.RestResponseWrapper;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("CompanyFetchService Unit Tests")
+class CompanyFetchServiceTest {
+
+    private static final long UNKNOWN_COMPANY_ID = 7L;
+
+    @Mock
+    private CompanyClient companyClient;
+
+    @Mock
+    private RedisTemplate<String, Object> cacheRedisTemplate;
+
+    @Mock
+    private ValueOperations<String, Object> valueOperations;
+
+    @Mock
+    private TwoLevelCacheManager cacheManager;
+
+    @Mock
+    private TwoLevelCache companyCache;
+
+    private CompanyFetchService companyFetchService;
+
+    @BeforeEach
+    void setUp() {
+        companyFetchService = new CompanyFetchService(companyClient, cacheRedisTemplate, cacheManager);
+        when(cacheManager.getCache(CacheConfig.COMPANY_FETCH_CACHE)).thenReturn(companyCache);
+        when(cacheRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        // Redis trống: MGET trả null cho mọi key
+        when(valueOperations.multiGet(anyCollection()))
+                .thenAnswer(invocation -> Arrays.asList(new Object[invocation.<Collection<?>>getArgument(0).size()]));
+        // company-service trả mọi id được hỏi trừ UNKNOWN_COMPANY_ID
+        when(companyClient.getCompaniesByIds(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            if (ids.size() > CompanyClient.MAX_BATCH_SIZE) {
+                throw new IllegalStateException("company-service rejects more than 200 ids");
+            }
+            RestResponseWrapper<List<CompanyDTO>> response = new RestResponseWrapper<>();
+            response.setData(ids.stream().filter(id -> id != UNKNOWN_COMPANY_ID).map(id -> company(id)).toList());
+            return response;
+        });
+    }
+
+    @Test
+    @DisplayName("fetchCompanies - Hơn 200 id chưa cache - Chia thành các lần gọi tối đa 200 id")
+    void fetchCompanies_whenMoreMissesThanBatchLimit_shouldSplitCalls() {
+        Set<Long> ids = LongStream.rangeClosed(1, 450).boxed().collect(Collectors.toCollection(LinkedHashSet::new));
+
+        Map<Long, ResJobDTO.CompanyInfo> companies = companyFetchService.fetchCompanies(ids);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Long>> calls = ArgumentCaptor.forClass(Collection.class);
+        verify(companyClient, times(3)).getCompaniesByIds(calls.capture());
+        assertEquals(List.of(200, 200, 50), calls.getAllValues().stream().map(Collection::size).toList());
+        List<Long> requested = new ArrayList<>();
+        calls.getAllValues().forEach(requested::addAll);
+        assertEquals(new ArrayList<>(ids), requested);
+
+        assertEquals(ids, companies.keySet());
+        assertEquals("Company 450", companies.get(450L).getName());
+        assertEquals("Company information unavailable", companies.get(UNKNOWN_COMPANY_ID).getName());
+        // Chỉ company lấy được mới vào cache (1 pipeline), fallback không cache
+        verify(companyCache, times(449)).putLocal(any(), any());
+        verify(companyCache, never()).putLocal(eq(UNKNOWN_COMPANY_ID), any());
+        verify(cacheRedisTemplate, times(1)).executePipelined(any(SessionCallback.class));
+    }
+
+    @Test
+    @DisplayName("fetchCompanies - Id có trong L1 - Chỉ gọi company-service cho id còn thiếu")
+    void fetchCompanies_whenSomeCached_shouldOnlyFetchMisses() {
+        ResJobDTO.CompanyInfo cached = new ResJobDTO.CompanyInfo();
+        cached.setId(1L);
+        cached.setName("Cached Company");
+        when(companyCache.getLocal(1L)).thenReturn(cached);
+
+        Map<Long, ResJobDTO.CompanyInfo> companies = companyFetchService.fetchCompanies(Set.of(1L, 2L));
+
+        verify(companyClient, times(1)).getCompaniesByIds(List.of(2L));
+        assertEquals("Cached Company", companies.get(1L).getName());
+        assertEquals("Company 2", companies.get(2L).getName());
+    }
+
+    @Test
+    @DisplayName("fetchCompanies - Tất cả có trong cache - Không gọi company-service")
+    void fetchCompanies_whenAllCached_shouldNotCallClient() {
+        when(valueOperations.multiGet(anyCollection())).thenReturn(List.of(info(5L)));
+
+        Map<Long, ResJobDTO.CompanyInfo> companies = companyFetchService.fetchCompanies(Set.of(5L));
+
+        assertEquals("Company 5", companies.get(5L).getName());
+        verify(companyClient, never()).getCompaniesByIds(anyCollection());
+    }
+
+    private static CompanyDTO company(long id) {
+        CompanyDTO company = new CompanyDTO();
+        company.setId(id);
+        company.setName("Company " + id);
+        return company;
+    }
+
+    private static ResJobDTO.CompanyInfo info(long id) {
+        ResJobDTO.CompanyInfo companyInfo = new ResJobDTO.CompanyInfo();
+        companyInfo.setId(id);
+        companyInfo.setName("Company " + id);
+        return companyInfo;
+    }
+}
@@ -0,0 +1,95 @@
+package vn.hoidanit.jobservice.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import vn.hoidanit.jobservice.client.ResumeClient;
+import vn.hoidanit.jobservice.dto.JobApplicationCount;
+import vn.hoidanit.jobservice.dto.RestResponseWrapper;
+import vn.hoidanit.jobservice.repository.JobApplicationStatsRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JobApplicationStatsBackfill Unit Tests")
+class JobApplicationStatsBackfillTest {
+
+    @Mock
+    private ResumeClient resumeClient;
+
+    @Mock
+    private JobApplicationStatsService jobApplicationStatsService;
+
+    @Mock
+    private JobApplicationStatsRepository jobApplicationStatsRepository;
+
+    private JobApplicationStatsBackfill backfill;
+
+    @BeforeEach
+    void setUp() {
+        backfill = new JobApplicationStatsBackfill(resumeClient, jobApplicationStatsService,
+                jobApplicationStatsRepository, new SyncTaskExecutor(), true, 2);
+    }
+
+    @Test
+    @DisplayName("run - Duyệt job id theo keyset, mỗi page ghi đè counter 1 lần")
+    void run_shouldWalkPagesByJobId() {
+        List<JobApplicationCount> first = List.of(new JobApplicationCount(1L, 3, 1), new JobApplicationCount(4L, 2, 0));
+        List<JobApplicationCount> second = List.of(new JobApplicationCount(9L, 1, 1));
+        when(resumeClient.getApplicationCounts(0L, 2)).thenReturn(response(first));
+        when(resumeClient.getApplicationCounts(4L, 2)).thenReturn(response(second));
+
+        assertEquals(3, backfill.run());
+
+        verify(jobApplicationStatsService).replaceCounts(first);
+        verify(jobApplicationStatsService).replaceCounts(second);
+        // Page cuối ít hơn page-size -> dừng, không gọi thêm
+        verify(resumeClient, times(2)).getApplicationCounts(anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("run - Resume service không trả dữ liệu - Báo lỗi, không ghi gì")
+    void run_whenResumeServiceReturnsNothing_shouldFail() {
+        when(resumeClient.getApplicationCounts(0L, 2)).thenReturn(response(null));
+
+        assertThrows(IllegalStateException.class, () -> backfill.run());
+
+        verify(jobApplicationStatsService, never()).replaceCounts(anyList());
+    }
+
+    @Test
+    @DisplayName("start - Bảng counter đã có dữ liệu - Không chạy lại lúc khởi động")
+    void start_whenStatsExist_shouldSkip() {
+        when(jobApplicationStatsRepository.count()).thenReturn(5L);
+
+        backfill.start();
+
+        verifyNoInteractions(resumeClient);
+    }
+
+    @Test
+    @DisplayName("start - Bảng counter rỗng - Chạy backfill trên executor, lỗi chỉ được log")
+    void start_whenStatsEmpty_shouldRunOnExecutor() {
+        when(jobApplicationStatsRepository.count()).thenReturn(0L);
+        when(resumeClient.getApplicationCounts(0L, 2)).thenReturn(response(null));
+
+        assertDoesNotThrow(() -> backfill.start());
+
+        verify(resumeClient).getApplicationCounts(0L, 2);
+    }
+
+    private static RestResponseWrapper<List<JobApplicationCount>> response(List<JobApplicationCount> counts) {
+        RestResponseWrapper<List<JobApplicationCount>> response = new RestResponseWrapper<>();
+        response.setData(counts);
+        return response;
+    }
+}
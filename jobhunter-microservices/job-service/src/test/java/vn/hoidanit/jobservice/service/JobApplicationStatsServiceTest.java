@@ -0,0 +1,281 @@
+package vn.hoidanit.jobservice.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import vn.hoidanit.jobservice.domain.JobApplicationStats;
+import vn.hoidanit.jobservice.dto.JobApplicationCount;
+import vn.hoidanit.jobservice.dto.ResJobStatsDTO;
+import vn.hoidanit.jobservice.repository.JobApplicationStatsRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JobApplicationStatsService Unit Tests")
+class JobApplicationStatsServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private JobApplicationStatsRepository jobApplicationStatsRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private JobApplicationStatsService statsService;
+
+    @BeforeEach
+    void setUp() {
+        statsService = new JobApplicationStatsService(jdbcTemplate, new TransactionTemplate(transactionManager),
+                jobApplicationStatsRepository, Duration.ofDays(7));
+    }
+
+    @Test
+    @DisplayName("flush - Gộp các event của 1 job thành 1 dòng, 1 batch UPSERT sắp theo job_id")
+    void flush_shouldWriteOneBatchOfDeltas() {
+        List<Object[]> rows = captureRows();
+        statsService.recordSubmitted(7L, null);
+        statsService.recordSubmitted(3L, null);
+        statsService.recordSubmitted(7L, null);
+        statsService.recordWithdrawn(7L, null);
+
+        assertEquals(2, statsService.flush());
+
+        verify(jdbcTemplate, times(1)).batchUpdate(eq(JobApplicationStatsService.UPSERT_SQL), anyList());
+        assertEquals(List.of(3L, 7L), rows.stream().map(row -> row[0]).toList());
+        assertArrayEquals(new Object[] { 7L, 2L, 1L }, new Object[] { rows.get(1)[0], rows.get(1)[1], rows.get(1)[2] });
+
+        // Không có delta mới -> không ghi DB
+        assertEquals(0, statsService.flush());
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    @DisplayName("flush - DB lỗi - Giữ lại delta cho lần flush sau")
+    void flush_whenDatabaseFails_shouldRetryDeltas() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("db down"))
+                .thenReturn(new int[] { 1 });
+        statsService.recordSubmitted(1L, null);
+        statsService.recordSubmitted(1L, null);
+
+        assertEquals(0, statsService.flush());
+        statsService.recordSubmitted(1L, null);
+
+        List<Object[]> rows = captureRows();
+        assertEquals(1, statsService.flush());
+        assertEquals(3L, rows.get(0)[1]);
+    }
+
+    @Test
+    @DisplayName("getStats - Cộng số đã lưu với delta chưa flush")
+    void getStats_shouldIncludePendingDeltas() {
+        JobApplicationStats stats = new JobApplicationStats();
+        stats.setJobId(1L);
+        stats.setSubmittedCount(10);
+        stats.setWithdrawnCount(2);
+        stats.setUpdatedAt(Instant.parse("2025-01-01T00:00:00Z"));
+        when(jobApplicationStatsRepository.findById(1L)).thenReturn(Optional.of(stats));
+        when(jobApplicationStatsRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(stats));
+        statsService.recordSubmitted(1L, null);
+        statsService.recordWithdrawn(2L, null);
+
+        ResJobStatsDTO result = statsService.getStats(1L);
+
+        assertEquals(11, result.getSubmitted());
+        assertEquals(2, result.getWithdrawn());
+        assertEquals(9, result.getActive());
+        assertEquals(Map.of(1L, 9L, 2L, -1L), statsService.getActiveCounts(List.of(1L, 2L)));
+    }
+
+    @Test
+    @DisplayName("findNew - 1 statement cho cả batch, id trùng trong batch chỉ gửi 1 lần, trả về id chưa xử lý")
+    @SuppressWarnings("unchecked")
+    void findNew_shouldQueryBatchOnceAndReturnUnprocessedIds() throws Exception {
+        ArgumentCaptor<PreparedStatementCreator> statement = ArgumentCaptor.forClass(PreparedStatementCreator.class);
+        when(jdbcTemplate.query(statement.capture(), any(RowMapper.class))).thenReturn(List.of("e1"));
+
+        Set<String> result = statsService.findNew(List.of("e1", "e2", "e1"));
+
+        assertEquals(Set.of("e2"), result);
+        verify(jdbcTemplate, times(1)).query(any(PreparedStatementCreator.class), any(RowMapper.class));
+        Connection connection = mock(Connection.class);
+        when(connection.prepareStatement(JobApplicationStatsService.FIND_PROCESSED_SQL))
+                .thenReturn(mock(PreparedStatement.class));
+        statement.getValue().createPreparedStatement(connection);
+        verify(connection).createArrayOf("varchar", new Object[] { "e1", "e2" });
+
+        // Batch không có event id -> không chạm DB
+        assertTrue(statsService.findNew(List.of()).isEmpty());
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("findNew / record - Event đã đếm nhưng chưa flush - Không đếm lại, không hỏi DB")
+    void record_whenEventPending_shouldCountOnce() {
+        assertTrue(statsService.recordSubmitted(1L, "e1"));
+        assertFalse(statsService.recordSubmitted(1L, "e1"));
+
+        assertTrue(statsService.findNew(List.of("e1")).isEmpty());
+        verifyNoInteractions(jdbcTemplate);
+        assertEquals(1, statsService.getActiveCounts(List.of(1L)).get(1L));
+    }
+
+    @Test
+    @DisplayName("flush - Ghi event id và delta trong cùng 1 transaction")
+    void flush_shouldMarkEventIdsInTheSameTransaction() throws Exception {
+        List<Object[]> rows = captureRows();
+        statsService.recordSubmitted(1L, "e1");
+        statsService.recordWithdrawn(2L, "e2");
+
+        assertEquals(2, statsService.flush());
+
+        InOrder inOrder = inOrder(transactionManager, jdbcTemplate);
+        inOrder.verify(transactionManager).getTransaction(any());
+        ArgumentCaptor<PreparedStatementCreator> statement = ArgumentCaptor.forClass(PreparedStatementCreator.class);
+        inOrder.verify(jdbcTemplate).update(statement.capture());
+        inOrder.verify(jdbcTemplate).batchUpdate(eq(JobApplicationStatsService.UPSERT_SQL), anyList());
+        inOrder.verify(transactionManager).commit(any());
+        assertEquals(2, rows.size());
+
+        Connection connection = mock(Connection.class);
+        when(connection.prepareStatement(JobApplicationStatsService.MARK_EVENTS_SQL))
+                .thenReturn(mock(PreparedStatement.class));
+        statement.getValue().createPreparedStatement(connection);
+        ArgumentCaptor<Object[]> ids = ArgumentCaptor.forClass(Object[].class);
+        verify(connection).createArrayOf(eq("varchar"), ids.capture());
+        assertEquals(Set.of("e1", "e2"), Set.of(ids.getValue()));
+
+        // Id đã được ghi -> không còn pending, lần flush sau không ghi lại
+        assertEquals(0, statsService.flush());
+        verify(jdbcTemplate, times(1)).update(any(PreparedStatementCreator.class));
+    }
+
+    @Test
+    @DisplayName("flush - DB lỗi - Rollback, event id vẫn pending cùng delta cho lần flush sau")
+    void flush_whenDatabaseFails_shouldKeepEventIdsPending() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("db down"))
+                .thenReturn(new int[] { 1 });
+        statsService.recordSubmitted(1L, "e1");
+
+        assertEquals(0, statsService.flush());
+
+        verify(transactionManager).rollback(any());
+        // Kafka giao lại event trước khi flush thành công -> vẫn không đếm lại
+        assertFalse(statsService.recordSubmitted(1L, "e1"));
+        assertEquals(1, statsService.flush());
+        verify(jdbcTemplate, times(2)).update(any(PreparedStatementCreator.class));
+    }
+
+    @Test
+    @DisplayName("replaceCounts - Flush delta đang chờ trước, rồi ghi đè counter theo job_id tăng dần")
+    void replaceCounts_shouldFlushThenOverwriteSortedByJob() {
+        List<Object[]> rows = captureRows();
+        statsService.recordSubmitted(5L, null);
+
+        statsService.replaceCounts(List.of(new JobApplicationCount(9L, 4, 1), new JobApplicationCount(2L, 3, 0)));
+
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).batchUpdate(eq(JobApplicationStatsService.UPSERT_SQL), anyList());
+        inOrder.verify(jdbcTemplate).batchUpdate(eq(JobApplicationStatsService.REPLACE_SQL), anyList());
+        assertEquals(List.of(5L, 2L, 9L), rows.stream().map(row -> row[0]).toList());
+        assertArrayEquals(new Object[] { 9L, 4L, 1L }, new Object[] { rows.get(2)[0], rows.get(2)[1], rows.get(2)[2] });
+    }
+
+    @Test
+    @DisplayName("purgeProcessedEvents - Xóa event id cũ hơn dedupe-retention")
+    void purgeProcessedEvents_shouldDeleteIdsOlderThanRetention() {
+        ArgumentCaptor<Timestamp> cutoff = ArgumentCaptor.forClass(Timestamp.class);
+        when(jdbcTemplate.update(eq(JobApplicationStatsService.PURGE_EVENTS_SQL), cutoff.capture())).thenReturn(3);
+
+        assertEquals(3, statsService.purgeProcessedEvents());
+
+        Duration age = Duration.between(cutoff.getValue().toInstant(), Instant.now());
+        assertTrue(age.compareTo(Duration.ofDays(7)) >= 0 && age.compareTo(Duration.ofDays(7).plusMinutes(1)) < 0);
+    }
+
+    @Test
+    @DisplayName("Concurrency - Consumer ghi song song với flush - Không mất event nào")
+    void record_concurrentWithFlush_shouldNotLoseIncrements() throws Exception {
+        Map<Long, Long> flushed = new ConcurrentHashMap<>();
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> batch = invocation.getArgument(1);
+            batch.forEach(row -> flushed.merge((Long) row[0], (Long) row[1], Long::sum));
+            return new int[batch.size()];
+        });
+
+        int threads = 8;
+        int eventsPerThread = 100_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        CountDownLatch done = new CountDownLatch(threads);
+        AtomicBoolean running = new AtomicBoolean(true);
+        executor.submit(() -> {
+            while (running.get()) {
+                statsService.flush();
+            }
+        });
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < eventsPerThread; i++) {
+                    statsService.recordSubmitted(i % 50, null);
+                }
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        double nsPerEvent = (System.nanoTime() - start) / (double) (threads * eventsPerThread);
+        running.set(false);
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        statsService.flush();
+
+        System.out.printf(">>> %d threads x %d events with concurrent flushes: %.1f ns/event%n",
+                threads, eventsPerThread, nsPerEvent);
+        assertEquals((long) threads * eventsPerThread, flushed.values().stream().mapToLong(Long::longValue).sum());
+        assertEquals(50, flushed.size());
+    }
+
+    private List<Object[]> captureRows() {
+        List<Object[]> rows = new ArrayList<>();
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> batch = invocation.getArgument(1);
+            rows.addAll(batch);
+            return new int[batch.size()];
+        });
+        return rows;
+    }
+}
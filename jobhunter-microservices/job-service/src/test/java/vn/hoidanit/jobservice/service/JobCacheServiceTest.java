@@ -0,0 +1,130 @@
+package vn.hoidanit.jobservice.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import vn.hoidanit.jobservice.config.TwoLevelCacheManager;
+import vn.hoidanit.jobservice.config.TwoLevelCacheManager.LocalCacheSpec;
+
+/**
+ * JobCacheService trên TwoLevelCacheManager thật, Redis được mock ở mức connection
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("JobCacheService Unit Tests")
+class JobCacheServiceTest {
+
+    @Mock
+    private RedisCacheManager redisCacheManager;
+
+    @Mock
+    private RedisCache jobsRedisCache;
+
+    @Mock
+    private RedisCache detailsRedisCache;
+
+    @Mock
+    private RedisConnectionFactory connectionFactory;
+
+    @Mock
+    private RedisConnection connection;
+
+    private JobCacheService jobCacheService;
+
+    @BeforeEach
+    void setUp() {
+        when(redisCacheManager.getCacheNames())
+                .thenReturn(List.of(JobCacheService.JOBS_CACHE, JobCacheService.JOB_DETAILS_CACHE));
+        when(redisCacheManager.getCache(JobCacheService.JOBS_CACHE)).thenReturn(jobsRedisCache);
+        when(redisCacheManager.getCache(JobCacheService.JOB_DETAILS_CACHE)).thenReturn(detailsRedisCache);
+        when(detailsRedisCache.getCacheConfiguration()).thenReturn(RedisCacheConfiguration.defaultCacheConfig());
+        when(connectionFactory.getConnection()).thenReturn(connection);
+
+        jobCacheService = new JobCacheService(new TwoLevelCacheManager(redisCacheManager, connectionFactory, Map.of(
+                JobCacheService.JOB_DETAILS_CACHE, new LocalCacheSpec(100, Duration.ofMinutes(1)))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("evictJobDetails - Chỉ xóa key jobs:details::{id} trong 1 lệnh DEL")
+    void evictJobDetails_shouldDeleteOnlyDetailKeys() {
+        jobCacheService.evictJobDetails(List.of(1L, 2L));
+
+        ArgumentCaptor<byte[][]> keys = ArgumentCaptor.forClass(byte[][].class);
+        verify(connection, times(1)).del(keys.capture());
+        assertEquals(List.of("jobs:details::1", "jobs:details::2"), keys.getAllValues().stream()
+                .flatMap(Arrays::stream)
+                .map(key -> new String(key, StandardCharsets.UTF_8))
+                .toList());
+        // Không clear cache và không đụng tới danh sách "jobs"
+        verify(detailsRedisCache, never()).clear();
+        verifyNoInteractions(jobsRedisCache);
+        verify(connection, never()).incr(any());
+    }
+
+    @Test
+    @DisplayName("evictJobDetails - Danh sách rỗng - Không gọi Redis")
+    void evictJobDetails_whenEmpty_shouldDoNothing() {
+        jobCacheService.evictJobDetails(List.of());
+
+        verify(connection, never()).del(any(byte[][].class));
+    }
+
+    @Test
+    @DisplayName("evictJobDetails - Trong transaction - Chỉ xóa sau khi commit")
+    void evictJobDetails_inTransaction_shouldWaitForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        jobCacheService.evictJobDetails(List.of(1L));
+        verify(connection, never()).del(any(byte[][].class));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(connection).del(any(byte[][].class));
+    }
+
+    @Test
+    @DisplayName("invalidateList - INCR generation, các lần đọc sau lấy generation mới từ bộ nhớ")
+    void invalidateList_shouldBumpGeneration() {
+        when(connection.get(any())).thenReturn("4".getBytes(StandardCharsets.UTF_8));
+        when(connection.incr(any())).thenReturn(5L);
+        assertEquals(4, jobCacheService.currentGeneration(JobCacheService.JOBS_CACHE));
+
+        jobCacheService.invalidateList(JobCacheService.JOBS_CACHE);
+
+        assertEquals(5, jobCacheService.currentGeneration(JobCacheService.JOBS_CACHE));
+        verify(connection, times(1)).get(any());
+        verify(connection).incr("cache-generation:jobs".getBytes(StandardCharsets.UTF_8));
+        verify(connection, never()).del(any(byte[][].class));
+    }
+}
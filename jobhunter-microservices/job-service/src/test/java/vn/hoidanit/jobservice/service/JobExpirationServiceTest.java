@@ -0,0 +1,135 @@
+package vn.hoidanit.jobservice.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import vn.hoidanit.jobservice.client.CompanyClient;
+import vn.hoidanit.jobservice.client.UserClient;
+
+/**
+ * Test hết hạn + lưu trữ job trên H2: chunk UPDATE, chuyển sang jobs_archive, xóa cache mỗi chunk, không ghi outbox
+ * (service khác nhận thay đổi qua CDC của bảng jobs)
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "job-expiration.chunk-size=10",
+        "job-expiration.archive.enabled=true",
+        "job-expiration.archive.retention=180d"
+})
+@Import({ JobExpirationService.class, OutboxService.class, JacksonAutoConfiguration.class })
+// Mỗi chunk chạy transaction riêng như trong ứng dụng
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("JobExpirationService Tests")
+class JobExpirationServiceTest {
+
+    private static final int EXPIRED_JOBS = 25;
+    private static final int OPEN_JOBS = 5;
+    private static final int OLD_JOBS = 7;
+
+    @Autowired
+    private JobExpirationService jobExpirationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private RedisLease redisLease;
+
+    @MockBean
+    private JobCacheService jobCacheService;
+
+    @MockBean
+    private CompanyClient companyClient;
+
+    @MockBean
+    private UserClient userClient;
+
+    @BeforeEach
+    void setUp() {
+        for (String table : List.of("job_skill", "jobs", "jobs_archive", "outbox_events", "skills")) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+        when(redisLease.tryAcquire(eq(JobExpirationService.LEASE_NAME), any())).thenReturn("token");
+
+        Instant now = Instant.now();
+        jdbcTemplate.update("INSERT INTO skills (id, name) VALUES (1, 'Java')");
+        long id = 1;
+        for (int i = 0; i < EXPIRED_JOBS; i++) {
+            insertJob(id++, true, now.minus(Duration.ofDays(1)));
+        }
+        for (int i = 0; i < OPEN_JOBS; i++) {
+            insertJob(id++, true, now.plus(Duration.ofDays(30)));
+        }
+        for (int i = 0; i < OLD_JOBS; i++) {
+            insertJob(id, false, now.minus(Duration.ofDays(365)));
+            jdbcTemplate.update("INSERT INTO job_skill (job_id, skill_id) VALUES (?, 1)", id++);
+        }
+    }
+
+    @Test
+    @DisplayName("expireJobs - Tắt job hết hạn theo chunk, xóa cache mỗi chunk, lease cho từng chunk")
+    void expireJobs_shouldDeactivateInChunks() {
+        assertEquals(EXPIRED_JOBS, jobExpirationService.expireJobs());
+
+        assertEquals(0, count("SELECT COUNT(*) FROM jobs WHERE active = true AND end_date < CURRENT_TIMESTAMP"));
+        assertEquals(OPEN_JOBS, count("SELECT COUNT(*) FROM jobs WHERE active = true"));
+        assertEquals(0, count("SELECT COUNT(*) FROM outbox_events"));
+        verify(jobCacheService, times(3)).evictJobDetails(anyList());
+        verify(redisLease, times(3)).tryAcquire(eq(JobExpirationService.LEASE_NAME), any());
+        verify(redisLease, times(3)).release(JobExpirationService.LEASE_NAME, "token");
+        verify(jobCacheService, times(3)).invalidateList(JobCacheService.JOBS_CACHE);
+    }
+
+    @Test
+    @DisplayName("archiveJobs - Chuyển job cũ sang jobs_archive, xóa khỏi jobs và job_skill")
+    void archiveJobs_shouldMoveOldJobs() {
+        assertEquals(OLD_JOBS, jobExpirationService.archiveJobs());
+
+        assertEquals(OLD_JOBS, count("SELECT COUNT(*) FROM jobs_archive WHERE archived_at IS NOT NULL"));
+        assertEquals(EXPIRED_JOBS + OPEN_JOBS, count("SELECT COUNT(*) FROM jobs"));
+        assertEquals(0, count("SELECT COUNT(*) FROM job_skill"));
+        assertEquals(0, count("SELECT COUNT(*) FROM outbox_events"));
+        verify(jobCacheService).evictJobDetails(List.of(31L, 32L, 33L, 34L, 35L, 36L, 37L));
+    }
+
+    @Test
+    @DisplayName("run - Instance khác giữ lease - Không xử lý gì")
+    void run_whenLeaseHeldElsewhere_shouldSkip() {
+        when(redisLease.tryAcquire(eq(JobExpirationService.LEASE_NAME), any())).thenReturn(null);
+
+        jobExpirationService.run();
+
+        assertEquals(EXPIRED_JOBS + OPEN_JOBS, count("SELECT COUNT(*) FROM jobs WHERE active = true"));
+        assertEquals(0, count("SELECT COUNT(*) FROM jobs_archive"));
+        verify(redisLease, never()).release(any(), any());
+    }
+
+    private void insertJob(long id, boolean active, Instant endDate) {
+        jdbcTemplate.update("INSERT INTO jobs (id, name, salary, quantity, active, company_id, end_date) "
+                + "VALUES (?, ?, 1000, 1, ?, 1, ?)", id, "Job " + id, active, Timestamp.from(endDate));
+    }
+
+    private int count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Integer.class);
+    }
+}
@@ -0,0 +1,245 @@
+package vn.hoidanit.jobservice.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import jakarta.persistence.EntityManager;
+import vn.hoidanit.jobservice.client.CompanyClient;
+import vn.hoidanit.jobservice.client.UserClient;
+import vn.hoidanit.jobservice.domain.Job;
+import vn.hoidanit.jobservice.dto.ResJobDTO;
+import vn.hoidanit.jobservice.dto.ResultPaginationDTO;
+import vn.hoidanit.jobservice.repository.JobRepository;
+
+/**
+ * Test + benchmark danh sách job của HR (fetchAllForCompany) trên H2 in-memory
+ *
+ * Company của HR luôn có HR_JOBS job, bảng jobs tăng dần theo quy mô benchmark (job của company khác)
+ * Benchmark không chạy mặc định, bật bằng: -Dbenchmark.jobs=10000,100000,1000000
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.format_sql=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import(JobService.class)
+@DisplayName("JobService HR Listing Tests")
+class JobServiceTest {
+
+    private static final Logger log = LoggerFactory.getLogger(JobServiceTest.class);
+
+    private static final long HR_COMPANY_ID = 1L;
+    private static final int HR_JOBS = 200;
+    private static final int COMPANIES = 1_000;
+    private static final int ITERATIONS = 20;
+    // Cách cũ load toàn bộ bảng vào bộ nhớ, chỉ chạy tới quy mô này
+    private static final int LEGACY_MAX_JOBS = 100_000;
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private CompanyFetchService companyFetchService;
+
+    @MockBean
+    private UserFetchService userFetchService;
+
+    @MockBean
+    private OutboxService outboxService;
+
+    @MockBean
+    private JobCacheService jobCacheService;
+
+    @MockBean
+    private JobApplicationStatsService jobApplicationStatsService;
+
+    @MockBean
+    private SkillDictionary skillDictionary;
+
+    @MockBean
+    private CompanyClient companyClient;
+
+    @MockBean
+    private UserClient userClient;
+
+    private int insertedJobs;
+
+    @Test
+    @DisplayName("fetchAllForCompany - Chỉ trả job của company, phân trang + count đúng, có áp dụng filter")
+    void fetchAllForCompany_shouldScopePageAndCountInDatabase() {
+        insertJobs(2_000);
+        Pageable pageable = PageRequest.of(1, 10, Sort.by("id").descending());
+
+        ResultPaginationDTO result = jobService.fetchAllForCompany(null, pageable, HR_COMPANY_ID);
+
+        assertEquals(HR_JOBS, result.getMeta().getTotal());
+        assertEquals(HR_JOBS / 10, result.getMeta().getPages());
+        List<Long> ids = jobIds(result);
+        assertEquals(10, ids.size());
+        assertEquals(legacyFetch(null, pageable), ids);
+
+        // Filter của client được ghép với điều kiện company
+        Specification<Job> active = (root, query, cb) -> cb.isTrue(root.get("active"));
+        ResultPaginationDTO filtered = jobService.fetchAllForCompany(active, PageRequest.of(0, 10), HR_COMPANY_ID);
+        assertEquals(HR_JOBS / 2, filtered.getMeta().getTotal());
+    }
+
+    @Test
+    @DisplayName("fetchJobsByIdsWithCompany - 1 query cho job, 1 lần fetch company, bỏ qua id không tồn tại")
+    void fetchJobsByIdsWithCompany_shouldResolvePageInOneBatch() {
+        insertJobs(300);
+        List<Long> existing = jobRepository.findAll(PageRequest.of(0, 3, Sort.by("id"))).map(Job::getId).toList();
+        when(companyFetchService.fetchCompanies(anySet()))
+                .thenReturn(Map.of(HR_COMPANY_ID, new ResJobDTO.CompanyInfo(HR_COMPANY_ID, "HR Company", null)));
+        entityManager.clear();
+
+        List<Long> ids = new ArrayList<>(existing);
+        ids.add(Long.MAX_VALUE);
+        List<ResJobDTO> jobs = jobService.fetchJobsByIdsWithCompany(ids);
+
+        assertEquals(Set.copyOf(existing), jobs.stream().map(ResJobDTO::getId).collect(Collectors.toSet()));
+        assertTrue(jobs.stream().allMatch(job -> "HR Company".equals(job.getCompany().getName())));
+        verify(companyFetchService, times(1)).fetchCompanies(anySet());
+        assertTrue(jobService.fetchJobsByIdsWithCompany(List.of()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("withApplicationCounts - Số hồ sơ gắn vào bản sao, page trong cache giữ nguyên")
+    void withApplicationCounts_shouldCopyAndKeepCachedPageUnchanged() {
+        insertJobs(20);
+        ResultPaginationDTO cached = jobService.fetchAll(null, PageRequest.of(0, 5, Sort.by("id")));
+        // Page được cache không chứa số hồ sơ (không query counter khi build)
+        verify(jobApplicationStatsService, never()).getActiveCounts(any());
+        List<Long> ids = jobIds(cached);
+        when(jobApplicationStatsService.getActiveCounts(ids)).thenReturn(Map.of(ids.get(0), 4L));
+
+        ResultPaginationDTO response = jobService.withApplicationCounts(cached);
+
+        assertSame(cached.getMeta(), response.getMeta());
+        assertEquals(ids, jobIds(response));
+        assertEquals(List.of(4L, 0L, 0L, 0L, 0L), jobs(response).stream().map(ResJobDTO::getApplicationCount).toList());
+        assertTrue(jobs(cached).stream().allMatch(job -> job.getApplicationCount() == 0));
+        verify(jobApplicationStatsService, times(1)).getActiveCounts(ids);
+    }
+
+    @Test
+    @Tag("benchmark")
+    @EnabledIfSystemProperty(named = "benchmark.jobs", matches = "\\d+(\\s*,\\s*\\d+)*")
+    @DisplayName("Benchmark - Độ trễ danh sách job của HR khi bảng jobs tăng (quy mô theo -Dbenchmark.jobs)")
+    void benchmark_fetchAllForCompany_shouldStayFlat() {
+        List<Integer> sizes = Arrays.stream(System.getProperty("benchmark.jobs").split(","))
+                .map(String::trim).map(Integer::valueOf).sorted().toList();
+        Pageable lastPage = PageRequest.of(HR_JOBS / 10 - 1, 10, Sort.by("id").descending());
+
+        List<double[]> results = new ArrayList<>();
+        for (int size : sizes) {
+            insertJobs(size);
+            double scopedMs = measure(() -> jobService.fetchAllForCompany(null, lastPage, HR_COMPANY_ID));
+            double legacyMs = size <= LEGACY_MAX_JOBS ? measure(() -> legacyFetch(null, lastPage)) : -1;
+            results.add(new double[] { size, scopedMs, legacyMs });
+        }
+
+        log.info("HR job list benchmark ({} jobs of the HR company, page size 10, avg of {})", HR_JOBS, ITERATIONS);
+        for (double[] row : results) {
+            log.info(String.format("%,9d jobs: db-scoped %7.2f ms, legacy in-memory %s", (int) row[0], row[1],
+                    row[2] < 0 ? "skipped" : String.format("%7.2f ms", row[2])));
+        }
+
+        double smallest = results.get(0)[1];
+        double largest = results.get(results.size() - 1)[1];
+        assertTrue(largest < Math.max(smallest * 5, 20),
+                "DB-scoped latency should stay flat: " + smallest + " ms -> " + largest + " ms");
+    }
+
+    /**
+     * Cách cũ: findAll(spec) không phân trang, lọc company bằng stream rồi subList
+     */
+    private List<Long> legacyFetch(Specification<Job> spec, Pageable pageable) {
+        List<Job> scopedJobs = jobRepository.findAll(spec, pageable.getSort()).stream()
+                .filter(job -> Long.valueOf(HR_COMPANY_ID).equals(job.getCompanyId()))
+                .collect(Collectors.toList());
+        int fromIndex = (int) pageable.getOffset();
+        int toIndex = Math.min(fromIndex + pageable.getPageSize(), scopedJobs.size());
+        List<Long> ids = scopedJobs.subList(fromIndex, toIndex).stream().map(Job::getId).toList();
+        entityManager.clear();
+        return ids;
+    }
+
+    private double measure(Runnable action) {
+        // Warm-up
+        action.run();
+        entityManager.clear();
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            action.run();
+            // Mỗi request có persistence context riêng
+            entityManager.clear();
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / ITERATIONS;
+    }
+
+    /**
+     * Thêm job tới khi bảng có total dòng, HR_JOBS job đầu thuộc company của HR (một nửa active)
+     */
+    private void insertJobs(int total) {
+        Timestamp now = Timestamp.from(Instant.now());
+        String sql = "INSERT INTO jobs (name, salary, quantity, active, company_id, created_at) VALUES (?, 1000, 1, ?, ?, ?)";
+        int batchSize = 10_000;
+        while (insertedJobs < total) {
+            int end = Math.min(insertedJobs + batchSize, total);
+            List<Object[]> rows = new ArrayList<>(end - insertedJobs);
+            for (int i = insertedJobs; i < end; i++) {
+                long companyId = i < HR_JOBS ? HR_COMPANY_ID : 2 + i % (COMPANIES - 1);
+                rows.add(new Object[] { "Job " + i, i % 2 == 0, companyId, now });
+            }
+            jdbcTemplate.batchUpdate(sql, rows);
+            insertedJobs = end;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<ResJobDTO> jobs(ResultPaginationDTO result) {
+        return (List<ResJobDTO>) result.getResult();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Long> jobIds(ResultPaginationDTO result) {
+        return ((List<ResJobDTO>) result.getResult()).stream().map(ResJobDTO::getId).toList();
+    }
+}
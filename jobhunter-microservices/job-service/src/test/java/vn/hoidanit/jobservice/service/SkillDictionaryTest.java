@@ -0,0 +1,125 @@
+package vn.hoidanit.jobservice.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import vn.hoidanit.jobservice.domain.Skill;
+import vn.hoidanit.jobservice.repository.SkillRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SkillDictionary Unit Tests")
+class SkillDictionaryTest {
+
+    private static final Logger log = LoggerFactory.getLogger(SkillDictionaryTest.class);
+
+    @Mock
+    private SkillRepository skillRepository;
+
+    @InjectMocks
+    private SkillDictionary skillDictionary;
+
+    @Test
+    @DisplayName("get/findAll - Load 1 lần, tra cứu không query, trả bản copy")
+    void lookups_shouldLoadOnceAndReturnCopies() {
+        when(skillRepository.findAll()).thenReturn(List.of(skill(3, "Java"), skill(1, "Go")));
+
+        Skill java = skillDictionary.get(3);
+        java.setName("changed");
+
+        assertEquals("Java", skillDictionary.get(3).getName());
+        assertEquals(List.of(1L, 3L), skillDictionary.findAll(List.of(1L, 3L)).stream().map(Skill::getId).toList());
+        assertTrue(skillDictionary.contains(1));
+        verify(skillRepository, times(1)).findAll();
+        verify(skillRepository, never()).findById(anyLong());
+        verify(skillRepository, never()).findByIdIn(anyList());
+    }
+
+    @Test
+    @DisplayName("findAll - Id chưa có trong dictionary - Query đúng các id thiếu, có thì reload")
+    void findAll_whenIdMissing_shouldQueryMissingIdsAndReload() {
+        when(skillRepository.findAll())
+                .thenReturn(List.of(skill(1, "Go")))
+                .thenReturn(List.of(skill(1, "Go"), skill(2, "Rust")));
+        when(skillRepository.findByIdIn(List.of(2L, 99L))).thenReturn(List.of(skill(2, "Rust")));
+
+        List<Skill> skills = skillDictionary.findAll(List.of(1L, 2L, 99L));
+
+        assertEquals(List.of("Go", "Rust"), skills.stream().map(Skill::getName).toList());
+        verify(skillRepository, times(2)).findAll();
+        // Sau reload: skill 2 có sẵn, không query nữa
+        assertTrue(skillDictionary.contains(2));
+    }
+
+    @Test
+    @DisplayName("get - Id không tồn tại - null, không reload")
+    void get_whenUnknown_shouldReturnNull() {
+        when(skillRepository.findAll()).thenReturn(List.of(skill(1, "Go")));
+        when(skillRepository.findById(42L)).thenReturn(Optional.empty());
+
+        assertNull(skillDictionary.get(42));
+        verify(skillRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("reload - Snapshot mới thay thế toàn bộ snapshot cũ")
+    void reload_shouldSwapSnapshot() {
+        when(skillRepository.findAll())
+                .thenReturn(List.of(skill(1, "Go")))
+                .thenReturn(List.of(skill(2, "Rust")));
+        assertTrue(skillDictionary.contains(1));
+
+        skillDictionary.reload();
+
+        assertFalse(skillDictionary.contains(1));
+        assertTrue(skillDictionary.contains(2));
+        assertEquals(1, skillDictionary.size());
+    }
+
+    @Test
+    @Tag("benchmark")
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @DisplayName("Benchmark - Validate 5 skill id của 1 job trên dictionary 2000 skill")
+    void benchmark_findAll() {
+        List<Skill> skills = new ArrayList<>();
+        LongStream.rangeClosed(1, 2_000).forEach(id -> skills.add(skill(id, "Skill " + id)));
+        when(skillRepository.findAll()).thenReturn(skills);
+        List<Long> jobSkillIds = List.of(5L, 120L, 777L, 1_500L, 1_999L);
+
+        int iterations = 200_000;
+        for (int i = 0; i < iterations; i++) {
+            skillDictionary.findAll(jobSkillIds);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            skillDictionary.findAll(jobSkillIds);
+        }
+        double avgMicros = (System.nanoTime() - start) / 1_000.0 / iterations;
+        log.info(String.format("SkillDictionary.findAll(5 ids): %.3f us/op (avg of %d)", avgMicros, iterations));
+
+        verify(skillRepository, never()).findByIdIn(anyList());
+    }
+
+    private static Skill skill(long id, String name) {
+        Skill skill = new Skill();
+        skill.setId(id);
+        skill.setName(name);
+        return skill;
+    }
+}
@@ -0,0 +1,102 @@
+package vn.hoidanit.jobservice.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import vn.hoidanit.jobservice.client.CompanyClient;
+import vn.hoidanit.jobservice.client.UserClient;
+
+/**
+ * Xóa skill trên H2: gỡ liên kết job_skill bằng 1 câu DELETE, không đụng tới job khác
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import({ SkillService.class, SkillDictionary.class })
+@DisplayName("SkillService Tests")
+class SkillServiceTest {
+
+    @Autowired
+    private SkillService skillService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private OutboxService outboxService;
+
+    @MockBean
+    private JobCacheService jobCacheService;
+
+    @MockBean
+    private CompanyClient companyClient;
+
+    @MockBean
+    private UserClient userClient;
+
+    @Test
+    @DisplayName("deleteSkill - Xóa liên kết job_skill của skill và skill, giữ liên kết khác")
+    void deleteSkill_shouldBulkDeleteJoinRows() {
+        jdbcTemplate.update("INSERT INTO skills (id, name) VALUES (1, 'Java'), (2, 'Go')");
+        for (int jobId = 1; jobId <= 50; jobId++) {
+            jdbcTemplate.update("INSERT INTO jobs (id, name, salary, quantity, active) VALUES (?, ?, 1000, 1, true)",
+                    jobId, "Job " + jobId);
+            jdbcTemplate.update("INSERT INTO job_skill (job_id, skill_id) VALUES (?, 1), (?, 2)", jobId, jobId);
+        }
+
+        skillService.deleteSkill(1);
+
+        assertEquals(0, count("SELECT COUNT(*) FROM job_skill WHERE skill_id = 1"));
+        assertEquals(50, count("SELECT COUNT(*) FROM job_skill WHERE skill_id = 2"));
+        assertEquals(0, count("SELECT COUNT(*) FROM skills WHERE id = 1"));
+        assertEquals(50, count("SELECT COUNT(*) FROM jobs"));
+    }
+
+    @Test
+    @DisplayName("deleteSkill - Chỉ xóa cache chi tiết của các job gắn skill + tăng generation danh sách")
+    void deleteSkill_shouldEvictOnlyLinkedJobDetails() {
+        jdbcTemplate.update("INSERT INTO skills (id, name) VALUES (1, 'Java'), (2, 'Go')");
+        for (int jobId = 1; jobId <= 3; jobId++) {
+            jdbcTemplate.update("INSERT INTO jobs (id, name, salary, quantity, active) VALUES (?, ?, 1000, 1, true)",
+                    jobId, "Job " + jobId);
+        }
+        jdbcTemplate.update("INSERT INTO job_skill (job_id, skill_id) VALUES (1, 1), (2, 1), (3, 2)");
+
+        skillService.deleteSkill(1);
+
+        ArgumentCaptor<List<Long>> evicted = ArgumentCaptor.forClass(List.class);
+        verify(jobCacheService).evictJobDetails(evicted.capture());
+        assertEquals(Set.of(1L, 2L), Set.copyOf(evicted.getValue()));
+        verify(jobCacheService).invalidateList(JobCacheService.JOBS_CACHE);
+    }
+
+    @Test
+    @DisplayName("deleteSkill - Skill không gắn job nào - Không tăng generation danh sách")
+    void deleteSkill_whenNotLinked_shouldKeepListCache() {
+        jdbcTemplate.update("INSERT INTO skills (id, name) VALUES (1, 'Java')");
+
+        skillService.deleteSkill(1);
+
+        verify(jobCacheService).evictJobDetails(List.of());
+        verify(jobCacheService, never()).invalidateList(any());
+    }
+
+    private int count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Integer.class);
+    }
+}
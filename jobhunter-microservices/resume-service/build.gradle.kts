@@ -31,6 +31,9 @@ dependencies {
     // Kafka for event-driven architecture
     implementation("org.springframework.kafka:spring-kafka")
 
+    // Local job summary cache
+    implementation("com.github.ben-manes.caffeine:caffeine")
+
     runtimeOnly("org.postgresql:postgresql")
     compileOnly("org.projectlombok:lombok")
     annotationProcessor("org.projectlombok:lombok")
@@ -48,6 +51,7 @@ dependencies {
 
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     testImplementation("org.springframework.security:spring-security-test")
+    testRuntimeOnly("com.h2database:h2")
 }
 
 dependencyManagement {
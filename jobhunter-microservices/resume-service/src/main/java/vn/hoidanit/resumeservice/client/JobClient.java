@@ -1,8 +1,13 @@
 package vn.hoidanit.resumeservice.client;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 
 import vn.hoidanit.resumeservice.domain.response.RestResponse;
 import vn.hoidanit.resumeservice.dto.JobDTO;
@@ -10,6 +15,12 @@ import vn.hoidanit.resumeservice.dto.JobDTO;
 @FeignClient(name = "job-service")
 public interface JobClient {
 
+    // job-service rejects larger batches (JobController.MAX_BATCH_IDS)
+    int MAX_BATCH_SIZE = 500;
+
     @GetMapping("/api/v1/jobs/internal/{id}")
     RestResponse<JobDTO> getJobById(@PathVariable("id") Long id);
+
+    @PostMapping("/api/v1/jobs/internal/batch")
+    RestResponse<List<JobDTO>> getJobsByIds(@RequestBody Collection<Long> ids);
 }
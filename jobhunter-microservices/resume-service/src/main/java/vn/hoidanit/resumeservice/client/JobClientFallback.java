@@ -1,5 +1,8 @@
 package vn.hoidanit.resumeservice.client;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.stereotype.Component;
 
 import lombok.extern.slf4j.Slf4j;
@@ -24,4 +27,15 @@ public class JobClientFallback implements JobClient {
         response.setMessage("Fallback job response");
         return response;
     }
+
+    @Override
+    public RestResponse<List<JobDTO>> getJobsByIds(Collection<Long> ids) {
+        log.error("Fallback triggered for getJobsByIds with {} ids", ids.size());
+
+        RestResponse<List<JobDTO>> response = new RestResponse<>();
+        response.setStatusCode(200);
+        response.setData(List.of());
+        response.setMessage("Fallback jobs response");
+        return response;
+    }
 }
\ No newline at end of file
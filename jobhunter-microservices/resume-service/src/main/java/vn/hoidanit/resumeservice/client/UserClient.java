@@ -1,8 +1,13 @@
 package vn.hoidanit.resumeservice.client;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 
 import vn.hoidanit.resumeservice.domain.response.RestResponse;
 import vn.hoidanit.resumeservice.dto.UserDTO;
@@ -10,6 +15,12 @@ import vn.hoidanit.resumeservice.dto.UserDTO;
 @FeignClient(name = "auth-service")
 public interface UserClient {
 
+    // auth-service rejects larger batches (UserController.MAX_BATCH_IDS)
+    int MAX_BATCH_SIZE = 500;
+
     @GetMapping("/api/v1/users/internal/{id}")
     RestResponse<UserDTO> getUserById(@PathVariable("id") Long id);
+
+    @PostMapping("/api/v1/users/internal/batch")
+    RestResponse<List<UserDTO>> getUsersByIds(@RequestBody Collection<Long> ids);
 }
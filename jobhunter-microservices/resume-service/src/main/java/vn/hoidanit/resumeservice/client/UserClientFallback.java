@@ -1,5 +1,8 @@
 package vn.hoidanit.resumeservice.client;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.stereotype.Component;
 
 import lombok.extern.slf4j.Slf4j;
@@ -24,4 +27,15 @@ public class UserClientFallback implements UserClient {
         response.setMessage("Fallback user response");
         return response;
     }
+
+    @Override
+    public RestResponse<List<UserDTO>> getUsersByIds(Collection<Long> ids) {
+        log.error("Fallback triggered for getUsersByIds with {} ids", ids.size());
+
+        RestResponse<List<UserDTO>> response = new RestResponse<>();
+        response.setStatusCode(200);
+        response.setData(List.of());
+        response.setMessage("Fallback users response");
+        return response;
+    }
 }
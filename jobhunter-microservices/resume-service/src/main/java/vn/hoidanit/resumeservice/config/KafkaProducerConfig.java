@@ -32,10 +32,17 @@ public class KafkaProducerConfig {
         configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
         configProps.put(JsonSerializer.ADD_TYPE_INFO_HEADERS, false);
 
-        // Performance tuning
-        configProps.put(ProducerConfig.ACKS_CONFIG, "1");
-        configProps.put(ProducerConfig.RETRIES_CONFIG, 3);
+        // Idempotent producer for OutboxRelay: acks=all (required by idempotence), retries without duplicates
+        // or reordering within a partition, bounded by delivery.timeout.ms (below the relay send timeout).
+        // linger.ms lets a relay batch leave in few requests.
+        configProps.put(ProducerConfig.ACKS_CONFIG, "all");
         configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        configProps.put(ProducerConfig.RETRIES_CONFIG, Integer.MAX_VALUE);
+        configProps.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+        configProps.put(ProducerConfig.REQUEST_TIMEOUT_MS_CONFIG, 5_000);
+        configProps.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, 15_000);
+        configProps.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, 5_000);
+        configProps.put(ProducerConfig.LINGER_MS_CONFIG, 5);
 
         return new DefaultKafkaProducerFactory<>(configProps);
     }
@@ -0,0 +1,12 @@
+package vn.hoidanit.resumeservice.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Background jobs (OutboxRelay)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
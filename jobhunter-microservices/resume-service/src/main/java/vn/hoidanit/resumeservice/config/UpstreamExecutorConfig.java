@@ -0,0 +1,32 @@
+package vn.hoidanit.resumeservice.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+
+/**
+ * Executor for remote lookups run concurrently on behalf of a request (ResumeService validation).
+ *
+ * One virtual thread per call: a thread blocked on Feign I/O costs no platform thread, and interrupting it
+ * aborts the socket read, which makes cancellation effective. Concurrency stays bounded by the request threads
+ * submitting the calls. Tasks run with the caller's security context (FeignConfig signs requests with the
+ * current user) and observation context (trace continues across threads).
+ */
+@Configuration
+public class UpstreamExecutorConfig {
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService upstreamExecutor() {
+        ExecutorService virtualThreads = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("upstream-", 0).factory());
+        ContextSnapshotFactory snapshotFactory = ContextSnapshotFactory.builder().build();
+        return new DelegatingSecurityContextExecutorService(
+                ContextExecutorService.wrap(virtualThreads, snapshotFactory::captureAll));
+    }
+}
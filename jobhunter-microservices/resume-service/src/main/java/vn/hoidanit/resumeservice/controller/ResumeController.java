@@ -1,5 +1,6 @@
 package vn.hoidanit.resumeservice.controller;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.domain.Pageable;
@@ -13,6 +14,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.turkraft.springfilter.boot.Filter;
@@ -23,6 +25,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import vn.hoidanit.resumeservice.annotation.PageableDefault;
 import vn.hoidanit.resumeservice.domain.Resume;
 import vn.hoidanit.resumeservice.domain.response.RestResponse;
+import vn.hoidanit.resumeservice.dto.JobApplicationCount;
 import vn.hoidanit.resumeservice.dto.ReqCreateResumeDTO;
 import vn.hoidanit.resumeservice.dto.ReqUpdateResumeDTO;
 import vn.hoidanit.resumeservice.dto.ResCreateResumeDTO;
@@ -31,6 +34,7 @@ import vn.hoidanit.resumeservice.dto.ResUpdateResumeDTO;
 import vn.hoidanit.resumeservice.dto.ResultPaginationDTO;
 import vn.hoidanit.resumeservice.service.ResumeService;
 import vn.hoidanit.resumeservice.util.SecurityUtil;
+import vn.hoidanit.resumeservice.util.constant.ResumeStateEnum;
 
 @RestController
 @RequestMapping("/api/v1")
@@ -38,6 +42,9 @@ import vn.hoidanit.resumeservice.util.SecurityUtil;
 public class ResumeController {
     private final ResumeService resumeService;
 
+    // Upper bound of jobs per internal application counts page
+    private static final int MAX_APPLICATION_COUNTS_PAGE = 1000;
+
     @PostMapping("/resumes")
     @PreAuthorize("hasAnyAuthority('ROLE_USER', 'ROLE_HR', 'ROLE_ADMIN')")
     public ResponseEntity<RestResponse<ResCreateResumeDTO>> create(@Valid @RequestBody ReqCreateResumeDTO reqDto) {
@@ -94,6 +101,7 @@ public class ResumeController {
         }
 
         Resume reqResume = resumeOptional.get();
+        ResumeStateEnum previousStatus = reqResume.getStatus();
 
         boolean isAdmin = SecurityUtil.hasRole("ROLE_ADMIN");
         boolean isHr = SecurityUtil.hasRole("ROLE_HR");
@@ -133,7 +141,7 @@ public class ResumeController {
             reqResume.setReviewedAt(java.time.Instant.now());
         }
 
-        ResUpdateResumeDTO updatedResume = this.resumeService.update(reqResume);
+        ResUpdateResumeDTO updatedResume = this.resumeService.update(reqResume, previousStatus);
         return RestResponse.ok(updatedResume, "Update resume successfully");
     }
 
@@ -169,7 +177,7 @@ public class ResumeController {
                     "You don't have permission to delete this resume");
         }
 
-        this.resumeService.delete(id);
+        this.resumeService.delete(resume);
         return RestResponse.ok(null, "Delete resume successfully");
     }
 
@@ -229,6 +237,21 @@ public class ResumeController {
         return RestResponse.ok(result, "Fetch resumes successfully");
     }
 
+    /**
+     * Internal: application counts per job (keyset page), used by job-service to backfill its counters
+     */
+    @GetMapping("/resumes/internal/application-counts")
+    public ResponseEntity<RestResponse<List<JobApplicationCount>>> fetchApplicationCountsInternal(
+            @RequestParam(value = "afterJobId", defaultValue = "0") long afterJobId,
+            @RequestParam(value = "size", defaultValue = "500") int size) {
+        if (size < 1 || size > MAX_APPLICATION_COUNTS_PAGE) {
+            return RestResponse.error(HttpStatus.BAD_REQUEST,
+                    "size must be between 1 and " + MAX_APPLICATION_COUNTS_PAGE);
+        }
+        return RestResponse.ok(this.resumeService.fetchApplicationCounts(afterJobId, size),
+                "Fetch application counts successfully (internal)");
+    }
+
     @GetMapping("/resumes/by-user")
     @PreAuthorize("hasAnyAuthority('ROLE_USER', 'ROLE_HR', 'ROLE_ADMIN')")
     public ResponseEntity<RestResponse<ResultPaginationDTO>> fetchByUser(
@@ -0,0 +1,63 @@
+package vn.hoidanit.resumeservice.domain;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Event Kafka chờ gửi (transactional outbox): ghi cùng transaction với thay đổi resume,
+ * OutboxRelay đọc theo batch, bổ sung thông tin job, gửi Kafka rồi xóa dòng. Lỗi tạm thời (broker down, timeout)
+ * được gửi lại sau nextAttemptAt (backoff tăng dần, không giới hạn số lần); lỗi vĩnh viễn (payload không đọc được,
+ * record quá lớn, lỗi serialize) bị "park" (parkedAt != null): relay bỏ qua, giữ lại để điều tra / gửi lại bằng tay
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "outbox_events")
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    // RESUME
+    private String aggregateType;
+
+    private long aggregateId;
+
+    // RESUME_SUBMITTED, RESUME_APPROVED, RESUME_REJECTED, RESUME_WITHDRAWN
+    private String eventType;
+
+    private String topic;
+
+    private String messageKey;
+
+    // Event dạng JSON (ResumeApplicationEvent chưa có jobName/companyName)
+    @Column(columnDefinition = "TEXT")
+    private String payload;
+
+    private Instant createdAt;
+
+    // Số lần gửi thất bại
+    private int attempts;
+
+    // Chưa gửi lại trước thời điểm này (backoff sau lỗi tạm thời, null = gửi ngay)
+    private Instant nextAttemptAt;
+
+    // Thời điểm bị park do lỗi không gửi lại được (null = còn chờ gửi)
+    private Instant parkedAt;
+
+    @PrePersist
+    public void handleBeforeCreate() {
+        this.createdAt = Instant.now();
+    }
+}
@@ -8,6 +8,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
@@ -18,7 +19,10 @@ import vn.hoidanit.resumeservice.util.SecurityUtil;
 import vn.hoidanit.resumeservice.util.constant.ResumeStateEnum;
 
 @Entity
-@Table(name = "resumes")
+@Table(name = "resumes", indexes = {
+        // HR listing: company scope + status filter + created_at order, paged in the database
+        @Index(name = "idx_resumes_company_status_created", columnList = "company_id, status, created_at")
+})
 @Getter
 @Setter
 public class Resume {
@@ -74,6 +78,9 @@ public class Resume {
     // private Job job;
     private Long jobId; // Reference to Job service
 
+    // Company of the job, copied at submission (a job never changes company): HR scoping without a call to Job service
+    private Long companyId;
+
     @PrePersist
     public void handleBeforeCreate() {
         this.createdBy = SecurityUtil.getCurrentUserLogin().isPresent() ? SecurityUtil.getCurrentUserLogin().get() : "";
@@ -0,0 +1,8 @@
+package vn.hoidanit.resumeservice.dto;
+
+/**
+ * Applications of a job: every resume row counts as submitted, WITHDRAWN ones also as withdrawn
+ * (same meaning as the RESUME_SUBMITTED / RESUME_WITHDRAWN events counted by job-service)
+ */
+public record JobApplicationCount(Long jobId, Long submittedCount, Long withdrawnCount) {
+}
@@ -0,0 +1,14 @@
+package vn.hoidanit.resumeservice.dto;
+
+/**
+ * The part of a job resume-service needs (validation, company scoping, events), kept in JobSummaryCache
+ */
+public record JobSummary(long id, String name, Long companyId, String companyName) {
+
+    public static JobSummary of(JobDTO job) {
+        CompanyDTO company = job.getCompany();
+        return new JobSummary(job.getId(), job.getName(),
+                company != null ? company.getId() : null,
+                company != null ? company.getName() : null);
+    }
+}
@@ -0,0 +1,11 @@
+package vn.hoidanit.resumeservice.dto;
+
+/**
+ * The part of a user shown in resume listings, kept in UserSummaryCache
+ */
+public record UserSummary(long id, String name) {
+
+    public static UserSummary of(UserDTO user) {
+        return new UserSummary(user.getId(), user.getName());
+    }
+}
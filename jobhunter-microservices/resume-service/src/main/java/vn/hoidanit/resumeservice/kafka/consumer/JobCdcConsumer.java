@@ -0,0 +1,75 @@
+package vn.hoidanit.resumeservice.kafka.consumer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+import vn.hoidanit.resumeservice.service.JobSummaryCache;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Invalidates the JobSummaryCache of every resume-service instance from the Debezium CDC feed of the jobs table
+ * (topic job_db.public.jobs, the one search-service indexes from).
+ *
+ * Every committed change of a job row is streamed whatever wrote it: JobService update/delete, the bulk
+ * deactivation and archive deletes of JobExpirationService, direct SQL. Creates, updates, deletes and snapshot
+ * reads all invalidate the id (a snapshot after a connector restart only costs reloads).
+ *
+ * Each instance uses its own consumer group (random suffix) so every instance receives every event,
+ * starting from the latest offset: the cache is empty at startup anyway.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class JobCdcConsumer {
+
+    private final ObjectMapper objectMapper;
+    private final JobSummaryCache jobSummaryCache;
+
+    @KafkaListener(
+            topics = "${app.cdc.jobs-topic}",
+            groupId = "resume-service-job-cache-#{T(java.util.UUID).randomUUID()}",
+            containerFactory = "jobCdcKafkaListenerContainerFactory",
+            properties = "auto.offset.reset=latest"
+    )
+    public void consumeJobChanges(List<String> messages) {
+        Set<Long> jobIds = new LinkedHashSet<>();
+        for (String message : messages) {
+            Long jobId = jobId(message);
+            if (jobId != null) {
+                jobIds.add(jobId);
+            }
+        }
+        jobSummaryCache.invalidate(jobIds);
+        log.debug("Invalidated {} job summaries after {} job CDC events", jobIds.size(), messages.size());
+    }
+
+    /**
+     * @return id of the changed job (row after the change, before it for a delete), null if none
+     */
+    private Long jobId(String message) {
+        if (message == null) {
+            // Tombstone
+            return null;
+        }
+        try {
+            JsonNode root = objectMapper.readTree(message);
+            // With or without the JsonConverter schema envelope
+            JsonNode envelope = root.has("payload") ? root.path("payload") : root;
+            JsonNode row = envelope.path("after").isObject() ? envelope.path("after") : envelope.path("before");
+            JsonNode id = row.path("id");
+            if (id.isNumber()) {
+                return id.asLong();
+            }
+            return id.isTextual() && !id.asText().isBlank() ? Long.valueOf(id.asText()) : null;
+        } catch (Exception e) {
+            log.warn("Skipping unreadable job CDC event: {}", e.getMessage());
+            return null;
+        }
+    }
+}
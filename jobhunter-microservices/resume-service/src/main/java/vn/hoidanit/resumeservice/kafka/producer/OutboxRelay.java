@@ -0,0 +1,313 @@
+package vn.hoidanit.resumeservice.kafka.producer;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.apache.kafka.common.errors.RecordTooLargeException;
+import org.apache.kafka.common.errors.SerializationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import vn.hoidanit.resumeservice.domain.OutboxEvent;
+import vn.hoidanit.resumeservice.dto.JobSummary;
+import vn.hoidanit.resumeservice.dto.ResumeApplicationEvent;
+import vn.hoidanit.resumeservice.repository.OutboxEventRepository;
+import vn.hoidanit.resumeservice.service.JobSummaryCache;
+
+/**
+ * Background relay of the outbox table to Kafka, off the resume submit/update request path.
+ *
+ * Each batch is locked (SKIP LOCKED, so several instances can relay side by side), the events are enriched
+ * with job and company names in one lookup per distinct job (JobSummaryCache), the records are sent through
+ * the idempotent producer and the batch waits for the acks. Acked rows are deleted: delivery is at-least-once,
+ * consumers must tolerate duplicates (eventId).
+ *
+ * Per-key order: the batch is sent in waves holding at most one row per message key, the next row of a key
+ * is only sent once the previous one is acked. When a row fails, the later rows of its key are left untouched
+ * by this batch, and lockOldest holds them back while the failed row waits for its retry.
+ *
+ * Failures:
+ * - transient (broker down, timeout...): attempts + 1, retried after outbox.relay.retry-backoff doubled per
+ *   attempt (capped at outbox.relay.max-retry-backoff), without limit: an outage only delays the events and
+ *   job-service application counts catch up once Kafka is back
+ * - non-retriable (unreadable payload, serialization error, record too large): parked at once, parked_at is
+ *   set and lockOldest skips it. Parked rows are kept for inspection; to replay, reset parked_at to NULL
+ *
+ * Metrics: outbox.lag (age of the oldest pending event), outbox.batch.size,
+ * outbox.events{result=published|failed|parked}
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private static final String UNKNOWN_JOB = "Unknown Job";
+    private static final String UNKNOWN_COMPANY = "Unknown Company";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, ResumeApplicationEvent> resumeEventKafkaTemplate;
+    private final JobSummaryCache jobSummaryCache;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration sendTimeout;
+    private final Duration retryBackoff;
+    private final Duration maxRetryBackoff;
+
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final DistributionSummary batchSizeSummary;
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+    private final Counter parkedCounter;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+            KafkaTemplate<String, ResumeApplicationEvent> resumeEventKafkaTemplate,
+            JobSummaryCache jobSummaryCache,
+            ObjectMapper objectMapper,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${outbox.relay.batch-size:100}") int batchSize,
+            @Value("${outbox.relay.send-timeout:20s}") Duration sendTimeout,
+            @Value("${outbox.relay.retry-backoff:1s}") Duration retryBackoff,
+            @Value("${outbox.relay.max-retry-backoff:5m}") Duration maxRetryBackoff) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.resumeEventKafkaTemplate = resumeEventKafkaTemplate;
+        this.jobSummaryCache = jobSummaryCache;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.sendTimeout = sendTimeout;
+        this.retryBackoff = retryBackoff;
+        this.maxRetryBackoff = maxRetryBackoff;
+
+        TimeGauge.builder("outbox.lag", lagMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Age of the oldest outbox event not yet sent to Kafka")
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("outbox.batch.size")
+                .description("Events drained from the outbox per relay batch")
+                .baseUnit("events")
+                .register(meterRegistry);
+        this.publishedCounter = Counter.builder("outbox.events").tag("result", "published").register(meterRegistry);
+        this.failedCounter = Counter.builder("outbox.events").tag("result", "failed").register(meterRegistry);
+        this.parkedCounter = Counter.builder("outbox.events").tag("result", "parked").register(meterRegistry);
+    }
+
+    /**
+     * Drain the outbox: full batches are relayed back to back, then wait for the next run
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.interval:500ms}")
+    public void relay() {
+        int published;
+        do {
+            published = relayBatch();
+        } while (published == batchSize);
+    }
+
+    /**
+     * Relay one batch in one transaction (row locks held until the acked rows are deleted)
+     *
+     * @return number of events acked by Kafka
+     */
+    public int relayBatch() {
+        Integer published = transactionTemplate.execute(status -> {
+            List<OutboxEvent> batch = outboxEventRepository.lockOldest(Instant.now(), PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                lagMillis.set(0);
+                return 0;
+            }
+            lagMillis.set(Math.max(0, Duration.between(batch.get(0).getCreatedAt(), Instant.now()).toMillis()));
+            batchSizeSummary.record(batch.size());
+            return send(batch);
+        });
+        return published == null ? 0 : published;
+    }
+
+    private int send(List<OutboxEvent> batch) {
+        List<ResumeApplicationEvent> messages = batch.stream().map(this::readPayload).toList();
+        Map<Long, JobSummary> jobs = fetchJobs(messages);
+
+        long deadline = System.nanoTime() + sendTimeout.toNanos();
+        Instant now = Instant.now();
+        List<Long> sentIds = new ArrayList<>(batch.size());
+        List<Long> parkedIds = new ArrayList<>();
+        // Retry time -> ids (rows with the same attempts share a retry time)
+        Map<Instant, List<Long>> retries = new TreeMap<>();
+        Set<String> failedKeys = new HashSet<>();
+
+        List<Integer> pending = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            pending.add(i);
+        }
+        while (!pending.isEmpty() && System.nanoTime() < deadline) {
+            // One wave: the first pending row of every key, rows of a key that failed in this batch are held back
+            List<Integer> wave = new ArrayList<>();
+            List<Integer> later = new ArrayList<>();
+            Set<String> waveKeys = new HashSet<>();
+            for (int i : pending) {
+                String key = batch.get(i).getMessageKey();
+                if (key != null && failedKeys.contains(key)) {
+                    continue;
+                }
+                if (key == null || waveKeys.add(key)) {
+                    wave.add(i);
+                } else {
+                    later.add(i);
+                }
+            }
+
+            // Send the whole wave first, the producer groups the records into few requests
+            List<CompletableFuture<?>> futures = new ArrayList<>(wave.size());
+            for (int i : wave) {
+                futures.add(send(batch.get(i), messages.get(i), jobs));
+            }
+
+            for (int w = 0; w < wave.size(); w++) {
+                OutboxEvent event = batch.get(wave.get(w));
+                Throwable failure = await(futures.get(w), deadline);
+                if (failure == null) {
+                    sentIds.add(event.getId());
+                    continue;
+                }
+                if (event.getMessageKey() != null) {
+                    failedKeys.add(event.getMessageKey());
+                }
+                if (isRetriable(failure)) {
+                    Instant nextAttemptAt = now.plus(retryDelay(event.getAttempts() + 1));
+                    log.warn("Failed to relay outbox event id={} type={} (attempt {}), retry at {}: {}", event.getId(),
+                            event.getEventType(), event.getAttempts() + 1, nextAttemptAt, failure.getMessage());
+                    retries.computeIfAbsent(nextAttemptAt, at -> new ArrayList<>()).add(event.getId());
+                } else {
+                    log.error("Parking outbox event id={} type={}, it can never be delivered: {}", event.getId(),
+                            event.getEventType(), failure.toString());
+                    parkedIds.add(event.getId());
+                }
+            }
+            pending = later;
+        }
+
+        if (!sentIds.isEmpty()) {
+            outboxEventRepository.deleteByIds(sentIds);
+        }
+        retries.forEach((nextAttemptAt, ids) -> outboxEventRepository.retryLater(ids, nextAttemptAt));
+        if (!parkedIds.isEmpty()) {
+            outboxEventRepository.park(parkedIds, now);
+        }
+        int failed = retries.values().stream().mapToInt(List::size).sum();
+        publishedCounter.increment(sentIds.size());
+        failedCounter.increment(failed);
+        parkedCounter.increment(parkedIds.size());
+        log.debug("Relayed outbox batch: {} published, {} failed, {} parked, {} held back", sentIds.size(), failed,
+                parkedIds.size(), batch.size() - sentIds.size() - failed - parkedIds.size());
+        return sentIds.size();
+    }
+
+    /**
+     * @return null once acked, the failure otherwise (a send not acked by the deadline is a failure)
+     */
+    private static Throwable await(CompletableFuture<?> future, long deadline) {
+        try {
+            future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return e;
+        } catch (ExecutionException e) {
+            return e.getCause() != null ? e.getCause() : e;
+        } catch (TimeoutException e) {
+            return e;
+        }
+    }
+
+    /**
+     * Non-retriable: the same record fails again whatever the broker state
+     */
+    private static boolean isRetriable(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SerializationException || cause instanceof RecordTooLargeException) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * retry-backoff * 2^(attempts - 1), capped at max-retry-backoff
+     */
+    Duration retryDelay(int attempts) {
+        Duration delay = retryBackoff.multipliedBy(1L << Math.min(Math.max(attempts - 1, 0), 20));
+        return delay.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : delay;
+    }
+
+    private CompletableFuture<?> send(OutboxEvent event, ResumeApplicationEvent message, Map<Long, JobSummary> jobs) {
+        if (message == null) {
+            // Unreadable payload: non-retriable
+            return CompletableFuture.failedFuture(
+                    new SerializationException("Unreadable outbox event for topic " + event.getTopic()));
+        }
+        JobSummary job = message.getJobId() == null ? null : jobs.get(message.getJobId());
+        message.setJobName(job != null && job.name() != null ? job.name() : UNKNOWN_JOB);
+        message.setCompanyName(job != null && job.companyName() != null ? job.companyName() : UNKNOWN_COMPANY);
+        if (message.getCompanyId() == null && job != null) {
+            message.setCompanyId(job.companyId());
+        }
+        try {
+            return resumeEventKafkaTemplate.send(event.getTopic(), event.getMessageKey(), message);
+        } catch (RuntimeException e) {
+            // e.g. producer blocked on metadata while the broker is down
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private ResumeApplicationEvent readPayload(OutboxEvent event) {
+        try {
+            return objectMapper.readValue(event.getPayload(), ResumeApplicationEvent.class);
+        } catch (Exception e) {
+            log.error("Cannot read outbox event id={} type={}", event.getId(), event.getEventType(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Jobs of every event of the batch, each distinct job looked up once
+     */
+    private Map<Long, JobSummary> fetchJobs(List<ResumeApplicationEvent> messages) {
+        Set<Long> jobIds = messages.stream()
+                .filter(Objects::nonNull)
+                .map(ResumeApplicationEvent::getJobId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (jobIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        try {
+            return jobSummaryCache.getAll(jobIds);
+        } catch (Exception e) {
+            log.warn("Failed to fetch jobs for outbox batch, using default names: {}", e.getMessage());
+            return Collections.emptyMap();
+        }
+    }
+}
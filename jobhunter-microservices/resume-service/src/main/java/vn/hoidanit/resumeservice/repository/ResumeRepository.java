@@ -1,14 +1,42 @@
 package vn.hoidanit.resumeservice.repository;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import vn.hoidanit.resumeservice.domain.Resume;
+import vn.hoidanit.resumeservice.dto.JobApplicationCount;
+import vn.hoidanit.resumeservice.util.constant.ResumeStateEnum;
 
 @Repository
 public interface ResumeRepository extends JpaRepository<Resume, Long>, JpaSpecificationExecutor<Resume> {
     Page<Resume> findByUserId(Long userId, Pageable pageable);
 
+    /**
+     * Next job ids (after afterJobId, ascending) having resumes without company, for the company_id backfill
+     */
+    @Query("SELECT DISTINCT r.jobId FROM Resume r WHERE r.companyId IS NULL AND r.jobId IS NOT NULL"
+            + " AND r.jobId > :afterJobId ORDER BY r.jobId")
+    List<Long> findJobIdsWithoutCompany(@Param("afterJobId") long afterJobId, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Resume r SET r.companyId = :companyId WHERE r.jobId IN :jobIds AND r.companyId IS NULL")
+    int assignCompany(@Param("companyId") Long companyId, @Param("jobIds") Collection<Long> jobIds);
+
+    /**
+     * Application counts of the next jobs (after afterJobId, ascending), one GROUP BY over idx_resumes_job_id
+     */
+    @Query("SELECT new vn.hoidanit.resumeservice.dto.JobApplicationCount(r.jobId, COUNT(r),"
+            + " SUM(CASE WHEN r.status = :withdrawn THEN 1L ELSE 0L END))"
+            + " FROM Resume r WHERE r.jobId > :afterJobId GROUP BY r.jobId ORDER BY r.jobId")
+    List<JobApplicationCount> countApplicationsByJob(@Param("afterJobId") long afterJobId,
+            @Param("withdrawn") ResumeStateEnum withdrawn, Pageable pageable);
+
 }
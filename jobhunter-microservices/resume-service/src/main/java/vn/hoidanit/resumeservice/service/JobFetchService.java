@@ -1,5 +1,8 @@
 package vn.hoidanit.resumeservice.service;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.stereotype.Service;
 
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
@@ -28,6 +31,22 @@ public class JobFetchService {
         return response != null ? response.getData() : null;
     }
 
+    /**
+     * Several jobs in one call, unknown ids are absent from the result
+     */
+    @CircuitBreaker(name = "jobService", fallbackMethod = "fetchJobsFallback")
+    @Retry(name = "jobService")
+    public List<JobDTO> fetchJobs(Collection<Long> jobIds) {
+        log.debug("Fetching {} jobs in one batch", jobIds.size());
+        RestResponse<List<JobDTO>> response = jobClient.getJobsByIds(jobIds);
+        return response != null && response.getData() != null ? response.getData() : List.of();
+    }
+
+    public List<JobDTO> fetchJobsFallback(Collection<Long> jobIds, Throwable ex) {
+        log.warn("Circuit breaker fallback triggered for {} jobs: {}", jobIds.size(), ex.getMessage());
+        return List.of();
+    }
+
     public JobDTO fetchJobFallback(Long jobId, Throwable ex) {
         log.warn("Circuit breaker fallback triggered for job {}: {}", jobId, ex.getMessage());
         log.debug("Exception type: {}", ex.getClass().getName());
@@ -0,0 +1,106 @@
+package vn.hoidanit.resumeservice.service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import vn.hoidanit.resumeservice.client.JobClient;
+import vn.hoidanit.resumeservice.dto.JobDTO;
+import vn.hoidanit.resumeservice.dto.JobSummary;
+
+/**
+ * Local cache of job summaries (id -> name, company) in front of JobFetchService.
+ *
+ * Loaded lazily on first use of a job; concurrent misses on the same id share one remote call. Invalidated from
+ * the CDC feed of the jobs table (JobCdcConsumer), so every job change is seen whatever wrote it; an invalidation
+ * arriving during a load waits for it and then removes the loaded value. time-to-live bounds staleness if an
+ * event is missed and for company renames (not in the jobs table).
+ * Unknown jobs and failed calls (fallback null) are not cached.
+ *
+ * Metrics: cache.gets{cache=jobSummaries,result=hit|miss}, cache.size, cache.evictions
+ */
+@Service
+@Slf4j
+public class JobSummaryCache {
+
+    static final String CACHE_NAME = "jobSummaries";
+
+    private final JobFetchService jobFetchService;
+    private final Cache<Long, JobSummary> cache;
+
+    public JobSummaryCache(JobFetchService jobFetchService,
+            MeterRegistry meterRegistry,
+            @Value("${job-cache.maximum-size:10000}") long maximumSize,
+            @Value("${job-cache.time-to-live:10m}") Duration timeToLive) {
+        this.jobFetchService = jobFetchService;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * @return the job summary, null if the job does not exist or Job service is unavailable
+     */
+    public JobSummary get(Long jobId) {
+        if (jobId == null) {
+            return null;
+        }
+        return cache.get(jobId, this::load);
+    }
+
+    /**
+     * Summaries of several jobs: cached ones without remote call, the missing ones in batch calls of at most
+     * JobClient.MAX_BATCH_SIZE ids (unknown jobs are absent from the result)
+     */
+    public Map<Long, JobSummary> getAll(Collection<Long> jobIds) {
+        return cache.getAll(jobIds.stream().filter(Objects::nonNull).distinct().toList(), this::loadAll);
+    }
+
+    public void invalidate(Collection<Long> jobIds) {
+        cache.invalidateAll(jobIds);
+    }
+
+    private Map<Long, JobSummary> loadAll(Set<? extends Long> jobIds) {
+        Map<Long, JobSummary> loaded = new HashMap<>();
+        List<Long> ids = List.copyOf(jobIds);
+        try {
+            for (int from = 0; from < ids.size(); from += JobClient.MAX_BATCH_SIZE) {
+                List<Long> chunk = ids.subList(from, Math.min(from + JobClient.MAX_BATCH_SIZE, ids.size()));
+                for (JobDTO job : jobFetchService.fetchJobs(chunk)) {
+                    if (job != null && job.getId() != null) {
+                        loaded.put(job.getId(), JobSummary.of(job));
+                    }
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Failed to fetch {} jobs: {}", jobIds.size(), e.getMessage());
+        }
+        return loaded;
+    }
+
+    private JobSummary load(Long jobId) {
+        try {
+            JobDTO job = jobFetchService.fetchJob(jobId);
+            return job != null && job.getId() != null ? JobSummary.of(job) : null;
+        } catch (Exception e) {
+            log.warn("Failed to fetch job {}: {}", jobId, e.getMessage());
+            return null;
+        }
+    }
+}
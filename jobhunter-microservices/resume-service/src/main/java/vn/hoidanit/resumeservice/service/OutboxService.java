@@ -0,0 +1,65 @@
+package vn.hoidanit.resumeservice.service;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+import vn.hoidanit.resumeservice.config.KafkaProducerConfig;
+import vn.hoidanit.resumeservice.domain.OutboxEvent;
+import vn.hoidanit.resumeservice.domain.Resume;
+import vn.hoidanit.resumeservice.dto.ResumeApplicationEvent;
+import vn.hoidanit.resumeservice.repository.OutboxEventRepository;
+
+/**
+ * Ghi event Kafka vào bảng outbox trong transaction của thay đổi resume (Propagation.MANDATORY):
+ * event được lưu khi và chỉ khi thay đổi được commit, OutboxRelay bổ sung thông tin job và gửi Kafka sau đó
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    public static final String AGGREGATE_RESUME = "RESUME";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Event job-applications, jobName/companyName để trống: relay bổ sung theo batch
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendResumeEvent(ResumeApplicationEvent.EventType eventType, Resume resume) {
+        ResumeApplicationEvent event = ResumeApplicationEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .timestamp(Instant.now())
+                .eventType(eventType)
+                .resumeId(resume.getId())
+                .jobId(resume.getJobId())
+                .userId(resume.getUserId())
+                .companyId(resume.getCompanyId())
+                .userEmail(resume.getEmail())
+                .resumeUrl(resume.getUrl())
+                .build();
+
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setAggregateType(AGGREGATE_RESUME);
+        outboxEvent.setAggregateId(resume.getId());
+        outboxEvent.setEventType(eventType.name());
+        outboxEvent.setTopic(KafkaProducerConfig.JOB_APPLICATIONS_TOPIC);
+        // jobId làm key: các event của cùng job vào cùng partition
+        outboxEvent.setMessageKey(String.valueOf(resume.getJobId()));
+        try {
+            outboxEvent.setPayload(objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            // Không ghi được event -> rollback luôn thay đổi, tránh mất event
+            throw new IllegalStateException("Cannot serialize " + eventType + " event for resume " + resume.getId(), e);
+        }
+        outboxEventRepository.save(outboxEvent);
+    }
+}
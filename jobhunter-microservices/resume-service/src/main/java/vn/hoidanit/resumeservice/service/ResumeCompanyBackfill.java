@@ -0,0 +1,112 @@
+package vn.hoidanit.resumeservice.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+import vn.hoidanit.resumeservice.dto.JobDTO;
+import vn.hoidanit.resumeservice.repository.ResumeRepository;
+
+/**
+ * One-off backfill of resumes.company_id for resumes submitted before the column existed.
+ *
+ * Runs once in the background after startup. Job ids are walked in ascending keyset batches; the jobs of a batch
+ * are resolved in one call to Job service, then the batch is written with one UPDATE per company. Only rows still
+ * without company are touched, so a restart or a second instance running it at the same time is harmless.
+ * Jobs that cannot be resolved (deleted, Job service down) are skipped and retried on the next start.
+ * Disable with resume.company-backfill.enabled=false once no row is left.
+ */
+@Component
+@ConditionalOnProperty(name = "resume.company-backfill.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class ResumeCompanyBackfill {
+
+    private final ResumeRepository resumeRepository;
+    private final JobFetchService jobFetchService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration pause;
+
+    public ResumeCompanyBackfill(ResumeRepository resumeRepository,
+            JobFetchService jobFetchService,
+            TransactionTemplate transactionTemplate,
+            @Value("${resume.company-backfill.batch-size:100}") int batchSize,
+            @Value("${resume.company-backfill.pause:200ms}") Duration pause) {
+        this.resumeRepository = resumeRepository;
+        this.jobFetchService = jobFetchService;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.pause = pause;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Thread thread = new Thread(this::run, "resume-company-backfill");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * @return number of resumes updated
+     */
+    public int run() {
+        long afterJobId = 0;
+        int updated = 0;
+        int unresolved = 0;
+        try {
+            List<Long> jobIds;
+            while (!(jobIds = resumeRepository.findJobIdsWithoutCompany(afterJobId,
+                    PageRequest.of(0, batchSize))).isEmpty()) {
+                afterJobId = jobIds.get(jobIds.size() - 1);
+
+                // Resolve outside the transaction: no connection held during the remote call
+                Map<Long, List<Long>> jobIdsByCompany = new HashMap<>();
+                for (JobDTO job : fetchJobs(jobIds)) {
+                    if (job != null && job.getId() != null && job.getCompany() != null
+                            && job.getCompany().getId() != null) {
+                        jobIdsByCompany.computeIfAbsent(job.getCompany().getId(), id -> new ArrayList<>())
+                                .add(job.getId());
+                    }
+                }
+                unresolved += jobIds.size() - jobIdsByCompany.values().stream().mapToInt(List::size).sum();
+                Integer batchUpdated = transactionTemplate.execute(status -> jobIdsByCompany.entrySet().stream()
+                        .mapToInt(entry -> resumeRepository.assignCompany(entry.getKey(), entry.getValue()))
+                        .sum());
+                updated += batchUpdated == null ? 0 : batchUpdated;
+
+                if (jobIds.size() < batchSize) {
+                    break;
+                }
+                Thread.sleep(pause.toMillis());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("Resume company backfill stopped after job id {}", afterJobId, e);
+        }
+        if (updated > 0 || unresolved > 0) {
+            log.info("Resume company backfill: {} resumes updated, {} jobs unresolved", updated, unresolved);
+        }
+        return updated;
+    }
+
+    private List<JobDTO> fetchJobs(List<Long> jobIds) {
+        try {
+            return jobFetchService.fetchJobs(jobIds);
+        } catch (Exception e) {
+            log.warn("Failed to resolve companies of {} jobs: {}", jobIds.size(), e.getMessage());
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package vn.hoidanit.resumeservice.service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+import lombok.RequiredArgsConstructor;
+import vn.hoidanit.resumeservice.domain.Resume;
+import vn.hoidanit.resumeservice.dto.JobSummary;
+import vn.hoidanit.resumeservice.dto.UserSummary;
+
+/**
+ * Request-scoped batching loader for the user and job of the resumes shown by a request.
+ *
+ * Ids are collected first (prime with the whole page), the first lookup then resolves every pending user in
+ * one call and every pending job in one call, through the local caches (only misses go remote): at most two
+ * remote calls per page. Results are kept for the rest of the request, ids seen later are batched the same way.
+ */
+@Component
+@RequestScope
+@RequiredArgsConstructor
+public class ResumeReferenceLoader {
+
+    private final UserSummaryCache userSummaryCache;
+    private final JobSummaryCache jobSummaryCache;
+
+    private final Set<Long> pendingUserIds = new LinkedHashSet<>();
+    private final Set<Long> pendingJobIds = new LinkedHashSet<>();
+    private final Map<Long, UserSummary> users = new HashMap<>();
+    private final Map<Long, JobSummary> jobs = new HashMap<>();
+
+    public void prime(Collection<Resume> resumes) {
+        for (Resume resume : resumes) {
+            if (resume.getUserId() != null && !users.containsKey(resume.getUserId())) {
+                pendingUserIds.add(resume.getUserId());
+            }
+            if (resume.getJobId() != null && !jobs.containsKey(resume.getJobId())) {
+                pendingJobIds.add(resume.getJobId());
+            }
+        }
+    }
+
+    /**
+     * @return the user, null if unknown or unavailable
+     */
+    public UserSummary user(long userId) {
+        if (!users.containsKey(userId)) {
+            pendingUserIds.add(userId);
+            Map<Long, UserSummary> loaded = userSummaryCache.getAll(pendingUserIds);
+            pendingUserIds.forEach(id -> users.put(id, loaded.get(id)));
+            pendingUserIds.clear();
+        }
+        return users.get(userId);
+    }
+
+    /**
+     * @return the job, null if unknown or unavailable
+     */
+    public JobSummary job(long jobId) {
+        if (!jobs.containsKey(jobId)) {
+            pendingJobIds.add(jobId);
+            Map<Long, JobSummary> loaded = jobSummaryCache.getAll(pendingJobIds);
+            pendingJobIds.forEach(id -> jobs.put(id, loaded.get(id)));
+            pendingJobIds.clear();
+        }
+        return jobs.get(jobId);
+    }
+}
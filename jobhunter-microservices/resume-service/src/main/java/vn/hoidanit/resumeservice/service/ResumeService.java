@@ -1,40 +1,68 @@
 package vn.hoidanit.resumeservice.service;
 
+import java.time.Duration;
 import java.util.List;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import vn.hoidanit.resumeservice.domain.Resume;
-import vn.hoidanit.resumeservice.dto.JobDTO;
+import vn.hoidanit.resumeservice.dto.JobApplicationCount;
+import vn.hoidanit.resumeservice.dto.JobSummary;
 import vn.hoidanit.resumeservice.dto.ResCreateResumeDTO;
 import vn.hoidanit.resumeservice.dto.ResFetchResumeDTO;
 import vn.hoidanit.resumeservice.dto.ResUpdateResumeDTO;
 import vn.hoidanit.resumeservice.dto.ResumeApplicationEvent;
 import vn.hoidanit.resumeservice.dto.ResultPaginationDTO;
 import vn.hoidanit.resumeservice.dto.UserDTO;
-import vn.hoidanit.resumeservice.kafka.producer.ResumeEventProducer;
+import vn.hoidanit.resumeservice.dto.UserSummary;
 import vn.hoidanit.resumeservice.repository.ResumeRepository;
 import vn.hoidanit.resumeservice.util.SecurityUtil;
 import vn.hoidanit.resumeservice.util.constant.ResumeStateEnum;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class ResumeService {
     private final ResumeRepository resumeRepository;
     private final UserFetchService userFetchService;
-    private final JobFetchService jobFetchService;
-    private final ResumeEventProducer resumeEventProducer;
+    private final JobSummaryCache jobSummaryCache;
+    private final ExecutorService upstreamExecutor;
+    private final OutboxService outboxService;
+    private final ResumeReferenceLoader resumeReferenceLoader;
+
+    // Deadline shared by the user and job lookups of a submission (retries included)
+    private final Duration validationTimeout;
+
+    public ResumeService(ResumeRepository resumeRepository,
+            UserFetchService userFetchService,
+            JobSummaryCache jobSummaryCache,
+            ExecutorService upstreamExecutor,
+            OutboxService outboxService,
+            ResumeReferenceLoader resumeReferenceLoader,
+            @Value("${resume.validation.timeout:5s}") Duration validationTimeout) {
+        this.resumeRepository = resumeRepository;
+        this.userFetchService = userFetchService;
+        this.jobSummaryCache = jobSummaryCache;
+        this.upstreamExecutor = upstreamExecutor;
+        this.outboxService = outboxService;
+        this.resumeReferenceLoader = resumeReferenceLoader;
+        this.validationTimeout = validationTimeout;
+    }
 
     private static final Map<ResumeStateEnum, Set<ResumeStateEnum>> VALID_TRANSITIONS = Map.of(
             ResumeStateEnum.PENDING,
@@ -69,37 +97,76 @@ public class ResumeService {
         return this.resumeRepository.findById(id);
     }
 
+    /**
+     * User and job lookups run concurrently (latency of the slower one) under one deadline.
+     * Fail fast: the first missing user/job, error or the deadline cancels the other lookup (thread interrupted).
+     * Each lookup keeps its circuit breaker + retry (UserFetchService, JobFetchService behind JobSummaryCache).
+     */
     public boolean checkResumeExistByUserAndJob(Resume resume) {
         // Validate userId and jobId are not null
         if (resume.getUserId() == null || resume.getJobId() == null) {
             return false;
         }
 
+        ExecutorCompletionService<Boolean> lookups = new ExecutorCompletionService<>(upstreamExecutor);
+        List<Future<Boolean>> futures = List.of(
+                lookups.submit(() -> {
+                    UserDTO user = userFetchService.fetchUser(resume.getUserId());
+                    if (user == null || user.getId() == null) {
+                        log.error("User with id {} not found", resume.getUserId());
+                        return false;
+                    }
+                    return true;
+                }),
+                lookups.submit(() -> {
+                    if (jobSummaryCache.get(resume.getJobId()) == null) {
+                        log.error("Job with id {} not found", resume.getJobId());
+                        return false;
+                    }
+                    return true;
+                }));
+
+        long deadline = System.nanoTime() + validationTimeout.toNanos();
         try {
-            UserDTO user = userFetchService.fetchUser(resume.getUserId());
-            if (user == null || user.getId() == null) {
-                log.error("User with id {} not found", resume.getUserId());
-                return false;
-            }
-
-            JobDTO job = jobFetchService.fetchJob(resume.getJobId());
-            if (job == null || job.getId() == null) {
-                log.error("Job with id {} not found", resume.getJobId());
-                return false;
+            for (int i = 0; i < futures.size(); i++) {
+                Future<Boolean> done = lookups.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    log.error("User/job validation timed out after {}", validationTimeout);
+                    return false;
+                }
+                if (!Boolean.TRUE.equals(done.get())) {
+                    return false;
+                }
             }
-
             return true;
-        } catch (Exception e) {
-            log.error("Error calling other services: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
             return false;
+        } catch (ExecutionException e) {
+            log.error("Error calling other services: {}", e.getCause().getMessage());
+            return false;
+        } finally {
+            futures.forEach(future -> future.cancel(true));
         }
     }
 
+    /**
+     * Resume + event RESUME_SUBMITTED (outbox) in one transaction: the request returns after the commit,
+     * without waiting for Kafka
+     */
+    @Transactional
     public ResCreateResumeDTO create(Resume resume) {
+        // Company of the job stored with the resume: HR listings are scoped in the database.
+        // Refused when the job cannot be resolved, a resume without company would be invisible to the HR
+        JobSummary job = jobSummaryCache.get(resume.getJobId());
+        if (job == null) {
+            throw new IllegalStateException("Job " + resume.getJobId() + " could not be resolved, please retry");
+        }
+        resume.setCompanyId(job.companyId());
         resume = this.resumeRepository.save(resume);
 
-        // Publish Kafka event for async processing
-        publishResumeSubmittedEvent(resume);
+        // Event written in the same transaction, enriched and sent to Kafka by OutboxRelay
+        outboxService.appendResumeEvent(ResumeApplicationEvent.EventType.RESUME_SUBMITTED, resume);
 
         ResCreateResumeDTO res = new ResCreateResumeDTO();
         res.setId(resume.getId());
@@ -109,36 +176,24 @@ public class ResumeService {
         return res;
     }
 
-    private void publishResumeSubmittedEvent(Resume resume) {
-        try {
-            // Fetch additional info for the event
-            JobDTO job = resume.getJobId() != null ? jobFetchService.fetchJob(resume.getJobId()) : null;
-
-            ResumeApplicationEvent event = ResumeApplicationEvent.builder()
-                    .resumeId(resume.getId())
-                    .jobId(resume.getJobId())
-                    .userId(resume.getUserId())
-                    .companyId(job != null && job.getCompany() != null ? job.getCompany().getId() : null)
-                    .userEmail(resume.getEmail())
-                    .jobName(job != null ? job.getName() : "Unknown Job")
-                    .companyName(
-                            job != null && job.getCompany() != null ? job.getCompany().getName() : "Unknown Company")
-                    .resumeUrl(resume.getUrl())
-                    .build();
-
-            resumeEventProducer.publishResumeSubmittedEvent(event);
-        } catch (Exception e) {
-            log.error("Failed to publish resume submitted event, but resume was saved successfully", e);
-            // Don't fail the request if event publishing fails
-        }
-    }
-
-    public ResUpdateResumeDTO update(Resume resume) {
+    /**
+     * @param previousStatus status before the request changed it: events are only written on a status change
+     */
+    @Transactional
+    public ResUpdateResumeDTO update(Resume resume, ResumeStateEnum previousStatus) {
         resume = this.resumeRepository.save(resume);
 
-        // Publish event if status changed (APPROVED/REJECTED)
-        if (resume.getStatus() != null) {
-            publishResumeStatusChangeEvent(resume);
+        // Event for APPROVED/REJECTED/WITHDRAWN, written in the same transaction and sent by OutboxRelay
+        ResumeApplicationEvent.EventType eventType = resume.getStatus() == null
+                || resume.getStatus() == previousStatus ? null
+                : switch (resume.getStatus()) {
+                    case APPROVED -> ResumeApplicationEvent.EventType.RESUME_APPROVED;
+                    case REJECTED -> ResumeApplicationEvent.EventType.RESUME_REJECTED;
+                    case WITHDRAWN -> ResumeApplicationEvent.EventType.RESUME_WITHDRAWN;
+                    default -> null;
+                };
+        if (eventType != null) {
+            outboxService.appendResumeEvent(eventType, resume);
         }
 
         ResUpdateResumeDTO res = new ResUpdateResumeDTO();
@@ -161,39 +216,24 @@ public class ResumeService {
         return res;
     }
 
-    private void publishResumeStatusChangeEvent(Resume resume) {
-        try {
-            JobDTO job = resume.getJobId() != null ? jobFetchService.fetchJob(resume.getJobId()) : null;
-
-            ResumeApplicationEvent.EventType eventType = switch (resume.getStatus()) {
-                case APPROVED -> ResumeApplicationEvent.EventType.RESUME_APPROVED;
-                case REJECTED -> ResumeApplicationEvent.EventType.RESUME_REJECTED;
-                default -> null;
-            };
-
-            if (eventType != null) {
-                ResumeApplicationEvent event = ResumeApplicationEvent.builder()
-                        .eventType(eventType)
-                        .resumeId(resume.getId())
-                        .jobId(resume.getJobId())
-                        .userId(resume.getUserId())
-                        .companyId(job != null && job.getCompany() != null ? job.getCompany().getId() : null)
-                        .userEmail(resume.getEmail())
-                        .jobName(job != null ? job.getName() : "Unknown Job")
-                        .companyName(job != null && job.getCompany() != null ? job.getCompany().getName()
-                                : "Unknown Company")
-                        .resumeUrl(resume.getUrl())
-                        .build();
-
-                resumeEventProducer.publishResumeStatusChangeEvent(event);
-            }
-        } catch (Exception e) {
-            log.error("Failed to publish resume status change event", e);
+    /**
+     * Deleting an application withdraws it: RESUME_WITHDRAWN is written in the same transaction
+     * (not again when it was already withdrawn), so the counters of job-service stay in sync
+     */
+    @Transactional
+    public void delete(Resume resume) {
+        if (resume.getStatus() != ResumeStateEnum.WITHDRAWN) {
+            outboxService.appendResumeEvent(ResumeApplicationEvent.EventType.RESUME_WITHDRAWN, resume);
         }
+        this.resumeRepository.delete(resume);
     }
 
-    public void delete(long id) {
-        this.resumeRepository.deleteById(id);
+    /**
+     * Applications per job (keyset page over job ids) for the application counters backfill of job-service
+     */
+    public List<JobApplicationCount> fetchApplicationCounts(long afterJobId, int size) {
+        return this.resumeRepository.countApplicationsByJob(afterJobId, ResumeStateEnum.WITHDRAWN,
+                PageRequest.of(0, size));
     }
 
     public ResFetchResumeDTO getResume(Resume resume) {
@@ -218,14 +258,20 @@ public class ResumeService {
         res.setInterviewNote(resume.getInterviewNote());
         res.setInterviewResult(resume.getInterviewResult());
 
-        // In microservices, we need to fetch user and job info via inter-service
-        // communication
-        // For now, just set basic info with IDs
+        // User and job names resolved in batch for the whole request (ResumeReferenceLoader),
+        // placeholders with the id when the other service does not know them or is unavailable
         if (resume.getUserId() != null) {
-            res.setUser(new ResFetchResumeDTO.UserResume(resume.getUserId(), "User #" + resume.getUserId()));
+            UserSummary user = resumeReferenceLoader.user(resume.getUserId());
+            res.setUser(new ResFetchResumeDTO.UserResume(resume.getUserId(),
+                    user != null && user.name() != null ? user.name() : "User #" + resume.getUserId()));
         }
         if (resume.getJobId() != null) {
-            res.setJob(new ResFetchResumeDTO.JobResume(resume.getJobId(), "Job #" + resume.getJobId()));
+            JobSummary job = resumeReferenceLoader.job(resume.getJobId());
+            res.setJob(new ResFetchResumeDTO.JobResume(resume.getJobId(),
+                    job != null && job.name() != null ? job.name() : "Job #" + resume.getJobId()));
+            if (job != null) {
+                res.setCompanyName(job.companyName());
+            }
         }
 
         return res;
@@ -245,6 +291,7 @@ public class ResumeService {
         result.setMeta(meta);
 
         // remove sensitive information
+        resumeReferenceLoader.prime(pageUser.getContent());
         List<ResFetchResumeDTO> listResume = pageUser.getContent().stream().map(item -> this.getResume(item))
                 .collect(Collectors.toList());
         result.setResult(listResume);
@@ -267,58 +314,28 @@ public class ResumeService {
     }
 
     public boolean isResumeInCompany(Resume resume, Long companyId) {
-        if (resume == null || companyId == null || resume.getJobId() == null) {
+        if (resume == null || companyId == null) {
+            return false;
+        }
+        if (resume.getCompanyId() != null) {
+            return companyId.equals(resume.getCompanyId());
+        }
+        if (resume.getJobId() == null) {
             return false;
         }
 
-        JobDTO job = jobFetchService.fetchJob(resume.getJobId());
-        return job != null && job.getCompany() != null && companyId.equals(job.getCompany().getId());
+        // Resume not backfilled yet (ResumeCompanyBackfill): ask Job service
+        JobSummary job = jobSummaryCache.get(resume.getJobId());
+        return job != null && companyId.equals(job.companyId());
     }
 
+    /**
+     * Resumes of the company's jobs, filtered and paged in the database (company_id stored on the resume,
+     * index on company_id, status, created_at)
+     */
     public ResultPaginationDTO fetchAllResumeForCompany(Specification<Resume> spec, Pageable pageable, Long companyId) {
-        List<Resume> allResumes = this.resumeRepository.findAll(spec);
-        Map<Long, Long> jobCompanyCache = new HashMap<>();
-
-        List<Resume> scopedResumes = allResumes.stream().filter(resume -> {
-            if (resume.getJobId() == null) {
-                return false;
-            }
-
-            Long scopedCompanyId = jobCompanyCache.get(resume.getJobId());
-            if (scopedCompanyId == null) {
-                JobDTO job = jobFetchService.fetchJob(resume.getJobId());
-                if (job == null || job.getCompany() == null) {
-                    jobCompanyCache.put(resume.getJobId(), -1L);
-                    return false;
-                }
-                scopedCompanyId = job.getCompany().getId();
-                jobCompanyCache.put(resume.getJobId(), scopedCompanyId);
-            }
-
-            return companyId.equals(scopedCompanyId);
-        }).collect(Collectors.toList());
-
-        int pageNumber = pageable.getPageNumber();
-        int pageSize = pageable.getPageSize();
-        int fromIndex = pageNumber * pageSize;
-        int toIndex = Math.min(fromIndex + pageSize, scopedResumes.size());
-
-        List<Resume> pagedResumes = fromIndex >= scopedResumes.size()
-                ? List.of()
-                : scopedResumes.subList(fromIndex, toIndex);
-
-        ResultPaginationDTO result = new ResultPaginationDTO();
-        ResultPaginationDTO.Meta meta = new ResultPaginationDTO.Meta();
-
-        meta.setPage(pageNumber + 1);
-        meta.setPageSize(pageSize);
-        meta.setTotal(scopedResumes.size());
-        meta.setPages(pageSize == 0 ? 0 : (int) Math.ceil((double) scopedResumes.size() / pageSize));
-
-        result.setMeta(meta);
-        result.setResult(pagedResumes.stream().map(this::getResume).collect(Collectors.toList()));
-
-        return result;
+        Specification<Resume> companyScope = (root, query, cb) -> cb.equal(root.get("companyId"), companyId);
+        return fetchAllResume(spec == null ? companyScope : companyScope.and(spec), pageable);
     }
 
     public ResultPaginationDTO fetchAllResumeByUser(Pageable pageable) {
@@ -348,6 +365,7 @@ public class ResumeService {
 
         result.setMeta(meta);
 
+        resumeReferenceLoader.prime(pageResume.getContent());
         List<ResFetchResumeDTO> listResume = pageResume.getContent()
                 .stream().map(item -> this.getResume(item))
                 .collect(Collectors.toList());
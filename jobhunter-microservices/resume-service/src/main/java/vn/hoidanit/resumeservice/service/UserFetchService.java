@@ -1,5 +1,8 @@
 package vn.hoidanit.resumeservice.service;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.stereotype.Service;
 
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
@@ -28,6 +31,22 @@ public class UserFetchService {
         return response != null ? response.getData() : null;
     }
 
+    /**
+     * Several users in one call, unknown ids are absent from the result
+     */
+    @CircuitBreaker(name = "userService", fallbackMethod = "fetchUsersFallback")
+    @Retry(name = "userService")
+    public List<UserDTO> fetchUsers(Collection<Long> userIds) {
+        log.debug("Fetching {} users in one batch", userIds.size());
+        RestResponse<List<UserDTO>> response = userClient.getUsersByIds(userIds);
+        return response != null && response.getData() != null ? response.getData() : List.of();
+    }
+
+    public List<UserDTO> fetchUsersFallback(Collection<Long> userIds, Throwable ex) {
+        log.warn("Circuit breaker fallback triggered for {} users: {}", userIds.size(), ex.getMessage());
+        return List.of();
+    }
+
     public UserDTO fetchUserFallback(Long userId, Throwable ex) {
         log.warn("Circuit breaker fallback triggered for user {}: {}", userId, ex.getMessage());
         log.debug("Exception type: {}", ex.getClass().getName());
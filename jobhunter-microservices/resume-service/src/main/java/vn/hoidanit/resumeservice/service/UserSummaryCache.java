@@ -0,0 +1,80 @@
+package vn.hoidanit.resumeservice.service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import vn.hoidanit.resumeservice.client.UserClient;
+import vn.hoidanit.resumeservice.dto.UserDTO;
+import vn.hoidanit.resumeservice.dto.UserSummary;
+
+/**
+ * Short-lived local cache of user summaries (id -> name) for resume listings.
+ *
+ * Auth service publishes no user change events, so entries simply expire after a short time-to-live (a renamed
+ * user shows the old name at most that long). Missing users are loaded in batch calls of at most
+ * UserClient.MAX_BATCH_SIZE ids.
+ *
+ * Metrics: cache.gets{cache=userSummaries,result=hit|miss}, cache.size, cache.evictions
+ */
+@Service
+@Slf4j
+public class UserSummaryCache {
+
+    static final String CACHE_NAME = "userSummaries";
+
+    private final UserFetchService userFetchService;
+    private final Cache<Long, UserSummary> cache;
+
+    public UserSummaryCache(UserFetchService userFetchService,
+            MeterRegistry meterRegistry,
+            @Value("${user-cache.maximum-size:10000}") long maximumSize,
+            @Value("${user-cache.time-to-live:60s}") Duration timeToLive) {
+        this.userFetchService = userFetchService;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Summaries of several users: cached ones without remote call, the missing ones in batch calls
+     * (unknown users are absent from the result)
+     */
+    public Map<Long, UserSummary> getAll(Collection<Long> userIds) {
+        return cache.getAll(userIds.stream().filter(Objects::nonNull).distinct().toList(), this::loadAll);
+    }
+
+    private Map<Long, UserSummary> loadAll(Set<? extends Long> userIds) {
+        Map<Long, UserSummary> loaded = new HashMap<>();
+        List<Long> ids = List.copyOf(userIds);
+        try {
+            for (int from = 0; from < ids.size(); from += UserClient.MAX_BATCH_SIZE) {
+                List<Long> chunk = ids.subList(from, Math.min(from + UserClient.MAX_BATCH_SIZE, ids.size()));
+                for (UserDTO user : userFetchService.fetchUsers(chunk)) {
+                    if (user != null && user.getId() != null) {
+                        loaded.put(user.getId(), UserSummary.of(user));
+                    }
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Failed to fetch {} users: {}", userIds.size(), e.getMessage());
+        }
+        return loaded;
+    }
+}
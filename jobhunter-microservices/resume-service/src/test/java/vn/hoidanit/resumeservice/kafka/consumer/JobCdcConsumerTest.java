@@ -0,0 +1,88 @@
+package vn.hoidanit.resumeservice.kafka.consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import vn.hoidanit.resumeservice.service.JobSummaryCache;
+
+/**
+ * Unit Test cho JobCdcConsumer: đọc id job từ event Debezium của bảng jobs và invalidate JobSummaryCache
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JobCdcConsumer Unit Tests")
+class JobCdcConsumerTest {
+
+    @Mock
+    private JobSummaryCache jobSummaryCache;
+
+    private JobCdcConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        consumer = new JobCdcConsumer(new ObjectMapper(), jobSummaryCache);
+    }
+
+    @Test
+    @DisplayName("Update/create/snapshot - Invalidate id trong after, mỗi id một lần cho cả batch")
+    void consume_whenRowChanged_shouldInvalidateAfterId() {
+        consumer.consumeJobChanges(List.of(
+                "{\"op\":\"u\",\"before\":null,\"after\":{\"id\":10,\"active\":false}}",
+                "{\"op\":\"c\",\"before\":null,\"after\":{\"id\":11}}",
+                "{\"op\":\"r\",\"before\":null,\"after\":{\"id\":10}}"));
+
+        assertEquals(List.of(10L, 11L), invalidatedIds());
+    }
+
+    @Test
+    @DisplayName("Delete (archive, xóa job) - Invalidate id trong before")
+    void consume_whenRowDeleted_shouldInvalidateBeforeId() {
+        consumer.consumeJobChanges(List.of("{\"op\":\"d\",\"before\":{\"id\":12},\"after\":null}"));
+
+        assertEquals(List.of(12L), invalidatedIds());
+    }
+
+    @Test
+    @DisplayName("Có schema envelope (JsonConverter schemas.enable) hoặc id dạng chuỗi - Vẫn đọc được id")
+    void consume_whenEnvelopedOrTextualId_shouldReadId() {
+        consumer.consumeJobChanges(List.of(
+                "{\"schema\":{},\"payload\":{\"op\":\"u\",\"before\":null,\"after\":{\"id\":13}}}",
+                "{\"op\":\"u\",\"after\":{\"id\":\"14\"}}"));
+
+        assertEquals(List.of(13L, 14L), invalidatedIds());
+    }
+
+    @Test
+    @DisplayName("Tombstone hoặc message không đọc được - Bỏ qua, các event khác trong batch vẫn được xử lý")
+    void consume_whenMessageUnreadable_shouldSkipIt() {
+        List<String> messages = new ArrayList<>();
+        messages.add(null);
+        messages.add("not json");
+        messages.add("{\"op\":\"u\",\"after\":{\"name\":\"no id\"}}");
+        messages.add("{\"op\":\"u\",\"after\":{\"id\":15}}");
+
+        consumer.consumeJobChanges(messages);
+
+        assertEquals(List.of(15L), invalidatedIds());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Long> invalidatedIds() {
+        ArgumentCaptor<Collection<Long>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(jobSummaryCache).invalidate(ids.capture());
+        return List.copyOf(ids.getValue());
+    }
+}
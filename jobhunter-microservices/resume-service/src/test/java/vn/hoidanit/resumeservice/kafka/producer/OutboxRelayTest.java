@@ -0,0 +1,327 @@
+package vn.hoidanit.resumeservice.kafka.producer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.errors.RecordTooLargeException;
+import org.apache.kafka.common.errors.SerializationException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import vn.hoidanit.resumeservice.client.JobClient;
+import vn.hoidanit.resumeservice.client.UserClient;
+import vn.hoidanit.resumeservice.config.KafkaProducerConfig;
+import vn.hoidanit.resumeservice.domain.OutboxEvent;
+import vn.hoidanit.resumeservice.domain.Resume;
+import vn.hoidanit.resumeservice.dto.JobSummary;
+import vn.hoidanit.resumeservice.dto.ResumeApplicationEvent;
+import vn.hoidanit.resumeservice.dto.ResumeApplicationEvent.EventType;
+import vn.hoidanit.resumeservice.repository.OutboxEventRepository;
+import vn.hoidanit.resumeservice.service.JobSummaryCache;
+import vn.hoidanit.resumeservice.service.OutboxService;
+
+/**
+ * Test outbox + relay trên H2: event chỉ được ghi khi transaction commit, relay bổ sung thông tin job,
+ * gửi theo batch rồi xóa dòng, lỗi tạm thời gửi lại sau backoff, lỗi vĩnh viễn bị park
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "outbox.relay.retry-backoff=1h",
+        "outbox.relay.max-retry-backoff=4h"
+})
+@Import({ OutboxService.class, OutboxRelay.class, JacksonAutoConfiguration.class, OutboxRelayTest.MetricsConfig.class })
+// Mỗi thao tác chạy transaction riêng như trong ứng dụng (không bọc trong transaction của test)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("OutboxRelay Tests")
+class OutboxRelayTest {
+
+    private static final Duration BACKOFF = Duration.ofHours(1);
+    private static final Duration MAX_BACKOFF = Duration.ofHours(4);
+
+    @TestConfiguration
+    static class MetricsConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockBean
+    private KafkaTemplate<String, ResumeApplicationEvent> resumeEventKafkaTemplate;
+
+    @MockBean
+    private JobSummaryCache jobSummaryCache;
+
+    @MockBean
+    private JobClient jobClient;
+
+    @MockBean
+    private UserClient userClient;
+
+    // Context (và MeterRegistry) dùng chung giữa các test: so sánh metrics với giá trị đầu test
+    private final Map<String, Double> eventsBefore = new HashMap<>();
+    private double batchSizeBefore;
+
+    @BeforeEach
+    void setUp() {
+        outboxEventRepository.deleteAll();
+        for (String result : List.of("published", "failed", "parked")) {
+            eventsBefore.put(result, meterRegistry.get("outbox.events").tag("result", result).counter().count());
+        }
+        batchSizeBefore = meterRegistry.get("outbox.batch.size").summary().totalAmount();
+        when(resumeEventKafkaTemplate.send(anyString(), anyString(), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    @Test
+    @DisplayName("append - Chỉ ghi outbox khi transaction commit, bắt buộc có transaction")
+    void append_shouldFollowCallerTransaction() {
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxService.appendResumeEvent(EventType.RESUME_SUBMITTED, resume(1L, 10L, null));
+            status.setRollbackOnly();
+        });
+        assertEquals(0, outboxEventRepository.count());
+
+        assertThrows(IllegalTransactionStateException.class,
+                () -> outboxService.appendResumeEvent(EventType.RESUME_SUBMITTED, resume(1L, 10L, null)));
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    @Test
+    @DisplayName("relayBatch - Bổ sung tên job/company bằng 1 lần lookup, gửi cả batch theo key jobId rồi xóa outbox")
+    void relayBatch_shouldEnrichSendAndDelete() {
+        when(jobSummaryCache.getAll(Set.of(10L, 11L)))
+                .thenReturn(Map.of(10L, new JobSummary(10L, "Java Developer", 1L, "Company 1")));
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxService.appendResumeEvent(EventType.RESUME_SUBMITTED, resume(1L, 10L, null));
+            outboxService.appendResumeEvent(EventType.RESUME_SUBMITTED, resume(2L, 11L, 2L));
+            outboxService.appendResumeEvent(EventType.RESUME_WITHDRAWN, resume(3L, 10L, null));
+        });
+
+        assertEquals(3, outboxRelay.relayBatch());
+
+        verify(jobSummaryCache, times(1)).getAll(Set.of(10L, 11L));
+        ArgumentCaptor<String> keys = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<ResumeApplicationEvent> events = ArgumentCaptor.forClass(ResumeApplicationEvent.class);
+        verify(resumeEventKafkaTemplate, times(3))
+                .send(eq(KafkaProducerConfig.JOB_APPLICATIONS_TOPIC), keys.capture(), events.capture());
+        assertEquals(List.of("10", "11", "10"), keys.getAllValues());
+        assertEquals(List.of(EventType.RESUME_SUBMITTED, EventType.RESUME_SUBMITTED, EventType.RESUME_WITHDRAWN),
+                events.getAllValues().stream().map(ResumeApplicationEvent::getEventType).toList());
+        assertEquals(List.of("Java Developer", "Unknown Job", "Java Developer"),
+                events.getAllValues().stream().map(ResumeApplicationEvent::getJobName).toList());
+        // companyId của resume cũ (chưa backfill) lấy từ job
+        assertEquals(List.of(1L, 2L, 1L),
+                events.getAllValues().stream().map(ResumeApplicationEvent::getCompanyId).toList());
+
+        assertEquals(0, outboxEventRepository.count());
+        assertEquals(3, meterRegistry.get("outbox.batch.size").summary().totalAmount() - batchSizeBefore);
+        assertEquals(3, events("published"));
+    }
+
+    @Test
+    @DisplayName("relayBatch - Kafka lỗi tạm thời - Giữ event lại, tăng attempts, gửi lại sau backoff")
+    void relayBatch_whenSendFails_shouldRetryAfterBackoff() {
+        when(resumeEventKafkaTemplate.send(anyString(), anyString(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new TimeoutException("broker down")));
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxService.appendResumeEvent(EventType.RESUME_SUBMITTED, resume(1L, 10L, 1L));
+            outboxService.appendResumeEvent(EventType.RESUME_SUBMITTED, resume(2L, 11L, 1L));
+        });
+
+        Instant before = Instant.now();
+        assertEquals(0, outboxRelay.relayBatch());
+
+        List<OutboxEvent> pending = outboxEventRepository.findAll();
+        assertEquals(2, pending.size());
+        assertTrue(pending.stream().allMatch(event -> event.getAttempts() == 1 && event.getParkedAt() == null));
+        assertTrue(pending.stream().allMatch(event -> !event.getNextAttemptAt().isBefore(before.plus(BACKOFF))));
+        assertEquals(2, events("failed"));
+
+        // Chưa hết backoff - Không gửi lại
+        when(resumeEventKafkaTemplate.send(anyString(), anyString(), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        assertEquals(0, outboxRelay.relayBatch());
+        verify(resumeEventKafkaTemplate, times(2)).send(anyString(), anyString(), any());
+
+        makeDue();
+        outboxRelay.relay();
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    @Test
+    @DisplayName("relayBatch - Kafka down lâu (nhiều lần lỗi) - Không bao giờ park, backoff tăng gấp đôi tới mức trần")
+    void relayBatch_whenOutageIsLong_shouldNeverPark() {
+        when(resumeEventKafkaTemplate.send(anyString(), anyString(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new TimeoutException("broker down")));
+        transactionTemplate.executeWithoutResult(
+                status -> outboxService.appendResumeEvent(EventType.RESUME_SUBMITTED, resume(1L, 10L, 1L)));
+
+        for (int attempt = 1; attempt <= 15; attempt++) {
+            makeDue();
+            assertEquals(0, outboxRelay.relayBatch());
+        }
+
+        OutboxEvent pending = outboxEventRepository.findAll().get(0);
+        assertEquals(15, pending.getAttempts());
+        assertNull(pending.getParkedAt());
+        assertEquals(0, events("parked"));
+        assertEquals(BACKOFF, outboxRelay.retryDelay(1));
+        assertEquals(BACKOFF.multipliedBy(2), outboxRelay.retryDelay(2));
+        assertEquals(MAX_BACKOFF, outboxRelay.retryDelay(3));
+        assertEquals(MAX_BACKOFF, outboxRelay.retryDelay(15));
+    }
+
+    @Test
+    @DisplayName("relayBatch - Record quá lớn - Park ngay lần đầu, event của job khác vẫn được gửi")
+    void relayBatch_whenRecordTooLarge_shouldParkAtOnce() {
+        when(resumeEventKafkaTemplate.send(anyString(), eq("10"), any())).thenReturn(CompletableFuture.failedFuture(
+                new KafkaException("send failed", new RecordTooLargeException("record too large"))));
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxService.appendResumeEvent(EventType.RESUME_SUBMITTED, resume(1L, 10L, 1L));
+            outboxService.appendResumeEvent(EventType.RESUME_SUBMITTED, resume(2L, 11L, 1L));
+        });
+
+        assertEquals(1, outboxRelay.relayBatch());
+
+        OutboxEvent parked = outboxEventRepository.findAll().get(0);
+        assertEquals(1, parked.getAttempts());
+        assertNotNull(parked.getParkedAt());
+        assertEquals(1, events("parked"));
+        assertEquals(0, events("failed"));
+
+        // Event bị park không còn được lấy lại, không chặn event mới cùng job phía sau
+        transactionTemplate.executeWithoutResult(
+                status -> outboxService.appendResumeEvent(EventType.RESUME_WITHDRAWN, resume(1L, 10L, 1L)));
+        when(resumeEventKafkaTemplate.send(anyString(), eq("10"), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        assertEquals(1, outboxRelay.relayBatch());
+        assertEquals(0, outboxRelay.relayBatch());
+        assertEquals(List.of(parked.getId()), outboxEventRepository.findAll().stream().map(OutboxEvent::getId).toList());
+    }
+
+    @Test
+    @DisplayName("relayBatch - Lỗi serialize hoặc payload không đọc được - Park, không gửi lại")
+    void relayBatch_whenPayloadCannotBeSerialized_shouldPark() {
+        when(resumeEventKafkaTemplate.send(anyString(), eq("10"), any()))
+                .thenThrow(new SerializationException("cannot serialize"));
+        transactionTemplate.executeWithoutResult(
+                status -> outboxService.appendResumeEvent(EventType.RESUME_SUBMITTED, resume(1L, 10L, 1L)));
+        OutboxEvent unreadable = new OutboxEvent();
+        unreadable.setAggregateType("RESUME");
+        unreadable.setAggregateId(2L);
+        unreadable.setEventType(EventType.RESUME_SUBMITTED.name());
+        unreadable.setTopic(KafkaProducerConfig.JOB_APPLICATIONS_TOPIC);
+        unreadable.setMessageKey("11");
+        unreadable.setPayload("{not json");
+        outboxEventRepository.save(unreadable);
+
+        assertEquals(0, outboxRelay.relayBatch());
+
+        List<OutboxEvent> parked = outboxEventRepository.findAll();
+        assertEquals(2, parked.size());
+        assertTrue(parked.stream().allMatch(event -> event.getParkedAt() != null));
+        assertEquals(2, events("parked"));
+        verify(resumeEventKafkaTemplate, never()).send(anyString(), eq("11"), any());
+    }
+
+    @Test
+    @DisplayName("relayBatch - Event lỗi - Event sau cùng job không được gửi trước, gửi đúng thứ tự khi hết backoff")
+    void relayBatch_whenEventFails_shouldHoldBackLaterEventsOfSameJob() {
+        when(resumeEventKafkaTemplate.send(anyString(), eq("10"), any()))
+                .thenReturn(CompletableFuture.failedFuture(new TimeoutException("broker down")))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxService.appendResumeEvent(EventType.RESUME_SUBMITTED, resume(1L, 10L, 1L));
+            outboxService.appendResumeEvent(EventType.RESUME_WITHDRAWN, resume(1L, 10L, 1L));
+            outboxService.appendResumeEvent(EventType.RESUME_SUBMITTED, resume(2L, 11L, 1L));
+        });
+
+        // Job 11 không bị ảnh hưởng, RESUME_WITHDRAWN của job 10 giữ nguyên (không tính là lần lỗi)
+        assertEquals(1, outboxRelay.relayBatch());
+        verify(resumeEventKafkaTemplate, times(1)).send(anyString(), eq("10"), any());
+        Map<String, Integer> attempts = outboxEventRepository.findAll().stream()
+                .collect(Collectors.toMap(OutboxEvent::getEventType, OutboxEvent::getAttempts));
+        assertEquals(Map.of(EventType.RESUME_SUBMITTED.name(), 1, EventType.RESUME_WITHDRAWN.name(), 0), attempts);
+
+        // Event đầu đang backoff - Event sau cùng job cũng không được lấy (bộ đếm không thấy WITHDRAWN trước SUBMITTED)
+        assertEquals(0, outboxRelay.relayBatch());
+
+        makeDue();
+        assertEquals(2, outboxRelay.relayBatch());
+        ArgumentCaptor<ResumeApplicationEvent> sent = ArgumentCaptor.forClass(ResumeApplicationEvent.class);
+        verify(resumeEventKafkaTemplate, times(3)).send(anyString(), eq("10"), sent.capture());
+        assertEquals(List.of(EventType.RESUME_SUBMITTED, EventType.RESUME_SUBMITTED, EventType.RESUME_WITHDRAWN),
+                sent.getAllValues().stream().map(ResumeApplicationEvent::getEventType).toList());
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    /**
+     * Giả lập hết thời gian backoff của mọi event đang chờ
+     */
+    private void makeDue() {
+        transactionTemplate.executeWithoutResult(status -> outboxEventRepository.findAll().forEach(
+                event -> event.setNextAttemptAt(event.getNextAttemptAt() == null ? null : Instant.now().minusSeconds(1))));
+    }
+
+    private double events(String result) {
+        return meterRegistry.get("outbox.events").tag("result", result).counter().count() - eventsBefore.get(result);
+    }
+
+    private static Resume resume(long id, long jobId, Long companyId) {
+        Resume resume = new Resume();
+        resume.setId(id);
+        resume.setJobId(jobId);
+        resume.setCompanyId(companyId);
+        resume.setUserId(5L);
+        resume.setEmail("user@gmail.com");
+        resume.setUrl("cv.pdf");
+        return resume;
+    }
+}
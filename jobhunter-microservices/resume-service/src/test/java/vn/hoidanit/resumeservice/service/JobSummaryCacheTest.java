@@ -0,0 +1,150 @@
+package vn.hoidanit.resumeservice.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import vn.hoidanit.resumeservice.dto.CompanyDTO;
+import vn.hoidanit.resumeservice.dto.JobDTO;
+import vn.hoidanit.resumeservice.dto.JobSummary;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JobSummaryCache Unit Tests")
+class JobSummaryCacheTest {
+
+    @Mock
+    private JobFetchService jobFetchService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private JobSummaryCache jobSummaryCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        jobSummaryCache = new JobSummaryCache(jobFetchService, meterRegistry, 100_000, Duration.ofMinutes(10));
+    }
+
+    @Test
+    @DisplayName("get - Lần đầu gọi job-service, lần sau đọc cache")
+    void get_shouldLoadOnceThenServeFromCache() {
+        when(jobFetchService.fetchJob(10L)).thenReturn(job(10L));
+
+        JobSummary first = jobSummaryCache.get(10L);
+        JobSummary second = jobSummaryCache.get(10L);
+
+        assertEquals(new JobSummary(10L, "Job 10", 3L, "Company 3"), first);
+        assertSame(first, second);
+        verify(jobFetchService, times(1)).fetchJob(10L);
+    }
+
+    @Test
+    @DisplayName("get - Job không tồn tại hoặc job-service lỗi - Trả null, không cache")
+    void get_whenMissingOrFailed_shouldNotCache() {
+        when(jobFetchService.fetchJob(10L)).thenReturn(null).thenReturn(job(10L));
+        when(jobFetchService.fetchJob(11L)).thenThrow(new IllegalStateException("job-service down"))
+                .thenReturn(job(11L));
+
+        assertNull(jobSummaryCache.get(10L));
+        assertNull(jobSummaryCache.get(11L));
+
+        // Lần sau hỏi lại job-service
+        assertNotNull(jobSummaryCache.get(10L));
+        assertNotNull(jobSummaryCache.get(11L));
+        verify(jobFetchService, times(2)).fetchJob(10L);
+        verify(jobFetchService, times(2)).fetchJob(11L);
+    }
+
+    @Test
+    @DisplayName("get - jobId null - Trả null, không gọi job-service")
+    void get_whenIdNull_shouldNotCallRemote() {
+        assertNull(jobSummaryCache.get(null));
+
+        verifyNoInteractions(jobFetchService);
+    }
+
+    @Test
+    @DisplayName("invalidate - Lần đọc sau tải lại job, job khác vẫn giữ trong cache")
+    void invalidate_shouldReloadOnlyInvalidatedJobs() {
+        when(jobFetchService.fetchJob(anyLong())).thenAnswer(invocation -> job(invocation.getArgument(0)));
+        jobSummaryCache.get(10L);
+        jobSummaryCache.get(11L);
+
+        jobSummaryCache.invalidate(List.of(10L));
+        jobSummaryCache.get(10L);
+        jobSummaryCache.get(11L);
+
+        verify(jobFetchService, times(2)).fetchJob(10L);
+        verify(jobFetchService, times(1)).fetchJob(11L);
+    }
+
+    @Test
+    @DisplayName("getAll - Job đã cache không gọi lại, job không tồn tại không có trong kết quả")
+    void getAll_shouldLoadOnlyMissesAndSkipUnknownJobs() {
+        when(jobFetchService.fetchJob(10L)).thenReturn(job(10L));
+        when(jobFetchService.fetchJobs(anyCollection())).thenReturn(List.of(job(11L)));
+        jobSummaryCache.get(10L);
+
+        Map<Long, JobSummary> result = jobSummaryCache.getAll(List.of(10L, 11L, 12L));
+
+        assertEquals(List.of(10L, 11L), result.keySet().stream().sorted().toList());
+        verify(jobFetchService).fetchJobs(argThat(ids -> ids.size() == 2 && ids.containsAll(List.of(11L, 12L))));
+    }
+
+    @Test
+    @DisplayName("getAll - 1001 id - Chia batch tối đa 500 id (job-service từ chối batch lớn hơn)")
+    void getAll_whenMoreThanMaxBatch_shouldSplitIntoChunks() {
+        List<Integer> batchSizes = new ArrayList<>();
+        when(jobFetchService.fetchJobs(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            batchSizes.add(ids.size());
+            return ids.stream().map(JobSummaryCacheTest::job).toList();
+        });
+
+        Map<Long, JobSummary> result = jobSummaryCache.getAll(LongStream.rangeClosed(1, 1001).boxed().toList());
+
+        assertEquals(1001, result.size());
+        assertEquals(List.of(500, 500, 1), batchSizes);
+    }
+
+    @Test
+    @DisplayName("Metrics - cache.gets hit/miss và cache.size theo tên cache jobSummaries")
+    void metrics_shouldCountHitsAndMisses() {
+        when(jobFetchService.fetchJob(10L)).thenReturn(job(10L));
+
+        jobSummaryCache.get(10L);
+        jobSummaryCache.get(10L);
+        jobSummaryCache.get(10L);
+
+        assertEquals(2, meterRegistry.get("cache.gets")
+                .tags("cache", JobSummaryCache.CACHE_NAME, "result", "hit").functionCounter().count());
+        assertEquals(1, meterRegistry.get("cache.gets")
+                .tags("cache", JobSummaryCache.CACHE_NAME, "result", "miss").functionCounter().count());
+        assertEquals(1, meterRegistry.get("cache.size").tags("cache", JobSummaryCache.CACHE_NAME).gauge().value());
+    }
+
+    private static JobDTO job(long id) {
+        CompanyDTO company = new CompanyDTO();
+        company.setId(3L);
+        company.setName("Company 3");
+        JobDTO job = new JobDTO();
+        job.setId(id);
+        job.setName("Job " + id);
+        job.setCompany(company);
+        return job;
+    }
+}
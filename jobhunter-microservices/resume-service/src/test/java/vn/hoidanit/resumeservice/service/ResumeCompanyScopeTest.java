@@ -0,0 +1,167 @@
+package vn.hoidanit.resumeservice.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import vn.hoidanit.resumeservice.client.JobClient;
+import vn.hoidanit.resumeservice.client.UserClient;
+import vn.hoidanit.resumeservice.domain.Resume;
+import vn.hoidanit.resumeservice.dto.CompanyDTO;
+import vn.hoidanit.resumeservice.dto.JobDTO;
+import vn.hoidanit.resumeservice.dto.ResFetchResumeDTO;
+import vn.hoidanit.resumeservice.dto.ResultPaginationDTO;
+import vn.hoidanit.resumeservice.repository.ResumeRepository;
+import vn.hoidanit.resumeservice.util.constant.ResumeStateEnum;
+
+/**
+ * Test danh sách resume theo company (HR) và backfill resumes.company_id trên H2
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import(ResumeService.class)
+// Backfill chạy transaction riêng như trong ứng dụng (không bọc trong transaction của test)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Resume Company Scope Tests")
+class ResumeCompanyScopeTest {
+
+    @Autowired
+    private ResumeService resumeService;
+
+    @Autowired
+    private ResumeRepository resumeRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockBean
+    private UserFetchService userFetchService;
+
+    @MockBean
+    private JobSummaryCache jobSummaryCache;
+
+    @MockBean
+    private JobFetchService jobFetchService;
+
+    @MockBean
+    private ExecutorService upstreamExecutor;
+
+    @MockBean
+    private OutboxService outboxService;
+
+    @MockBean
+    private ResumeReferenceLoader resumeReferenceLoader;
+
+    @MockBean
+    private JobClient jobClient;
+
+    @MockBean
+    private UserClient userClient;
+
+    @BeforeEach
+    void setUp() {
+        resumeRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("fetchAllResumeForCompany - Chỉ trả resume của company, phân trang + count trong DB, có áp dụng filter")
+    void fetchAllResumeForCompany_shouldScopePageAndCount() {
+        for (int i = 0; i < 12; i++) {
+            save(10L + i % 2, 1L, i % 3 == 0 ? ResumeStateEnum.APPROVED : ResumeStateEnum.PENDING);
+        }
+        save(20L, 2L, ResumeStateEnum.PENDING);
+        save(30L, null, ResumeStateEnum.PENDING);
+
+        ResultPaginationDTO page = resumeService.fetchAllResumeForCompany(null,
+                PageRequest.of(1, 5, Sort.by("id")), 1L);
+
+        assertEquals(12, page.getMeta().getTotal());
+        assertEquals(3, page.getMeta().getPages());
+        assertEquals(5, resumes(page).size());
+        assertTrue(resumes(page).stream().allMatch(resume -> resume.getJob().getId() == 10L
+                || resume.getJob().getId() == 11L));
+
+        Specification<Resume> approved = (root, query, cb) -> cb.equal(root.get("status"), ResumeStateEnum.APPROVED);
+        assertEquals(4, resumeService.fetchAllResumeForCompany(approved, PageRequest.of(0, 10), 1L)
+                .getMeta().getTotal());
+        assertEquals(1, resumeService.fetchAllResumeForCompany(null, PageRequest.of(0, 10), 2L)
+                .getMeta().getTotal());
+    }
+
+    @Test
+    @DisplayName("ResumeCompanyBackfill - Gán company theo job, bỏ qua job không resolve được, resume hiện trong danh sách HR")
+    void backfill_shouldAssignCompanyAndSkipUnresolvedJobs() {
+        save(10L, null, ResumeStateEnum.PENDING);
+        save(10L, null, ResumeStateEnum.REVIEWING);
+        save(11L, null, ResumeStateEnum.PENDING);
+        save(12L, null, ResumeStateEnum.PENDING);
+        save(13L, 4L, ResumeStateEnum.PENDING);
+        // Batch 2 job/lần: [10, 11] rồi [12]; job 11 không resolve được (đã xóa / Job service lỗi)
+        when(jobFetchService.fetchJobs(List.of(10L, 11L))).thenReturn(List.of(job(10L, 1L)));
+        when(jobFetchService.fetchJobs(List.of(12L))).thenReturn(List.of(job(12L, 1L)));
+        ResumeCompanyBackfill backfill = new ResumeCompanyBackfill(resumeRepository, jobFetchService,
+                transactionTemplate, 2, Duration.ZERO);
+
+        assertEquals(3, backfill.run());
+
+        verify(jobFetchService, times(2)).fetchJobs(anyCollection());
+        assertEquals(3, resumeService.fetchAllResumeForCompany(null, PageRequest.of(0, 10), 1L)
+                .getMeta().getTotal());
+        assertEquals(List.of(11L), resumeRepository.findJobIdsWithoutCompany(0, PageRequest.of(0, 10)));
+
+        // Chạy lại: chỉ còn job 11, các dòng đã có company không bị ghi lại
+        when(jobFetchService.fetchJobs(List.of(11L))).thenReturn(List.of(job(11L, 2L)));
+        assertEquals(1, backfill.run());
+        assertTrue(resumeRepository.findJobIdsWithoutCompany(0, PageRequest.of(0, 10)).isEmpty());
+        assertEquals(1, resumeService.fetchAllResumeForCompany(null, PageRequest.of(0, 10), 4L)
+                .getMeta().getTotal());
+    }
+
+    private void save(Long jobId, Long companyId, ResumeStateEnum status) {
+        Resume resume = new Resume();
+        resume.setEmail("user@gmail.com");
+        resume.setUrl("cv.pdf");
+        resume.setUserId(5L);
+        resume.setJobId(jobId);
+        resume.setCompanyId(companyId);
+        resume.setStatus(status);
+        resumeRepository.save(resume);
+    }
+
+    private static JobDTO job(long id, long companyId) {
+        CompanyDTO company = new CompanyDTO();
+        company.setId(companyId);
+        company.setName("Company " + companyId);
+        JobDTO job = new JobDTO();
+        job.setId(id);
+        job.setName("Job " + id);
+        job.setCompany(company);
+        return job;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<ResFetchResumeDTO> resumes(ResultPaginationDTO result) {
+        return (List<ResFetchResumeDTO>) result.getResult();
+    }
+}
@@ -0,0 +1,140 @@
+package vn.hoidanit.resumeservice.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import vn.hoidanit.resumeservice.domain.Resume;
+import vn.hoidanit.resumeservice.dto.JobSummary;
+import vn.hoidanit.resumeservice.dto.UserSummary;
+
+/**
+ * Unit Test cho ResumeReferenceLoader: gom id của cả trang, resolve mỗi loại một lần
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ResumeReferenceLoader Unit Tests")
+class ResumeReferenceLoaderTest {
+
+    @Mock
+    private UserSummaryCache userSummaryCache;
+
+    @Mock
+    private JobSummaryCache jobSummaryCache;
+
+    private ResumeReferenceLoader loader;
+
+    // Bản sao id của từng lần gọi getAll (tham số là set pending, bị clear sau khi gọi)
+    private final List<Set<Long>> userBatches = new ArrayList<>();
+    private final List<Set<Long>> jobBatches = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        loader = new ResumeReferenceLoader(userSummaryCache, jobSummaryCache);
+    }
+
+    @Test
+    @DisplayName("prime + user/job - Cả trang được resolve bằng một lần getAll cho user và một lần cho job")
+    void prime_shouldResolveWholePageInOneBatchPerType() {
+        stubUsers(Set.of());
+        stubJobs(Set.of());
+        loader.prime(List.of(resume(1L, 10L), resume(2L, 20L), resume(3L, 10L)));
+
+        assertEquals("User 1", loader.user(1L).name());
+        assertEquals("Job 10", loader.job(10L).name());
+        assertEquals("User 2", loader.user(2L).name());
+        assertEquals("User 3", loader.user(3L).name());
+        assertEquals("Job 20", loader.job(20L).name());
+
+        assertEquals(List.of(Set.of(1L, 2L, 3L)), userBatches);
+        assertEquals(List.of(Set.of(10L, 20L)), jobBatches);
+    }
+
+    @Test
+    @DisplayName("user/job - Id không tồn tại - Trả null, không gọi lại trong cùng request")
+    void lookup_whenMissing_shouldReturnNullWithoutRefetch() {
+        stubUsers(Set.of(2L));
+        stubJobs(Set.of(20L));
+        loader.prime(List.of(resume(1L, 10L), resume(2L, 20L)));
+
+        assertNull(loader.user(2L));
+        assertNull(loader.job(20L));
+        assertNotNull(loader.user(1L));
+        assertNull(loader.user(2L));
+        assertNull(loader.job(20L));
+
+        verify(userSummaryCache, times(1)).getAll(anyCollection());
+        verify(jobSummaryCache, times(1)).getAll(anyCollection());
+    }
+
+    @Test
+    @DisplayName("user/job - Id chưa prime - Gom cùng các id đang chờ vào lần gọi sau, id đã resolve không gọi lại")
+    void lookup_whenNotPrimed_shouldBatchWithPendingIds() {
+        stubUsers(Set.of());
+        loader.prime(List.of(resume(1L, 10L)));
+        loader.user(1L);
+
+        // Trang thứ hai trong cùng request: user 1 đã có, chỉ user 4 đang chờ
+        loader.prime(List.of(resume(1L, 10L), resume(4L, 10L)));
+        assertEquals("User 5", loader.user(5L).name());
+        assertEquals("User 4", loader.user(4L).name());
+        assertEquals("User 1", loader.user(1L).name());
+
+        assertEquals(List.of(Set.of(1L), Set.of(4L, 5L)), userBatches);
+        verifyNoInteractions(jobSummaryCache);
+    }
+
+    @Test
+    @DisplayName("prime - Resume thiếu userId/jobId - Bỏ qua, không gửi null đi")
+    void prime_whenReferencesNull_shouldSkipThem() {
+        stubUsers(Set.of());
+        loader.prime(List.of(resume(null, null), resume(1L, null)));
+
+        assertNotNull(loader.user(1L));
+
+        assertEquals(List.of(Set.of(1L)), userBatches);
+        verifyNoInteractions(jobSummaryCache);
+    }
+
+    private void stubUsers(Set<Long> unknownIds) {
+        when(userSummaryCache.getAll(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            userBatches.add(Set.copyOf(ids));
+            return known(ids, unknownIds, id -> new UserSummary(id, "User " + id));
+        });
+    }
+
+    private void stubJobs(Set<Long> unknownIds) {
+        when(jobSummaryCache.getAll(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            jobBatches.add(Set.copyOf(ids));
+            return known(ids, unknownIds, id -> new JobSummary(id, "Job " + id, 3L, "Company 3"));
+        });
+    }
+
+    private static <T> Map<Long, T> known(Collection<Long> ids, Set<Long> unknownIds, Function<Long, T> summary) {
+        return ids.stream().filter(id -> !unknownIds.contains(id))
+                .collect(Collectors.toMap(Function.identity(), summary));
+    }
+
+    private static Resume resume(Long userId, Long jobId) {
+        Resume resume = new Resume();
+        resume.setUserId(userId);
+        resume.setJobId(jobId);
+        return resume;
+    }
+}
@@ -0,0 +1,219 @@
+package vn.hoidanit.resumeservice.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import vn.hoidanit.resumeservice.domain.Resume;
+import vn.hoidanit.resumeservice.dto.JobSummary;
+import vn.hoidanit.resumeservice.dto.UserDTO;
+import vn.hoidanit.resumeservice.dto.ResumeApplicationEvent.EventType;
+import vn.hoidanit.resumeservice.repository.ResumeRepository;
+import vn.hoidanit.resumeservice.util.constant.ResumeStateEnum;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ResumeService Unit Tests")
+class ResumeServiceTest {
+
+    @Mock
+    private ResumeRepository resumeRepository;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private JobSummaryCache jobSummaryCache;
+
+    @Mock
+    private UserFetchService userFetchService;
+
+    @Mock
+    private ResumeReferenceLoader resumeReferenceLoader;
+
+    private static final Duration VALIDATION_TIMEOUT = Duration.ofMillis(500);
+
+    private ExecutorService upstreamExecutor;
+    private ResumeService resumeService;
+
+    @BeforeEach
+    void setUp() {
+        upstreamExecutor = Executors.newFixedThreadPool(4);
+        resumeService = new ResumeService(resumeRepository, userFetchService, jobSummaryCache, upstreamExecutor,
+                outboxService, resumeReferenceLoader, VALIDATION_TIMEOUT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        upstreamExecutor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("checkResumeExistByUserAndJob - User và job được kiểm tra song song (độ trễ = lookup chậm nhất)")
+    void check_shouldRunLookupsConcurrently() {
+        when(userFetchService.fetchUser(5L)).thenAnswer(invocation -> {
+            Thread.sleep(300);
+            return user(5L);
+        });
+        when(jobSummaryCache.get(10L)).thenAnswer(invocation -> {
+            Thread.sleep(300);
+            return new JobSummary(10L, "Java Developer", 3L, "Company 3");
+        });
+
+        long start = System.nanoTime();
+        assertTrue(resumeService.checkResumeExistByUserAndJob(resume(ResumeStateEnum.PENDING)));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Tuần tự sẽ mất >= 600ms
+        assertTrue(elapsedMillis < 550, "elapsed " + elapsedMillis + "ms");
+    }
+
+    @Test
+    @DisplayName("checkResumeExistByUserAndJob - User không tồn tại - Trả false ngay, hủy (interrupt) lookup job")
+    void check_whenUserMissing_shouldCancelJobLookup() throws Exception {
+        CountDownLatch jobStarted = new CountDownLatch(1);
+        CountDownLatch jobInterrupted = new CountDownLatch(1);
+        // Chờ lookup job chạy rồi mới trả kết quả user (task bị hủy trước khi chạy thì không có gì để interrupt)
+        when(userFetchService.fetchUser(5L)).thenAnswer(invocation -> {
+            jobStarted.await(1, TimeUnit.SECONDS);
+            return null;
+        });
+        when(jobSummaryCache.get(10L)).thenAnswer(invocation -> {
+            jobStarted.countDown();
+            return blockUntilInterrupted(jobInterrupted);
+        });
+
+        long start = System.nanoTime();
+        assertFalse(resumeService.checkResumeExistByUserAndJob(resume(ResumeStateEnum.PENDING)));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(elapsedMillis < VALIDATION_TIMEOUT.toMillis(), "elapsed " + elapsedMillis + "ms");
+        assertTrue(jobInterrupted.await(1, TimeUnit.SECONDS), "Lookup job phải bị interrupt");
+    }
+
+    @Test
+    @DisplayName("checkResumeExistByUserAndJob - Quá deadline chung - Trả false, hủy cả 2 lookup")
+    void check_whenDeadlineExceeded_shouldCancelBothLookups() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(2);
+        when(userFetchService.fetchUser(5L)).thenAnswer(invocation -> blockUntilInterrupted(interrupted));
+        when(jobSummaryCache.get(10L)).thenAnswer(invocation -> blockUntilInterrupted(interrupted));
+
+        long start = System.nanoTime();
+        assertFalse(resumeService.checkResumeExistByUserAndJob(resume(ResumeStateEnum.PENDING)));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // 1 deadline cho cả 2 lookup (không phải timeout riêng cho từng lookup)
+        assertTrue(elapsedMillis >= VALIDATION_TIMEOUT.toMillis() && elapsedMillis < 2 * VALIDATION_TIMEOUT.toMillis(),
+                "elapsed " + elapsedMillis + "ms");
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS), "Cả 2 lookup phải bị interrupt");
+    }
+
+    @Test
+    @DisplayName("create - Lưu company của job cùng resume, ghi RESUME_SUBMITTED")
+    void create_shouldStoreCompanyOfJob() {
+        Resume resume = resume(ResumeStateEnum.PENDING);
+        when(jobSummaryCache.get(10L)).thenReturn(new JobSummary(10L, "Java Developer", 3L, "Company 3"));
+        when(resumeRepository.save(resume)).thenReturn(resume);
+
+        resumeService.create(resume);
+
+        assertEquals(3L, resume.getCompanyId());
+        verify(outboxService).appendResumeEvent(EventType.RESUME_SUBMITTED, resume);
+    }
+
+    @Test
+    @DisplayName("create - Không lấy được job (Job service lỗi) - Từ chối, không lưu resume thiếu company")
+    void create_whenJobUnresolved_shouldRefuse() {
+        Resume resume = resume(ResumeStateEnum.PENDING);
+        when(jobSummaryCache.get(10L)).thenReturn(null);
+
+        assertThrows(IllegalStateException.class, () -> resumeService.create(resume));
+
+        verify(resumeRepository, never()).save(any());
+        verify(outboxService, never()).appendResumeEvent(any(), any());
+    }
+
+    @Test
+    @DisplayName("update - Chuyển sang WITHDRAWN - Ghi event RESUME_WITHDRAWN")
+    void update_whenWithdrawn_shouldAppendWithdrawnEvent() {
+        Resume resume = resume(ResumeStateEnum.WITHDRAWN);
+        when(resumeRepository.save(resume)).thenReturn(resume);
+
+        resumeService.update(resume, ResumeStateEnum.REVIEWING);
+
+        verify(outboxService).appendResumeEvent(EventType.RESUME_WITHDRAWN, resume);
+    }
+
+    @Test
+    @DisplayName("update - Status không đổi (chỉ sửa ghi chú) - Không ghi event lần nữa")
+    void update_whenStatusUnchanged_shouldNotAppendEvent() {
+        Resume resume = resume(ResumeStateEnum.APPROVED);
+        when(resumeRepository.save(resume)).thenReturn(resume);
+
+        resumeService.update(resume, ResumeStateEnum.APPROVED);
+
+        verify(outboxService, never()).appendResumeEvent(any(), any());
+    }
+
+    @Test
+    @DisplayName("delete - Hồ sơ đang xử lý - Ghi RESUME_WITHDRAWN trước khi xóa")
+    void delete_whenActive_shouldAppendWithdrawnEvent() {
+        Resume resume = resume(ResumeStateEnum.PENDING);
+
+        resumeService.delete(resume);
+
+        InOrder inOrder = inOrder(outboxService, resumeRepository);
+        inOrder.verify(outboxService).appendResumeEvent(EventType.RESUME_WITHDRAWN, resume);
+        inOrder.verify(resumeRepository).delete(resume);
+    }
+
+    @Test
+    @DisplayName("delete - Hồ sơ đã WITHDRAWN - Không ghi event lần 2")
+    void delete_whenAlreadyWithdrawn_shouldOnlyDelete() {
+        Resume resume = resume(ResumeStateEnum.WITHDRAWN);
+
+        resumeService.delete(resume);
+
+        verify(outboxService, never()).appendResumeEvent(any(), any());
+        verify(resumeRepository).delete(resume);
+    }
+
+    private static Object blockUntilInterrupted(CountDownLatch interrupted) throws InterruptedException {
+        try {
+            Thread.sleep(10_000);
+            return null;
+        } catch (InterruptedException e) {
+            interrupted.countDown();
+            throw e;
+        }
+    }
+
+    private static UserDTO user(long id) {
+        UserDTO user = new UserDTO();
+        user.setId(id);
+        return user;
+    }
+
+    private static Resume resume(ResumeStateEnum status) {
+        Resume resume = new Resume();
+        resume.setId(1L);
+        resume.setJobId(10L);
+        resume.setUserId(5L);
+        resume.setStatus(status);
+        return resume;
+    }
+}
@@ -0,0 +1,145 @@
+package vn.hoidanit.resumeservice.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import vn.hoidanit.resumeservice.client.UserClient;
+import vn.hoidanit.resumeservice.dto.UserDTO;
+import vn.hoidanit.resumeservice.dto.UserSummary;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserSummaryCache Unit Tests")
+class UserSummaryCacheTest {
+
+    @Mock
+    private UserFetchService userFetchService;
+
+    private UserSummaryCache userSummaryCache;
+
+    // Bản sao id của từng lần gọi batch (tham số là subList, không giữ lại được)
+    private final List<List<Long>> batches = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        userSummaryCache = new UserSummaryCache(userFetchService, new SimpleMeterRegistry(), 100_000,
+                Duration.ofMinutes(1));
+    }
+
+    @Test
+    @DisplayName("getAll - Các user chưa có trong cache - Một lần gọi batch cho tất cả")
+    void getAll_whenMissing_shouldLoadInOneBatch() {
+        stubFetchUsers(Set.of());
+
+        Map<Long, UserSummary> result = userSummaryCache.getAll(List.of(1L, 2L, 3L, 2L));
+
+        assertEquals(Set.of(1L, 2L, 3L), result.keySet());
+        assertEquals("User 2", result.get(2L).name());
+        assertEquals(1, batches.size());
+        assertEquals(Set.of(1L, 2L, 3L), Set.copyOf(batches.get(0)));
+    }
+
+    @Test
+    @DisplayName("getAll - Một phần đã có trong cache - Chỉ gọi batch cho các id còn thiếu")
+    void getAll_whenPartiallyCached_shouldLoadOnlyMisses() {
+        stubFetchUsers(Set.of());
+        userSummaryCache.getAll(List.of(1L, 2L));
+
+        Map<Long, UserSummary> result = userSummaryCache.getAll(List.of(1L, 2L, 3L));
+
+        assertEquals(Set.of(1L, 2L, 3L), result.keySet());
+        assertEquals(2, batches.size());
+        assertEquals(List.of(3L), batches.get(1));
+
+        userSummaryCache.getAll(List.of(3L, 1L));
+        assertEquals(2, batches.size(), "Toàn bộ cache hit - Không gọi auth-service");
+    }
+
+    @Test
+    @DisplayName("getAll - 1200 id - Chia batch tối đa 500 id (auth-service từ chối batch lớn hơn)")
+    void getAll_whenMoreThanMaxBatch_shouldSplitIntoChunks() {
+        stubFetchUsers(Set.of());
+        List<Long> ids = LongStream.rangeClosed(1, 1200).boxed().toList();
+
+        Map<Long, UserSummary> result = userSummaryCache.getAll(ids);
+
+        assertEquals(1200, result.size());
+        assertEquals(List.of(500, 500, 200), batches.stream().map(List::size).toList());
+        assertTrue(batches.stream().allMatch(batch -> batch.size() <= UserClient.MAX_BATCH_SIZE));
+        assertEquals(Set.copyOf(ids), batches.stream().flatMap(List::stream).collect(Collectors.toSet()));
+    }
+
+    @Test
+    @DisplayName("getAll - User không tồn tại - Không có trong kết quả, không cache giá trị null")
+    void getAll_whenUserUnknown_shouldBeAbsent() {
+        stubFetchUsers(Set.of(2L));
+
+        Map<Long, UserSummary> result = userSummaryCache.getAll(List.of(1L, 2L));
+
+        assertEquals(Set.of(1L), result.keySet());
+        assertFalse(result.containsKey(2L));
+
+        // Lần sau vẫn hỏi lại user 2 (có thể vừa được tạo)
+        userSummaryCache.getAll(List.of(1L, 2L));
+        assertEquals(List.of(2L), batches.get(1));
+    }
+
+    @Test
+    @DisplayName("getAll - auth-service lỗi - Trả kết quả rỗng, không cache, lần sau gọi lại")
+    void getAll_whenFetchFails_shouldNotCacheFailure() {
+        when(userFetchService.fetchUsers(anyCollection()))
+                .thenThrow(new IllegalStateException("auth-service down"))
+                .thenAnswer(invocation -> users(invocation.getArgument(0), Set.of()));
+
+        assertTrue(userSummaryCache.getAll(List.of(1L)).isEmpty());
+        assertEquals(Set.of(1L), userSummaryCache.getAll(List.of(1L)).keySet());
+
+        verify(userFetchService, times(2)).fetchUsers(anyCollection());
+    }
+
+    @Test
+    @DisplayName("getAll - Danh sách rỗng hoặc chỉ có null - Không gọi auth-service")
+    void getAll_whenNoIds_shouldNotCallRemote() {
+        List<Long> onlyNull = new ArrayList<>();
+        onlyNull.add(null);
+
+        assertTrue(userSummaryCache.getAll(List.of()).isEmpty());
+        assertTrue(userSummaryCache.getAll(onlyNull).isEmpty());
+
+        verifyNoInteractions(userFetchService);
+    }
+
+    private void stubFetchUsers(Set<Long> unknownIds) {
+        when(userFetchService.fetchUsers(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            batches.add(List.copyOf(ids));
+            return users(ids, unknownIds);
+        });
+    }
+
+    private static List<UserDTO> users(Collection<Long> ids, Set<Long> unknownIds) {
+        return ids.stream().filter(id -> !unknownIds.contains(id)).map(id -> {
+            UserDTO user = new UserDTO();
+            user.setId(id);
+            user.setName("User " + id);
+            return user;
+        }).toList();
+    }
+}
@@ -18,6 +18,7 @@ import vn.hoidanit.jobhunter.service.TokenService;
  * Filter để kiểm tra Access Token có trong blacklist không
  * Chạy sau khi Spring Security đã validate JWT
  * Nếu token trong blacklist -> trả về 401 Unauthorized
+ * Phần lớn request được trả lời từ near-cache (TokenRevocationCache), không gọi Redis
  */
 @Component
 public class JwtTokenBlacklistFilter extends OncePerRequestFilter {
@@ -1,8 +1,11 @@
 package vn.hoidanit.jobhunter.config;
 
+import java.util.Properties;
+
+import org.springframework.boot.autoconfigure.mail.MailProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.JavaMailSenderImpl;
 
 
@@ -11,16 +14,33 @@ import org.springframework.mail.javamail.JavaMailSenderImpl;
  * This configuration ensures JavaMailSender bean is explicitly available
  */
 @Configuration
+@EnableConfigurationProperties(MailProperties.class)
 public class MailConfig {
 
     /**
      * JavaMailSender bean configuration
      * Spring Boot auto-configures this, but we define it explicitly
      * to help IDE detect the bean for autowiring
+     * Các giá trị spring.mail.* được áp dụng giống auto-configuration của Spring Boot
      */
     @Bean
-    public JavaMailSender javaMailSender() {
-        return new JavaMailSenderImpl();
+    public JavaMailSenderImpl javaMailSender(MailProperties mailProperties) {
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost(mailProperties.getHost());
+        if (mailProperties.getPort() != null) {
+            sender.setPort(mailProperties.getPort());
+        }
+        sender.setUsername(mailProperties.getUsername());
+        sender.setPassword(mailProperties.getPassword());
+        sender.setProtocol(mailProperties.getProtocol());
+        if (mailProperties.getDefaultEncoding() != null) {
+            sender.setDefaultEncoding(mailProperties.getDefaultEncoding().name());
+        }
+        if (!mailProperties.getProperties().isEmpty()) {
+            Properties properties = new Properties();
+            properties.putAll(mailProperties.getProperties());
+            sender.setJavaMailProperties(properties);
+        }
+        return sender;
     }
 }
-
@@ -4,6 +4,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import io.minio.MinioAsyncClient;
 import io.minio.MinioClient;
 
 @Configuration
@@ -25,4 +26,15 @@ public class MinIOConfig {
                 .credentials(accessKey, secretKey)
                 .build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Client async dùng cho multipart upload song song
+     */
+    @Bean
+    public MultipartMinioAsyncClient minioAsyncClient() {
+        return new MultipartMinioAsyncClient(MinioAsyncClient.builder()
+                .endpoint(endpoint)
+                .credentials(accessKey, secretKey)
+                .build());
+    }
+}
@@ -0,0 +1,48 @@
+package vn.hoidanit.jobhunter.config;
+
+import java.util.concurrent.CompletableFuture;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Multimap;
+
+import io.minio.AbortMultipartUploadResponse;
+import io.minio.CreateMultipartUploadResponse;
+import io.minio.MinioAsyncClient;
+import io.minio.ObjectWriteResponse;
+import io.minio.UploadPartResponse;
+import io.minio.messages.Part;
+
+/**
+ * MinioAsyncClient mở các API multipart upload (protected trong SDK)
+ * để upload các part của 1 file song song
+ */
+public class MultipartMinioAsyncClient extends MinioAsyncClient {
+
+    public MultipartMinioAsyncClient(MinioAsyncClient client) {
+        super(client);
+    }
+
+    public CompletableFuture<CreateMultipartUploadResponse> createMultipartUpload(String bucket, String object,
+            String contentType) throws Exception {
+        Multimap<String, String> headers = HashMultimap.create();
+        if (contentType != null) {
+            headers.put("Content-Type", contentType);
+        }
+        return super.createMultipartUploadAsync(bucket, null, object, headers, null);
+    }
+
+    public CompletableFuture<UploadPartResponse> uploadPart(String bucket, String object, String uploadId,
+            int partNumber, byte[] data) throws Exception {
+        return super.uploadPartAsync(bucket, null, object, data, data.length, uploadId, partNumber, null, null);
+    }
+
+    public CompletableFuture<ObjectWriteResponse> completeMultipartUpload(String bucket, String object,
+            String uploadId, Part[] parts) throws Exception {
+        return super.completeMultipartUploadAsync(bucket, null, object, uploadId, parts, null, null);
+    }
+
+    public CompletableFuture<AbortMultipartUploadResponse> abortMultipartUpload(String bucket, String object,
+            String uploadId) throws Exception {
+        return super.abortMultipartUploadAsync(bucket, null, object, uploadId, null, null);
+    }
+}
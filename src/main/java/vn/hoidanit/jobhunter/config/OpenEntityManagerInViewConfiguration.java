@@ -0,0 +1,86 @@
+package vn.hoidanit.jobhunter.config;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.ui.ModelMap;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Open-session-in-view có chọn lọc
+ * Các endpoint GET đã trả DTO đầy đủ từ service (không lazy load khi serialize) được loại khỏi
+ * open-in-view -> connection DB được trả lại pool ngay khi transaction của service kết thúc
+ *
+ * Khai báo bean OpenEntityManagerInViewInterceptor -> Spring Boot không tự đăng ký interceptor mặc định nữa
+ */
+@Configuration
+public class OpenEntityManagerInViewConfiguration implements WebMvcConfigurer {
+
+    @Value("${hoidanit.jpa.open-in-view.excluded-get-paths:/api/v1/jobs}")
+    private List<String> excludedGetPaths;
+
+    @Bean
+    public SelectiveOpenEntityManagerInViewInterceptor openEntityManagerInViewInterceptor() {
+        return new SelectiveOpenEntityManagerInViewInterceptor(this.excludedGetPaths);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addWebRequestInterceptor(openEntityManagerInViewInterceptor());
+    }
+
+    public static class SelectiveOpenEntityManagerInViewInterceptor extends OpenEntityManagerInViewInterceptor {
+        private final AntPathMatcher pathMatcher = new AntPathMatcher();
+        private final List<String> excludedGetPaths;
+
+        public SelectiveOpenEntityManagerInViewInterceptor(List<String> excludedGetPaths) {
+            this.excludedGetPaths = excludedGetPaths;
+        }
+
+        @Override
+        public void preHandle(WebRequest request) {
+            if (!this.isExcluded(request)) {
+                super.preHandle(request);
+            }
+        }
+
+        @Override
+        public void postHandle(WebRequest request, ModelMap model) {
+            if (!this.isExcluded(request)) {
+                super.postHandle(request, model);
+            }
+        }
+
+        @Override
+        public void afterCompletion(WebRequest request, Exception ex) {
+            if (!this.isExcluded(request)) {
+                super.afterCompletion(request, ex);
+            }
+        }
+
+        @Override
+        public void afterConcurrentHandlingStarted(WebRequest request) {
+            if (!this.isExcluded(request)) {
+                super.afterConcurrentHandlingStarted(request);
+            }
+        }
+
+        private boolean isExcluded(WebRequest request) {
+            HttpServletRequest servletRequest = ((NativeWebRequest) request).getNativeRequest(HttpServletRequest.class);
+            if (servletRequest == null || !"GET".equals(servletRequest.getMethod())) {
+                return false;
+            }
+            String path = servletRequest.getRequestURI().substring(servletRequest.getContextPath().length());
+            return this.excludedGetPaths.stream().anyMatch(pattern -> this.pathMatcher.match(pattern, path));
+        }
+    }
+}
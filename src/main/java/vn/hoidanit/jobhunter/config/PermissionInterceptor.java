@@ -1,8 +1,5 @@
 package vn.hoidanit.jobhunter.config;
 
-import java.util.List;
-
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.HandlerMapping;
 
@@ -10,10 +7,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import vn.hoidanit.jobhunter.domain.Permission;
-import vn.hoidanit.jobhunter.domain.Role;
-import vn.hoidanit.jobhunter.domain.User;
-import vn.hoidanit.jobhunter.service.UserService;
+import vn.hoidanit.jobhunter.service.PermissionMatrixService;
 import vn.hoidanit.jobhunter.util.SecurityUtil;
 import vn.hoidanit.jobhunter.util.error.PermissionException;
 
@@ -21,10 +15,9 @@ import vn.hoidanit.jobhunter.util.error.PermissionException;
 @Slf4j
 public class PermissionInterceptor implements HandlerInterceptor {
 
-    private final UserService userService;
+    private final PermissionMatrixService permissionMatrixService;
 
     @Override
-    @Transactional
     public boolean preHandle(
             HttpServletRequest request,
             HttpServletResponse response, Object handler)
@@ -38,23 +31,12 @@ public class PermissionInterceptor implements HandlerInterceptor {
         log.debug(">>> httpMethod= {}", httpMethod);
         log.debug(">>> requestURI= {}", requestURI);
 
-        // check permission
+        // check permission (tra cứu bảng phân quyền trong bộ nhớ, không query DB mỗi request)
         String email = SecurityUtil.getCurrentUserLogin().orElse("");
         if (!email.isEmpty()) {
-            User user = this.userService.handleGetUserByUsername(email);
-            if (user != null) {
-                Role role = user.getRole();
-                if (role != null) {
-                    List<Permission> permissions = role.getPermissions();
-                    boolean isAllow = permissions.stream().anyMatch(item -> item.getApiPath().equals(path)
-                            && item.getMethod().equals(httpMethod));
-
-                    if (!isAllow) {
-                        throw new PermissionException("Bạn không có quyền truy cập endpoint này.");
-                    }
-                } else {
-                    throw new PermissionException("Bạn không có quyền truy cập endpoint này.");
-                }
+            Boolean isAllow = this.permissionMatrixService.isAllowed(email, httpMethod, path);
+            if (isAllow != null && !isAllow) {
+                throw new PermissionException("Bạn không có quyền truy cập endpoint này.");
             }
         }
 
@@ -5,21 +5,22 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
-import vn.hoidanit.jobhunter.service.UserService;
+import vn.hoidanit.jobhunter.service.PermissionMatrixService;
 
 @Configuration
 public class PermissionInterceptorConfiguration implements WebMvcConfigurer { 
     private final RateLimitInterceptor rateLimitInterceptor;
-    private final UserService userService;
+    private final PermissionMatrixService permissionMatrixService;
 
-    public PermissionInterceptorConfiguration(RateLimitInterceptor rateLimitInterceptor, UserService userService) {
+    public PermissionInterceptorConfiguration(RateLimitInterceptor rateLimitInterceptor,
+            PermissionMatrixService permissionMatrixService) {
         this.rateLimitInterceptor = rateLimitInterceptor;
-        this.userService = userService;
+        this.permissionMatrixService = permissionMatrixService;
     }
 
     @Bean
     PermissionInterceptor getPermissionInterceptor() { 
-        return new PermissionInterceptor(userService);
+        return new PermissionInterceptor(permissionMatrixService);
     }
  
     @Override 
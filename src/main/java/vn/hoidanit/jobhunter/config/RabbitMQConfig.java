@@ -22,6 +22,10 @@ public class RabbitMQConfig {
     public static final String EMAIL_DLX = "email.dlx";
     public static final String EMAIL_DLQ_ROUTING_KEY = "email.dlq.routing.key";
 
+    // Batch consumer
+    public static final int EMAIL_BATCH_SIZE = 50;
+    public static final long EMAIL_BATCH_RECEIVE_TIMEOUT_MS = 1000L;
+
     /**
      * Dead Letter Exchange
      */
@@ -109,4 +113,27 @@ public class RabbitMQConfig {
         factory.setMaxConcurrentConsumers(10); // Max consumer
         return factory;
     }
+
+    /**
+     * Container Factory cho batch consumer của email queue
+     * Gom tối đa EMAIL_BATCH_SIZE message (hoặc chờ tối đa EMAIL_BATCH_RECEIVE_TIMEOUT_MS)
+     * để gửi trên cùng 1 kết nối SMTP, ack thủ công từng message
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory emailBatchListenerContainerFactory(
+            ConnectionFactory connectionFactory) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        factory.setConnectionFactory(connectionFactory);
+        factory.setMessageConverter(jsonMessageConverter());
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(EMAIL_BATCH_SIZE);
+        factory.setPrefetchCount(EMAIL_BATCH_SIZE);
+        factory.setReceiveTimeout(EMAIL_BATCH_RECEIVE_TIMEOUT_MS);
+        factory.setAcknowledgeMode(AcknowledgeMode.MANUAL); // Ack/nack từng message trong batch
+        factory.setDefaultRequeueRejected(false); // Không requeue, sẽ gửi vào DLQ
+        factory.setConcurrentConsumers(3);
+        factory.setMaxConcurrentConsumers(10);
+        return factory;
+    }
 }
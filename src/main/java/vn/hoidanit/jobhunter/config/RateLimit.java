@@ -5,6 +5,8 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+import vn.hoidanit.jobhunter.util.constant.RateLimitAlgorithmEnum;
+
 /**
  * Annotation để đánh dấu endpoint cần rate limiting
  *
@@ -22,6 +24,11 @@ public @interface RateLimit {
      */
     int duration() default 60;
 
+    /**
+     * Thuật toán rate limit (mặc định Fixed Window Counter)
+     */
+    RateLimitAlgorithmEnum algorithm() default RateLimitAlgorithmEnum.FIXED_WINDOW;
+
     /**
      * Key prefix cho Redis (mặc định sử dụng IP address)
      */
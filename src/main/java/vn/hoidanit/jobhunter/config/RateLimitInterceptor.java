@@ -40,24 +40,19 @@ public class RateLimitInterceptor implements HandlerInterceptor {
         String clientIp = getClientIP(request);
         String key = rateLimit.keyPrefix() + ":" + request.getRequestURI() + ":" + clientIp;
 
-        // Kiểm tra rate limit
-        boolean allowed = rateLimitService.allowRequest(key, rateLimit.limit(), rateLimit.duration());
+        // Kiểm tra rate limit (1 round trip duy nhất tới Redis)
+        RateLimitService.RateLimitResult result = rateLimitService.checkRequest(
+                key, rateLimit.limit(), rateLimit.duration(), rateLimit.algorithm());
 
-        if (!allowed) {
-            // Thêm headers thông tin rate limit
-            response.setHeader("X-RateLimit-Limit", String.valueOf(rateLimit.limit()));
-            response.setHeader("X-RateLimit-Remaining", "0");
-            response.setHeader("X-RateLimit-Reset", String.valueOf(rateLimitService.getTimeUntilReset(key)));
+        // Thêm headers thông tin rate limit
+        response.setHeader("X-RateLimit-Limit", String.valueOf(rateLimit.limit()));
+        response.setHeader("X-RateLimit-Remaining", String.valueOf(result.getRemaining()));
+        response.setHeader("X-RateLimit-Reset", String.valueOf(result.getResetInSeconds()));
 
+        if (!result.isAllowed()) {
             throw new RateLimitException(rateLimit.message());
         }
 
-        // Thêm headers thông tin rate limit
-        int remaining = rateLimitService.getRemainingRequests(key, rateLimit.limit());
-        response.setHeader("X-RateLimit-Limit", String.valueOf(rateLimit.limit()));
-        response.setHeader("X-RateLimit-Remaining", String.valueOf(remaining));
-        response.setHeader("X-RateLimit-Reset", String.valueOf(rateLimitService.getTimeUntilReset(key)));
-
         return true;
     }
 
@@ -7,8 +7,12 @@ import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import vn.hoidanit.jobhunter.service.TokenRevocationCache;
+
 @Configuration
 public class RedisConfig {
 
@@ -49,5 +53,16 @@ public class RedisConfig {
         template.afterPropertiesSet();
         return template;
     }
-}
 
+    /**
+     * Lắng nghe Redis pub/sub để đồng bộ near-cache token bị revoke giữa các instance
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+            TokenRevocationCache tokenRevocationCache) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(tokenRevocationCache, new ChannelTopic(TokenRevocationCache.REVOCATION_CHANNEL));
+        return container;
+    }
+}
@@ -9,7 +9,9 @@ import lombok.RequiredArgsConstructor;
 import vn.hoidanit.jobhunter.domain.Company;
 import vn.hoidanit.jobhunter.domain.response.ResultPaginationDTO;
 import vn.hoidanit.jobhunter.service.CompanyService;
+import vn.hoidanit.jobhunter.util.CursorPageRequest;
 import vn.hoidanit.jobhunter.util.annotation.ApiMessage;
+import vn.hoidanit.jobhunter.util.error.IdInvalidException;
 
 import java.util.Optional;
 
@@ -25,6 +27,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 @RestController
 @RequestMapping("/api/v1")
@@ -41,8 +44,14 @@ public class CompanyController {
 
     @GetMapping("/companies")
     @ApiMessage("Get all companies")
-    public ResponseEntity<ResultPaginationDTO> getCompany(@Filter Specification<Company> spec, Pageable pageable) {  
-        
+    public ResponseEntity<ResultPaginationDTO> getCompany(@Filter Specification<Company> spec, Pageable pageable,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "withTotal", defaultValue = "false") boolean withTotal) throws IdInvalidException {
+        if (cursor != null) {
+            return ResponseEntity.status(HttpStatus.OK).body(
+                    this.companyService.handleGetCompanyByCursor(spec, CursorPageRequest.of(pageable, cursor, withTotal,
+                            CompanyService.CURSOR_SORT_KEYS)));
+        }
         return ResponseEntity.status(HttpStatus.OK).body(this.companyService.handleGetCompany(spec, pageable));
     }
 
@@ -1,7 +1,7 @@
 package vn.hoidanit.jobhunter.controller;
 
-import java.io.InputStream;
 import java.time.Instant;
+import java.util.Optional;
 
 import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.Resource;
@@ -13,8 +13,12 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import vn.hoidanit.jobhunter.domain.dto.StorageFileDTO;
 import vn.hoidanit.jobhunter.domain.response.file.ResUploadFileDTO;
+import vn.hoidanit.jobhunter.service.FileStreamingService;
 import vn.hoidanit.jobhunter.service.StorageService;
 import vn.hoidanit.jobhunter.util.annotation.ApiMessage;
 import vn.hoidanit.jobhunter.util.error.StorageException;
@@ -26,6 +30,8 @@ import org.springframework.web.bind.annotation.PathVariable;
 public class FileController {
 
     private final StorageService storageService;
+    // Chỉ có khi storage.mode=local: trả file zero-copy, hỗ trợ Range/ETag/304
+    private final Optional<FileStreamingService> fileStreamingService;
 
     @PostMapping("/api/v1/files")
     @ApiMessage("Upload single file")
@@ -47,25 +53,26 @@ public class FileController {
     // Requires authentication - user must be logged in to download files
     public ResponseEntity<Resource> download(
             @RequestParam(name = "fileName", required = false) String fileName,
-            @RequestParam(name = "folder", required = false) String folder) throws Exception {
+            @RequestParam(name = "folder", required = false) String folder,
+            HttpServletRequest request, HttpServletResponse response) throws Exception {
 
         if (fileName == null || folder == null) {
             throw new StorageException("File name or folder is required");
         }
 
-        // check file exist
-        long fileLength = this.storageService.getFileSize(fileName, folder);
-        if (fileLength == 0) {
-            throw new StorageException("File with the name = " + fileName + " not found");
+        if (this.fileStreamingService.isPresent()) {
+            this.fileStreamingService.get().serve(fileName, folder, MediaType.APPLICATION_OCTET_STREAM, true,
+                    request, response);
+            return null;
         }
 
-        // download file
-        InputStream inputStream = this.storageService.downloadFile(fileName, folder);
-        InputStreamResource resource = new InputStreamResource(inputStream);
+        // download file (1 request tới storage: nội dung + kích thước)
+        StorageFileDTO storageFile = this.storageService.openFile(fileName, folder);
+        InputStreamResource resource = new InputStreamResource(storageFile.getContent());
 
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
-                .contentLength(fileLength)
+                .contentLength(storageFile.getSize())
                 .contentType(MediaType.APPLICATION_OCTET_STREAM)
                 .body(resource);
     }
@@ -80,23 +87,27 @@ public class FileController {
     @ApiMessage("Serve static file")
     public ResponseEntity<Resource> serveFile(
             @PathVariable String folder,
-            @PathVariable String fileName) throws Exception {
+            @PathVariable String fileName,
+            HttpServletRequest request, HttpServletResponse response) throws Exception {
 
-        // check file exist
-        long fileLength = this.storageService.getFileSize(fileName, folder);
-        if (fileLength == 0) {
-            throw new StorageException("File with the name = " + fileName + " not found");
+        if (this.fileStreamingService.isPresent()) {
+            this.fileStreamingService.get().serve(fileName, folder, MediaType.parseMediaType(getContentType(fileName)),
+                    false, request, response);
+            return null;
         }
 
-        // Get file stream
-        InputStream inputStream = this.storageService.downloadFile(fileName, folder);
-        InputStreamResource resource = new InputStreamResource(inputStream);
+        // Get file stream (1 request tới storage: nội dung + kích thước + content type)
+        StorageFileDTO storageFile = this.storageService.openFile(fileName, folder);
+        InputStreamResource resource = new InputStreamResource(storageFile.getContent());
 
-        // Determine content type based on file extension
+        // Determine content type based on file extension, fallback to content type from storage
         String contentType = getContentType(fileName);
+        if (MediaType.APPLICATION_OCTET_STREAM_VALUE.equals(contentType) && storageFile.getContentType() != null) {
+            contentType = storageFile.getContentType();
+        }
 
         return ResponseEntity.ok()
-                .contentLength(fileLength)
+                .contentLength(storageFile.getSize())
                 .contentType(MediaType.parseMediaType(contentType))
                 .body(resource);
     }
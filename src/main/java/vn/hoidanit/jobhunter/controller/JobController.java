@@ -14,6 +14,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.turkraft.springfilter.boot.Filter;
@@ -25,6 +26,7 @@ import vn.hoidanit.jobhunter.domain.response.ResultPaginationDTO;
 import vn.hoidanit.jobhunter.domain.response.job.ResCreateJobDTO;
 import vn.hoidanit.jobhunter.domain.response.job.ResUpdateJobDTO;
 import vn.hoidanit.jobhunter.service.JobService;
+import vn.hoidanit.jobhunter.util.CursorPageRequest;
 import vn.hoidanit.jobhunter.util.annotation.ApiMessage;
 import vn.hoidanit.jobhunter.util.error.IdInvalidException;
 
@@ -79,7 +81,15 @@ public class JobController {
 
     @GetMapping("/jobs")
     @ApiMessage("Get jobs with pagination")
-    public ResponseEntity<ResultPaginationDTO> getAllJob(@Filter Specification<Job> spec, Pageable pageable) {
+    public ResponseEntity<ResultPaginationDTO> getAllJob(@Filter Specification<Job> spec, Pageable pageable,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "withTotal", defaultValue = "false") boolean withTotal) throws IdInvalidException {
+        // Có tham số cursor (kể cả rỗng cho trang đầu): phân trang keyset
+        if (cursor != null) {
+            return ResponseEntity.ok()
+                    .body(this.jobService.fetchAllByCursor(spec, CursorPageRequest.of(pageable, cursor, withTotal,
+                            JobService.CURSOR_SORT_KEYS)));
+        }
         return ResponseEntity.ok().body(this.jobService.fetchAll(spec, pageable));
     }
 }
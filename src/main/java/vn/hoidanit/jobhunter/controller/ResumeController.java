@@ -16,6 +16,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.turkraft.springfilter.boot.Filter;
@@ -34,6 +35,7 @@ import vn.hoidanit.jobhunter.domain.response.resume.ResFetchResumeDTO;
 import vn.hoidanit.jobhunter.domain.response.resume.ResUpdateResumeDTO;
 import vn.hoidanit.jobhunter.service.ResumeService;
 import vn.hoidanit.jobhunter.service.UserService;
+import vn.hoidanit.jobhunter.util.CursorPageRequest;
 import vn.hoidanit.jobhunter.util.SecurityUtil;
 import vn.hoidanit.jobhunter.util.annotation.ApiMessage;
 import vn.hoidanit.jobhunter.util.error.IdInvalidException;
@@ -177,7 +179,9 @@ public class ResumeController {
     @Secured({"SUPER_ADMIN", "ROLE_ADMIN", "ROLE_HR"})
     public ResponseEntity<ResultPaginationDTO> fetchAll(
             @Filter Specification<Resume> spec,
-            Pageable pageable) {
+            Pageable pageable,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "withTotal", defaultValue = "false") boolean withTotal) throws IdInvalidException {
 
         List<Long> arrJobIds = null;
         String email = SecurityUtil.getCurrentUserLogin().isPresent() == true
@@ -200,12 +204,22 @@ public class ResumeController {
 
         Specification<Resume> finalSpec = jobInSpec.and(spec);
 
+        if (cursor != null) {
+            return ResponseEntity.ok().body(this.resumeService.fetchAllResumeByCursor(finalSpec,
+                    CursorPageRequest.of(pageable, cursor, withTotal, ResumeService.CURSOR_SORT_KEYS)));
+        }
         return ResponseEntity.ok().body(this.resumeService.fetchAllResume(finalSpec, pageable));
     }
 
     @PostMapping("/resumes/by-user")
     @ApiMessage("Get list resumes by user")
-    public ResponseEntity<ResultPaginationDTO> fetchResumeByUser(Pageable pageable) {
+    public ResponseEntity<ResultPaginationDTO> fetchResumeByUser(Pageable pageable,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "withTotal", defaultValue = "false") boolean withTotal) throws IdInvalidException {
+        if (cursor != null) {
+            return ResponseEntity.ok().body(this.resumeService.fetchAllResumeByUserByCursor(
+                    CursorPageRequest.of(pageable, cursor, withTotal, ResumeService.CURSOR_SORT_KEYS)));
+        }
 
         return ResponseEntity.ok().body(this.resumeService.fetchAllResumeByUser(pageable));
     }
@@ -14,6 +14,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
@@ -30,7 +31,8 @@ import vn.hoidanit.jobhunter.util.constant.LevelEnum;
 @Entity
 @Getter
 @Setter
-@Table(name = "jobs")
+// (created_at, id): phân trang keyset theo ngày tạo (CursorPageRequest)
+@Table(name = "jobs", indexes = @Index(name = "idx_jobs_created_at_id", columnList = "created_at, id"))
 public class Job {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
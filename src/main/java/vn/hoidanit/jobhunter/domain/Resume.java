@@ -8,6 +8,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
@@ -20,7 +21,8 @@ import vn.hoidanit.jobhunter.util.SecurityUtil;
 import vn.hoidanit.jobhunter.util.constant.ResumeStateEnum;
 
 @Entity
-@Table(name = "resumes")
+// (created_at, id): phân trang keyset theo ngày tạo (CursorPageRequest)
+@Table(name = "resumes", indexes = @Index(name = "idx_resumes_created_at_id", columnList = "created_at, id"))
 @Getter
 @Setter
 public class Resume {
@@ -0,0 +1,18 @@
+package vn.hoidanit.jobhunter.domain.dto;
+
+import java.io.InputStream;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * File đã mở từ storage: nội dung + metadata lấy cùng lúc (1 round trip)
+ */
+@Getter
+@AllArgsConstructor
+public class StorageFileDTO {
+    private InputStream content;
+    private long size;
+    // null nếu storage không lưu content type
+    private String contentType;
+}
@@ -1,5 +1,7 @@
 package vn.hoidanit.jobhunter.domain.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import lombok.Getter;
 import lombok.Setter;
 
@@ -11,10 +13,16 @@ public class ResultPaginationDTO {
 
     @Getter
     @Setter
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     public static class Meta {
-        private int page;
+        private Integer page;
         private int pageSize;
-        private int pages;
-        private long total;
+        private Integer pages;
+        // Chế độ cursor: chỉ có khi client gửi withTotal=true
+        private Long total;
+
+        // Chế độ cursor (keyset)
+        private Boolean hasNext;
+        private String nextCursor;
     }
 }
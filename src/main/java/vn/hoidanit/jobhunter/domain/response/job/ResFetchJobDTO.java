@@ -0,0 +1,54 @@
+package vn.hoidanit.jobhunter.domain.response.job;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import vn.hoidanit.jobhunter.util.constant.LevelEnum;
+
+/**
+ * Job trong danh sách (không kèm description - xem chi tiết qua GET /jobs/{id})
+ */
+@Getter
+@Setter
+public class ResFetchJobDTO {
+    private long id;
+    private String name;
+    private String location;
+    private double salary;
+    private int quantity;
+    private LevelEnum level;
+    private Instant startDate;
+    private Instant endDate;
+    private boolean active;
+    private Instant createdAt;
+    private Instant updatedAt;
+    private String createdBy;
+    private String updatedBy;
+
+    private CompanyJob company;
+    private List<SkillJob> skills = new ArrayList<>();
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class CompanyJob {
+        private long id;
+        private String name;
+        private String logo;
+    }
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class SkillJob {
+        private long id;
+        private String name;
+    }
+}
@@ -0,0 +1,29 @@
+package vn.hoidanit.jobhunter.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import vn.hoidanit.jobhunter.domain.Job;
+import vn.hoidanit.jobhunter.domain.response.job.ResFetchJobDTO;
+
+/**
+ * Query danh sách job dạng DTO projection (không load entity)
+ */
+public interface JobListingRepository {
+
+    /**
+     * 1 query lấy các cột của job + company (LEFT JOIN) cho 1 trang,
+     * query count chỉ chạy khi cần (không phải trang đầu/cuối chưa đầy)
+     * Skills được để trống, load batch riêng theo danh sách id
+     */
+    Page<ResFetchJobDTO> findJobList(Specification<Job> spec, Pageable pageable);
+
+    /**
+     * Giống findJobList nhưng không offset, không count (phân trang keyset)
+     */
+    List<ResFetchJobDTO> findJobList(Specification<Job> spec, Sort sort, int limit);
+}
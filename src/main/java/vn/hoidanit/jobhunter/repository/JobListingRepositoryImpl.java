@@ -0,0 +1,124 @@
+package vn.hoidanit.jobhunter.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import vn.hoidanit.jobhunter.domain.Company;
+import vn.hoidanit.jobhunter.domain.Job;
+import vn.hoidanit.jobhunter.domain.response.job.ResFetchJobDTO;
+import vn.hoidanit.jobhunter.util.constant.LevelEnum;
+
+public class JobListingRepositoryImpl implements JobListingRepository {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<ResFetchJobDTO> findJobList(Specification<Job> spec, Pageable pageable) {
+        int offset = pageable.isPaged() ? (int) pageable.getOffset() : 0;
+        Integer limit = pageable.isPaged() ? pageable.getPageSize() : null;
+        List<ResFetchJobDTO> content = this.query(spec, pageable.getSort(), offset, limit);
+        return PageableExecutionUtils.getPage(content, pageable, () -> this.count(spec));
+    }
+
+    @Override
+    public List<ResFetchJobDTO> findJobList(Specification<Job> spec, Sort sort, int limit) {
+        return this.query(spec, sort, 0, limit);
+    }
+
+    private List<ResFetchJobDTO> query(Specification<Job> spec, Sort sort, int offset, Integer limit) {
+        CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Job> root = query.from(Job.class);
+        Join<Job, Company> company = root.join("company", JoinType.LEFT);
+
+        query.multiselect(
+                root.get("id").alias("id"),
+                root.get("name").alias("name"),
+                root.get("location").alias("location"),
+                root.get("salary").alias("salary"),
+                root.get("quantity").alias("quantity"),
+                root.get("level").alias("level"),
+                root.get("startDate").alias("startDate"),
+                root.get("endDate").alias("endDate"),
+                root.get("active").alias("active"),
+                root.get("createdAt").alias("createdAt"),
+                root.get("updatedAt").alias("updatedAt"),
+                root.get("createdBy").alias("createdBy"),
+                root.get("updatedBy").alias("updatedBy"),
+                company.get("id").alias("companyId"),
+                company.get("name").alias("companyName"),
+                company.get("logo").alias("companyLogo"));
+
+        Predicate predicate = spec != null ? spec.toPredicate(root, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+
+        TypedQuery<Tuple> typedQuery = this.entityManager.createQuery(query);
+        typedQuery.setFirstResult(offset);
+        if (limit != null) {
+            typedQuery.setMaxResults(limit);
+        }
+        return typedQuery.getResultList().stream().map(this::toDTO).toList();
+    }
+
+    private long count(Specification<Job> spec) {
+        CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Job> root = query.from(Job.class);
+
+        Predicate predicate = spec != null ? spec.toPredicate(root, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(query.isDistinct() ? cb.countDistinct(root) : cb.count(root));
+        // Bỏ order by nếu specification có thêm vào
+        query.orderBy(List.of());
+
+        return this.entityManager.createQuery(query).getSingleResult();
+    }
+
+    private ResFetchJobDTO toDTO(Tuple tuple) {
+        ResFetchJobDTO dto = new ResFetchJobDTO();
+        dto.setId(tuple.get("id", Long.class));
+        dto.setName(tuple.get("name", String.class));
+        dto.setLocation(tuple.get("location", String.class));
+        dto.setSalary(tuple.get("salary", Double.class));
+        dto.setQuantity(tuple.get("quantity", Integer.class));
+        dto.setLevel(tuple.get("level", LevelEnum.class));
+        dto.setStartDate(tuple.get("startDate", Instant.class));
+        dto.setEndDate(tuple.get("endDate", Instant.class));
+        dto.setActive(tuple.get("active", Boolean.class));
+        dto.setCreatedAt(tuple.get("createdAt", Instant.class));
+        dto.setUpdatedAt(tuple.get("updatedAt", Instant.class));
+        dto.setCreatedBy(tuple.get("createdBy", String.class));
+        dto.setUpdatedBy(tuple.get("updatedBy", String.class));
+
+        Long companyId = tuple.get("companyId", Long.class);
+        if (companyId != null) {
+            dto.setCompany(new ResFetchJobDTO.CompanyJob(companyId,
+                    tuple.get("companyName", String.class), tuple.get("companyLogo", String.class)));
+        }
+        return dto;
+    }
+}
@@ -1,17 +1,36 @@
 package vn.hoidanit.jobhunter.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import vn.hoidanit.jobhunter.domain.Job;
 import vn.hoidanit.jobhunter.domain.Skill;
 
 @Repository
-public interface JobRepository extends JpaRepository<Job, Long>, JpaSpecificationExecutor<Job> {
+public interface JobRepository extends JpaRepository<Job, Long>, JpaSpecificationExecutor<Job>,
+        JobListingRepository {
     Optional<Job> findById(long id);
     List<Job> findBySkillsIn(List<Skill> skills);
+
+    @Query("SELECT DISTINCT j FROM Job j JOIN FETCH j.skills LEFT JOIN FETCH j.company")
+    List<Job> findAllWithSkillsAndCompany();
+
+    // Skills của 1 trang job trong 1 query (thay cho lazy load từng job)
+    @Query("SELECT j.id AS jobId, s.id AS skillId, s.name AS skillName FROM Job j JOIN j.skills s WHERE j.id IN :jobIds")
+    List<JobSkillView> findSkillsByJobIds(@Param("jobIds") Collection<Long> jobIds);
+
+    interface JobSkillView {
+        long getJobId();
+
+        long getSkillId();
+
+        String getSkillName();
+    }
 }
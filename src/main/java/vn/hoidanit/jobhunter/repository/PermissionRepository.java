@@ -12,4 +12,5 @@ import vn.hoidanit.jobhunter.domain.Permission;
 public interface PermissionRepository extends JpaRepository<Permission, Long>, JpaSpecificationExecutor<Permission> {
     boolean existsByModuleAndApiPathAndMethod(String module, String apiPath, String method);
     List<Permission> findByIdIn(List<Long> ids);
+    List<Permission> findByRolesId(long roleId);
 }
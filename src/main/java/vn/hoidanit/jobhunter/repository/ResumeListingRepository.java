@@ -0,0 +1,28 @@
+package vn.hoidanit.jobhunter.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import vn.hoidanit.jobhunter.domain.Resume;
+import vn.hoidanit.jobhunter.domain.response.resume.ResFetchResumeDTO;
+
+/**
+ * Read-model cho danh sách resume: projection (không load entity), không N+1
+ */
+public interface ResumeListingRepository {
+
+    /**
+     * 1 query lấy id của trang + 1 query projection resume + job + company + user (LEFT JOIN)
+     * theo các id đó, query count chỉ chạy khi cần
+     */
+    Page<ResFetchResumeDTO> findResumeList(Specification<Resume> spec, Pageable pageable);
+
+    /**
+     * Giống findResumeList nhưng không offset, không count (phân trang keyset)
+     */
+    List<ResFetchResumeDTO> findResumeList(Specification<Resume> spec, Sort sort, int limit);
+}
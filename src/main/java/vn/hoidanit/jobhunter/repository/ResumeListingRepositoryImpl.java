@@ -0,0 +1,155 @@
+package vn.hoidanit.jobhunter.repository;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import vn.hoidanit.jobhunter.domain.Company;
+import vn.hoidanit.jobhunter.domain.Job;
+import vn.hoidanit.jobhunter.domain.Resume;
+import vn.hoidanit.jobhunter.domain.User;
+import vn.hoidanit.jobhunter.domain.response.resume.ResFetchResumeDTO;
+import vn.hoidanit.jobhunter.util.constant.ResumeStateEnum;
+
+public class ResumeListingRepositoryImpl implements ResumeListingRepository {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<ResFetchResumeDTO> findResumeList(Specification<Resume> spec, Pageable pageable) {
+        int offset = pageable.isPaged() ? (int) pageable.getOffset() : 0;
+        Integer limit = pageable.isPaged() ? pageable.getPageSize() : null;
+        List<ResFetchResumeDTO> content = this.findResumeList(spec, pageable.getSort(), offset, limit);
+        return PageableExecutionUtils.getPage(content, pageable, () -> this.count(spec));
+    }
+
+    @Override
+    public List<ResFetchResumeDTO> findResumeList(Specification<Resume> spec, Sort sort, int limit) {
+        return this.findResumeList(spec, sort, 0, limit);
+    }
+
+    private List<ResFetchResumeDTO> findResumeList(Specification<Resume> spec, Sort sort, int offset, Integer limit) {
+        List<Long> ids = this.findPageIds(spec, sort, offset, limit);
+        return ids.isEmpty() ? List.of() : this.findByIds(ids);
+    }
+
+    /**
+     * Query hẹp chỉ lấy id của trang (filter + sort + offset trên bảng resumes),
+     * tránh join job/company/user cho cả những dòng bị bỏ qua bởi offset
+     */
+    private List<Long> findPageIds(Specification<Resume> spec, Sort sort, int offset, Integer limit) {
+        CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Resume> root = query.from(Resume.class);
+        query.select(root.get("id"));
+
+        Predicate predicate = spec != null ? spec.toPredicate(root, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+
+        TypedQuery<Long> typedQuery = this.entityManager.createQuery(query);
+        typedQuery.setFirstResult(offset);
+        if (limit != null) {
+            typedQuery.setMaxResults(limit);
+        }
+        return typedQuery.getResultList();
+    }
+
+    /**
+     * 1 query projection lấy các cột của resume + job + company + user (LEFT JOIN) theo id,
+     * giữ nguyên thứ tự của trang
+     */
+    private List<ResFetchResumeDTO> findByIds(List<Long> ids) {
+        CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Resume> root = query.from(Resume.class);
+        Join<Resume, Job> job = root.join("job", JoinType.LEFT);
+        Join<Job, Company> company = job.join("company", JoinType.LEFT);
+        Join<Resume, User> user = root.join("user", JoinType.LEFT);
+
+        query.multiselect(
+                root.get("id").alias("id"),
+                root.get("email").alias("email"),
+                root.get("url").alias("url"),
+                root.get("status").alias("status"),
+                root.get("createdAt").alias("createdAt"),
+                root.get("updatedAt").alias("updatedAt"),
+                root.get("createdBy").alias("createdBy"),
+                root.get("updatedBy").alias("updatedBy"),
+                job.get("id").alias("jobId"),
+                job.get("name").alias("jobName"),
+                company.get("name").alias("companyName"),
+                user.get("id").alias("userId"),
+                user.get("name").alias("userName"));
+        query.where(root.get("id").in(ids));
+
+        Map<Long, ResFetchResumeDTO> byId = new HashMap<>();
+        for (Tuple tuple : this.entityManager.createQuery(query).getResultList()) {
+            ResFetchResumeDTO dto = this.toDTO(tuple);
+            byId.put(dto.getId(), dto);
+        }
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    private long count(Specification<Resume> spec) {
+        CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Resume> root = query.from(Resume.class);
+
+        Predicate predicate = spec != null ? spec.toPredicate(root, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(query.isDistinct() ? cb.countDistinct(root) : cb.count(root));
+        // Bỏ order by nếu specification có thêm vào
+        query.orderBy(List.of());
+
+        return this.entityManager.createQuery(query).getSingleResult();
+    }
+
+    private ResFetchResumeDTO toDTO(Tuple tuple) {
+        ResFetchResumeDTO dto = new ResFetchResumeDTO();
+        dto.setId(tuple.get("id", Long.class));
+        dto.setEmail(tuple.get("email", String.class));
+        dto.setUrl(tuple.get("url", String.class));
+        dto.setStatus(tuple.get("status", ResumeStateEnum.class));
+        dto.setCreatedAt(tuple.get("createdAt", Instant.class));
+        dto.setUpdatedAt(tuple.get("updatedAt", Instant.class));
+        dto.setCreatedBy(tuple.get("createdBy", String.class));
+        dto.setUpdatedBy(tuple.get("updatedBy", String.class));
+        dto.setCompanyName(tuple.get("companyName", String.class));
+
+        Long jobId = tuple.get("jobId", Long.class);
+        if (jobId != null) {
+            dto.setJob(new ResFetchResumeDTO.JobResume(jobId, tuple.get("jobName", String.class)));
+        }
+        Long userId = tuple.get("userId", Long.class);
+        if (userId != null) {
+            dto.setUser(new ResFetchResumeDTO.UserResume(userId, tuple.get("userName", String.class)));
+        }
+        return dto;
+    }
+}
@@ -1,7 +1,13 @@
 package vn.hoidanit.jobhunter.repository;
 
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import vn.hoidanit.jobhunter.domain.Subscriber;
@@ -10,4 +16,24 @@ import vn.hoidanit.jobhunter.domain.Subscriber;
 public interface SubscriberRepository extends JpaRepository<Subscriber, Long>, JpaSpecificationExecutor<Subscriber>{
     boolean existsByEmail(String email);
     Subscriber findByEmail(String email);
+
+    // Keyset pagination: chỉ lấy các cột cần thiết, không load entity vào persistence context
+    List<SubscriberDigestView> findByIdGreaterThanOrderByIdAsc(long lastId, Pageable pageable);
+
+    @Query("SELECT s.id AS subscriberId, sk.id AS skillId FROM Subscriber s JOIN s.skills sk WHERE s.id IN :ids")
+    List<SubscriberSkillView> findSkillIdsBySubscriberIds(@Param("ids") Collection<Long> ids);
+
+    interface SubscriberDigestView {
+        long getId();
+
+        String getEmail();
+
+        String getName();
+    }
+
+    interface SubscriberSkillView {
+        long getSubscriberId();
+
+        long getSkillId();
+    }
 }
@@ -2,6 +2,8 @@ package vn.hoidanit.jobhunter.service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -14,10 +16,14 @@ import vn.hoidanit.jobhunter.domain.User;
 import vn.hoidanit.jobhunter.domain.response.ResultPaginationDTO;
 import vn.hoidanit.jobhunter.repository.CompanyRepository;
 import vn.hoidanit.jobhunter.repository.UserRepository;
+import vn.hoidanit.jobhunter.util.CursorPageRequest;
 
 @Service
 @RequiredArgsConstructor
 public class CompanyService {
+    // Thuộc tính được dùng làm khóa cursor
+    public static final Set<String> CURSOR_SORT_KEYS = Set.of("id", "name", "createdAt", "updatedAt");
+
     private final CompanyRepository companyRepository;
     private final UserRepository userRepository;
 
@@ -44,6 +50,15 @@ public class CompanyService {
         return rs;
     }
 
+    /**
+     * Danh sách company phân trang keyset, không OFFSET, chỉ COUNT khi client gửi withTotal=true
+     */
+    public ResultPaginationDTO handleGetCompanyByCursor(Specification<Company> spec, CursorPageRequest page) {
+        List<Company> companies = this.companyRepository.findBy(page.toSpecification(spec),
+                q -> q.sortBy(page.getSort()).limit(page.getLimit()).all());
+        return page.toResultPagination(companies, Function.identity(), () -> this.companyRepository.count(spec));
+    }
+
     public Company handleUpdateCompany(Company c) {
         Optional<Company> companyOptional = this.companyRepository.findById(c.getId());
         if(companyOptional.isPresent()) {
@@ -1,9 +1,18 @@
 package vn.hoidanit.jobhunter.service;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
-import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.stereotype.Service;
 
+import com.rabbitmq.client.Channel;
+
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import vn.hoidanit.jobhunter.config.RabbitMQConfig;
@@ -15,42 +24,77 @@ import vn.hoidanit.jobhunter.domain.dto.EmailDTO;
 public class EmailConsumerService {
     private final EmailService emailService;
     private final EmailProducerService emailProducerService;
+    private final MessageConverter messageConverter;
     private static final int MAX_RETRY_COUNT = 3;
 
     /**
-     * Consumer chính - xử lý email từ queue
+     * Consumer chính - nhận email từ queue theo batch (tối đa RabbitMQConfig.EMAIL_BATCH_SIZE message)
+     * Cả batch được gửi trên cùng 1 kết nối SMTP, sau đó ack/nack từng message:
+     * - Gửi thành công -> ack
+     * - Thất bại, chưa quá MAX_RETRY_COUNT -> publish lại với retry-count + 1, ack message cũ
+     * - Thất bại quá MAX_RETRY_COUNT (hoặc message lỗi format) -> nack không requeue, chuyển vào DLQ
      */
-    @RabbitListener(queues = RabbitMQConfig.EMAIL_QUEUE)
-    public void consumeEmailMessage(EmailDTO emailDTO,
-                                   @Header(value = "retry-count", defaultValue = "0") int retryCount) {
-        try {
-            log.info("Processing email message for recipient: {}, retry count: {}",
-                    emailDTO.getTo(), retryCount);
+    @RabbitListener(queues = RabbitMQConfig.EMAIL_QUEUE, containerFactory = "emailBatchListenerContainerFactory")
+    public void consumeEmailBatch(List<Message> messages, Channel channel) throws IOException {
+        List<Message> accepted = new ArrayList<>();
+        List<EmailDTO> emails = new ArrayList<>();
+        for (Message message : messages) {
+            try {
+                emails.add((EmailDTO) messageConverter.fromMessage(message));
+                accepted.add(message);
+            } catch (Exception e) {
+                log.error("Invalid email message, sending to DLQ: {}", e.getMessage());
+                channel.basicNack(message.getMessageProperties().getDeliveryTag(), false, false);
+            }
+        }
+        if (emails.isEmpty()) {
+            return;
+        }
 
-            // Gửi email thực tế
-            emailService.sendEmailFromTemplateSync(
-                emailDTO.getTo(),
-                emailDTO.getSubject(),
-                emailDTO.getTemplateName(),
-                emailDTO.getUsername(),
-                emailDTO.getValue()
-            );
+        log.info("Processing email batch of {} messages", emails.size());
+        Map<Integer, Exception> failures;
+        try {
+            failures = emailService.sendEmailsFromTemplateBatch(emails);
+        } catch (Exception e) {
+            // Lỗi không xác định -> coi như cả batch thất bại
+            failures = new HashMap<>();
+            for (int i = 0; i < emails.size(); i++) {
+                failures.put(i, e);
+            }
+        }
 
-            log.info("Email sent successfully to: {}", emailDTO.getTo());
+        for (int i = 0; i < emails.size(); i++) {
+            EmailDTO emailDTO = emails.get(i);
+            long deliveryTag = accepted.get(i).getMessageProperties().getDeliveryTag();
+            Exception error = failures.get(i);
+            if (error == null) {
+                channel.basicAck(deliveryTag, false);
+                continue;
+            }
 
-        } catch (Exception e) {
-            log.error("Failed to send email to: {}, error: {}", emailDTO.getTo(), e.getMessage());
+            int retryCount = retryCount(accepted.get(i));
+            log.error("Failed to send email to: {}, error: {}", emailDTO.getTo(), error.getMessage());
 
             // Retry logic
             if (retryCount < MAX_RETRY_COUNT) {
                 log.warn("Retrying email send, attempt: {}/{}", retryCount + 1, MAX_RETRY_COUNT);
                 emailProducerService.sendEmailToQueue(emailDTO, retryCount + 1);
+                channel.basicAck(deliveryTag, false);
             } else {
                 log.error("Max retry attempts reached for email to: {}. Message will be sent to DLQ",
-                         emailDTO.getTo());
-                throw new RuntimeException("Max retry attempts reached", e);
+                        emailDTO.getTo());
+                channel.basicNack(deliveryTag, false, false);
             }
         }
+        log.info("Email batch done: {} sent, {} failed", emails.size() - failures.size(), failures.size());
+    }
+
+    private static int retryCount(Message message) {
+        Object header = message.getMessageProperties().getHeader("retry-count");
+        if (header instanceof Number number) {
+            return number.intValue();
+        }
+        return header != null ? Integer.parseInt(header.toString()) : 0;
     }
 
     /**
@@ -1,5 +1,12 @@
 package vn.hoidanit.jobhunter.service;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.amqp.rabbit.connection.CorrelationData;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Service;
 
@@ -12,6 +19,8 @@ import vn.hoidanit.jobhunter.domain.dto.EmailDTO;
 @Slf4j
 @RequiredArgsConstructor
 public class EmailProducerService {
+    private static final long CONFIRM_TIMEOUT_MS = 30_000;
+
     private final RabbitTemplate rabbitTemplate;
 
 
@@ -54,4 +63,59 @@ public class EmailProducerService {
             log.error("Failed to send email message to queue: {}", e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Gửi một batch email message rồi chờ publisher confirm của từng message
+     * (cần spring.rabbitmq.publisher-confirm-type=correlated, mỗi message có CorrelationData riêng)
+     * Chờ chung tối đa CONFIRM_TIMEOUT_MS cho cả batch, không ném exception
+     *
+     * @return các email broker chưa confirm (gửi lỗi, bị nack hoặc quá thời gian chờ), theo thứ tự ban đầu
+     */
+    public List<EmailDTO> sendEmailBatchToQueue(List<EmailDTO> emails) {
+        if (emails.isEmpty()) {
+            return List.of();
+        }
+        List<CorrelationData> correlations = new ArrayList<>(emails.size());
+        for (EmailDTO emailDTO : emails) {
+            CorrelationData correlation = new CorrelationData();
+            try {
+                rabbitTemplate.convertAndSend(
+                        RabbitMQConfig.EMAIL_EXCHANGE,
+                        RabbitMQConfig.EMAIL_ROUTING_KEY,
+                        emailDTO,
+                        correlation);
+            } catch (RuntimeException e) {
+                log.warn("Failed to publish email message for recipient {}: {}", emailDTO.getTo(), e.getMessage());
+                correlation = null;
+            }
+            correlations.add(correlation);
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(CONFIRM_TIMEOUT_MS);
+        List<EmailDTO> unconfirmed = new ArrayList<>();
+        for (int i = 0; i < emails.size(); i++) {
+            if (correlations.get(i) == null || !isConfirmed(correlations.get(i), deadline)) {
+                unconfirmed.add(emails.get(i));
+            }
+        }
+        log.debug("Email batch: {} of {} messages confirmed by broker", emails.size() - unconfirmed.size(),
+                emails.size());
+        return unconfirmed;
+    }
+
+    private static boolean isConfirmed(CorrelationData correlation, long deadlineNanos) {
+        try {
+            CorrelationData.Confirm confirm = correlation.getFuture()
+                    .get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+            if (!confirm.isAck()) {
+                log.warn("Email message {} nacked by broker: {}", correlation.getId(), confirm.getReason());
+            }
+            return confirm.isAck();
+        } catch (TimeoutException | ExecutionException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package vn.hoidanit.jobhunter.service;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.springframework.mail.MailException;
 import org.springframework.mail.javamail.JavaMailSender;
@@ -13,6 +17,7 @@ import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import vn.hoidanit.jobhunter.domain.dto.EmailDTO;
 
 @Service
 @RequiredArgsConstructor
@@ -20,32 +25,68 @@ import lombok.extern.slf4j.Slf4j;
 public class EmailService {
     private final JavaMailSender javaMailSender;
     private final SpringTemplateEngine templateEngine;
+    private final SmtpTransportPool smtpTransportPool;
 
     public void sendEmailSync(String to, String subject, String content, boolean isMultipart, boolean isHtml) {
-        // Prepare message using a Spring helper
-        MimeMessage mimeMessage = this.javaMailSender.createMimeMessage();
         try {
-            MimeMessageHelper message = new MimeMessageHelper(mimeMessage, isMultipart, StandardCharsets.UTF_8.name());
-            message.setTo(to);
-            message.setSubject(subject);
-            message.setText(content, isHtml);
-            this.javaMailSender.send(mimeMessage);
+            this.javaMailSender.send(this.createMimeMessage(to, subject, content, isMultipart, isHtml));
         } catch (MailException | MessagingException e) {
             log.error(">>> ERROR SEND EMAIL: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to send email", e);
         }
     }
 
+    private MimeMessage createMimeMessage(String to, String subject, String content, boolean isMultipart,
+            boolean isHtml) throws MessagingException {
+        // Prepare message using a Spring helper
+        MimeMessage mimeMessage = this.javaMailSender.createMimeMessage();
+        MimeMessageHelper message = new MimeMessageHelper(mimeMessage, isMultipart, StandardCharsets.UTF_8.name());
+        message.setTo(to);
+        message.setSubject(subject);
+        message.setText(content, isHtml);
+        return mimeMessage;
+    }
+
+    private String renderTemplate(String templateName, String username, Object value) {
+        Context context = new Context();
+        context.setVariable("name", username);
+        context.setVariable("jobs", value);
+        return this.templateEngine.process(templateName, context);
+    }
+
+    /**
+     * Gửi 1 batch email từ template trên cùng 1 session SMTP (dùng lại kết nối trong pool)
+     * Được gọi bởi batch consumer của RabbitMQ
+     *
+     * @return map index -> lỗi cho các email gửi thất bại (rỗng nếu gửi thành công hết)
+     */
+    public Map<Integer, Exception> sendEmailsFromTemplateBatch(List<EmailDTO> emails) {
+        Map<Integer, Exception> failures = new HashMap<>();
+        List<MimeMessage> messages = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+
+        for (int i = 0; i < emails.size(); i++) {
+            EmailDTO email = emails.get(i);
+            try {
+                String content = this.renderTemplate(email.getTemplateName(), email.getUsername(), email.getValue());
+                messages.add(this.createMimeMessage(email.getTo(), email.getSubject(), content, false, true));
+                positions.add(i);
+            } catch (Exception e) {
+                failures.put(i, e);
+            }
+        }
+
+        this.smtpTransportPool.sendAll(messages)
+                .forEach((index, e) -> failures.put(positions.get(index), e));
+        return failures;
+    }
+
     /**
      * Gửi email từ template - được gọi bởi Consumer
      * Method này sẽ được gọi từ RabbitMQ consumer
      */
     public void sendEmailFromTemplateSync(String to, String subject, String templateName, String username, Object value) {
-        Context context = new Context();
-        context.setVariable("name", username);
-        context.setVariable("jobs", value);
-
-        String content = this.templateEngine.process(templateName, context);
+        String content = this.renderTemplate(templateName, username, value);
         this.sendEmailSync(to, subject, content, false, true);
     }
 }
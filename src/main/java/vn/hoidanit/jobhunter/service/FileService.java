@@ -107,6 +107,19 @@ public class FileService implements StorageService {
         return resource.getInputStream();
     }
 
+    /**
+     * Đường dẫn tuyệt đối của file trong thư mục upload
+     * Chặn path traversal (fileName/folder chứa "..")
+     */
+    public Path resolvePath(String fileName, String folder) throws URISyntaxException, StorageException {
+        Path root = Paths.get(new URI(baseURI)).normalize();
+        Path path = Paths.get(new URI(baseURI + folder + "/" + fileName)).normalize();
+        if (!path.startsWith(root)) {
+            throw new StorageException("Invalid file path");
+        }
+        return path;
+    }
+
     public InputStreamResource getResource(String fileName, String folder) throws URISyntaxException, FileNotFoundException {
         URI uri = new URI(baseURI + folder + "/" + fileName);
         Path path = Paths.get(uri);
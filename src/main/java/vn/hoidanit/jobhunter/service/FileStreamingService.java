@@ -0,0 +1,234 @@
+package vn.hoidanit.jobhunter.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.support.ResourceRegion;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import vn.hoidanit.jobhunter.util.error.StorageException;
+
+/**
+ * Trả file từ local storage trực tiếp ra response
+ * - Zero copy bằng sendfile của Tomcat (file/range đơn >= 48KB, connector NIO/NIO2 với useSendfile mặc định,
+ *   response không bị nén): Tomcat gửi thẳng từ page cache ra socket, dữ liệu không đi qua JVM.
+ *   Các trường hợp còn lại (file nhỏ, multipart range, connector không hỗ trợ) copy qua 1 buffer 64KB:
+ *   Servlet API chỉ cho OutputStream nên FileChannel.transferTo cũng không thể zero copy ở đây
+ * - Hỗ trợ HTTP Range (1 hoặc nhiều range -> 206, multipart/byteranges), If-Range
+ * - Strong ETag + Last-Modified, trả 304 khi client đã có file
+ * - File upload có tên dạng "{timestamp}-{tên gốc}" không bao giờ thay đổi -> cache lâu dài (immutable)
+ */
+@Service
+@ConditionalOnProperty(name = "storage.mode", havingValue = "local", matchIfMissing = true)
+@RequiredArgsConstructor
+public class FileStreamingService {
+    // Request attribute của Tomcat (org.apache.catalina.Globals) cho sendfile
+    private static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+    // File nhỏ hơn ngưỡng này copy qua buffer còn nhanh hơn (giống sendfileSize mặc định của Tomcat)
+    private static final long SENDFILE_MIN_SIZE = 48 * 1024;
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private static final Pattern IMMUTABLE_FILE_NAME = Pattern.compile("^\\d{13}-.+");
+
+    private final FileService fileService;
+
+    /**
+     * Ghi file ra response (hoặc 304/206/416 tùy request)
+     *
+     * @param contentType Content-Type của file
+     * @param attachment  true: tải về (Content-Disposition: attachment), false: hiển thị inline
+     */
+    public void serve(String fileName, String folder, MediaType contentType, boolean attachment,
+            HttpServletRequest request, HttpServletResponse response) throws Exception {
+        Path path = this.fileService.resolvePath(fileName, folder);
+        if (!Files.isRegularFile(path)) {
+            throw new StorageException("File with the name = " + fileName + " not found");
+        }
+
+        long length = Files.size(path);
+        long lastModified = Files.getLastModifiedTime(path).toMillis();
+        String etag = etag(folder, fileName, length);
+
+        // Endpoint download cần đăng nhập -> chỉ cho browser cache, không cho proxy cache
+        CacheControl cacheControl = IMMUTABLE_FILE_NAME.matcher(fileName).matches()
+                ? CacheControl.maxAge(365, TimeUnit.DAYS).immutable()
+                : CacheControl.noCache();
+        cacheControl = attachment ? cacheControl.cachePrivate() : cacheControl.cachePublic();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        // Set ETag + Last-Modified, trả 304 nếu If-None-Match / If-Modified-Since khớp
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+
+        if (attachment) {
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                    ContentDisposition.attachment().filename(fileName, StandardCharsets.UTF_8).build().toString());
+        }
+
+        List<ResourceRegion> regions = List.of();
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && isIfRangeSatisfied(request, etag, lastModified)) {
+            try {
+                regions = HttpRange.toResourceRegions(HttpRange.parseRanges(rangeHeader), new FileSystemResource(path));
+            } catch (IllegalArgumentException e) {
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return;
+            }
+        }
+
+        boolean head = "HEAD".equals(request.getMethod());
+        if (regions.isEmpty()) {
+            response.setContentType(contentType.toString());
+            response.setContentLengthLong(length);
+            if (!head) {
+                this.transfer(path, 0, length, request, response);
+            }
+        } else if (regions.size() == 1) {
+            ResourceRegion region = regions.get(0);
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setContentType(contentType.toString());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, contentRange(region, length));
+            response.setContentLengthLong(region.getCount());
+            if (!head) {
+                this.transfer(path, region.getPosition(), region.getCount(), request, response);
+            }
+        } else {
+            this.writeMultipartRanges(path, regions, length, contentType, head, response);
+        }
+    }
+
+    /**
+     * If-Range: chỉ trả từng phần nếu client đang giữ đúng phiên bản file hiện tại
+     */
+    private boolean isIfRangeSatisfied(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private void writeMultipartRanges(Path path, List<ResourceRegion> regions, long length, MediaType contentType,
+            boolean head, HttpServletResponse response) throws IOException {
+        String boundary = new String(MimeTypeUtils.generateMultipartBoundary(), StandardCharsets.US_ASCII);
+        List<byte[]> partHeaders = new ArrayList<>();
+        long contentLength = 0;
+        for (ResourceRegion region : regions) {
+            byte[] partHeader = ("\r\n--" + boundary + "\r\n"
+                    + HttpHeaders.CONTENT_TYPE + ": " + contentType + "\r\n"
+                    + HttpHeaders.CONTENT_RANGE + ": " + contentRange(region, length) + "\r\n\r\n")
+                    .getBytes(StandardCharsets.US_ASCII);
+            partHeaders.add(partHeader);
+            contentLength += partHeader.length + region.getCount();
+        }
+        byte[] end = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+        contentLength += end.length;
+
+        response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+        response.setContentType("multipart/byteranges; boundary=" + boundary);
+        response.setContentLengthLong(contentLength);
+        if (head) {
+            return;
+        }
+
+        OutputStream out = response.getOutputStream();
+        ByteBuffer buffer = ByteBuffer.allocate(COPY_BUFFER_SIZE);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            for (int i = 0; i < regions.size(); i++) {
+                out.write(partHeaders.get(i));
+                copy(channel, regions.get(i).getPosition(), regions.get(i).getCount(), buffer, out);
+            }
+        }
+        out.write(end);
+        out.flush();
+    }
+
+    private void transfer(Path path, long position, long count, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        if (count >= SENDFILE_MIN_SIZE && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTR))) {
+            // Tomcat tự gửi file bằng sendfile() sau khi request kết thúc, dữ liệu không đi qua JVM heap
+            request.setAttribute(SENDFILE_FILENAME_ATTR, path.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START_ATTR, position);
+            request.setAttribute(SENDFILE_END_ATTR, position + count);
+            return;
+        }
+        // Không có sendfile: copy qua buffer (đọc theo vị trí, không map/không đọc cả file vào heap)
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(COPY_BUFFER_SIZE, Math.max(count, 1)));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            copy(channel, position, count, buffer, response.getOutputStream());
+        }
+        response.flushBuffer();
+    }
+
+    private static void copy(FileChannel channel, long position, long count, ByteBuffer buffer, OutputStream out)
+            throws IOException {
+        long remaining = count;
+        long offset = position;
+        while (remaining > 0) {
+            buffer.clear().limit((int) Math.min(buffer.capacity(), remaining));
+            int n = channel.read(buffer, offset);
+            if (n < 0) {
+                break;
+            }
+            out.write(buffer.array(), 0, n);
+            offset += n;
+            remaining -= n;
+        }
+    }
+
+    private static String contentRange(ResourceRegion region, long length) {
+        return "bytes " + region.getPosition() + "-" + (region.getPosition() + region.getCount() - 1) + "/" + length;
+    }
+
+    /**
+     * Strong ETag tính từ tên file (đã chứa timestamp lúc upload) và kích thước file
+     */
+    static String etag(String folder, String fileName, long length) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest((folder + "/" + fileName).getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 12) + "-" + Long.toHexString(length) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
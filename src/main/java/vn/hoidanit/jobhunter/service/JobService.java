@@ -1,13 +1,19 @@
 package vn.hoidanit.jobhunter.service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import lombok.RequiredArgsConstructor;
 import vn.hoidanit.jobhunter.domain.Company;
@@ -15,18 +21,28 @@ import vn.hoidanit.jobhunter.domain.Job;
 import vn.hoidanit.jobhunter.domain.Skill;
 import vn.hoidanit.jobhunter.domain.response.ResultPaginationDTO;
 import vn.hoidanit.jobhunter.domain.response.job.ResCreateJobDTO;
+import vn.hoidanit.jobhunter.domain.response.job.ResFetchJobDTO;
 import vn.hoidanit.jobhunter.domain.response.job.ResUpdateJobDTO;
 import vn.hoidanit.jobhunter.repository.CompanyRepository;
 import vn.hoidanit.jobhunter.repository.JobRepository;
 import vn.hoidanit.jobhunter.repository.SkillRepository;
+import vn.hoidanit.jobhunter.util.CursorPageRequest;
 
 @Service
 @RequiredArgsConstructor
 public class JobService {
+    // Thuộc tính được dùng làm khóa cursor (có trong cả Job và ResFetchJobDTO)
+    public static final Set<String> CURSOR_SORT_KEYS = Set.of("id", "name", "location", "salary", "quantity",
+            "level", "startDate", "endDate", "createdAt", "updatedAt");
+
     private final JobRepository jobRepository;
     private final SkillRepository skillRepository;
     private final CompanyRepository companyRepository;
 
+    // true: danh sách job dạng DTO projection (2-3 query/trang), false: trả entity như cũ
+    @Value("${hoidanit.job.list-projection.enabled:true}")
+    private boolean listProjectionEnabled = true;
+
     public ResCreateJobDTO create(Job j) {
         // Check Skill
         if (j.getSkills() != null) {
@@ -125,9 +141,58 @@ public class JobService {
         this.jobRepository.deleteById(id);
     }
 
+    /**
+     * Danh sách job có phân trang
+     * Chạy trong transaction read-only, không phụ thuộc open-in-view
+     * (GET /api/v1/jobs được loại khỏi open-in-view, xem OpenEntityManagerInViewConfiguration)
+     */
+    @Transactional(readOnly = true)
     public ResultPaginationDTO fetchAll(Specification<Job> spec, Pageable pageable) {
+        if (!this.listProjectionEnabled) {
+            return this.fetchAllEntities(spec, pageable);
+        }
+
+        // Query 1 (+ count nếu cần): các cột của job + company cho 1 trang
+        Page<ResFetchJobDTO> pageJob = this.jobRepository.findJobList(spec, pageable);
+
+        // Query 2: skills của cả trang
+        this.fillSkills(pageJob.getContent());
+
+        return this.toResultPagination(pageJob, pageable);
+    }
+
+    /**
+     * Danh sách job phân trang keyset (infinite scroll)
+     * Không OFFSET, không COUNT (chỉ count khi client gửi withTotal=true)
+     */
+    @Transactional(readOnly = true)
+    public ResultPaginationDTO fetchAllByCursor(Specification<Job> spec, CursorPageRequest page) {
+        List<ResFetchJobDTO> jobs = this.jobRepository.findJobList(page.toSpecification(spec), page.getSort(),
+                page.getLimit());
+        this.fillSkills(jobs);
+        return page.toResultPagination(jobs, Function.identity(), () -> this.jobRepository.count(spec));
+    }
+
+    private void fillSkills(List<ResFetchJobDTO> jobs) {
+        if (jobs.isEmpty()) {
+            return;
+        }
+        Map<Long, ResFetchJobDTO> jobsById = jobs.stream()
+                .collect(Collectors.toMap(ResFetchJobDTO::getId, Function.identity()));
+        for (JobRepository.JobSkillView row : this.jobRepository.findSkillsByJobIds(jobsById.keySet())) {
+            jobsById.get(row.getJobId()).getSkills()
+                    .add(new ResFetchJobDTO.SkillJob(row.getSkillId(), row.getSkillName()));
+        }
+    }
+
+    private ResultPaginationDTO fetchAllEntities(Specification<Job> spec, Pageable pageable) {
         Page<Job> pageJob = this.jobRepository.findAll(spec, pageable);
+        // Load skills trong transaction (không còn open-in-view cho endpoint này)
+        pageJob.getContent().forEach(job -> Hibernate.initialize(job.getSkills()));
+        return this.toResultPagination(pageJob, pageable);
+    }
 
+    private ResultPaginationDTO toResultPagination(Page<?> pageJob, Pageable pageable) {
         ResultPaginationDTO rs = new ResultPaginationDTO();
         ResultPaginationDTO.Meta mt = new ResultPaginationDTO.Meta();
 
@@ -1,23 +1,34 @@
 package vn.hoidanit.jobhunter.service;
 
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import io.minio.BucketExistsArgs;
 import io.minio.GetObjectArgs;
+import io.minio.GetObjectResponse;
 import io.minio.MakeBucketArgs;
 import io.minio.MinioClient;
 import io.minio.PutObjectArgs;
 import io.minio.StatObjectArgs;
 import io.minio.StatObjectResponse;
+import io.minio.UploadPartResponse;
+import io.minio.errors.ErrorResponseException;
+import io.minio.messages.Part;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import vn.hoidanit.jobhunter.config.MultipartMinioAsyncClient;
+import vn.hoidanit.jobhunter.domain.dto.StorageFileDTO;
 import vn.hoidanit.jobhunter.util.error.StorageException;
 
 @Service
@@ -25,7 +36,15 @@ import vn.hoidanit.jobhunter.util.error.StorageException;
 @ConditionalOnProperty(name = "storage.mode", havingValue = "minio")
 @RequiredArgsConstructor
 public class MinIOService implements StorageService {
+    // S3 yêu cầu mỗi part (trừ part cuối) tối thiểu 5MB
+    static final int PART_SIZE = 5 * 1024 * 1024;
+    static final int MAX_PARALLEL_PARTS = 4;
+
     private final MinioClient minioClient;
+    private final MultipartMinioAsyncClient minioAsyncClient;
+
+    // Bucket đã được kiểm tra/tạo -> upload không cần gọi bucketExists nữa
+    private volatile boolean bucketReady = false;
 
     @Value("${minio.bucket-name}")
     private String bucketName;
@@ -34,6 +53,19 @@ public class MinIOService implements StorageService {
     private String endpoint;
 
 
+    /**
+     * Kiểm tra bucket 1 lần khi khởi động
+     * Nếu MinIO chưa sẵn sàng thì lần upload đầu tiên sẽ kiểm tra lại
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeBucket() {
+        try {
+            ensureBucketExists();
+        } catch (RuntimeException e) {
+            log.warn(">>> MINIO BUCKET CHECK FAILED AT STARTUP, WILL RETRY ON FIRST UPLOAD: {}", e.getMessage());
+        }
+    }
+
     /**
      * Kiểm tra và tạo bucket nếu chưa tồn tại
      */
@@ -47,6 +79,7 @@ public class MinIOService implements StorageService {
             } else {
                 log.info(">>> MINIO BUCKET ALREADY EXISTS: {}", bucketName);
             }
+            this.bucketReady = true;
         } catch (Exception e) {
             log.error("Error checking/creating bucket: {}", e.getMessage());
             throw new RuntimeException("Failed to ensure bucket exists", e);
@@ -80,17 +113,25 @@ public class MinIOService implements StorageService {
             String finalName = System.currentTimeMillis() + "-" + fileName;
             String objectName = folder + "/" + finalName;
 
-            // Ensure bucket exists
-            ensureBucketExists();
+            // Bucket đã được kiểm tra lúc khởi động
+            if (!this.bucketReady) {
+                ensureBucketExists();
+            }
 
-            // Upload file
-            minioClient.putObject(
-                    PutObjectArgs.builder()
-                            .bucket(bucketName)
-                            .object(objectName)
-                            .stream(file.getInputStream(), file.getSize(), -1)
-                            .contentType(file.getContentType())
-                            .build());
+            // Upload file: file nhỏ 1 request PUT, file lớn multipart song song
+            if (file.getSize() > PART_SIZE) {
+                uploadMultipart(file.getInputStream(), objectName, file.getContentType());
+            } else {
+                try (InputStream inputStream = file.getInputStream()) {
+                    minioClient.putObject(
+                            PutObjectArgs.builder()
+                                    .bucket(bucketName)
+                                    .object(objectName)
+                                    .stream(inputStream, file.getSize(), -1)
+                                    .contentType(file.getContentType())
+                                    .build());
+                }
+            }
 
             log.info(">>> UPLOAD FILE TO MINIO SUCCESS: {}", objectName);
             return finalName;
@@ -103,6 +144,67 @@ public class MinIOService implements StorageService {
         }
     }
 
+    /**
+     * Multipart upload: tối đa MAX_PARALLEL_PARTS part được upload đồng thời
+     * (giới hạn bộ nhớ ở MAX_PARALLEL_PARTS * PART_SIZE), lỗi bất kỳ part nào -> abort upload
+     */
+    void uploadMultipart(InputStream inputStream, String objectName, String contentType) throws Exception {
+        String uploadId = minioAsyncClient.createMultipartUpload(bucketName, objectName, contentType)
+                .get().result().uploadId();
+        try (InputStream in = inputStream) {
+            Semaphore permits = new Semaphore(MAX_PARALLEL_PARTS);
+            List<CompletableFuture<UploadPartResponse>> uploads = new ArrayList<>();
+            int partNumber = 1;
+            byte[] data = in.readNBytes(PART_SIZE);
+            while (data.length > 0) {
+                permits.acquire();
+                uploads.add(minioAsyncClient
+                        .uploadPart(bucketName, objectName, uploadId, partNumber++, data)
+                        .whenComplete((response, error) -> permits.release()));
+                data = in.readNBytes(PART_SIZE);
+            }
+
+            Part[] parts = new Part[uploads.size()];
+            for (int i = 0; i < uploads.size(); i++) {
+                UploadPartResponse response = uploads.get(i).get();
+                parts[i] = new Part(response.partNumber(), response.etag());
+            }
+            minioAsyncClient.completeMultipartUpload(bucketName, objectName, uploadId, parts).get();
+        } catch (Exception e) {
+            try {
+                minioAsyncClient.abortMultipartUpload(bucketName, objectName, uploadId).get();
+            } catch (Exception abortException) {
+                log.warn("Error aborting multipart upload {}: {}", uploadId, abortException.getMessage());
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Mở file từ MinIO bằng 1 request GetObject duy nhất,
+     * kích thước và content type lấy từ header của response
+     */
+    @Override
+    public StorageFileDTO openFile(String fileName, String folder) throws Exception {
+        String objectName = folder + "/" + fileName;
+        try {
+            GetObjectResponse response = minioClient.getObject(
+                    GetObjectArgs.builder()
+                            .bucket(bucketName)
+                            .object(objectName)
+                            .build());
+            String contentLength = response.headers().get("Content-Length");
+            long size = contentLength != null ? Long.parseLong(contentLength) : getFileSize(fileName, folder);
+            return new StorageFileDTO(response, size, response.headers().get("Content-Type"));
+        } catch (ErrorResponseException e) {
+            log.error("Error opening file from MinIO: {}", e.getMessage());
+            throw new StorageException("File with the name = " + fileName + " not found");
+        } catch (Exception e) {
+            log.error("Error downloading file from MinIO: {}", e.getMessage());
+            throw new StorageException("File not found or error downloading: " + e.getMessage());
+        }
+    }
+
     /**
      * Download file từ MinIO
      * @param fileName Tên file
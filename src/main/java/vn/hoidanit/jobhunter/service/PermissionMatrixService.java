@@ -0,0 +1,121 @@
+package vn.hoidanit.jobhunter.service;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import vn.hoidanit.jobhunter.domain.User;
+import vn.hoidanit.jobhunter.repository.PermissionRepository;
+import vn.hoidanit.jobhunter.repository.UserRepository;
+
+/**
+ * Bảng phân quyền đã được "compile" sẵn trong bộ nhớ
+ * - role id -> tập các key "METHOD apiPath" (lookup O(1))
+ * - email -> role id
+ * Được invalidate bởi RoleService / PermissionService / UserService khi dữ liệu thay đổi
+ */
+@Service
+@Slf4j
+public class PermissionMatrixService {
+    // Đánh dấu user không có role (ConcurrentHashMap không cho phép value null)
+    private static final long NO_ROLE = -1L;
+
+    private final PermissionRepository permissionRepository;
+    private final UserRepository userRepository;
+
+    private final Map<Long, Set<String>> rolePermissions = new ConcurrentHashMap<>();
+    private final Map<String, Long> userRoles = new ConcurrentHashMap<>();
+
+    private final Counter roleHits;
+    private final Counter roleMisses;
+    private final Counter userHits;
+    private final Counter userMisses;
+
+    public PermissionMatrixService(PermissionRepository permissionRepository, UserRepository userRepository,
+            MeterRegistry meterRegistry) {
+        this.permissionRepository = permissionRepository;
+        this.userRepository = userRepository;
+        this.roleHits = lookupCounter(meterRegistry, "role", "hit");
+        this.roleMisses = lookupCounter(meterRegistry, "role", "miss");
+        this.userHits = lookupCounter(meterRegistry, "user", "hit");
+        this.userMisses = lookupCounter(meterRegistry, "user", "miss");
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String table, String result) {
+        return Counter.builder("permission.matrix.lookups")
+                .description("Số lần tra cứu bảng phân quyền trong bộ nhớ")
+                .tag("table", table)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    public static String toKey(String method, String apiPath) {
+        return method + " " + apiPath;
+    }
+
+    /**
+     * Kiểm tra user có quyền gọi (method, apiPath) không
+     *
+     * @return null nếu user không tồn tại (giữ nguyên hành vi cũ: cho qua),
+     *         ngược lại true/false
+     */
+    public Boolean isAllowed(String email, String method, String apiPath) {
+        Long roleId = this.userRoles.get(email);
+        if (roleId != null) {
+            this.userHits.increment();
+        } else {
+            this.userMisses.increment();
+            User user = this.userRepository.findByEmail(email);
+            if (user == null) {
+                return null;
+            }
+            roleId = user.getRole() != null ? user.getRole().getId() : NO_ROLE;
+            this.userRoles.put(email, roleId);
+        }
+
+        if (roleId == NO_ROLE) {
+            return false;
+        }
+        return this.getRolePermissions(roleId).contains(toKey(method, apiPath));
+    }
+
+    private Set<String> getRolePermissions(long roleId) {
+        Set<String> permissions = this.rolePermissions.get(roleId);
+        if (permissions != null) {
+            this.roleHits.increment();
+            return permissions;
+        }
+
+        this.roleMisses.increment();
+        permissions = this.permissionRepository.findByRolesId(roleId).stream()
+                .map(p -> toKey(p.getMethod(), p.getApiPath()))
+                .collect(Collectors.toUnmodifiableSet());
+        this.rolePermissions.put(roleId, permissions);
+        log.debug(">>> compiled {} permissions for role {}", permissions.size(), roleId);
+        return permissions;
+    }
+
+    public void evictRole(long roleId) {
+        this.rolePermissions.remove(roleId);
+    }
+
+    public void evictAllRoles() {
+        this.rolePermissions.clear();
+    }
+
+    public void evictUser(String email) {
+        if (email != null) {
+            this.userRoles.remove(email);
+        }
+    }
+
+    public void evictAllUsers() {
+        this.userRoles.clear();
+    }
+}
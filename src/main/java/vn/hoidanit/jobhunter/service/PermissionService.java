@@ -16,6 +16,7 @@ import vn.hoidanit.jobhunter.repository.PermissionRepository;
 @RequiredArgsConstructor
 public class PermissionService {
     private final PermissionRepository permissionRepository;
+    private final PermissionMatrixService permissionMatrixService;
 
     public boolean isPermissionExist(Permission p) {
         return permissionRepository.existsByModuleAndApiPathAndMethod(p.getModule(), p.getApiPath(), p.getMethod());
@@ -44,6 +45,9 @@ public class PermissionService {
 
             // update permission
             permissionDB = this.permissionRepository.save(permissionDB);
+
+            // apiPath/method thay đổi ảnh hưởng mọi role đang giữ permission này
+            this.permissionMatrixService.evictAllRoles();
             return permissionDB;
         }
         return null;
@@ -57,6 +61,7 @@ public class PermissionService {
 
         // delete permission
         this.permissionRepository.delete(currentPermission);
+        this.permissionMatrixService.evictAllRoles();
     }
 
     public ResultPaginationDTO getPermissions(Specification<Permission> spec, Pageable pageable) {
@@ -1,89 +1,100 @@
 package vn.hoidanit.jobhunter.service;
 
-import java.time.Duration;
-import java.util.concurrent.TimeUnit;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
 
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import vn.hoidanit.jobhunter.util.constant.RateLimitAlgorithmEnum;
 
 /**
  * Service xử lý Rate Limiting sử dụng Redis
- * Thuật toán: Fixed Window Counter
+ * Mỗi lần kiểm tra là 1 lệnh EVALSHA duy nhất (Lua script chạy atomic trên Redis),
+ * trả về cùng lúc allowed / remaining / reset
+ * Thuật toán: Fixed Window Counter, Sliding Window Log, Token Bucket
  */
 @Service
 @RequiredArgsConstructor
+@Slf4j
+@SuppressWarnings("rawtypes")
 public class RateLimitService {
+    private static final RedisScript<List> FIXED_WINDOW_SCRIPT = RedisScript.of(
+            new ClassPathResource("scripts/rate_limit_fixed_window.lua"), List.class);
+    private static final RedisScript<List> SLIDING_WINDOW_LOG_SCRIPT = RedisScript.of(
+            new ClassPathResource("scripts/rate_limit_sliding_log.lua"), List.class);
+    private static final RedisScript<List> TOKEN_BUCKET_SCRIPT = RedisScript.of(
+            new ClassPathResource("scripts/rate_limit_token_bucket.lua"), List.class);
+
     private final RedisTemplate<String, String> redisTemplate;
 
     /**
-     * Kiểm tra xem request có bị rate limit không
+     * Kết quả kiểm tra rate limit
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class RateLimitResult {
+        private final boolean allowed;
+        private final long remaining;
+        private final long resetInSeconds;
+    }
+
+    /**
+     * Kiểm tra xem request có bị rate limit không (1 round trip tới Redis)
      *
-     * @param key      Redis key (thường là IP hoặc user ID)
-     * @param limit    Số request tối đa
-     * @param duration Thời gian window (giây)
-     * @return true nếu request được phép, false nếu vượt quá giới hạn
+     * @param key       Redis key (thường là IP hoặc user ID)
+     * @param limit     Số request tối đa
+     * @param duration  Thời gian window (giây)
+     * @param algorithm Thuật toán rate limit
+     * @return kết quả gồm allowed, số request còn lại và thời gian reset (giây)
      */
-    public boolean allowRequest(String key, int limit, int duration) {
+    public RateLimitResult checkRequest(String key, int limit, int duration, RateLimitAlgorithmEnum algorithm) {
         try {
-            String redisKey = key;
-
-            // Lấy số lượng request hiện tại
-            String currentCountStr = redisTemplate.opsForValue().get(redisKey);
-            int currentCount = currentCountStr != null ? Integer.parseInt(currentCountStr) : 0;
-
-            // Nếu đã vượt quá giới hạn
-            if (currentCount >= limit) {
-                return false;
+            List result;
+            switch (algorithm) {
+                case SLIDING_WINDOW_LOG:
+                    result = redisTemplate.execute(SLIDING_WINDOW_LOG_SCRIPT, Collections.singletonList(key + ":swl"),
+                            String.valueOf(limit), String.valueOf(duration), UUID.randomUUID().toString());
+                    break;
+                case TOKEN_BUCKET:
+                    result = redisTemplate.execute(TOKEN_BUCKET_SCRIPT, Collections.singletonList(key + ":tb"),
+                            String.valueOf(limit), String.valueOf(duration));
+                    break;
+                default:
+                    result = redisTemplate.execute(FIXED_WINDOW_SCRIPT, Collections.singletonList(key),
+                            String.valueOf(limit), String.valueOf(duration));
+                    break;
             }
 
-            // Tăng counter
-            Long newCount = redisTemplate.opsForValue().increment(redisKey);
-
-            // Nếu là request đầu tiên, set TTL
-            if (newCount != null && newCount == 1) {
-                redisTemplate.expire(redisKey, Duration.ofSeconds(duration));
+            if (result == null || result.size() < 3) {
+                return new RateLimitResult(true, limit, -1);
             }
-
-            return true;
+            return new RateLimitResult(
+                    ((Number) result.get(0)).longValue() == 1,
+                    Math.max(0, ((Number) result.get(1)).longValue()),
+                    ((Number) result.get(2)).longValue());
 
         } catch (Exception e) {
             // Nếu Redis lỗi, cho phép request (fail-open strategy)
-            return true;
+            log.warn(">>> Rate limit check failed for key {}: {}", key, e.getMessage());
+            return new RateLimitResult(true, limit, -1);
         }
     }
 
     /**
-     * Lấy số request còn lại
+     * Kiểm tra rate limit với thuật toán mặc định (Fixed Window Counter)
      *
-     * @param key      Redis key
-     * @param limit    Số request tối đa
-     * @return Số request còn lại
-     */
-    public int getRemainingRequests(String key, int limit) {
-        try {
-            String currentCountStr = redisTemplate.opsForValue().get(key);
-            int currentCount = currentCountStr != null ? Integer.parseInt(currentCountStr) : 0;
-            return Math.max(0, limit - currentCount);
-        } catch (Exception e) {
-            return limit;
-        }
-    }
-
-    /**
-     * Lấy thời gian còn lại cho đến khi reset (giây)
-     *
-     * @param key Redis key
-     * @return Thời gian còn lại (giây), -1 nếu không tồn tại
+     * @return true nếu request được phép, false nếu vượt quá giới hạn
      */
-    public long getTimeUntilReset(String key) {
-        try {
-            Long ttl = redisTemplate.getExpire(key, TimeUnit.SECONDS);
-            return ttl != null ? ttl : -1;
-        } catch (Exception e) {
-            return -1;
-        }
+    public boolean allowRequest(String key, int limit, int duration) {
+        return this.checkRequest(key, limit, duration, RateLimitAlgorithmEnum.FIXED_WINDOW).isAllowed();
     }
 
     /**
@@ -93,7 +104,7 @@ public class RateLimitService {
      */
     public void resetLimit(String key) {
         try {
-            redisTemplate.delete(key);
+            redisTemplate.delete(List.of(key, key + ":swl", key + ":tb"));
         } catch (Exception e) {
         }
     }
@@ -1,15 +1,16 @@
 package vn.hoidanit.jobhunter.service;
 
-import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.Function;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import com.turkraft.springfilter.converter.FilterSpecification;
 import com.turkraft.springfilter.converter.FilterSpecificationConverter;
 import com.turkraft.springfilter.parser.FilterParser;
 import com.turkraft.springfilter.parser.node.FilterNode;
@@ -25,17 +26,25 @@ import vn.hoidanit.jobhunter.domain.response.resume.ResUpdateResumeDTO;
 import vn.hoidanit.jobhunter.repository.JobRepository;
 import vn.hoidanit.jobhunter.repository.ResumeRepository;
 import vn.hoidanit.jobhunter.repository.UserRepository;
+import vn.hoidanit.jobhunter.util.CursorPageRequest;
 import vn.hoidanit.jobhunter.util.SecurityUtil;
 
 @Service
 @RequiredArgsConstructor
 public class ResumeService {
+    // Thuộc tính được dùng làm khóa cursor (có trong cả Resume và ResFetchResumeDTO)
+    public static final Set<String> CURSOR_SORT_KEYS = Set.of("id", "email", "status", "createdAt", "updatedAt");
+
     private final ResumeRepository resumeRepository;
     private final UserRepository userRepository;
     private final JobRepository jobRepository;
     private final FilterParser filterParser;
     private final FilterSpecificationConverter filterSpecificationConverter;
 
+    // true: danh sách resume đọc bằng 1 query projection, false: load entity rồi lazy load job/company/user như cũ
+    @Value("${hoidanit.resume.list-projection.enabled:true}")
+    private boolean listProjectionEnabled = true;
+
     public Optional<Resume> fetchById(long id) {
         return this.resumeRepository.findById(id);
     }
@@ -97,8 +106,8 @@ public class ResumeService {
         res.setStatus(resume.getStatus());
         res.setCreatedAt(resume.getCreatedAt());
         res.setUpdatedAt(resume.getUpdatedAt());
-        res.setCreatedBy(res.getCreatedBy());
-        res.setUpdatedBy(res.getUpdatedBy());
+        res.setCreatedBy(resume.getCreatedBy());
+        res.setUpdatedBy(resume.getUpdatedBy());
 
         if (resume.getJob() != null) {
             res.setCompanyName(resume.getJob().getCompany().getName());
@@ -110,35 +119,34 @@ public class ResumeService {
         return res;
     }
 
+    @Transactional(readOnly = true)
     public ResultPaginationDTO fetchAllResume(Specification<Resume> spec, Pageable pageable) {
-        Page<Resume> pageUser = this.resumeRepository.findAll(spec, pageable);
-        ResultPaginationDTO result = new ResultPaginationDTO();
-        ResultPaginationDTO.Meta meta = new ResultPaginationDTO.Meta();
-
-        meta.setPage(pageable.getPageNumber() + 1);
-        meta.setPageSize(pageable.getPageSize());
-
-        meta.setPages(pageUser.getTotalPages());
-        meta.setTotal(pageUser.getTotalElements());
-
-        result.setMeta(meta);
+        return this.toResultPagination(this.findResumePage(spec, pageable), pageable);
+    }
 
+    /**
+     * 1 trang resume dạng DTO
+     * Projection: 1 query (+ count nếu cần), entity: 1 query + lazy load job/company/user từng dòng
+     */
+    private Page<ResFetchResumeDTO> findResumePage(Specification<Resume> spec, Pageable pageable) {
+        if (this.listProjectionEnabled) {
+            return this.resumeRepository.findResumeList(spec, pageable);
+        }
         // remove sensitive information
-        List<ResFetchResumeDTO> listResume = pageUser.getContent().stream().map(item -> this.getResume(item))
-                .collect(Collectors.toList());
-        result.setResult(listResume);
-
-        return result;
+        return this.resumeRepository.findAll(spec, pageable).map(this::getResume);
     }
 
-    public ResultPaginationDTO fetchAllResumeByUser(Pageable pageable) {
-        // query builder
-        String email = SecurityUtil.getCurrentUserLogin().isPresent() == true ? SecurityUtil.getCurrentUserLogin().get()
-                : "";
-        FilterNode node = filterParser.parse("email='" + email + "'");
-        FilterSpecification<Resume> spec = filterSpecificationConverter.convert(node);
-        Page<Resume> pageResume = this.resumeRepository.findAll(spec, pageable);
+    /**
+     * Danh sách resume phân trang keyset, không OFFSET, chỉ COUNT khi client gửi withTotal=true
+     */
+    @Transactional(readOnly = true)
+    public ResultPaginationDTO fetchAllResumeByCursor(Specification<Resume> spec, CursorPageRequest page) {
+        return page.toResultPagination(
+                this.resumeRepository.findResumeList(page.toSpecification(spec), page.getSort(), page.getLimit()),
+                Function.identity(), () -> this.resumeRepository.count(spec));
+    }
 
+    private ResultPaginationDTO toResultPagination(Page<ResFetchResumeDTO> pageResume, Pageable pageable) {
         ResultPaginationDTO result = new ResultPaginationDTO();
         ResultPaginationDTO.Meta meta = new ResultPaginationDTO.Meta();
 
@@ -149,12 +157,26 @@ public class ResumeService {
         meta.setTotal(pageResume.getTotalElements());
 
         result.setMeta(meta);
-        // remove sensitive data
-        List<ResFetchResumeDTO> listResume = pageResume.getContent()
-                .stream().map(item -> this.getResume(item))
-                .collect(Collectors.toList());
+        result.setResult(pageResume.getContent());
 
-        result.setResult(listResume);
         return result;
     }
+
+    @Transactional(readOnly = true)
+    public ResultPaginationDTO fetchAllResumeByUser(Pageable pageable) {
+        // query builder
+        return this.toResultPagination(this.findResumePage(this.currentUserSpec(), pageable), pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public ResultPaginationDTO fetchAllResumeByUserByCursor(CursorPageRequest page) {
+        return this.fetchAllResumeByCursor(this.currentUserSpec(), page);
+    }
+
+    private Specification<Resume> currentUserSpec() {
+        String email = SecurityUtil.getCurrentUserLogin().isPresent() == true ? SecurityUtil.getCurrentUserLogin().get()
+                : "";
+        FilterNode node = filterParser.parse("email='" + email + "'");
+        return filterSpecificationConverter.convert(node);
+    }
 }
@@ -21,6 +21,7 @@ import vn.hoidanit.jobhunter.repository.RoleRepository;
 public class RoleService {
     private final RoleRepository roleRepository;
     private final PermissionRepository permissionRepository;
+    private final PermissionMatrixService permissionMatrixService;
 
     public boolean existByName(String name) {
         return this.roleRepository.existsByName(name);
@@ -64,11 +65,16 @@ public class RoleService {
         roleDB.setActive(r.isActive());
         roleDB.setPermissions(r.getPermissions());
         roleDB = this.roleRepository.save(roleDB);
+
+        // permissions của role thay đổi -> compile lại khi có request kế tiếp
+        this.permissionMatrixService.evictRole(roleDB.getId());
         return roleDB;
     }
 
     public void delete(long id) {
         this.roleRepository.deleteById(id);
+        this.permissionMatrixService.evictRole(id);
+        this.permissionMatrixService.evictAllUsers();
     }
 
     public ResultPaginationDTO getRoles(Specification<Role> spec, Pageable pageable) {
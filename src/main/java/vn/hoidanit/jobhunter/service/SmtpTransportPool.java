@@ -0,0 +1,138 @@
+package vn.hoidanit.jobhunter.service;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Service;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pool các SMTP Transport đã kết nối sẵn
+ * Mỗi batch email được gửi trên 1 session SMTP dùng lại (không handshake/STARTTLS lại cho từng email),
+ * tự kết nối lại khi server đóng kết nối
+ *
+ * Không gửi NOOP (Transport.isConnected) trước mỗi email: kết nối chỉ được kiểm tra khi lấy ra từ pool
+ * sau khi đã idle quá IDLE_CHECK_NANOS hoặc khi gửi lỗi, lỗi kết nối sẽ kích hoạt kết nối lại và gửi lại 1 lần
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SmtpTransportPool implements DisposableBean {
+    // Ngắn hơn idle timeout thông thường của SMTP server (vài phút)
+    static final long IDLE_CHECK_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final JavaMailSenderImpl javaMailSender;
+
+    private final BlockingDeque<IdleTransport> idleTransports = new LinkedBlockingDeque<>();
+
+    private record IdleTransport(Transport transport, long idleSinceNanos) {
+    }
+
+    /**
+     * Gửi danh sách email trên cùng 1 session SMTP
+     *
+     * @return map index -> lỗi cho các email gửi thất bại (rỗng nếu gửi thành công hết)
+     */
+    public Map<Integer, Exception> sendAll(List<MimeMessage> messages) {
+        Map<Integer, Exception> failures = new HashMap<>();
+        Transport transport = this.takeIdle();
+        try {
+            for (int i = 0; i < messages.size(); i++) {
+                MimeMessage message = messages.get(i);
+                try {
+                    if (transport == null) {
+                        transport = this.connect();
+                    }
+                    this.send(transport, message);
+                } catch (MessagingException e) {
+                    // Server từ chối người nhận: lỗi của riêng email này, session vẫn dùng được
+                    // (server đóng kết nối giữa chừng cũng báo SendFailedException nhưng transport đã ngắt)
+                    if (e instanceof SendFailedException && transport != null && transport.isConnected()) {
+                        failures.put(i, e);
+                        continue;
+                    }
+                    // Kết nối có thể đã bị server đóng (idle timeout) -> kết nối lại và thử 1 lần nữa
+                    log.warn(">>> SMTP send failed, reconnecting: {}", e.getMessage());
+                    this.closeQuietly(transport);
+                    transport = null;
+                    try {
+                        transport = this.connect();
+                        this.send(transport, message);
+                    } catch (MessagingException retryException) {
+                        failures.put(i, retryException);
+                        this.closeQuietly(transport);
+                        transport = null;
+                    }
+                }
+            }
+        } finally {
+            // transport còn lại là transport vừa gửi thành công (hoặc lỗi riêng của người nhận)
+            if (transport != null) {
+                this.idleTransports.offerFirst(new IdleTransport(transport, System.nanoTime()));
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * Lấy transport từ pool, chỉ kiểm tra kết nối (NOOP) nếu đã idle lâu
+     */
+    private Transport takeIdle() {
+        IdleTransport idle = this.idleTransports.pollFirst();
+        if (idle == null) {
+            return null;
+        }
+        if (System.nanoTime() - idle.idleSinceNanos() > IDLE_CHECK_NANOS && !idle.transport().isConnected()) {
+            this.closeQuietly(idle.transport());
+            return null;
+        }
+        return idle.transport();
+    }
+
+    private Transport connect() throws MessagingException {
+        Transport created = this.javaMailSender.getSession().getTransport(this.javaMailSender.getProtocol());
+        created.connect(this.javaMailSender.getHost(), this.javaMailSender.getPort(),
+                this.javaMailSender.getUsername(), this.javaMailSender.getPassword());
+        return created;
+    }
+
+    private void send(Transport transport, MimeMessage message) throws MessagingException {
+        if (message.getSentDate() == null) {
+            message.setSentDate(new Date());
+        }
+        message.saveChanges();
+        transport.sendMessage(message, message.getAllRecipients());
+    }
+
+    private void closeQuietly(Transport transport) {
+        if (transport == null) {
+            return;
+        }
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            log.debug(">>> Error closing SMTP transport: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        IdleTransport idle;
+        while ((idle = this.idleTransports.pollFirst()) != null) {
+            this.closeQuietly(idle.transport());
+        }
+    }
+}
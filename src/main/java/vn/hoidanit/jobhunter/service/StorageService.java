@@ -4,6 +4,7 @@ import java.io.InputStream;
 
 import org.springframework.web.multipart.MultipartFile;
 
+import vn.hoidanit.jobhunter.domain.dto.StorageFileDTO;
 import vn.hoidanit.jobhunter.util.error.StorageException;
 
 /**
@@ -35,5 +36,18 @@ public interface StorageService {
      * @return Kích thước file (bytes)
      */
     long getFileSize(String fileName, String folder) throws Exception;
-}
 
+    /**
+     * Mở file để đọc, trả về nội dung cùng kích thước và content type
+     * Mặc định: getFileSize + downloadFile, storage nào lấy được metadata trong cùng response thì override
+     * @param fileName Tên file
+     * @param folder Thư mục chứa file
+     */
+    default StorageFileDTO openFile(String fileName, String folder) throws Exception {
+        long size = this.getFileSize(fileName, folder);
+        if (size == 0) {
+            throw new StorageException("File with the name = " + fileName + " not found");
+        }
+        return new StorageFileDTO(this.downloadFile(fileName, folder), size, null);
+    }
+}
@@ -1,15 +1,25 @@
 package vn.hoidanit.jobhunter.service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import vn.hoidanit.jobhunter.domain.Job;
 import vn.hoidanit.jobhunter.domain.Skill;
 import vn.hoidanit.jobhunter.domain.Subscriber;
+import vn.hoidanit.jobhunter.domain.dto.EmailDTO;
 import vn.hoidanit.jobhunter.domain.response.email.ResEmailJob;
 import vn.hoidanit.jobhunter.repository.JobRepository;
 import vn.hoidanit.jobhunter.repository.SkillRepository;
@@ -17,11 +27,19 @@ import vn.hoidanit.jobhunter.repository.SubscriberRepository;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class SubscriberService {
+    private static final String DIGEST_SUBJECT = "Cơ hội việc làm hot đang chờ đón bạn, khám phá ngay";
+    private static final String DIGEST_TEMPLATE = "job";
+
     private final SubscriberRepository subscriberRepository;
     private final SkillRepository skillRepository;
     private final JobRepository jobRepository;
     private final EmailProducerService emailProducerService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${hoidanit.digest.chunk-size:500}")
+    private int digestChunkSize;
 
     public boolean isExistsByEmail(String email) {
         return this.subscriberRepository.existsByEmail(email);
@@ -56,39 +74,165 @@ public class SubscriberService {
         ResEmailJob res = new ResEmailJob();
         res.setName(job.getName());
         res.setSalary(job.getSalary());
-        res.setCompany(new ResEmailJob.CompanyEmail(job.getCompany().getName()));
+        res.setCompany(new ResEmailJob.CompanyEmail(job.getCompany() != null ? job.getCompany().getName() : ""));
         List<Skill> skills = job.getSkills();
         List<ResEmailJob.SkillEmail> skillEmails = skills.stream().map(
                 skill -> new ResEmailJob.SkillEmail(skill.getName())).collect(Collectors.toList());
+        res.setSkills(skillEmails);
         return res;
     }
 
     /**
      * Gửi email cho subscribers qua RabbitMQ queue
-     * Thay vì gửi email trực tiếp, messages được đẩy vào queue
+     *
+     * Pipeline chạy với bộ nhớ giới hạn (không phụ thuộc số lượng subscriber):
+     * 1. Build inverted index skill -> jobs 1 lần cho mỗi lần chạy (1 query)
+     * 2. Đọc subscribers theo keyset pagination (id > lastId), mỗi chunk 2 query
+     * 3. Tính digest trong bộ nhớ từ index
+     * 4. Publish cả chunk vào RabbitMQ và chờ publisher confirm của từng message
+     *
+     * Lỗi của 1 subscriber (tính digest, publish/confirm) chỉ được log lại, không dừng cả lần chạy:
+     * chỉ các email chưa được confirm mới được gửi lại, email đã confirm không bị gửi trùng
      */
     public void sendSubscribersEmailJobs() {
-        List<Subscriber> listSubs = this.subscriberRepository.findAll();
-        if (listSubs != null && listSubs.size() > 0) {
-            for (Subscriber sub : listSubs) {
-                List<Skill> listSkills = sub.getSkills();
-                if (listSkills != null && listSkills.size() > 0) {
-                    List<Job> listJobs = this.jobRepository.findBySkillsIn(listSkills);
-                    if (listJobs != null && listJobs.size() > 0) {
-                        List<ResEmailJob> arr = listJobs.stream().map(
-                                job -> this.convertJobToSendEmail(job)).collect(Collectors.toList());
-
-                        // Gửi message vào RabbitMQ queue thay vì gửi email trực tiếp
-                        this.emailProducerService.sendEmailToQueue(
-                                sub.getEmail(),
-                                "Cơ hội việc làm hot đang chờ đón bạn, khám phá ngay",
-                                "job",
-                                sub.getName(),
-                                arr);
+        long startIndex = System.nanoTime();
+        Map<Long, List<IndexedJob>> jobsBySkill = this.buildSkillJobIndex();
+        long indexNanos = System.nanoTime() - startIndex;
+        this.recordStage("index", indexNanos);
+
+        if (jobsBySkill.isEmpty()) {
+            log.info(">>> Job digest: no jobs with skills, nothing to send");
+            return;
+        }
+
+        long fetchNanos = 0, digestNanos = 0, publishNanos = 0;
+        long subscribersRead = 0, emailsPublished = 0, emailsFailed = 0;
+        long lastId = 0;
+        PageRequest chunk = PageRequest.of(0, this.digestChunkSize);
+
+        while (true) {
+            long t0 = System.nanoTime();
+            List<SubscriberRepository.SubscriberDigestView> subscribers = this.subscriberRepository
+                    .findByIdGreaterThanOrderByIdAsc(lastId, chunk);
+            if (subscribers.isEmpty()) {
+                break;
+            }
+            lastId = subscribers.get(subscribers.size() - 1).getId();
+
+            Map<Long, List<Long>> skillsBySubscriber = new HashMap<>();
+            this.subscriberRepository.findSkillIdsBySubscriberIds(
+                    subscribers.stream().map(SubscriberRepository.SubscriberDigestView::getId).toList())
+                    .forEach(row -> skillsBySubscriber
+                            .computeIfAbsent(row.getSubscriberId(), k -> new ArrayList<>())
+                            .add(row.getSkillId()));
+            long t1 = System.nanoTime();
+
+            List<EmailDTO> batch = new ArrayList<>(subscribers.size());
+            for (SubscriberRepository.SubscriberDigestView sub : subscribers) {
+                try {
+                    List<ResEmailJob> jobs = this.computeDigest(skillsBySubscriber.get(sub.getId()), jobsBySkill);
+                    if (!jobs.isEmpty()) {
+                        batch.add(new EmailDTO(sub.getEmail(), DIGEST_SUBJECT, DIGEST_TEMPLATE, sub.getName(), jobs));
                     }
+                } catch (RuntimeException e) {
+                    emailsFailed++;
+                    log.error(">>> Job digest: failed to build digest for subscriber {}: {}", sub.getId(),
+                            e.getMessage(), e);
                 }
             }
+            long t2 = System.nanoTime();
+
+            int published = this.publish(batch);
+            emailsFailed += batch.size() - published;
+            long t3 = System.nanoTime();
+
+            fetchNanos += t1 - t0;
+            digestNanos += t2 - t1;
+            publishNanos += t3 - t2;
+            subscribersRead += subscribers.size();
+            emailsPublished += published;
+
+            if (subscribers.size() < this.digestChunkSize) {
+                break;
+            }
+        }
+
+        this.recordStage("fetch", fetchNanos);
+        this.recordStage("digest", digestNanos);
+        this.recordStage("publish", publishNanos);
+        log.info(">>> Job digest done: {} jobs indexed in {} ms", this.countJobs(jobsBySkill), indexNanos / 1_000_000);
+        log.info(">>> Job digest stage fetch  : {} subscribers, {}/s", subscribersRead, throughput(subscribersRead, fetchNanos));
+        log.info(">>> Job digest stage digest : {} subscribers, {}/s", subscribersRead, throughput(subscribersRead, digestNanos));
+        log.info(">>> Job digest stage publish: {} emails, {}/s", emailsPublished, throughput(emailsPublished, publishNanos));
+        if (emailsFailed > 0) {
+            log.warn(">>> Job digest: {} subscribers skipped because of errors", emailsFailed);
+        }
+    }
+
+    /**
+     * Publish cả chunk, sau đó gửi lại 1 lần các email bị nack / chưa được confirm (không gửi lại email đã confirm)
+     *
+     * @return số email đã được broker confirm
+     */
+    private int publish(List<EmailDTO> batch) {
+        List<EmailDTO> unconfirmed = this.emailProducerService.sendEmailBatchToQueue(batch);
+        if (unconfirmed.isEmpty()) {
+            return batch.size();
         }
+        log.warn(">>> Job digest: {} of {} emails in the chunk not confirmed, resending them",
+                unconfirmed.size(), batch.size());
+
+        List<EmailDTO> failed = this.emailProducerService.sendEmailBatchToQueue(unconfirmed);
+        for (EmailDTO email : failed) {
+            log.error(">>> Job digest: failed to publish email to {}", email.getTo());
+        }
+        return batch.size() - failed.size();
+    }
+
+    /**
+     * Job kèm id để loại trùng khi 1 job khớp nhiều skill của subscriber
+     */
+    private record IndexedJob(long id, ResEmailJob email) {
+    }
+
+    private Map<Long, List<IndexedJob>> buildSkillJobIndex() {
+        Map<Long, List<IndexedJob>> index = new HashMap<>();
+        for (Job job : this.jobRepository.findAllWithSkillsAndCompany()) {
+            IndexedJob indexed = new IndexedJob(job.getId(), this.convertJobToSendEmail(job));
+            for (Skill skill : job.getSkills()) {
+                index.computeIfAbsent(skill.getId(), k -> new ArrayList<>()).add(indexed);
+            }
+        }
+        return index;
+    }
+
+    private List<ResEmailJob> computeDigest(List<Long> skillIds, Map<Long, List<IndexedJob>> jobsBySkill) {
+        if (skillIds == null || skillIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ResEmailJob> jobs = new LinkedHashMap<>();
+        for (Long skillId : skillIds) {
+            for (IndexedJob job : jobsBySkill.getOrDefault(skillId, List.of())) {
+                jobs.putIfAbsent(job.id(), job.email());
+            }
+        }
+        return new ArrayList<>(jobs.values());
+    }
+
+    private long countJobs(Map<Long, List<IndexedJob>> jobsBySkill) {
+        return jobsBySkill.values().stream().flatMap(List::stream).mapToLong(IndexedJob::id).distinct().count();
+    }
+
+    private void recordStage(String stage, long nanos) {
+        Timer.builder("subscriber.digest.stage")
+                .description("Thời gian từng stage của pipeline gửi job digest")
+                .tag("stage", stage)
+                .register(this.meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static long throughput(long items, long nanos) {
+        return nanos > 0 ? items * 1_000_000_000L / nanos : items;
     }
 
     public Subscriber findByEmail(String email) {
@@ -0,0 +1,281 @@
+package vn.hoidanit.jobhunter.service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Near-cache (trong bộ nhớ) cho access token đã bị revoke (logout)
+ * - Bloom filter: trả lời "chắc chắn chưa bị revoke" mà không cần gọi Redis (99% request)
+ * - Set chính xác (giới hạn kích thước) theo SHA-256 của token, hết hạn cùng token
+ * - Đồng bộ giữa các instance qua Redis pub/sub, resync định kỳ bằng SCAN
+ *
+ * Chỉ khi Bloom filter báo "có thể" mà set chính xác không chứa token
+ * (false positive hoặc set đã đầy) thì mới phải hỏi lại Redis
+ */
+@Service
+@Slf4j
+public class TokenRevocationCache implements MessageListener {
+    public static final String REVOCATION_CHANNEL = "token_revocations";
+    public static final String BLACKLIST_TOKEN_PREFIX = "blacklist_token:";
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    public enum Lookup {
+        REVOKED, NOT_REVOKED, UNKNOWN
+    }
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final int maxSize;
+    private final long accessTokenExpiration;
+
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+    private volatile BloomFilter bloomFilter;
+    // Chưa đồng bộ xong với Redis -> mọi lookup đều phải hỏi Redis
+    private volatile boolean ready = false;
+
+    private final Counter localNotRevoked;
+    private final Counter localRevoked;
+    private final Counter redisFallback;
+
+    public TokenRevocationCache(RedisTemplate<String, String> redisTemplate,
+            @Value("${hoidanit.jwt.revocation-cache.max-size:100000}") int maxSize,
+            @Value("${hoidanit.jwt.access-token-validity-in-seconds}") long accessTokenExpiration,
+            MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.maxSize = maxSize;
+        this.accessTokenExpiration = accessTokenExpiration;
+        this.bloomFilter = new BloomFilter(maxSize, FALSE_POSITIVE_RATE);
+        this.localNotRevoked = lookupCounter(meterRegistry, "local_not_revoked");
+        this.localRevoked = lookupCounter(meterRegistry, "local_revoked");
+        this.redisFallback = lookupCounter(meterRegistry, "redis_fallback");
+        meterRegistry.gauge("token.revocation.cache.size", this.revoked, Map::size);
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("token.revocation.lookups")
+                .description("Số lần kiểm tra access token trong blacklist")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Tra cứu token trong near-cache
+     *
+     * @return UNKNOWN nếu phải hỏi lại Redis
+     */
+    public Lookup lookup(String accessToken) {
+        if (!this.ready) {
+            this.redisFallback.increment();
+            return Lookup.UNKNOWN;
+        }
+
+        byte[] digest = sha256(accessToken);
+        if (!this.bloomFilter.mightContain(digest)) {
+            this.localNotRevoked.increment();
+            return Lookup.NOT_REVOKED;
+        }
+
+        Long expiresAt = this.revoked.get(HexFormat.of().formatHex(digest));
+        if (expiresAt != null && expiresAt > System.currentTimeMillis()) {
+            this.localRevoked.increment();
+            return Lookup.REVOKED;
+        }
+
+        this.redisFallback.increment();
+        return Lookup.UNKNOWN;
+    }
+
+    /**
+     * Ghi nhận token bị revoke trên instance hiện tại và broadcast cho các instance khác
+     */
+    public void revoke(String accessToken, long remainingTimeInSeconds) {
+        String hash = hash(accessToken);
+        long expiresAt = System.currentTimeMillis() + remainingTimeInSeconds * 1000;
+        this.add(hash, expiresAt);
+        this.redisTemplate.convertAndSend(REVOCATION_CHANNEL, hash + ":" + expiresAt);
+    }
+
+    /**
+     * Bỏ token khỏi set chính xác (Bloom filter không xóa được,
+     * các lookup sau sẽ fallback về Redis cho tới lần rebuild kế tiếp)
+     */
+    public void unrevoke(String accessToken) {
+        String hash = hash(accessToken);
+        this.revoked.remove(hash);
+        this.redisTemplate.convertAndSend(REVOCATION_CHANNEL, "-" + hash);
+    }
+
+    /**
+     * Đánh dấu token bị revoke sau khi fallback về Redis và thấy token trong blacklist
+     */
+    public void remember(String accessToken, long remainingTimeInSeconds) {
+        this.add(hash(accessToken), System.currentTimeMillis() + remainingTimeInSeconds * 1000);
+    }
+
+    /**
+     * Nhận message revoke từ các instance khác qua Redis pub/sub
+     * Format: "{sha256}:{expiresAtMillis}" hoặc "-{sha256}"
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            if (body.startsWith("-")) {
+                this.revoked.remove(body.substring(1));
+                return;
+            }
+            int idx = body.indexOf(':');
+            this.add(body.substring(0, idx), Long.parseLong(body.substring(idx + 1)));
+        } catch (RuntimeException e) {
+            log.warn(">>> Invalid token revocation message: {}", body);
+        }
+    }
+
+    private void add(String hash, long expiresAt) {
+        synchronized (this.writeLock) {
+            this.bloomFilter.put(HexFormat.of().parseHex(hash));
+            if (this.revoked.size() < this.maxSize || this.revoked.containsKey(hash)) {
+                this.revoked.put(hash, expiresAt);
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        this.resync();
+    }
+
+    /**
+     * Đồng bộ lại toàn bộ từ Redis: dọn token đã hết hạn khỏi Bloom filter
+     * và bù các message pub/sub bị mất khi mất kết nối
+     */
+    @Scheduled(fixedDelayString = "${hoidanit.jwt.revocation-cache.resync-interval-ms:300000}",
+            initialDelayString = "${hoidanit.jwt.revocation-cache.resync-interval-ms:300000}")
+    public void resync() {
+        try {
+            BloomFilter rebuilt = new BloomFilter(this.maxSize, FALSE_POSITIVE_RATE);
+            Map<String, Long> fresh = new ConcurrentHashMap<>();
+            // TTL chính xác không cần thiết: key trong Redis tự hết hạn, lần resync sau sẽ loại bỏ
+            long expiresAt = System.currentTimeMillis() + this.accessTokenExpiration * 1000;
+
+            ScanOptions options = ScanOptions.scanOptions().match(BLACKLIST_TOKEN_PREFIX + "*").count(1000).build();
+            try (Cursor<String> cursor = this.redisTemplate.scan(options)) {
+                while (cursor.hasNext()) {
+                    String token = cursor.next().substring(BLACKLIST_TOKEN_PREFIX.length());
+                    byte[] digest = sha256(token);
+                    rebuilt.put(digest);
+                    if (fresh.size() < this.maxSize) {
+                        fresh.put(HexFormat.of().formatHex(digest), expiresAt);
+                    }
+                }
+            }
+
+            synchronized (this.writeLock) {
+                // Giữ lại các token vừa được revoke trong lúc đang scan
+                long now = System.currentTimeMillis();
+                this.revoked.forEach((hash, exp) -> {
+                    if (exp > now) {
+                        rebuilt.put(HexFormat.of().parseHex(hash));
+                        fresh.putIfAbsent(hash, exp);
+                    }
+                });
+
+                this.bloomFilter = rebuilt;
+                this.revoked.keySet().retainAll(fresh.keySet());
+                this.revoked.putAll(fresh);
+                this.ready = true;
+            }
+            log.debug(">>> Token revocation cache resynced: {} revoked tokens", fresh.size());
+        } catch (Exception e) {
+            // Không đồng bộ được -> an toàn hơn là quay về kiểm tra trực tiếp trên Redis
+            this.ready = false;
+            log.warn(">>> Token revocation cache resync failed: {}", e.getMessage());
+        }
+    }
+
+    public boolean isReady() {
+        return this.ready;
+    }
+
+    private static String hash(String token) {
+        return HexFormat.of().formatHex(sha256(token));
+    }
+
+    private static byte[] sha256(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Bloom filter thread-safe đơn giản, vị trí bit lấy trực tiếp từ SHA-256 của token
+     * (double hashing: h1 + i * h2)
+     */
+    static class BloomFilter {
+        private final AtomicLongArray bits;
+        private final long numBits;
+        private final int numHashes;
+
+        BloomFilter(int expectedInsertions, double fpp) {
+            long m = (long) Math.ceil(-expectedInsertions * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+            this.numBits = Math.max(64, m);
+            this.numHashes = Math.max(1, (int) Math.round((double) this.numBits / expectedInsertions * Math.log(2)));
+            this.bits = new AtomicLongArray((int) ((this.numBits + 63) / 64));
+        }
+
+        void put(byte[] digest) {
+            ByteBuffer buffer = ByteBuffer.wrap(digest);
+            long h1 = buffer.getLong(0);
+            long h2 = buffer.getLong(8);
+            for (int i = 0; i < this.numHashes; i++) {
+                long index = Math.floorMod(h1 + i * h2, this.numBits);
+                int word = (int) (index >>> 6);
+                long mask = 1L << (index & 63);
+                long current;
+                do {
+                    current = this.bits.get(word);
+                    if ((current & mask) != 0) {
+                        break;
+                    }
+                } while (!this.bits.compareAndSet(word, current, current | mask));
+            }
+        }
+
+        boolean mightContain(byte[] digest) {
+            ByteBuffer buffer = ByteBuffer.wrap(digest);
+            long h1 = buffer.getLong(0);
+            long h2 = buffer.getLong(8);
+            for (int i = 0; i < this.numHashes; i++) {
+                long index = Math.floorMod(h1 + i * h2, this.numBits);
+                if ((this.bits.get((int) (index >>> 6)) & (1L << (index & 63))) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -12,6 +12,7 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class TokenService {
     private final RedisTemplate<String, String> redisTemplate;
+    private final TokenRevocationCache tokenRevocationCache;
 
     @Value("${hoidanit.jwt.refresh-token-validity-in-seconds}")
     private long refreshTokenExpiration;
@@ -21,7 +22,7 @@ public class TokenService {
 
     // Prefix cho key trong Redis để dễ quản lý
     private static final String REFRESH_TOKEN_PREFIX = "refresh_token:";
-    private static final String BLACKLIST_TOKEN_PREFIX = "blacklist_token:";
+    private static final String BLACKLIST_TOKEN_PREFIX = TokenRevocationCache.BLACKLIST_TOKEN_PREFIX;
 
     /**
      * Lưu refresh token vào Redis với TTL (Time To Live)
@@ -83,15 +84,30 @@ public class TokenService {
         // Chỉ lưu token vào blacklist trong thời gian token còn hiệu lực
         // Sau khi token expire tự nhiên, Redis sẽ tự động xóa
         redisTemplate.opsForValue().set(key, email, remainingTimeInSeconds, TimeUnit.SECONDS);
+
+        // Cập nhật near-cache local và broadcast cho các instance khác qua pub/sub
+        tokenRevocationCache.revoke(accessToken, remainingTimeInSeconds);
     }
 
     /**
      * Kiểm tra access token có trong blacklist không
      * Trả về true nếu token bị blacklist (không cho phép sử dụng)
+     * Tra cứu near-cache trước, chỉ gọi Redis khi near-cache không chắc chắn
      */
     public boolean isAccessTokenBlacklisted(String accessToken) {
+        TokenRevocationCache.Lookup lookup = tokenRevocationCache.lookup(accessToken);
+        if (lookup != TokenRevocationCache.Lookup.UNKNOWN) {
+            return lookup == TokenRevocationCache.Lookup.REVOKED;
+        }
+
         String key = BLACKLIST_TOKEN_PREFIX + accessToken;
-        return Boolean.TRUE.equals(redisTemplate.hasKey(key));
+        Long ttl = redisTemplate.getExpire(key, TimeUnit.SECONDS);
+        // -2: key không tồn tại
+        boolean blacklisted = ttl != null && ttl != -2;
+        if (blacklisted && ttl > 0) {
+            tokenRevocationCache.remember(accessToken, ttl);
+        }
+        return blacklisted;
     }
 
     /**
@@ -100,6 +116,7 @@ public class TokenService {
     public void removeFromBlacklist(String accessToken) {
         String key = BLACKLIST_TOKEN_PREFIX + accessToken;
         redisTemplate.delete(key);
+        tokenRevocationCache.unrevoke(accessToken);
     }
 
     /**
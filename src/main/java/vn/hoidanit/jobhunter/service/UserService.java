@@ -2,6 +2,7 @@ package vn.hoidanit.jobhunter.service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.data.domain.Page;
@@ -19,15 +20,21 @@ import vn.hoidanit.jobhunter.domain.response.ResUpdateUserDTO;
 import vn.hoidanit.jobhunter.domain.response.ResUserDTO;
 import vn.hoidanit.jobhunter.domain.response.ResultPaginationDTO;
 import vn.hoidanit.jobhunter.repository.UserRepository;
+import vn.hoidanit.jobhunter.util.CursorPageRequest;
 import vn.hoidanit.jobhunter.util.error.IdInvalidException;
 
 @Service
 @RequiredArgsConstructor
 public class UserService {
+    // Thuộc tính được dùng làm khóa cursor: chỉ các cột có trong ResUserDTO (không bao giờ password)
+    public static final Set<String> CURSOR_SORT_KEYS = Set.of("id", "name", "email", "age", "createdAt",
+            "updatedAt");
+
     private final UserRepository userRepository;
     private final CompanyService companyService;
     private final RoleService roleService;
     private final PasswordEncoder passwordEncoder;
+    private final PermissionMatrixService permissionMatrixService;
 
     public User handleCreateUser(User user) {
         // check company
@@ -46,6 +53,7 @@ public class UserService {
     }
 
     public void handleDeleteUser(long id) {
+        this.userRepository.findById(id).ifPresent(u -> this.permissionMatrixService.evictUser(u.getEmail()));
         this.userRepository.deleteById(id);
     }
 
@@ -77,6 +85,15 @@ public class UserService {
         return rs;
     }
 
+    /**
+     * Danh sách user phân trang keyset, không OFFSET, chỉ COUNT khi client gửi withTotal=true
+     */
+    public ResultPaginationDTO handleGetAllUserByCursor(Specification<User> spec, CursorPageRequest page) {
+        List<User> users = this.userRepository.findBy(page.toSpecification(spec),
+                q -> q.sortBy(page.getSort()).limit(page.getLimit()).all());
+        return page.toResultPagination(users, this::convertToResUserDTO, () -> this.userRepository.count(spec));
+    }
+
     public User handleUpdateUser(User user) {
         User updateUser = this.handleGetUserById(user.getId());
         if (updateUser != null) {
@@ -99,6 +116,7 @@ public class UserService {
 
             // save
             updateUser = this.userRepository.save(updateUser);
+            this.permissionMatrixService.evictUser(updateUser.getEmail());
         }
         return updateUser;
     }
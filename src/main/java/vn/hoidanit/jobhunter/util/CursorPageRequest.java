@@ -0,0 +1,183 @@
+package vn.hoidanit.jobhunter.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import lombok.Getter;
+import vn.hoidanit.jobhunter.domain.response.ResultPaginationDTO;
+import vn.hoidanit.jobhunter.util.error.IdInvalidException;
+
+/**
+ * Phân trang keyset (cursor) cho các danh sách lớn
+ *
+ * Cursor (opaque, base64url) chứa: thuộc tính sort + chiều sort + giá trị sort + id của dòng cuối trang trước
+ * Trang tiếp theo: WHERE (sortKey, id) > (value, lastId) ORDER BY sortKey, id LIMIT size + 1
+ * -> không OFFSET, không COUNT (chỉ count khi client gửi withTotal=true)
+ *
+ * Thuộc tính sort (kể cả thuộc tính đọc ra từ cursor) phải nằm trong whitelist của endpoint:
+ * giá trị của nó được đưa vào cursor trả về cho client, nên chỉ whitelist các cột không nhạy cảm
+ * có trong cả entity lẫn kiểu dòng trả về
+ *
+ * Thứ tự NULL theo MySQL/H2: NULL nhỏ nhất (đứng đầu khi ASC, cuối khi DESC)
+ */
+@Getter
+public class CursorPageRequest {
+    private static final String ID = "id";
+    private static final String SEPARATOR = "\n";
+    private static final String NULL_VALUE = "~";
+    private static final String VALUE_PREFIX = "v";
+
+    private final Sort.Order order;
+    private final int pageSize;
+    private final boolean withTotal;
+    // null: trang đầu tiên
+    private final Long lastId;
+    private final String lastValue;
+
+    private CursorPageRequest(Sort.Order order, int pageSize, boolean withTotal, Long lastId, String lastValue) {
+        this.order = order;
+        this.pageSize = pageSize;
+        this.withTotal = withTotal;
+        this.lastId = lastId;
+        this.lastValue = lastValue;
+    }
+
+    /**
+     * @param cursor       rỗng: trang đầu (sort lấy từ pageable, mặc định id giảm dần),
+     *                     khác rỗng: sort lấy từ cursor (client không cần gửi lại sort)
+     * @param sortableKeys thuộc tính được phép làm khóa cursor của endpoint
+     */
+    public static CursorPageRequest of(Pageable pageable, String cursor, boolean withTotal, Set<String> sortableKeys)
+            throws IdInvalidException {
+        int pageSize = pageable.isPaged() ? pageable.getPageSize() : 20;
+        if (cursor == null || cursor.isBlank()) {
+            Sort.Order order = pageable.getSort().stream().findFirst().orElse(Sort.Order.desc(ID));
+            checkSortable(order.getProperty(), sortableKeys);
+            return new CursorPageRequest(order, pageSize, withTotal, null, null);
+        }
+
+        CursorPageRequest page;
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split(SEPARATOR, 4);
+            Sort.Order order = new Sort.Order(Sort.Direction.fromString(parts[1]), parts[0]);
+            String lastValue = NULL_VALUE.equals(parts[3]) ? null : parts[3].substring(VALUE_PREFIX.length());
+            page = new CursorPageRequest(order, pageSize, withTotal, Long.parseLong(parts[2]), lastValue);
+        } catch (RuntimeException e) {
+            throw new IdInvalidException("Cursor không hợp lệ");
+        }
+        // Cursor do client gửi lên, có thể bị sửa: kiểm tra lại như sort của trang đầu
+        checkSortable(page.order.getProperty(), sortableKeys);
+        return page;
+    }
+
+    private static void checkSortable(String property, Set<String> sortableKeys) throws IdInvalidException {
+        if (!ID.equals(property) && !sortableKeys.contains(property)) {
+            throw new IdInvalidException("Cursor pagination không hỗ trợ sort theo thuộc tính: " + property);
+        }
+    }
+
+    /**
+     * Sort theo thuộc tính + id (id là khóa phụ để thứ tự luôn duy nhất)
+     */
+    public Sort getSort() {
+        if (ID.equals(this.order.getProperty())) {
+            return Sort.by(this.order);
+        }
+        return Sort.by(this.order, new Sort.Order(this.order.getDirection(), ID));
+    }
+
+    /**
+     * Lấy dư 1 dòng để biết còn trang sau không
+     */
+    public int getLimit() {
+        return this.pageSize + 1;
+    }
+
+    /**
+     * Gộp specification của filter với điều kiện "sau cursor"
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public <T> Specification<T> toSpecification(Specification<T> spec) {
+        Specification<T> base = spec != null ? spec : Specification.where(null);
+        if (this.lastId == null) {
+            return base;
+        }
+        return base.and((root, query, cb) -> {
+            Path<Long> id = root.get(ID);
+            boolean asc = this.order.isAscending();
+            Predicate idAfter = asc ? cb.greaterThan(id, this.lastId) : cb.lessThan(id, this.lastId);
+            if (ID.equals(this.order.getProperty())) {
+                return idAfter;
+            }
+
+            Path<Comparable> key = root.get(this.order.getProperty());
+            if (this.lastValue == null) {
+                // ASC: các dòng NULL còn lại rồi tới toàn bộ dòng khác NULL, DESC: NULL nằm cuối
+                Predicate nullAfter = cb.and(cb.isNull(key), idAfter);
+                return asc ? cb.or(nullAfter, cb.isNotNull(key)) : nullAfter;
+            }
+
+            Comparable value = this.convertValue(key.getJavaType());
+            Predicate keyAfter = asc ? cb.greaterThan(key, value) : cb.lessThan(key, value);
+            Predicate sameKey = cb.and(cb.equal(key, value), idAfter);
+            return asc ? cb.or(keyAfter, sameKey) : cb.or(keyAfter, sameKey, cb.isNull(key));
+        });
+    }
+
+    /**
+     * @param rows  kết quả query với limit = pageSize + 1, theo thứ tự getSort()
+     * @param count chỉ gọi khi client yêu cầu withTotal
+     */
+    public <T> ResultPaginationDTO toResultPagination(List<T> rows, Function<T, ?> mapper, LongSupplier count) {
+        boolean hasNext = rows.size() > this.pageSize;
+        List<T> content = hasNext ? rows.subList(0, this.pageSize) : rows;
+
+        ResultPaginationDTO rs = new ResultPaginationDTO();
+        ResultPaginationDTO.Meta mt = new ResultPaginationDTO.Meta();
+        mt.setPageSize(this.pageSize);
+        mt.setHasNext(hasNext);
+        if (hasNext) {
+            mt.setNextCursor(this.encodeCursor(content.get(content.size() - 1)));
+        }
+        if (this.withTotal) {
+            long total = count.getAsLong();
+            mt.setTotal(total);
+            mt.setPages((int) ((total + this.pageSize - 1) / this.pageSize));
+        }
+
+        rs.setMeta(mt);
+        rs.setResult(content.stream().map(mapper).toList());
+        return rs;
+    }
+
+    private String encodeCursor(Object row) {
+        BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(row);
+        Object value = wrapper.getPropertyValue(this.order.getProperty());
+        String raw = this.order.getProperty() + SEPARATOR + this.order.getDirection().name() + SEPARATOR
+                + wrapper.getPropertyValue(ID) + SEPARATOR
+                + (value == null ? NULL_VALUE : VALUE_PREFIX + (value instanceof Enum<?> e ? e.name() : value));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Comparable<?> convertValue(Class<?> type) {
+        if (Instant.class.equals(type)) {
+            return Instant.parse(this.lastValue);
+        }
+        return (Comparable<?>) DefaultConversionService.getSharedInstance().convert(this.lastValue, type);
+    }
+}
@@ -0,0 +1,5 @@
+package vn.hoidanit.jobhunter.util.constant;
+
+public enum RateLimitAlgorithmEnum {
+    FIXED_WINDOW, SLIDING_WINDOW_LOG, TOKEN_BUCKET
+}
@@ -0,0 +1,25 @@
+-- Fixed Window Counter
+-- KEYS[1]: counter key
+-- ARGV[1]: limit, ARGV[2]: window (giây)
+-- Trả về {allowed, remaining, reset (giây)}
+local key = KEYS[1]
+local limit = tonumber(ARGV[1])
+local window = tonumber(ARGV[2])
+
+local current = tonumber(redis.call('GET', key) or '0')
+if current >= limit then
+    local ttl = redis.call('TTL', key)
+    if ttl < 0 then
+        redis.call('EXPIRE', key, window)
+        ttl = window
+    end
+    return {0, 0, ttl}
+end
+
+current = redis.call('INCR', key)
+local ttl = redis.call('TTL', key)
+if ttl < 0 then
+    redis.call('EXPIRE', key, window)
+    ttl = window
+end
+return {1, limit - current, ttl}
@@ -0,0 +1,29 @@
+-- Sliding Window Log (sorted set, score = thời điểm request tính bằng ms)
+-- KEYS[1]: sorted set key
+-- ARGV[1]: limit, ARGV[2]: window (giây), ARGV[3]: member duy nhất cho request này
+-- Trả về {allowed, remaining, reset (giây)}
+local key = KEYS[1]
+local limit = tonumber(ARGV[1])
+local window = tonumber(ARGV[2]) * 1000
+local member = ARGV[3]
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+redis.call('ZREMRANGEBYSCORE', key, '-inf', now - window)
+local count = redis.call('ZCARD', key)
+local allowed = 0
+if count < limit then
+    redis.call('ZADD', key, now, member)
+    count = count + 1
+    allowed = 1
+end
+redis.call('PEXPIRE', key, window)
+
+-- Thời điểm request cũ nhất rời khỏi window
+local reset = window
+local oldest = redis.call('ZRANGE', key, 0, 0, 'WITHSCORES')
+if oldest[2] then
+    reset = tonumber(oldest[2]) + window - now
+end
+return {allowed, limit - count, math.ceil(reset / 1000)}
@@ -0,0 +1,39 @@
+-- Token Bucket (hash: tokens, ts)
+-- Bucket chứa tối đa `limit` token, nạp đầy lại sau `duration` giây
+-- KEYS[1]: hash key
+-- ARGV[1]: limit (capacity), ARGV[2]: duration (giây)
+-- Trả về {allowed, remaining, reset (giây)}
+local key = KEYS[1]
+local capacity = tonumber(ARGV[1])
+local period = tonumber(ARGV[2]) * 1000
+local rate = capacity / period
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local state = redis.call('HMGET', key, 'tokens', 'ts')
+local tokens = tonumber(state[1])
+local ts = tonumber(state[2])
+if tokens == nil or ts == nil then
+    tokens = capacity
+    ts = now
+end
+
+tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate)
+local allowed = 0
+if tokens >= 1 then
+    tokens = tokens - 1
+    allowed = 1
+end
+
+redis.call('HSET', key, 'tokens', tostring(tokens), 'ts', tostring(now))
+redis.call('PEXPIRE', key, period)
+
+-- Bị chặn: thời gian tới khi có 1 token; được phép: thời gian tới khi bucket đầy lại
+local reset
+if allowed == 1 then
+    reset = (capacity - tokens) / rate
+else
+    reset = (1 - tokens) / rate
+end
+return {allowed, math.floor(tokens), math.ceil(reset / 1000)}
@@ -0,0 +1,103 @@
+package vn.hoidanit.jobhunter.service;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+import com.rabbitmq.client.Channel;
+
+import vn.hoidanit.jobhunter.domain.dto.EmailDTO;
+
+/**
+ * Unit Test cho batch consumer của EmailConsumerService (ack/retry/DLQ từng message)
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EmailConsumerService Unit Tests")
+class EmailConsumerServiceTest {
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private EmailProducerService emailProducerService;
+
+    @Mock
+    private Channel channel;
+
+    private final Jackson2JsonMessageConverter converter = new Jackson2JsonMessageConverter();
+
+    private EmailConsumerService emailConsumerService;
+
+    @BeforeEach
+    void setUp() {
+        emailConsumerService = new EmailConsumerService(emailService, emailProducerService, converter);
+    }
+
+    @Test
+    @DisplayName("Ack email gửi thành công, retry email lỗi, chuyển vào DLQ khi quá số lần retry")
+    void testConsumeEmailBatch_ShouldAckRetryOrRejectEachMessage() throws Exception {
+        // Arrange
+        EmailDTO ok = email("ok@gmail.com");
+        EmailDTO retry = email("retry@gmail.com");
+        EmailDTO dead = email("dead@gmail.com");
+        List<Message> messages = List.of(message(ok, 1, 0), message(retry, 2, 1), message(dead, 3, 3));
+        when(emailService.sendEmailsFromTemplateBatch(anyList()))
+                .thenReturn(Map.of(1, new RuntimeException("timeout"), 2, new RuntimeException("timeout")));
+
+        // Act
+        emailConsumerService.consumeEmailBatch(messages, channel);
+
+        // Assert
+        verify(emailService, times(1)).sendEmailsFromTemplateBatch(List.of(ok, retry, dead));
+        verify(channel).basicAck(1, false);
+        verify(emailProducerService).sendEmailToQueue(retry, 2);
+        verify(channel).basicAck(2, false);
+        verify(channel).basicNack(3, false, false);
+        verify(emailProducerService, never()).sendEmailToQueue(eq(dead), anyInt());
+    }
+
+    @Test
+    @DisplayName("Message không đọc được -> nack vào DLQ, các message còn lại vẫn được gửi")
+    void testConsumeEmailBatch_ShouldRejectInvalidMessage() throws Exception {
+        // Arrange
+        EmailDTO ok = email("ok@gmail.com");
+        MessageProperties properties = new MessageProperties();
+        properties.setDeliveryTag(7);
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        Message invalid = new Message("not-json".getBytes(), properties);
+        when(emailService.sendEmailsFromTemplateBatch(anyList())).thenReturn(Map.of());
+
+        // Act
+        emailConsumerService.consumeEmailBatch(List.of(invalid, message(ok, 8, 0)), channel);
+
+        // Assert
+        verify(channel).basicNack(7, false, false);
+        verify(emailService).sendEmailsFromTemplateBatch(List.of(ok));
+        verify(channel).basicAck(8, false);
+    }
+
+    private static EmailDTO email(String to) {
+        return new EmailDTO(to, "Việc làm mới", "job", "Hỏi Dân IT", List.of());
+    }
+
+    private Message message(EmailDTO emailDTO, long deliveryTag, int retryCount) {
+        MessageProperties properties = new MessageProperties();
+        properties.setDeliveryTag(deliveryTag);
+        if (retryCount > 0) {
+            properties.setHeader("retry-count", retryCount);
+        }
+        return converter.toMessage(emailDTO, properties);
+    }
+}
@@ -0,0 +1,84 @@
+package vn.hoidanit.jobhunter.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import vn.hoidanit.jobhunter.config.RabbitMQConfig;
+import vn.hoidanit.jobhunter.domain.dto.EmailDTO;
+
+/**
+ * Unit Test cho publish batch của EmailProducerService (publisher confirm từng message)
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EmailProducerService Unit Tests")
+class EmailProducerServiceTest {
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    private EmailProducerService emailProducerService;
+
+    @BeforeEach
+    void setUp() {
+        emailProducerService = new EmailProducerService(rabbitTemplate);
+    }
+
+    @Test
+    @DisplayName("Mỗi message có CorrelationData riêng, chỉ trả về message bị nack hoặc gửi lỗi")
+    void testSendEmailBatchToQueue_ShouldReturnOnlyUnconfirmed() {
+        // Arrange: a được ack, b bị nack, c lỗi khi gửi
+        EmailDTO a = email("a@gmail.com");
+        EmailDTO b = email("b@gmail.com");
+        EmailDTO c = email("c@gmail.com");
+        doAnswer(invocation -> {
+            EmailDTO email = invocation.getArgument(2);
+            CorrelationData correlation = invocation.getArgument(3);
+            if (email == c) {
+                throw new AmqpException("channel closed");
+            }
+            correlation.getFuture().complete(new CorrelationData.Confirm(email == a, email == a ? null : "nack"));
+            return null;
+        }).when(rabbitTemplate).convertAndSend(eq(RabbitMQConfig.EMAIL_EXCHANGE), eq(RabbitMQConfig.EMAIL_ROUTING_KEY),
+                any(EmailDTO.class), any(CorrelationData.class));
+
+        // Act
+        List<EmailDTO> unconfirmed = emailProducerService.sendEmailBatchToQueue(List.of(a, b, c));
+
+        // Assert
+        assertEquals(List.of(b, c), unconfirmed);
+        verify(rabbitTemplate, times(3)).convertAndSend(anyString(), anyString(), any(EmailDTO.class),
+                any(CorrelationData.class));
+    }
+
+    @Test
+    @DisplayName("Tất cả message được ack - Không còn message nào cần gửi lại")
+    void testSendEmailBatchToQueue_WhenAllAcked_ShouldReturnEmpty() {
+        doAnswer(invocation -> {
+            CorrelationData correlation = invocation.getArgument(3);
+            correlation.getFuture().complete(new CorrelationData.Confirm(true, null));
+            return null;
+        }).when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(EmailDTO.class),
+                any(CorrelationData.class));
+
+        assertTrue(emailProducerService.sendEmailBatchToQueue(
+                List.of(email("a@gmail.com"), email("b@gmail.com"))).isEmpty());
+        assertTrue(emailProducerService.sendEmailBatchToQueue(List.of()).isEmpty());
+    }
+
+    private static EmailDTO email(String to) {
+        return new EmailDTO(to, "subject", "job", "user", List.of());
+    }
+}
@@ -0,0 +1,143 @@
+package vn.hoidanit.jobhunter.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import vn.hoidanit.jobhunter.util.error.StorageException;
+
+/**
+ * Unit Test cho FileStreamingService (Range, ETag, 304)
+ */
+@DisplayName("FileStreamingService Unit Tests")
+class FileStreamingServiceTest {
+
+    private static final String FILE_NAME = "1716687538974-cv.pdf";
+    private static final String CONTENT = "0123456789abcdefghij";
+
+    @TempDir
+    Path baseDir;
+
+    private FileStreamingService fileStreamingService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.createDirectory(baseDir.resolve("resume"));
+        Files.writeString(baseDir.resolve("resume").resolve(FILE_NAME), CONTENT);
+
+        FileService fileService = new FileService();
+        ReflectionTestUtils.setField(fileService, "baseURI", baseDir.toUri().toString());
+        fileStreamingService = new FileStreamingService(fileService);
+    }
+
+    @Test
+    @DisplayName("Trả toàn bộ file kèm ETag, Last-Modified và Cache-Control immutable")
+    void testServe_ShouldReturnFullFileWithCacheHeaders() throws Exception {
+        MockHttpServletResponse response = serve(new MockHttpServletRequest("GET", "/storage/resume/" + FILE_NAME));
+
+        assertEquals(200, response.getStatus());
+        assertEquals(CONTENT, response.getContentAsString());
+        assertEquals(CONTENT.length(), response.getContentLengthLong());
+        assertNotNull(response.getHeader(HttpHeaders.ETAG));
+        assertNotNull(response.getHeader(HttpHeaders.LAST_MODIFIED));
+        assertTrue(response.getHeader(HttpHeaders.CACHE_CONTROL).contains("immutable"));
+    }
+
+    @Test
+    @DisplayName("If-None-Match khớp ETag -> 304, không gửi lại nội dung")
+    void testServe_ShouldReturnNotModified() throws Exception {
+        String etag = serve(new MockHttpServletRequest("GET", "/storage/resume/" + FILE_NAME))
+                .getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/storage/resume/" + FILE_NAME);
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        MockHttpServletResponse response = serve(request);
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    @DisplayName("Range 1 đoạn -> 206 với Content-Range")
+    void testServe_ShouldReturnSingleRange() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/storage/resume/" + FILE_NAME);
+        request.addHeader(HttpHeaders.RANGE, "bytes=5-9");
+        MockHttpServletResponse response = serve(request);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 5-9/20", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals("56789", response.getContentAsString());
+    }
+
+    @Test
+    @DisplayName("Nhiều range -> 206 multipart/byteranges")
+    void testServe_ShouldReturnMultipartRanges() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/storage/resume/" + FILE_NAME);
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-1,-3");
+        MockHttpServletResponse response = serve(request);
+
+        String body = response.getContentAsString(StandardCharsets.US_ASCII);
+        assertEquals(206, response.getStatus());
+        assertTrue(response.getContentType().startsWith("multipart/byteranges; boundary="));
+        assertTrue(body.contains("Content-Range: bytes 0-1/20\r\n\r\n01"));
+        assertTrue(body.contains("Content-Range: bytes 17-19/20\r\n\r\nhij"));
+        assertEquals(body.length(), response.getContentLengthLong());
+    }
+
+    @Test
+    @DisplayName("Range vượt quá kích thước file -> 416")
+    void testServe_ShouldRejectUnsatisfiableRange() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/storage/resume/" + FILE_NAME);
+        request.addHeader(HttpHeaders.RANGE, "bytes=100-200");
+        MockHttpServletResponse response = serve(request);
+
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */20", response.getHeader(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    @DisplayName("Connector hỗ trợ sendfile -> giao cho Tomcat gửi file, không ghi body qua JVM")
+    void testServe_ShouldDelegateLargeFileToSendfile() throws Exception {
+        String largeFile = "1716687538975-large.pdf";
+        Path path = baseDir.resolve("resume").resolve(largeFile);
+        Files.write(path, new byte[100 * 1024]);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/storage/resume/" + largeFile);
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        request.addHeader(HttpHeaders.RANGE, "bytes=1024-");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        fileStreamingService.serve(largeFile, "resume", MediaType.APPLICATION_PDF, false, request, response);
+
+        assertEquals(206, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertEquals(path.toAbsolutePath().toString(), request.getAttribute("org.apache.tomcat.sendfile.filename"));
+        assertEquals(1024L, request.getAttribute("org.apache.tomcat.sendfile.start"));
+        assertEquals(100L * 1024, request.getAttribute("org.apache.tomcat.sendfile.end"));
+    }
+
+    @Test
+    @DisplayName("Chặn path traversal ra ngoài thư mục upload")
+    void testServe_ShouldRejectPathTraversal() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/storage/resume/x");
+        assertThrows(StorageException.class, () -> fileStreamingService.serve("../../etc/passwd", "resume",
+                MediaType.APPLICATION_PDF, false, request, new MockHttpServletResponse()));
+    }
+
+    private MockHttpServletResponse serve(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        fileStreamingService.serve(FILE_NAME, "resume", MediaType.APPLICATION_PDF, false, request, response);
+        return response;
+    }
+}
@@ -0,0 +1,182 @@
+package vn.hoidanit.jobhunter.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import jakarta.persistence.EntityManager;
+import vn.hoidanit.jobhunter.domain.Company;
+import vn.hoidanit.jobhunter.domain.Job;
+import vn.hoidanit.jobhunter.domain.Skill;
+import vn.hoidanit.jobhunter.domain.response.ResultPaginationDTO;
+import vn.hoidanit.jobhunter.domain.response.job.ResFetchJobDTO;
+import vn.hoidanit.jobhunter.util.CursorPageRequest;
+import vn.hoidanit.jobhunter.util.constant.LevelEnum;
+import vn.hoidanit.jobhunter.util.error.IdInvalidException;
+
+/**
+ * Test số câu SQL của danh sách job (H2 in-memory + Hibernate statistics)
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(JobService.class)
+@DisplayName("JobService Query Tests")
+class JobServiceTest {
+
+    private static final int JOBS = 150;
+    private static final int PAGE_SIZE = 100;
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        // Context Spring được dùng lại giữa các test
+        ReflectionTestUtils.setField(jobService, "listProjectionEnabled", true);
+
+        List<Company> companies = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Company company = new Company();
+            company.setName("Company " + i);
+            company.setLogo("logo-" + i + ".png");
+            entityManager.persist(company);
+            companies.add(company);
+        }
+        List<Skill> skills = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Skill skill = new Skill();
+            skill.setName("Skill " + i);
+            entityManager.persist(skill);
+            skills.add(skill);
+        }
+        for (int i = 0; i < JOBS; i++) {
+            Job job = new Job();
+            job.setName("Job " + i);
+            job.setLevel(LevelEnum.JUNIOR);
+            job.setActive(true);
+            job.setCompany(i % 11 == 0 ? null : companies.get(i % companies.size()));
+            job.setSkills(List.of(skills.get(i % 5), skills.get((i + 1) % 5)));
+            entityManager.persist(job);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("1 trang 100 job chỉ tốn tối đa 3 câu SQL (trang + count + skills)")
+    void testFetchAll_ShouldUseAtMostThreeStatements() {
+        // Act
+        ResultPaginationDTO result = jobService.fetchAll(null, PageRequest.of(0, PAGE_SIZE, Sort.by("id")));
+        long statements = statistics.getPrepareStatementCount();
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        List<ResFetchJobDTO> jobs = (List<ResFetchJobDTO>) result.getResult();
+        assertEquals(PAGE_SIZE, jobs.size());
+        assertEquals(JOBS, result.getMeta().getTotal());
+        assertEquals(2, result.getMeta().getPages());
+        assertTrue(statements <= 3, "SQL statements: " + statements);
+
+        assertNull(jobs.get(0).getCompany());
+        assertEquals("Company 1", jobs.get(1).getCompany().getName());
+        assertEquals(2, jobs.get(1).getSkills().size());
+    }
+
+    @Test
+    @DisplayName("Phân trang cursor: duyệt hết job đúng thứ tự, không query count")
+    void testFetchAllByCursor_ShouldWalkAllJobsWithoutCount() throws Exception {
+        // createdAt trùng nhau nhiều -> id làm khóa phụ
+        PageRequest pageable = PageRequest.of(0, 40, Sort.by("createdAt").descending());
+        @SuppressWarnings("unchecked")
+        List<ResFetchJobDTO> all = (List<ResFetchJobDTO>) jobService.fetchAll(null,
+                PageRequest.of(0, JOBS, Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id")))).getResult();
+        List<Long> expected = all.stream().map(ResFetchJobDTO::getId).toList();
+
+        List<Long> actual = new ArrayList<>();
+        String cursor = "";
+        int pages = 0;
+        statistics.clear();
+        do {
+            ResultPaginationDTO result = jobService.fetchAllByCursor(null, CursorPageRequest.of(pageable, cursor, false,
+                    JobService.CURSOR_SORT_KEYS));
+            @SuppressWarnings("unchecked")
+            List<ResFetchJobDTO> jobs = (List<ResFetchJobDTO>) result.getResult();
+            jobs.forEach(job -> actual.add(job.getId()));
+            assertNull(result.getMeta().getTotal());
+            cursor = result.getMeta().getNextCursor();
+            assertEquals(cursor != null, result.getMeta().getHasNext());
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(expected, actual);
+        assertEquals(4, pages);
+        // Mỗi trang: query job + query skills, không count
+        assertEquals(pages * 2L, statistics.getPrepareStatementCount());
+
+        ResultPaginationDTO withTotal = jobService.fetchAllByCursor(null, CursorPageRequest.of(pageable, "", true,
+                JobService.CURSOR_SORT_KEYS));
+        assertEquals(JOBS, withTotal.getMeta().getTotal());
+        assertEquals(4, withTotal.getMeta().getPages());
+    }
+
+    @Test
+    @DisplayName("Cursor không hợp lệ trả lỗi IdInvalidException")
+    void testCursorPageRequest_InvalidCursor() {
+        assertThrows(IdInvalidException.class,
+                () -> CursorPageRequest.of(PageRequest.of(0, 10), "abc", false, JobService.CURSOR_SORT_KEYS));
+    }
+
+    @Test
+    @DisplayName("Sort ngoài whitelist (kể cả trong cursor tự tạo) trả lỗi IdInvalidException")
+    void testCursorPageRequest_ShouldRejectNonWhitelistedSortKey() throws Exception {
+        assertThrows(IdInvalidException.class, () -> CursorPageRequest.of(
+                PageRequest.of(0, 10, Sort.by("password")), "", false, UserService.CURSOR_SORT_KEYS));
+        assertThrows(IdInvalidException.class, () -> CursorPageRequest.of(
+                PageRequest.of(0, 10, Sort.by("company.name")), "", false, JobService.CURSOR_SORT_KEYS));
+
+        String crafted = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("password\nASC\n1\nv$2a$10$hash".getBytes(StandardCharsets.UTF_8));
+        assertThrows(IdInvalidException.class,
+                () -> CursorPageRequest.of(PageRequest.of(0, 10), crafted, false, UserService.CURSOR_SORT_KEYS));
+
+        // Khóa trong whitelist vẫn dùng được, cursor trả về chỉ chứa khóa đó
+        CursorPageRequest page = CursorPageRequest.of(PageRequest.of(0, 10, Sort.by("salary")), "", false,
+                JobService.CURSOR_SORT_KEYS);
+        assertEquals("salary", page.getOrder().getProperty());
+    }
+
+    @Test
+    @DisplayName("Specification được áp dụng cho cả query trang và query count")
+    void testFetchAll_ShouldApplySpecification() {
+        Specification<Job> spec = (root, query, cb) -> cb.like(root.get("name"), "Job 1%");
+
+        ResultPaginationDTO result = jobService.fetchAll(spec, PageRequest.of(0, 10));
+
+        // Job 1, Job 10-19, Job 100-149
+        assertEquals(61, result.getMeta().getTotal());
+        assertEquals(10, ((List<?>) result.getResult()).size());
+    }
+}
@@ -0,0 +1,225 @@
+package vn.hoidanit.jobhunter.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.minio.BucketExistsArgs;
+import io.minio.GetObjectArgs;
+import io.minio.MinioAsyncClient;
+import io.minio.MinioClient;
+import io.minio.PutObjectArgs;
+import io.minio.StatObjectArgs;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import vn.hoidanit.jobhunter.config.MultipartMinioAsyncClient;
+import vn.hoidanit.jobhunter.domain.dto.StorageFileDTO;
+
+/**
+ * Test + benchmark cho MinIOService với S3 server giả lập (MockWebServer)
+ *
+ * Mỗi request tới server giả lập có độ trễ LATENCY_MS để mô phỏng round trip mạng,
+ * so sánh số request và thời gian giữa cách cũ và cách mới
+ */
+@DisplayName("MinIOService Tests")
+class MinIOServiceTest {
+
+    private static final Logger log = LoggerFactory.getLogger(MinIOServiceTest.class);
+
+    private static final String BUCKET = "jobhunter";
+    private static final long LATENCY_MS = 20;
+    private static final String S3_NS = "xmlns=\"http://s3.amazonaws.com/doc/2006-03-01/\"";
+
+    private MockWebServer server;
+    private MinioClient minioClient;
+    private MinIOService minIOService;
+    private final Queue<String> requests = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger inFlightParts = new AtomicInteger();
+    private final AtomicInteger maxInFlightParts = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new MockWebServer();
+        server.setDispatcher(new FakeS3Dispatcher());
+        server.start();
+
+        String endpoint = server.url("/").toString();
+        minioClient = MinioClient.builder().endpoint(endpoint).region("us-east-1")
+                .credentials("minioadmin", "minioadmin").build();
+        MultipartMinioAsyncClient asyncClient = new MultipartMinioAsyncClient(MinioAsyncClient.builder()
+                .endpoint(endpoint).region("us-east-1").credentials("minioadmin", "minioadmin").build());
+
+        minIOService = new MinIOService(minioClient, asyncClient);
+        ReflectionTestUtils.setField(minIOService, "bucketName", BUCKET);
+        ReflectionTestUtils.setField(minIOService, "endpoint", endpoint);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    @DisplayName("Bucket chỉ được kiểm tra 1 lần lúc khởi động, mỗi lần upload chỉ còn 1 request")
+    void testUploadFile_ShouldCheckBucketOnlyOnce() throws Exception {
+        minIOService.initializeBucket();
+        requests.clear();
+
+        for (int i = 0; i < 3; i++) {
+            minIOService.uploadFile(new MockMultipartFile("file", "cv.pdf", "application/pdf",
+                    "pdf".getBytes(StandardCharsets.UTF_8)), "resume");
+        }
+
+        assertEquals(3, requests.size());
+        assertTrue(requests.stream().allMatch(r -> r.startsWith("PUT /jobhunter/resume/")));
+    }
+
+    @Test
+    @DisplayName("Mở file bằng 1 request GetObject, lấy kích thước và content type từ header")
+    void testOpenFile_ShouldUseSingleGetObject() throws Exception {
+        StorageFileDTO file = minIOService.openFile("1716687538974-logo.png", "company");
+        try (InputStream content = file.getContent()) {
+            assertEquals("logo", new String(content.readAllBytes(), StandardCharsets.UTF_8));
+        }
+
+        assertEquals(4, file.getSize());
+        assertEquals("image/png", file.getContentType());
+        assertEquals(1, requests.size());
+        assertTrue(requests.peek().startsWith("GET /jobhunter/company/1716687538974-logo.png"));
+    }
+
+    @Test
+    @DisplayName("File lớn được upload multipart, các part chạy song song")
+    void testUploadFile_ShouldUploadPartsInParallel() throws Exception {
+        minIOService.initializeBucket();
+        requests.clear();
+        byte[] data = new byte[MinIOService.PART_SIZE * 3 + 123];
+
+        minIOService.uploadFile(new MockMultipartFile("file", "cv.pdf", "application/pdf", data), "resume");
+
+        assertEquals(1, requests.stream().filter(r -> r.contains("?uploads")).count());
+        assertEquals(4, requests.stream().filter(r -> r.contains("partNumber=")).count());
+        assertEquals(1, requests.stream().filter(r -> r.startsWith("POST") && r.contains("uploadId=")).count());
+        assertTrue(maxInFlightParts.get() > 1, "Các part phải được upload song song");
+    }
+
+    @Test
+    @Tag("benchmark")
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @DisplayName("Benchmark: số round trip và thời gian so với cách cũ")
+    void testBenchmark_RoundTripsAndMultipartUpload() throws Exception {
+        minIOService.initializeBucket();
+        byte[] small = "pdf".getBytes(StandardCharsets.UTF_8);
+
+        // Cách cũ: bucketExists + putObject / statObject + getObject
+        requests.clear();
+        minioClient.bucketExists(BucketExistsArgs.builder().bucket(BUCKET).build());
+        minioClient.putObject(PutObjectArgs.builder().bucket(BUCKET).object("resume/old.pdf")
+                .stream(new ByteArrayInputStream(small), small.length, -1).build());
+        int legacyUpload = requests.size();
+        requests.clear();
+        minioClient.statObject(StatObjectArgs.builder().bucket(BUCKET).object("company/old.png").build());
+        minioClient.getObject(GetObjectArgs.builder().bucket(BUCKET).object("company/old.png").build()).close();
+        int legacyDownload = requests.size();
+
+        // Cách mới
+        requests.clear();
+        minIOService.uploadFile(new MockMultipartFile("file", "cv.pdf", "application/pdf", small), "resume");
+        int newUpload = requests.size();
+        requests.clear();
+        minIOService.openFile("new.png", "company").getContent().close();
+        int newDownload = requests.size();
+
+        // File lớn: multipart tuần tự của SDK vs multipart song song
+        byte[] large = new byte[MinIOService.PART_SIZE * 4];
+        long sequentialStart = System.nanoTime();
+        minioClient.putObject(PutObjectArgs.builder().bucket(BUCKET).object("resume/large.pdf")
+                .stream(new ByteArrayInputStream(large), large.length, MinIOService.PART_SIZE).build());
+        long sequentialMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sequentialStart);
+        long parallelStart = System.nanoTime();
+        minIOService.uploadFile(new MockMultipartFile("file", "large.pdf", "application/pdf", large), "resume");
+        long parallelMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - parallelStart);
+
+        log.info("minio benchmark (latency {} ms/request)", LATENCY_MS);
+        log.info("upload round trips  : legacy {}, new {}", legacyUpload, newUpload);
+        log.info("download round trips: legacy {}, new {}", legacyDownload, newDownload);
+        log.info("20MB upload         : sequential multipart {} ms, parallel multipart {} ms",
+                sequentialMs, parallelMs);
+
+        assertEquals(2, legacyUpload);
+        assertEquals(1, newUpload);
+        assertEquals(2, legacyDownload);
+        assertEquals(1, newDownload);
+    }
+
+    /**
+     * S3 API tối thiểu: HEAD bucket, PUT/GET/HEAD object, multipart upload
+     */
+    private class FakeS3Dispatcher extends Dispatcher {
+        @Override
+        public MockResponse dispatch(RecordedRequest request) {
+            String method = request.getMethod();
+            String path = request.getPath();
+            requests.add(method + " " + path);
+
+            MockResponse response = new MockResponse().setHeadersDelay(LATENCY_MS, TimeUnit.MILLISECONDS);
+            if (path.contains("partNumber=")) {
+                int current = inFlightParts.incrementAndGet();
+                maxInFlightParts.accumulateAndGet(current, Math::max);
+                sleep();
+                inFlightParts.decrementAndGet();
+                String partNumber = request.getRequestUrl().queryParameter("partNumber");
+                return response.setHeader("ETag", "\"etag-" + partNumber + "\"");
+            }
+            if ("POST".equals(method) && path.contains("?uploads")) {
+                return response.setBody("<InitiateMultipartUploadResult " + S3_NS + "><Bucket>" + BUCKET
+                        + "</Bucket><Key>key</Key><UploadId>upload-1</UploadId></InitiateMultipartUploadResult>");
+            }
+            if ("POST".equals(method) && path.contains("uploadId=")) {
+                return response.setBody("<CompleteMultipartUploadResult " + S3_NS + "><Location>loc</Location>"
+                        + "<Bucket>" + BUCKET + "</Bucket><Key>key</Key><ETag>\"etag\"</ETag>"
+                        + "</CompleteMultipartUploadResult>");
+            }
+            if ("PUT".equals(method)) {
+                return response.setHeader("ETag", "\"etag\"");
+            }
+            if ("HEAD".equals(method)) {
+                return response.setHeader("ETag", "\"etag\"")
+                        .setHeader("Content-Length", "4")
+                        .setHeader("Content-Type", "image/png")
+                        .setHeader("Last-Modified", "Wed, 21 Oct 2015 07:28:00 GMT");
+            }
+            if ("GET".equals(method)) {
+                return response.setHeader("Content-Type", "image/png").setBody("logo");
+            }
+            return response;
+        }
+
+        private void sleep() {
+            try {
+                Thread.sleep(LATENCY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
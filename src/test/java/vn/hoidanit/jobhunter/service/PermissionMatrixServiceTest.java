@@ -0,0 +1,102 @@
+package vn.hoidanit.jobhunter.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import vn.hoidanit.jobhunter.domain.Permission;
+import vn.hoidanit.jobhunter.domain.Role;
+import vn.hoidanit.jobhunter.domain.User;
+import vn.hoidanit.jobhunter.repository.PermissionRepository;
+import vn.hoidanit.jobhunter.repository.UserRepository;
+
+/**
+ * Unit Test cho PermissionMatrixService
+ * Kiểm tra bảng phân quyền chỉ query DB khi cache miss và được invalidate đúng
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PermissionMatrixService Unit Tests")
+class PermissionMatrixServiceTest {
+
+    @Mock
+    private PermissionRepository permissionRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PermissionMatrixService permissionMatrixService;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        permissionMatrixService = new PermissionMatrixService(permissionRepository, userRepository, meterRegistry);
+
+        Role role = new Role();
+        role.setId(1L);
+        testUser = new User();
+        testUser.setEmail("hr@gmail.com");
+        testUser.setRole(role);
+    }
+
+    @Test
+    @DisplayName("Chỉ query DB ở lần đầu, các lần sau tra cứu trong bộ nhớ")
+    void testIsAllowed_ShouldHitDatabaseOnlyOnce() {
+        // Arrange
+        when(userRepository.findByEmail("hr@gmail.com")).thenReturn(testUser);
+        when(permissionRepository.findByRolesId(1L))
+                .thenReturn(List.of(new Permission("Get a job by id", "/api/v1/jobs/{id}", "GET", "JOBS")));
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            assertEquals(Boolean.TRUE, permissionMatrixService.isAllowed("hr@gmail.com", "GET", "/api/v1/jobs/{id}"));
+        }
+        assertEquals(Boolean.FALSE, permissionMatrixService.isAllowed("hr@gmail.com", "DELETE", "/api/v1/jobs/{id}"));
+
+        // Assert
+        verify(userRepository, times(1)).findByEmail("hr@gmail.com");
+        verify(permissionRepository, times(1)).findByRolesId(1L);
+        assertEquals(5.0, meterRegistry.get("permission.matrix.lookups")
+                .tag("table", "role").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    @DisplayName("Compile lại permissions của role sau khi bị evict")
+    void testEvictRole_ShouldReloadPermissions() {
+        // Arrange
+        when(userRepository.findByEmail("hr@gmail.com")).thenReturn(testUser);
+        when(permissionRepository.findByRolesId(1L))
+                .thenReturn(List.of())
+                .thenReturn(List.of(new Permission("Create a job", "/api/v1/jobs", "POST", "JOBS")));
+
+        // Act & Assert
+        assertEquals(Boolean.FALSE, permissionMatrixService.isAllowed("hr@gmail.com", "POST", "/api/v1/jobs"));
+        permissionMatrixService.evictRole(1L);
+        assertEquals(Boolean.TRUE, permissionMatrixService.isAllowed("hr@gmail.com", "POST", "/api/v1/jobs"));
+        verify(permissionRepository, times(2)).findByRolesId(1L);
+    }
+
+    @Test
+    @DisplayName("User không có role thì bị từ chối, user không tồn tại thì trả về null")
+    void testIsAllowed_WhenNoRoleOrNoUser() {
+        // Arrange
+        testUser.setRole(null);
+        when(userRepository.findByEmail("hr@gmail.com")).thenReturn(testUser);
+        when(userRepository.findByEmail("ghost@gmail.com")).thenReturn(null);
+
+        // Act & Assert
+        assertEquals(Boolean.FALSE, permissionMatrixService.isAllowed("hr@gmail.com", "GET", "/api/v1/users"));
+        assertNull(permissionMatrixService.isAllowed("ghost@gmail.com", "GET", "/api/v1/users"));
+        verifyNoInteractions(permissionRepository);
+    }
+}
@@ -0,0 +1,214 @@
+package vn.hoidanit.jobhunter.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.Properties;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import redis.embedded.RedisServer;
+import vn.hoidanit.jobhunter.util.constant.RateLimitAlgorithmEnum;
+
+/**
+ * Integration Test + benchmark cho RateLimitService
+ *
+ * Chạy với Redis embedded (binary thật), so sánh số round trip và thời gian
+ * giữa cách cũ (GET + INCR + EXPIRE + GET + TTL) và Lua script (EVALSHA)
+ */
+@DisplayName("RateLimitService Integration Tests")
+class RateLimitServiceTest {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitServiceTest.class);
+
+    private static final int ITERATIONS = 2_000;
+
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+    private static RedisTemplate<String, String> redisTemplate;
+
+    private RateLimitService rateLimitService;
+
+    @BeforeAll
+    static void startRedis() throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = RedisServer.newRedisServer().port(port).setting("save \"\"").build();
+        redisServer.start();
+
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", port));
+        connectionFactory.afterPropertiesSet();
+
+        redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.setKeySerializer(new StringRedisSerializer());
+        redisTemplate.setValueSerializer(new StringRedisSerializer());
+        redisTemplate.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void stopRedis() throws Exception {
+        if (connectionFactory != null) {
+            connectionFactory.destroy();
+        }
+        if (redisServer != null) {
+            redisServer.stop();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        });
+        rateLimitService = new RateLimitService(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("Fixed window: chặn request thứ limit + 1 và trả về remaining/reset")
+    void testFixedWindow_ShouldBlockAfterLimit() {
+        for (int i = 1; i <= 3; i++) {
+            RateLimitService.RateLimitResult result = rateLimitService.checkRequest(
+                    "rl:fixed", 3, 60, RateLimitAlgorithmEnum.FIXED_WINDOW);
+            assertTrue(result.isAllowed());
+            assertEquals(3 - i, result.getRemaining());
+            assertTrue(result.getResetInSeconds() > 0 && result.getResetInSeconds() <= 60);
+        }
+
+        RateLimitService.RateLimitResult blocked = rateLimitService.checkRequest(
+                "rl:fixed", 3, 60, RateLimitAlgorithmEnum.FIXED_WINDOW);
+        assertFalse(blocked.isAllowed());
+        assertEquals(0, blocked.getRemaining());
+    }
+
+    @Test
+    @DisplayName("Sliding window log: chặn request thứ limit + 1")
+    void testSlidingWindowLog_ShouldBlockAfterLimit() {
+        for (int i = 0; i < 5; i++) {
+            assertTrue(rateLimitService.checkRequest(
+                    "rl:sliding", 5, 60, RateLimitAlgorithmEnum.SLIDING_WINDOW_LOG).isAllowed());
+        }
+        RateLimitService.RateLimitResult blocked = rateLimitService.checkRequest(
+                "rl:sliding", 5, 60, RateLimitAlgorithmEnum.SLIDING_WINDOW_LOG);
+        assertFalse(blocked.isAllowed());
+        assertEquals(0, blocked.getRemaining());
+        assertEquals(5L, redisTemplate.opsForZSet().zCard("rl:sliding:swl"));
+    }
+
+    @Test
+    @DisplayName("Token bucket: hết token thì chặn, reset là thời gian chờ token kế tiếp")
+    void testTokenBucket_ShouldBlockWhenEmpty() {
+        for (int i = 0; i < 2; i++) {
+            assertTrue(rateLimitService.checkRequest(
+                    "rl:bucket", 2, 60, RateLimitAlgorithmEnum.TOKEN_BUCKET).isAllowed());
+        }
+        RateLimitService.RateLimitResult blocked = rateLimitService.checkRequest(
+                "rl:bucket", 2, 60, RateLimitAlgorithmEnum.TOKEN_BUCKET);
+        assertFalse(blocked.isAllowed());
+        assertTrue(blocked.getResetInSeconds() > 0 && blocked.getResetInSeconds() <= 30);
+    }
+
+    @Test
+    @DisplayName("Lua script chỉ tốn 1 round trip mỗi request")
+    void testCheckRequest_ShouldTakeOneRoundTrip() {
+        // Warm-up: nạp script vào Redis (EVALSHA lần đầu fallback sang EVAL)
+        rateLimitService.checkRequest("rl:warmup", 10, 60, RateLimitAlgorithmEnum.FIXED_WINDOW);
+
+        long scriptCommands = scriptCalls();
+        for (int i = 0; i < 10; i++) {
+            rateLimitService.checkRequest("rl:script", 100, 60, RateLimitAlgorithmEnum.FIXED_WINDOW);
+        }
+
+        assertEquals(10, scriptCalls() - scriptCommands, "Mỗi request chỉ được tốn 1 lệnh Redis");
+    }
+
+    @Test
+    @Tag("benchmark")
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @DisplayName("Benchmark: Lua script chỉ tốn 1 round trip mỗi request")
+    void testBenchmark_ScriptVsLegacyRoundTrips() {
+        // Warm-up: nạp script vào Redis (EVALSHA lần đầu fallback sang EVAL)
+        rateLimitService.checkRequest("rl:warmup", 10, 60, RateLimitAlgorithmEnum.FIXED_WINDOW);
+
+        long legacyCommands = commandsProcessed();
+        long legacyStart = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            legacyCheck("rl:legacy", ITERATIONS * 2, 60);
+        }
+        long legacyNanos = System.nanoTime() - legacyStart;
+        legacyCommands = commandsProcessed() - legacyCommands - 1;
+
+        // Lệnh bên trong Lua script cũng được Redis đếm, nên chỉ đếm số lần client gọi EVALSHA/EVAL
+        long scriptCommands = scriptCalls();
+        long scriptStart = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            rateLimitService.checkRequest("rl:script", ITERATIONS * 2, 60, RateLimitAlgorithmEnum.FIXED_WINDOW);
+        }
+        long scriptNanos = System.nanoTime() - scriptStart;
+        scriptCommands = scriptCalls() - scriptCommands;
+
+        log.info("rate limit benchmark ({} requests)", ITERATIONS);
+        log.info(String.format("legacy GET/INCR/EXPIRE/GET/TTL: %d round trips, %.1f us/request",
+                legacyCommands, legacyNanos / 1000.0 / ITERATIONS));
+        log.info(String.format("lua EVALSHA                  : %d round trips, %.1f us/request",
+                scriptCommands, scriptNanos / 1000.0 / ITERATIONS));
+
+        assertEquals(ITERATIONS, scriptCommands, "Mỗi request chỉ được tốn 1 lệnh Redis");
+        assertTrue(legacyCommands >= ITERATIONS * 4L);
+    }
+
+    /**
+     * Cách làm cũ của RateLimitService + RateLimitInterceptor, giữ lại làm baseline
+     */
+    private void legacyCheck(String key, int limit, int duration) {
+        String currentCountStr = redisTemplate.opsForValue().get(key);
+        int currentCount = currentCountStr != null ? Integer.parseInt(currentCountStr) : 0;
+        if (currentCount >= limit) {
+            return;
+        }
+        Long newCount = redisTemplate.opsForValue().increment(key);
+        if (newCount != null && newCount == 1) {
+            redisTemplate.expire(key, Duration.ofSeconds(duration));
+        }
+        redisTemplate.opsForValue().get(key);
+        redisTemplate.getExpire(key);
+    }
+
+    private long scriptCalls() {
+        Properties info = redisTemplate.execute(
+                (RedisCallback<Properties>) connection -> connection.serverCommands().info("commandstats"));
+        return commandCalls(info, "cmdstat_evalsha") + commandCalls(info, "cmdstat_eval");
+    }
+
+    private long commandCalls(Properties info, String command) {
+        // Định dạng: calls=123,usec=456,usec_per_call=3.70,...
+        String stat = info.getProperty(command);
+        if (stat == null) {
+            return 0;
+        }
+        return Long.parseLong(stat.substring(stat.indexOf("calls=") + 6, stat.indexOf(',')));
+    }
+
+    private long commandsProcessed() {
+        Properties info = redisTemplate.execute(
+                (RedisCallback<Properties>) connection -> connection.serverCommands().info("stats"));
+        return Long.parseLong(info.getProperty("total_commands_processed"));
+    }
+}
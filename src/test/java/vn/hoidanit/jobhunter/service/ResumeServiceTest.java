@@ -0,0 +1,255 @@
+package vn.hoidanit.jobhunter.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.turkraft.springfilter.converter.FilterSpecificationConverter;
+import com.turkraft.springfilter.parser.FilterParser;
+
+import jakarta.persistence.EntityManager;
+import vn.hoidanit.jobhunter.domain.Resume;
+import vn.hoidanit.jobhunter.domain.response.ResultPaginationDTO;
+import vn.hoidanit.jobhunter.domain.response.resume.ResFetchResumeDTO;
+import vn.hoidanit.jobhunter.util.CursorPageRequest;
+
+/**
+ * Test + benchmark danh sách resume: read-model projection vs entity + lazy load
+ * (H2 in-memory + Hibernate statistics)
+ *
+ * Benchmark chỉ chạy khi bật -Pbenchmark; mặc định 10k resume, chạy ở quy mô 100k: -Dbenchmark.resumes=100000
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(ResumeService.class)
+@DisplayName("ResumeService Query Tests")
+class ResumeServiceTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ResumeServiceTest.class);
+
+    private static final int RESUMES = Integer.getInteger("benchmark.resumes", 10_000);
+    private static final int COMPANIES = 50;
+    private static final int JOBS = 500;
+    private static final int USERS = 2_000;
+    private static final int PAGE_SIZE = 100;
+    private static final int PAGES = 10;
+
+    @Autowired
+    private ResumeService resumeService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private FilterParser filterParser;
+
+    @MockBean
+    private FilterSpecificationConverter filterSpecificationConverter;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        // Context Spring được dùng lại giữa các test
+        ReflectionTestUtils.setField(resumeService, "listProjectionEnabled", true);
+
+        Timestamp now = Timestamp.from(Instant.now());
+        batchInsert("INSERT INTO companies (id, name, created_at) VALUES (?, ?, ?)", COMPANIES,
+                i -> new Object[] { i, "Company " + i, now });
+        batchInsert("INSERT INTO jobs (id, name, company_id, salary, quantity, active, created_at) "
+                + "VALUES (?, ?, ?, 1000, 1, true, ?)", JOBS,
+                i -> new Object[] { i, "Job " + i, i % COMPANIES + 1, now });
+        batchInsert("INSERT INTO users (id, name, email, age, created_at) VALUES (?, ?, ?, 20, ?)", USERS,
+                i -> new Object[] { i, "User " + i, "user" + i + "@gmail.com", now });
+        batchInsert("INSERT INTO resumes (id, email, url, status, job_id, user_id, created_at, created_by) "
+                + "VALUES (?, ?, ?, 'PENDING', ?, ?, ?, 'hr@gmail.com')", RESUMES,
+                i -> new Object[] { i, "user" + (i % USERS + 1) + "@gmail.com", "cv-" + i + ".pdf",
+                        i % JOBS + 1, i % USERS + 1, now });
+
+        entityManager.clear();
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Projection trả về cùng dữ liệu với cách cũ, 1 trang chỉ tốn tối đa 3 câu SQL (id + projection + count)")
+    void testFetchAllResume_ProjectionShouldMatchEntityPath() {
+        Pageable pageable = PageRequest.of(1, PAGE_SIZE, Sort.by("id").descending());
+
+        ResultPaginationDTO projection = resumeService.fetchAllResume(null, pageable);
+        long statements = statistics.getPrepareStatementCount();
+
+        ReflectionTestUtils.setField(resumeService, "listProjectionEnabled", false);
+        entityManager.clear();
+        ResultPaginationDTO entity = resumeService.fetchAllResume(null, pageable);
+
+        assertTrue(statements <= 3, "SQL statements: " + statements);
+        assertEquals(RESUMES, projection.getMeta().getTotal());
+        assertEquals(entity.getMeta().getTotal(), projection.getMeta().getTotal());
+
+        List<ResFetchResumeDTO> expected = resumes(entity);
+        List<ResFetchResumeDTO> actual = resumes(projection);
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getId(), actual.get(i).getId());
+            assertEquals(expected.get(i).getCompanyName(), actual.get(i).getCompanyName());
+            assertEquals(expected.get(i).getJob().getName(), actual.get(i).getJob().getName());
+            assertEquals(expected.get(i).getUser().getName(), actual.get(i).getUser().getName());
+            assertEquals(expected.get(i).getCreatedBy(), actual.get(i).getCreatedBy());
+        }
+    }
+
+    @Test
+    @DisplayName("Phân trang cursor: duyệt hết resume đúng thứ tự, không query count")
+    void testFetchAllResumeByCursor_ShouldWalkAllResumesWithoutCount() throws Exception {
+        // createdAt giống nhau -> thứ tự theo id giảm dần
+        List<Long> expected = new ArrayList<>(RESUMES);
+        for (long id = RESUMES; id >= 1; id--) {
+            expected.add(id);
+        }
+
+        List<Long> actual = new ArrayList<>(RESUMES);
+        String cursor = "";
+        do {
+            ResultPaginationDTO result = resumeService.fetchAllResumeByCursor(null,
+                    CursorPageRequest.of(PageRequest.of(0, PAGE_SIZE, Sort.by("createdAt").descending()), cursor, false,
+                            ResumeService.CURSOR_SORT_KEYS));
+            resumes(result).forEach(r -> actual.add(r.getId()));
+            assertNull(result.getMeta().getTotal());
+            cursor = result.getMeta().getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @Tag("benchmark")
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @DisplayName("Benchmark: trang resume của HR (lọc theo job của công ty)")
+    void testBenchmark_ProjectionVsEntity() {
+        // HR của công ty 1: resume thuộc các job của công ty này
+        List<Long> companyJobIds = new ArrayList<>();
+        for (long id = 1; id <= JOBS; id += COMPANIES) {
+            companyJobIds.add(id);
+        }
+        Specification<Resume> hrSpec = (root, query, cb) -> root.get("job").get("id").in(companyJobIds);
+
+        long[] projection = run(hrSpec);
+        ReflectionTestUtils.setField(resumeService, "listProjectionEnabled", false);
+        long[] entity = run(hrSpec);
+
+        log.info("resume list benchmark ({} resumes, {} pages x {})", RESUMES, PAGES, PAGE_SIZE);
+        log.info("all resumes   : projection {} statements / {} ms, entity {} statements / {} ms",
+                projection[0], projection[1], entity[0], entity[1]);
+        log.info("HR (company 1): projection {} statements / {} ms, entity {} statements / {} ms",
+                projection[2], projection[3], entity[2], entity[3]);
+
+        assertTrue(projection[0] <= PAGES * 3L);
+        assertTrue(entity[0] > projection[0]);
+    }
+
+    @Test
+    @Tag("benchmark")
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @DisplayName("Benchmark: duyệt toàn bộ resume bằng cursor vs offset")
+    void testBenchmark_CursorVsOffset() throws Exception {
+        Sort sort = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+        int pages = RESUMES / PAGE_SIZE;
+
+        // Offset: OFFSET tăng dần + COUNT mỗi trang
+        statistics.clear();
+        long start = System.nanoTime();
+        List<Long> offsetIds = new ArrayList<>(RESUMES);
+        for (int page = 0; page < pages; page++) {
+            resumes(resumeService.fetchAllResume(null, PageRequest.of(page, PAGE_SIZE, sort)))
+                    .forEach(r -> offsetIds.add(r.getId()));
+        }
+        long offsetMs = (System.nanoTime() - start) / 1_000_000;
+        long offsetStatements = statistics.getPrepareStatementCount();
+
+        // Cursor: WHERE (created_at, id) < (...) LIMIT size + 1, không COUNT
+        statistics.clear();
+        start = System.nanoTime();
+        List<Long> cursorIds = new ArrayList<>(RESUMES);
+        String cursor = "";
+        do {
+            ResultPaginationDTO result = resumeService.fetchAllResumeByCursor(null,
+                    CursorPageRequest.of(PageRequest.of(0, PAGE_SIZE, Sort.by("createdAt").descending()), cursor, false,
+                            ResumeService.CURSOR_SORT_KEYS));
+            resumes(result).forEach(r -> cursorIds.add(r.getId()));
+            cursor = result.getMeta().getNextCursor();
+        } while (cursor != null);
+        long cursorMs = (System.nanoTime() - start) / 1_000_000;
+        long cursorStatements = statistics.getPrepareStatementCount();
+
+        log.info("resume full scan ({} resumes, {}/page): offset {} statements / {} ms, cursor {} statements / {} ms",
+                RESUMES, PAGE_SIZE, offsetStatements, offsetMs, cursorStatements, cursorMs);
+
+        assertEquals(offsetIds, cursorIds);
+        assertEquals(RESUMES, cursorIds.size());
+        assertTrue(cursorStatements < offsetStatements);
+    }
+
+    /**
+     * @return {statements, ms} cho danh sách tất cả resume và cho danh sách của HR
+     */
+    private long[] run(Specification<Resume> hrSpec) {
+        long[] result = new long[4];
+        for (int pass = 0; pass < 2; pass++) {
+            Specification<Resume> spec = pass == 0 ? null : hrSpec;
+            // Warm-up
+            resumeService.fetchAllResume(spec, PageRequest.of(0, PAGE_SIZE));
+            entityManager.clear();
+            statistics.clear();
+
+            long start = System.nanoTime();
+            for (int page = 0; page < PAGES; page++) {
+                resumeService.fetchAllResume(spec, PageRequest.of(page, PAGE_SIZE, Sort.by("id").descending()));
+                // Mỗi request có persistence context riêng
+                entityManager.clear();
+            }
+            result[pass * 2] = statistics.getPrepareStatementCount();
+            result[pass * 2 + 1] = (System.nanoTime() - start) / 1_000_000;
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<ResFetchResumeDTO> resumes(ResultPaginationDTO result) {
+        return (List<ResFetchResumeDTO>) result.getResult();
+    }
+
+    private void batchInsert(String sql, int count, IntFunction<Object[]> row) {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            rows.add(row.apply(i));
+        }
+        jdbcTemplate.batchUpdate(sql, rows);
+    }
+}
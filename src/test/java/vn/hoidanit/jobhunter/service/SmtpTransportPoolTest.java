@@ -0,0 +1,193 @@
+package vn.hoidanit.jobhunter.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * Integration Test + benchmark cho SmtpTransportPool
+ *
+ * Chạy với SMTP server GreenMail, so sánh thời gian giữa cách cũ
+ * (JavaMailSender.send: mở/đóng kết nối SMTP cho từng email) và gửi theo batch trên kết nối dùng lại
+ */
+@DisplayName("SmtpTransportPool Integration Tests")
+class SmtpTransportPoolTest {
+
+    private static final Logger log = LoggerFactory.getLogger(SmtpTransportPoolTest.class);
+
+    private static final int EMAILS = 300;
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP.dynamicPort());
+
+    private JavaMailSenderImpl mailSender;
+    private SmtpTransportPool smtpTransportPool;
+
+    @BeforeEach
+    void setUp() {
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost(greenMail.getSmtp().getBindTo());
+        mailSender.setPort(greenMail.getSmtp().getPort());
+        mailSender.setProtocol("smtp");
+        smtpTransportPool = new SmtpTransportPool(mailSender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        smtpTransportPool.destroy();
+    }
+
+    @Test
+    @DisplayName("Gửi cả batch trên 1 kết nối, không có email nào lỗi")
+    void testSendAll_ShouldDeliverWholeBatch() throws Exception {
+        Map<Integer, Exception> failures = smtpTransportPool.sendAll(messages(10, "batch"));
+
+        assertTrue(failures.isEmpty());
+        assertEquals(10, greenMail.getReceivedMessages().length);
+    }
+
+    @Test
+    @DisplayName("Kết nối trong pool bị server đóng -> tự kết nối lại và gửi tiếp")
+    void testSendAll_ShouldReconnectWhenServerDropsConnection() throws Exception {
+        assertTrue(smtpTransportPool.sendAll(messages(3, "first")).isEmpty());
+
+        // Restart server: transport đang nằm trong pool bị ngắt kết nối
+        greenMail.reset();
+        mailSender.setPort(greenMail.getSmtp().getPort());
+
+        Map<Integer, Exception> failures = smtpTransportPool.sendAll(messages(3, "second"));
+
+        assertTrue(failures.isEmpty());
+        assertEquals(3, greenMail.getReceivedMessages().length);
+    }
+
+    @Test
+    @DisplayName("Không gửi NOOP trước từng email, kết nối dùng lại giữa các batch liền nhau")
+    void testSendAll_ShouldNotCheckConnectionPerMessage() throws Exception {
+        Transport transport = mock(Transport.class);
+        Session session = mock(Session.class);
+        when(session.getTransport("smtp")).thenReturn(transport);
+        JavaMailSenderImpl mockSender = mock(JavaMailSenderImpl.class);
+        when(mockSender.getSession()).thenReturn(session);
+        when(mockSender.getProtocol()).thenReturn("smtp");
+        SmtpTransportPool pool = new SmtpTransportPool(mockSender);
+
+        assertTrue(pool.sendAll(messages(5, "first")).isEmpty());
+        assertTrue(pool.sendAll(messages(5, "second")).isEmpty());
+
+        verify(transport, times(1)).connect(any(), anyInt(), any(), any());
+        verify(transport, times(10)).sendMessage(any(), any());
+        verify(transport, never()).isConnected();
+    }
+
+    @Test
+    @DisplayName("Server đóng kết nối khi đang gửi (SendFailedException, transport đã ngắt) -> kết nối lại, không coi là lỗi người nhận")
+    void testSendAll_ShouldReconnectWhenSendFailedOnDroppedConnection() throws Exception {
+        Transport dropped = mock(Transport.class);
+        Transport fresh = mock(Transport.class);
+        doThrow(new SendFailedException("[EOF]")).when(dropped).sendMessage(any(), any());
+        when(dropped.isConnected()).thenReturn(false);
+        SmtpTransportPool pool = poolWithTransports(dropped, fresh);
+
+        Map<Integer, Exception> failures = pool.sendAll(messages(3, "batch"));
+
+        assertTrue(failures.isEmpty());
+        verify(dropped).close();
+        verify(fresh, times(3)).sendMessage(any(), any());
+    }
+
+    @Test
+    @DisplayName("Server từ chối người nhận, kết nối vẫn mở -> chỉ email đó lỗi, giữ nguyên session")
+    void testSendAll_ShouldKeepSessionWhenRecipientRejected() throws Exception {
+        Transport transport = mock(Transport.class);
+        doThrow(new SendFailedException("550 mailbox unavailable"))
+                .doNothing()
+                .when(transport).sendMessage(any(), any());
+        when(transport.isConnected()).thenReturn(true);
+        SmtpTransportPool pool = poolWithTransports(transport);
+
+        Map<Integer, Exception> failures = pool.sendAll(messages(3, "batch"));
+
+        assertEquals(1, failures.size());
+        assertInstanceOf(SendFailedException.class, failures.get(0));
+        verify(transport, times(1)).connect(any(), anyInt(), any(), any());
+        verify(transport, never()).close();
+        verify(transport, times(3)).sendMessage(any(), any());
+    }
+
+    @Test
+    @Tag("benchmark")
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @DisplayName("Benchmark: batch trên kết nối dùng lại nhanh hơn gửi từng email")
+    void testBenchmark_PooledBatchVsPerMessageSend() throws Exception {
+        // Warm-up
+        mailSender.send(messages(1, "warmup").get(0));
+        smtpTransportPool.sendAll(messages(1, "warmup"));
+
+        List<MimeMessage> perMessage = messages(EMAILS, "single");
+        long singleStart = System.nanoTime();
+        for (MimeMessage message : perMessage) {
+            mailSender.send(message);
+        }
+        long singleNanos = System.nanoTime() - singleStart;
+
+        List<MimeMessage> batch = messages(EMAILS, "pooled");
+        long pooledStart = System.nanoTime();
+        Map<Integer, Exception> failures = smtpTransportPool.sendAll(batch);
+        long pooledNanos = System.nanoTime() - pooledStart;
+
+        log.info("smtp benchmark ({} emails)", EMAILS);
+        log.info(String.format("JavaMailSender.send per email: %.0f emails/s", EMAILS / (singleNanos / 1e9)));
+        log.info(String.format("pooled transport batch       : %.0f emails/s", EMAILS / (pooledNanos / 1e9)));
+
+        assertTrue(failures.isEmpty());
+        assertEquals(EMAILS * 2 + 2, greenMail.getReceivedMessages().length);
+    }
+
+    private SmtpTransportPool poolWithTransports(Transport first, Transport... rest) throws Exception {
+        Session session = mock(Session.class);
+        when(session.getTransport("smtp")).thenReturn(first, rest);
+        JavaMailSenderImpl mockSender = mock(JavaMailSenderImpl.class);
+        when(mockSender.getSession()).thenReturn(session);
+        when(mockSender.getProtocol()).thenReturn("smtp");
+        return new SmtpTransportPool(mockSender);
+    }
+
+    private List<MimeMessage> messages(int count, String subject) throws Exception {
+        List<MimeMessage> messages = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            MimeMessage mimeMessage = mailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, false, "UTF-8");
+            helper.setFrom("noreply@jobhunter.vn");
+            helper.setTo("user" + i + "@gmail.com");
+            helper.setSubject(subject + " " + i);
+            helper.setText("<p>Việc làm mới dành cho bạn</p>", true);
+            messages.add(mimeMessage);
+        }
+        return messages;
+    }
+}
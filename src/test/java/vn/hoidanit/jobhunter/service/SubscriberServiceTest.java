@@ -0,0 +1,203 @@
+package vn.hoidanit.jobhunter.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import vn.hoidanit.jobhunter.domain.Company;
+import vn.hoidanit.jobhunter.domain.Job;
+import vn.hoidanit.jobhunter.domain.Skill;
+import vn.hoidanit.jobhunter.domain.dto.EmailDTO;
+import vn.hoidanit.jobhunter.domain.response.email.ResEmailJob;
+import vn.hoidanit.jobhunter.repository.JobRepository;
+import vn.hoidanit.jobhunter.repository.SkillRepository;
+import vn.hoidanit.jobhunter.repository.SubscriberRepository;
+
+/**
+ * Unit Test cho pipeline gửi job digest của SubscriberService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SubscriberService Unit Tests")
+class SubscriberServiceTest {
+
+    @Mock
+    private SubscriberRepository subscriberRepository;
+
+    @Mock
+    private SkillRepository skillRepository;
+
+    @Mock
+    private JobRepository jobRepository;
+
+    @Mock
+    private EmailProducerService emailProducerService;
+
+    private SubscriberService subscriberService;
+
+    @BeforeEach
+    void setUp() {
+        subscriberService = new SubscriberService(subscriberRepository, skillRepository, jobRepository,
+                emailProducerService, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(subscriberService, "digestChunkSize", 2);
+
+        Company company = new Company();
+        company.setName("Hỏi Dân IT");
+        Skill java = skill(1L, "Java");
+        Skill react = skill(2L, "React");
+        when(jobRepository.findAllWithSkillsAndCompany()).thenReturn(List.of(
+                job(10L, "Backend", company, java),
+                job(11L, "Fullstack", company, java, react)));
+    }
+
+    @Test
+    @DisplayName("Đọc subscribers theo keyset pagination và publish theo từng chunk")
+    void testSendSubscribersEmailJobs_ShouldStreamChunks() {
+        // Arrange: 3 subscribers, chunk size = 2 -> 2 chunk
+        when(subscriberRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(subscriber(1L), subscriber(2L)));
+        when(subscriberRepository.findByIdGreaterThanOrderByIdAsc(eq(2L), any(Pageable.class)))
+                .thenReturn(List.of(subscriber(3L)));
+        when(subscriberRepository.findSkillIdsBySubscriberIds(List.of(1L, 2L)))
+                .thenReturn(List.of(skillRow(1L, 1L), skillRow(1L, 2L), skillRow(2L, 2L)));
+        when(subscriberRepository.findSkillIdsBySubscriberIds(List.of(3L)))
+                .thenReturn(List.of());
+
+        // Act
+        subscriberService.sendSubscribersEmailJobs();
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<EmailDTO>> captor = ArgumentCaptor.forClass(List.class);
+        verify(emailProducerService, times(2)).sendEmailBatchToQueue(captor.capture());
+        verify(jobRepository, times(1)).findAllWithSkillsAndCompany();
+        verify(subscriberRepository, never()).findAll();
+
+        List<EmailDTO> firstChunk = captor.getAllValues().get(0);
+        assertEquals(2, firstChunk.size());
+
+        // Subscriber 1 có Java + React: job "Fullstack" chỉ xuất hiện 1 lần
+        List<?> jobs = (List<?>) firstChunk.get(0).getValue();
+        assertEquals(2, jobs.size());
+        assertEquals("Backend", ((ResEmailJob) jobs.get(0)).getName());
+        assertEquals(1, ((List<?>) firstChunk.get(1).getValue()).size());
+
+        // Subscriber 3 không có skill -> không gửi email
+        assertTrue(captor.getAllValues().get(1).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Lỗi publish của 1 subscriber không dừng các chunk còn lại")
+    void testSendSubscribersEmailJobs_ShouldContinueAfterSubscriberFailure() {
+        // Arrange: email của subscriber 1 bị nack, cả khi gửi lại
+        when(subscriberRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(subscriber(1L), subscriber(2L)));
+        when(subscriberRepository.findByIdGreaterThanOrderByIdAsc(eq(2L), any(Pageable.class)))
+                .thenReturn(List.of(subscriber(3L)));
+        when(subscriberRepository.findSkillIdsBySubscriberIds(List.of(1L, 2L)))
+                .thenReturn(List.of(skillRow(1L, 1L), skillRow(2L, 2L)));
+        when(subscriberRepository.findSkillIdsBySubscriberIds(List.of(3L)))
+                .thenReturn(List.of(skillRow(3L, 1L)));
+        when(emailProducerService.sendEmailBatchToQueue(anyList())).thenAnswer(invocation -> {
+            List<EmailDTO> emails = invocation.getArgument(0);
+            return emails.stream().filter(email -> email.getTo().equals("sub1@gmail.com")).toList();
+        });
+
+        // Act
+        assertDoesNotThrow(() -> subscriberService.sendSubscribersEmailJobs());
+
+        // Assert: chỉ email bị nack được gửi lại, chunk sau vẫn được xử lý
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<EmailDTO>> captor = ArgumentCaptor.forClass(List.class);
+        verify(emailProducerService, times(3)).sendEmailBatchToQueue(captor.capture());
+        List<List<EmailDTO>> calls = captor.getAllValues();
+        assertEquals(List.of("sub1@gmail.com", "sub2@gmail.com"), recipients(calls.get(0)));
+        assertEquals(List.of("sub1@gmail.com"), recipients(calls.get(1)));
+        assertEquals(List.of("sub3@gmail.com"), recipients(calls.get(2)));
+    }
+
+    @Test
+    @DisplayName("Email chưa được confirm được gửi lại 1 lần, email đã confirm không bị gửi trùng")
+    void testSendSubscribersEmailJobs_ShouldResendOnlyUnconfirmed() {
+        // Arrange: 1 chunk 2 subscriber, lần đầu email của subscriber 2 không được confirm
+        when(subscriberRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(subscriber(1L), subscriber(2L)));
+        when(subscriberRepository.findByIdGreaterThanOrderByIdAsc(eq(2L), any(Pageable.class)))
+                .thenReturn(List.of());
+        when(subscriberRepository.findSkillIdsBySubscriberIds(List.of(1L, 2L)))
+                .thenReturn(List.of(skillRow(1L, 1L), skillRow(2L, 2L)));
+        when(emailProducerService.sendEmailBatchToQueue(anyList())).thenAnswer(invocation -> {
+            List<EmailDTO> emails = invocation.getArgument(0);
+            return emails.size() == 2 ? List.of(emails.get(1)) : List.of();
+        });
+
+        // Act
+        subscriberService.sendSubscribersEmailJobs();
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<EmailDTO>> captor = ArgumentCaptor.forClass(List.class);
+        verify(emailProducerService, times(2)).sendEmailBatchToQueue(captor.capture());
+        assertEquals(List.of("sub2@gmail.com"), recipients(captor.getAllValues().get(1)));
+    }
+
+    private static List<String> recipients(List<EmailDTO> emails) {
+        return emails.stream().map(EmailDTO::getTo).toList();
+    }
+
+    private static Skill skill(long id, String name) {
+        Skill skill = new Skill();
+        skill.setId(id);
+        skill.setName(name);
+        return skill;
+    }
+
+    private static Job job(long id, String name, Company company, Skill... skills) {
+        Job job = new Job();
+        job.setId(id);
+        job.setName(name);
+        job.setCompany(company);
+        job.setSkills(List.of(skills));
+        return job;
+    }
+
+    private static SubscriberRepository.SubscriberDigestView subscriber(long id) {
+        return new SubscriberRepository.SubscriberDigestView() {
+            public long getId() {
+                return id;
+            }
+
+            public String getEmail() {
+                return "sub" + id + "@gmail.com";
+            }
+
+            public String getName() {
+                return "Subscriber " + id;
+            }
+        };
+    }
+
+    private static SubscriberRepository.SubscriberSkillView skillRow(long subscriberId, long skillId) {
+        return new SubscriberRepository.SubscriberSkillView() {
+            public long getSubscriberId() {
+                return subscriberId;
+            }
+
+            public long getSkillId() {
+                return skillId;
+            }
+        };
+    }
+}
@@ -0,0 +1,185 @@
+package vn.hoidanit.jobhunter.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import vn.hoidanit.jobhunter.service.TokenRevocationCache.Lookup;
+
+/**
+ * Unit Test cho TokenRevocationCache: near-cache, đồng bộ pub/sub giữa instance, resync bằng SCAN
+ * và fallback về Redis khi không đồng bộ được
+ */
+@DisplayName("TokenRevocationCache Unit Tests")
+class TokenRevocationCacheTest {
+
+    private static final long ACCESS_TOKEN_VALIDITY = 3600;
+
+    private RedisTemplate<String, String> redisTemplate;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        scanReturns();
+    }
+
+    @Test
+    @DisplayName("Trước khi đồng bộ xong: mọi lookup đều phải hỏi Redis")
+    void lookup_beforeResync_shouldFallbackToRedis() {
+        TokenRevocationCache cache = newCache();
+
+        assertEquals(Lookup.UNKNOWN, cache.lookup("token-a"));
+        assertFalse(cache.isReady());
+    }
+
+    @Test
+    @DisplayName("revoke rồi lookup: REVOKED cục bộ, token khác NOT_REVOKED, broadcast hash:expiresAt")
+    void revoke_thenLookup_shouldAnswerLocally() {
+        TokenRevocationCache cache = newCache();
+        cache.initialize();
+
+        cache.revoke("token-a", 600);
+
+        assertEquals(Lookup.REVOKED, cache.lookup("token-a"));
+        assertEquals(Lookup.NOT_REVOKED, cache.lookup("token-b"));
+        ArgumentCaptor<String> body = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq(TokenRevocationCache.REVOCATION_CHANNEL), body.capture());
+        assertTrue(body.getValue().matches("[0-9a-f]{64}:\\d+"));
+        assertFalse(body.getValue().contains("token-a"), "Token gốc không được gửi qua pub/sub");
+    }
+
+    @Test
+    @DisplayName("Token hết hạn trong set chính xác: không trả REVOKED mà hỏi lại Redis")
+    void lookup_expiredEntry_shouldFallbackToRedis() {
+        TokenRevocationCache cache = newCache();
+        cache.initialize();
+
+        cache.remember("token-a", -1);
+
+        assertEquals(Lookup.UNKNOWN, cache.lookup("token-a"));
+    }
+
+    @Test
+    @DisplayName("Message pub/sub từ instance khác: revoke và unrevoke được áp dụng")
+    void onMessage_fromOtherInstance_shouldApplyRevocation() {
+        TokenRevocationCache instanceA = newCache();
+        TokenRevocationCache instanceB = newCache();
+        instanceA.initialize();
+        instanceB.initialize();
+
+        instanceA.revoke("token-a", 600);
+        instanceB.onMessage(message(lastBroadcast()), null);
+
+        assertEquals(Lookup.REVOKED, instanceB.lookup("token-a"));
+
+        instanceA.unrevoke("token-a");
+        instanceB.onMessage(message(lastBroadcast()), null);
+
+        // Bloom filter không xóa được -> hỏi lại Redis, không còn REVOKED
+        assertEquals(Lookup.UNKNOWN, instanceB.lookup("token-a"));
+    }
+
+    @Test
+    @DisplayName("Message pub/sub sai định dạng: bỏ qua, không ném exception")
+    void onMessage_invalidBody_shouldBeIgnored() {
+        TokenRevocationCache cache = newCache();
+        cache.initialize();
+
+        assertDoesNotThrow(() -> cache.onMessage(message("not-a-revocation"), null));
+        assertEquals(Lookup.NOT_REVOKED, cache.lookup("token-a"));
+    }
+
+    @Test
+    @DisplayName("resync: bù message pub/sub bị mất từ blacklist trong Redis")
+    void resync_shouldRecoverMissedMessages() {
+        TokenRevocationCache cache = newCache();
+        cache.initialize();
+        assertEquals(Lookup.NOT_REVOKED, cache.lookup("token-missed"));
+
+        // Instance khác revoke trong lúc mất kết nối pub/sub: chỉ còn key trong Redis
+        scanReturns(TokenRevocationCache.BLACKLIST_TOKEN_PREFIX + "token-missed");
+        cache.resync();
+
+        assertEquals(Lookup.REVOKED, cache.lookup("token-missed"));
+        assertEquals(Lookup.NOT_REVOKED, cache.lookup("token-b"));
+    }
+
+    @Test
+    @DisplayName("resync: giữ token vừa revoke cục bộ, dọn token đã hết hạn khỏi Bloom filter")
+    void resync_shouldKeepLiveAndDropExpiredEntries() {
+        TokenRevocationCache cache = newCache();
+        cache.initialize();
+        cache.revoke("token-live", 600);
+        cache.remember("token-expired", -1);
+
+        cache.resync();
+
+        assertEquals(Lookup.REVOKED, cache.lookup("token-live"));
+        assertEquals(Lookup.NOT_REVOKED, cache.lookup("token-expired"));
+    }
+
+    @Test
+    @DisplayName("Redis không khả dụng khi resync: quay về kiểm tra trực tiếp trên Redis")
+    void resync_whenRedisUnavailable_shouldFallbackToRedis() {
+        TokenRevocationCache cache = newCache();
+        cache.initialize();
+        cache.revoke("token-a", 600);
+        assertTrue(cache.isReady());
+
+        when(redisTemplate.scan(any(ScanOptions.class)))
+                .thenThrow(new RedisConnectionFailureException("Connection refused"));
+        cache.resync();
+
+        assertFalse(cache.isReady());
+        assertEquals(Lookup.UNKNOWN, cache.lookup("token-a"));
+        assertEquals(Lookup.UNKNOWN, cache.lookup("token-b"));
+
+        // Redis hoạt động lại -> lần resync kế tiếp dùng lại near-cache
+        scanReturns(TokenRevocationCache.BLACKLIST_TOKEN_PREFIX + "token-a");
+        cache.resync();
+
+        assertTrue(cache.isReady());
+        assertEquals(Lookup.REVOKED, cache.lookup("token-a"));
+    }
+
+    private TokenRevocationCache newCache() {
+        return new TokenRevocationCache(redisTemplate, 1_000, ACCESS_TOKEN_VALIDITY, new SimpleMeterRegistry());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void scanReturns(String... keys) {
+        Iterator<String> iterator = List.of(keys).iterator();
+        Cursor<String> cursor = mock(Cursor.class);
+        when(cursor.hasNext()).thenAnswer(invocation -> iterator.hasNext());
+        when(cursor.next()).thenAnswer(invocation -> iterator.next());
+        doReturn(cursor).when(redisTemplate).scan(any(ScanOptions.class));
+    }
+
+    private String lastBroadcast() {
+        ArgumentCaptor<String> body = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate, atLeastOnce()).convertAndSend(eq(TokenRevocationCache.REVOCATION_CHANNEL),
+                body.capture());
+        return body.getValue();
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(TokenRevocationCache.REVOCATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -37,6 +37,9 @@ class UserServiceTest {
     @Mock
     private RoleService roleService;
 
+    @Mock
+    private PermissionMatrixService permissionMatrixService;
+
     @InjectMocks
     private UserService userService;
 